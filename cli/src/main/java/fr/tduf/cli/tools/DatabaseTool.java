@@ -2,11 +2,12 @@ package fr.tduf.cli.tools;
 
 import fr.tduf.cli.common.helper.CommandHelper;
 import fr.tduf.cli.tools.dto.DatabaseIntegrityErrorDto;
-import fr.tduf.libunlimited.common.helper.CommandLineHelper;
+import fr.tduf.libunlimited.common.game.domain.Locale;
 import fr.tduf.libunlimited.common.helper.FilesHelper;
 import fr.tduf.libunlimited.high.files.banks.BankSupport;
-import fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway;
+import fr.tduf.libunlimited.high.files.banks.NativeBankSupport;
 import fr.tduf.libunlimited.high.files.db.common.AbstractDatabaseHolder;
+import fr.tduf.libunlimited.high.files.db.dto.DbResourceMatchDto;
 import fr.tduf.libunlimited.high.files.db.integrity.DatabaseIntegrityChecker;
 import fr.tduf.libunlimited.high.files.db.integrity.DatabaseIntegrityFixer;
 import fr.tduf.libunlimited.high.files.db.interop.TdumtPatchConverter;
@@ -20,8 +21,7 @@ import fr.tduf.libunlimited.high.files.db.patcher.domain.ItemRange;
 import fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto;
 import fr.tduf.libunlimited.low.files.db.domain.IntegrityError;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
-import fr.tduf.libunlimited.low.files.db.rw.JsonGateway;
-import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseBankHelper;
+import fr.tduf.libunlimited.low.files.db.rw.DatabasePipeline;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -47,9 +47,6 @@ import static fr.tduf.libunlimited.high.files.db.interop.TdumtPatchConverter.EXT
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper.EXTENSION_JSON;
 import static java.util.Arrays.asList;
-import static java.util.Collections.synchronizedSet;
-import static java.util.Objects.requireNonNull;
-import static java.util.Optional.empty;
 import static java.util.stream.Collectors.*;
 
 /**
@@ -57,6 +54,9 @@ import static java.util.stream.Collectors.*;
  */
 public class DatabaseTool extends GenericTool {
 
+    private static final String STAGE_CHECK_INTEGRITY = "checkIntegrity";
+    private static final String STAGE_FIX_INTEGRITY = "fixIntegrity";
+
     @Option(name = "-d", aliases = "--databaseDir", usage = "TDU database directory, defaults to current directory.")
     private String databaseDirectory;
 
@@ -90,6 +90,22 @@ public class DatabaseTool extends GenericTool {
     @Option(name = "-x", aliases = {"--extensiveCheck"}, usage = "Will process a deeper integrity check, will be slower. Not mandatory.")
     private boolean extensiveCheck = false;
 
+    @Option(name = "-s", aliases = "--searchText", usage = "Text to be searched in resource values, case-insensitive. Required for search operation.")
+    private String searchText;
+
+    @Option(name = "-l", aliases = "--locale", usage = "Language code of resource values to search when search operation. Allowed values: fr,ge,us,ko,ch,ja,it,sp. Not mandatory, defaults to all languages.")
+    private String localeCode;
+    private Locale effectiveLocale;
+
+    @Option(name = "--prefix", usage = "Only searches resource values starting with text when search operation. Not mandatory.")
+    private boolean prefixSearch = false;
+
+    @Option(name = "--seed", usage = "Seed for identifiers generated from placeholders when apply-patch or apply-patches operation, to get same identifiers at each run. Not mandatory, defaults to random identifiers.")
+    private Long identifierSeed;
+
+    @Option(name = "--jobs", usage = "Count of parallel jobs when unpack-all or repack-all operation. Not mandatory, defaults to count of available processors.")
+    private Integer jobCount;
+
     private BankSupport bankSupport;
 
     private Command command;
@@ -106,7 +122,8 @@ public class DatabaseTool extends GenericTool {
         DIFF_PATCHES("diff-patches", "Creates mini-patch files with differences from JSON database against reference one."),
         CONVERT_PATCH("convert-patch", "Converts a TDUF (JSON) Patch to TDUMT (PCH) one and vice-versa."),
         UNPACK_ALL("unpack-all", "Extracts full database contents from BNK to JSON files. Checks for integrity errors and optionally fixes them."),
-        REPACK_ALL("repack-all", "Repacks full database from JSON files into BNK ones.");
+        REPACK_ALL("repack-all", "Repacks full database from JSON files into BNK ones."),
+        SEARCH("search", "Lists resource values from JSON database containing given text.");
 
         final String label;
         final String description;
@@ -140,7 +157,7 @@ public class DatabaseTool extends GenericTool {
     }
 
     DatabaseTool() {
-        bankSupport = new GenuineBnkGateway(new CommandLineHelper());
+        bankSupport = new NativeBankSupport();
     }
 
     @Override
@@ -150,10 +167,10 @@ public class DatabaseTool extends GenericTool {
                 commandResult = applyPerformancePack(patchFile, jsonDirectory, outputDatabaseDirectory);
                 return true;
             case APPLY_PATCH:
-                commandResult = applyPatch(patchFile, jsonDirectory, outputDatabaseDirectory);
+                commandResult = applyPatch(patchFile, jsonDirectory, outputDatabaseDirectory, identifierSeed);
                 return true;
             case APPLY_PATCHES:
-                commandResult = applyPatches(patchFile, jsonDirectory, outputDatabaseDirectory);
+                commandResult = applyPatches(patchFile, jsonDirectory, outputDatabaseDirectory, identifierSeed);
                 return true;
             case GEN_PATCH:
                 commandResult = genPatch(jsonDirectory, patchFile);
@@ -165,10 +182,13 @@ public class DatabaseTool extends GenericTool {
                 commandResult = convertPatch(patchFile);
                 return true;
             case UNPACK_ALL:
-                commandResult = unpackAll(databaseDirectory, jsonDirectory, fixErrors, extensiveCheck);
+                commandResult = unpackAll(databaseDirectory, jsonDirectory, fixErrors, extensiveCheck, jobCount);
                 return true;
             case REPACK_ALL:
-                commandResult = repackAll(jsonDirectory, outputDatabaseDirectory);
+                commandResult = repackAll(jsonDirectory, outputDatabaseDirectory, jobCount);
+                return true;
+            case SEARCH:
+                commandResult = search(jsonDirectory, searchText, effectiveLocale, prefixSearch);
                 return true;
             default:
                 commandResult = null;
@@ -195,7 +215,8 @@ public class DatabaseTool extends GenericTool {
                     || APPLY_PATCHES == command
                     || REPACK_ALL == command
                     || GEN_PATCH == command
-                    || DIFF_PATCHES == command) {
+                    || DIFF_PATCHES == command
+                    || SEARCH == command) {
                 throw new CmdLineException(parser, "Error: jsonDirectory is required as source database.", null);
             }
         }
@@ -223,6 +244,12 @@ public class DatabaseTool extends GenericTool {
             throw new CmdLineException(parser, "Error: patchFile is required.", null);
         }
 
+        if (jobCount == null) {
+            jobCount = DatabasePipeline.getDefaultJobCount();
+        } else if (jobCount < 1) {
+            throw new CmdLineException(parser, "Error: job count must be at least 1.", null);
+        }
+
         if (GEN_PATCH == command) {
             if (databaseTopic == null) {
                 throw new CmdLineException(parser, "Error: database topic is required.", null);
@@ -231,6 +258,15 @@ public class DatabaseTool extends GenericTool {
             effectiveRefRange = ItemRange.fromCliOption(refRange);
             effectiveFieldRange = ItemRange.fromCliOption(fieldRange);
         }
+
+        if (SEARCH == command) {
+            if (searchText == null) {
+                throw new CmdLineException(parser, "Error: search text is required.", null);
+            }
+            if (localeCode != null) {
+                effectiveLocale = Locale.fromCode(localeCode);
+            }
+        }
     }
 
     @Override
@@ -244,95 +280,101 @@ public class DatabaseTool extends GenericTool {
                 APPLY_TDUPK.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -p \"C:\\Users\\Bill\\Desktop\\vehicle.tdupk\" -r \"606298799\" -o \"C:\\Users\\Bill\\Desktop\\json-database\"",
                 APPLY_PATCH.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -p \"C:\\Users\\Bill\\Desktop\\miniPatch.json\"",
                 APPLY_PATCHES.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -p \"C:\\Users\\Bill\\Desktop\\\"",
+                APPLY_PATCHES.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -p \"C:\\Users\\Bill\\Desktop\\\" --seed 1234",
                 GEN_PATCH.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -p \"C:\\Users\\Bill\\Desktop\\miniPatch.json\" -t \"CAR_PHYSICS_DATA\" -r \"606298799,637314272\" -f \"102,103\"",
                 DIFF_PATCHES.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -J \"C:\\Users\\Bill\\Desktop\\json-database-reference\" -p \"C:\\Users\\Bill\\Desktop\"",
                 CONVERT_PATCH.label + " -p \"C:\\Users\\Bill\\Desktop\\install.PCH\"",
                 UNPACK_ALL.label + " -d \"C:\\Program Files (x86)\\Test Drive Unlimited\\Euro\\Bnk\\Database\" -j \"C:\\Users\\Bill\\Desktop\\json-database\" -m",
-                REPACK_ALL.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -o \"C:\\Program Files (x86)\\Test Drive Unlimited\\Euro\\Bnk\\Database\""
+                UNPACK_ALL.label + " -d \"C:\\Program Files (x86)\\Test Drive Unlimited\\Euro\\Bnk\\Database\" -j \"C:\\Users\\Bill\\Desktop\\json-database\" --jobs 4",
+                REPACK_ALL.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -o \"C:\\Program Files (x86)\\Test Drive Unlimited\\Euro\\Bnk\\Database\"",
+                SEARCH.label + " -j \"C:\\Users\\Bill\\Desktop\\json-database\" -s \"brera\" -l \"us\""
         );
     }
 
-    private Map<String, ?> repackAll(String jsonSourceDirectory, String targetDatabaseDirectory) throws IOException {
+    private Map<String, ?> repackAll(String jsonSourceDirectory, String targetDatabaseDirectory, int jobCount) throws IOException {
         String sourceDirectory = Paths.get(jsonSourceDirectory).toAbsolutePath().toString();
         Path targetPath = Paths.get(targetDatabaseDirectory).toAbsolutePath();
         outLine("-> JSON database directory: " + sourceDirectory);
         outLine("Generating TDU database files, please wait...");
 
-        String sourceExtractedDatabaseDirectory = DatabaseReadWriteHelper.createTempDirectory();
-        generateDatabaseFiles(jsonSourceDirectory, sourceExtractedDatabaseDirectory);
+        Map<String, Object> resultInfo = new HashMap<>();
+        try (DatabasePipeline pipeline = new DatabasePipeline(jobCount)) {
+            String sourceExtractedDatabaseDirectory = DatabaseReadWriteHelper.createTempDirectory();
+            generateDatabaseFiles(pipeline, jsonSourceDirectory, sourceExtractedDatabaseDirectory);
 
-        outLine("Repacking TDU database files, please wait...");
+            outLine("Repacking TDU database files, please wait...");
 
-        Files.createDirectories(targetPath);
-        String targetDirectory = targetPath.toString();
-        DatabaseBankHelper.repackDatabaseFromDirectory(sourceExtractedDatabaseDirectory, targetDirectory, jsonSourceDirectory, bankSupport);
+            Files.createDirectories(targetPath);
+            String targetDirectory = targetPath.toString();
+            pipeline.repackBanks(sourceExtractedDatabaseDirectory, targetDirectory, jsonSourceDirectory, bankSupport);
 
-        Map<String, Object> resultInfo = new HashMap<>();
-        resultInfo.put("sourceDirectory", sourceDirectory);
-        resultInfo.put("targetDirectory", targetDirectory);
-        resultInfo.put("temporaryDirectory", sourceExtractedDatabaseDirectory);
+            resultInfo.put("sourceDirectory", sourceDirectory);
+            resultInfo.put("targetDirectory", targetDirectory);
+            resultInfo.put("temporaryDirectory", sourceExtractedDatabaseDirectory);
+            resultInfo.put("stageTimings", pipeline.getStageTimings());
+        }
 
         return resultInfo;
     }
 
-    private Map<String, ?> unpackAll(String sourceDatabaseDirectory, String jsonDatabaseDirectory, boolean fixErrors, boolean extensiveCheck) throws Exception {
+    private Map<String, ?> unpackAll(String sourceDatabaseDirectory, String jsonDatabaseDirectory, boolean fixErrors, boolean extensiveCheck, int jobCount) throws Exception {
         String sourceDirectory = Paths.get(sourceDatabaseDirectory).toAbsolutePath().toString();
         outLine("-> TDU database directory: " + sourceDirectory);
         outLine("Unpacking TDU database to " + jsonDatabaseDirectory + ", please wait...");
 
-        String extractedDatabaseDirectory = DatabaseBankHelper.unpackDatabaseFromDirectory(sourceDirectory, jsonDatabaseDirectory, bankSupport);
-
-        outLine("Done unpacking.");
-
-        Set<IntegrityError> integrityErrors = new LinkedHashSet<>();
-        List<DbDto.Topic> missingTopicContents = new ArrayList<>();
-        final List<String> writtenFileNames = convertDatabaseFilesToJson(extractedDatabaseDirectory, jsonDatabaseDirectory, missingTopicContents, integrityErrors);
-
-        List<DbDto> databaseObjects = new ArrayList<>();
-        outLine("-> JSON database directory: " + jsonDatabaseDirectory);
-        if (extensiveCheck) {
-            outLine("Now checking database...");
-            databaseObjects = loadAndCheckDatabase(extractedDatabaseDirectory, integrityErrors);
+        try (DatabasePipeline pipeline = new DatabasePipeline(jobCount)) {
+            String extractedDatabaseDirectory = pipeline.extractBanks(sourceDirectory, jsonDatabaseDirectory, bankSupport);
 
-            outLine("  .Database check just ended: " + integrityErrors.size() + " error(s).");
-        } else {
-            outLine("Now loading database...");
-            try {
-                databaseObjects = loadDatabaseFromJsonFiles(jsonDatabaseDirectory);
-            } catch (IllegalArgumentException ignored) {
-            }
-
-            outLine("  .Database loading just ended: " + integrityErrors.size() + " error(s).");
-        }
+            outLine("Done unpacking.");
 
-        outLine();
-        printIntegrityErrors(integrityErrors);
+            Set<IntegrityError> integrityErrors = new LinkedHashSet<>();
+            List<DbDto.Topic> missingTopicContents = new ArrayList<>();
+            List<DbDto> databaseObjects = new ArrayList<>();
+            final List<String> writtenFileNames = convertDatabaseFilesToJson(pipeline, extractedDatabaseDirectory, jsonDatabaseDirectory, missingTopicContents, integrityErrors, databaseObjects);
 
-        Map<String, Object> resultInfo = new HashMap<>();
-        if (fixErrors
-                && !integrityErrors.isEmpty()) {
             outLine("-> JSON database directory: " + jsonDatabaseDirectory);
-            outLine("Now fixing database...");
-            Set<IntegrityError> remainingIntegrityErrors = fixIntegrityErrorsAndSaveDatabaseFiles(databaseObjects, integrityErrors, jsonDatabaseDirectory);
-            outLine("Done fixing.");
+            if (extensiveCheck) {
+                outLine("Now checking database...");
+                printTopicObjects(databaseObjects);
+                integrityErrors.addAll(pipeline.runStage(STAGE_CHECK_INTEGRITY,
+                        () -> DatabaseIntegrityChecker.prepare(DatabaseIntegrityChecker.class, databaseObjects).checkAllContentsObjects()));
+
+                outLine("  .Database check just ended: " + integrityErrors.size() + " error(s).");
+            } else {
+                outLine("  .Database loading just ended: " + integrityErrors.size() + " error(s).");
+            }
 
-            resultInfo.put("remainingIntegrityErrors", toDatabaseIntegrityErrors(remainingIntegrityErrors));
-        }
-        outLine();
+            outLine();
+            printIntegrityErrors(integrityErrors);
+
+            Map<String, Object> resultInfo = new HashMap<>();
+            if (fixErrors
+                    && !integrityErrors.isEmpty()) {
+                outLine("-> JSON database directory: " + jsonDatabaseDirectory);
+                outLine("Now fixing database...");
+                Set<IntegrityError> remainingIntegrityErrors = pipeline.runStage(STAGE_FIX_INTEGRITY,
+                        () -> fixIntegrityErrorsAndSaveDatabaseFiles(databaseObjects, integrityErrors, jsonDatabaseDirectory));
+                outLine("Done fixing.");
+
+                resultInfo.put("remainingIntegrityErrors", toDatabaseIntegrityErrors(remainingIntegrityErrors));
+            }
+            outLine();
 
-        resultInfo.put("sourceDatabaseDirectory", sourceDirectory);
-        resultInfo.put("temporaryDirectory", extractedDatabaseDirectory);
-        resultInfo.put("jsonDatabaseDirectory", jsonDatabaseDirectory);
-        resultInfo.put("writtenFiles", writtenFileNames);
-        resultInfo.put("missingTopicContents", missingTopicContents);
-        resultInfo.put("integrityErrors", integrityErrors);
+            resultInfo.put("sourceDatabaseDirectory", sourceDirectory);
+            resultInfo.put("temporaryDirectory", extractedDatabaseDirectory);
+            resultInfo.put("jsonDatabaseDirectory", jsonDatabaseDirectory);
+            resultInfo.put("writtenFiles", writtenFileNames);
+            resultInfo.put("missingTopicContents", missingTopicContents);
+            resultInfo.put("integrityErrors", integrityErrors);
+            resultInfo.put("stageTimings", pipeline.getStageTimings());
+
+            if (!integrityErrors.isEmpty()) {
+                commandResult = resultInfo;
+                throw new Exception("Integrity check found errors!");
+            }
 
-        if (!integrityErrors.isEmpty()) {
-            commandResult = resultInfo;
-            throw new Exception("Integrity check found errors!");
+            return resultInfo;
         }
-
-        return resultInfo;
     }
 
     private Map<String, ?> convertPatch(String sourcePatchFile) throws IOException, SAXException, ParserConfigurationException, URISyntaxException, TransformerException {
@@ -366,6 +408,30 @@ public class DatabaseTool extends GenericTool {
         return resultInfo;
     }
 
+    private Map<String, ?> search(String sourceJsonDirectory, String text, Locale locale, boolean prefixOnly) {
+        outLine("-> Source database directory: " + sourceJsonDirectory);
+
+        outLine("Reading database, please wait...");
+
+        List<DbDto> allTopicObjects = loadDatabaseFromJsonFiles(sourceJsonDirectory);
+
+        outLine("Searching resources, please wait...");
+
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(allTopicObjects);
+        List<DbResourceMatchDto> matches = prefixOnly ?
+                miner.findResourcesStartingWith(text, locale)
+                :
+                miner.findResourcesContaining(text, locale);
+
+        matches.forEach(match -> outLine("  ." + match.getTopic() + " - " + match.getReference() + " (" + match.getLocale().getCode() + "): " + match.getValue()));
+        outLine("-> Matching resource values: " + matches.size());
+
+        Map<String, Object> resultInfo = new HashMap<>();
+        resultInfo.put("matches", matches);
+
+        return resultInfo;
+    }
+
     private Map<String, ?> genPatch(String sourceJsonDirectory, String targetPatchFile) throws ReflectiveOperationException, IOException {
         outLine("-> Source database directory: " + sourceJsonDirectory);
 
@@ -433,7 +499,7 @@ public class DatabaseTool extends GenericTool {
         return resultInfo;
     }
 
-    private Map<String, ?> applyPatch(String sourcePatchFile, String sourceJsonDirectory, String targetDatabaseDirectory) throws IOException, ReflectiveOperationException {
+    private Map<String, ?> applyPatch(String sourcePatchFile, String sourceJsonDirectory, String targetDatabaseDirectory, Long identifierSeed) throws IOException, ReflectiveOperationException {
         FilesHelper.createDirectoryIfNotExists(targetDatabaseDirectory);
 
         outLine("-> Source database directory: " + sourceJsonDirectory);
@@ -446,7 +512,7 @@ public class DatabaseTool extends GenericTool {
         DbPatchDto patchObject = jsonMapper.readValue(new File(sourcePatchFile), DbPatchDto.class);
 
         List<DbDto> allTopicObjects = loadDatabaseFromJsonFiles(sourceJsonDirectory);
-        final DatabasePatchProperties effectivePatchProperties = AbstractDatabaseHolder.prepare(DatabasePatcher.class, allTopicObjects).applyWithProperties(patchObject, patchProperties);
+        final DatabasePatchProperties effectivePatchProperties = preparePatcher(allTopicObjects, identifierSeed).applyWithProperties(patchObject, patchProperties);
 
         outLine("Writing patched database to " + targetDatabaseDirectory + ", please wait...");
 
@@ -461,7 +527,7 @@ public class DatabaseTool extends GenericTool {
         return resultInfo;
     }
 
-    private Map<String, ?> applyPatches(String sourcePatchesDirectory, String sourceJsonDirectory, String targetDatabaseDirectory) throws IOException, ReflectiveOperationException {
+    private Map<String, ?> applyPatches(String sourcePatchesDirectory, String sourceJsonDirectory, String targetDatabaseDirectory, Long identifierSeed) throws IOException, ReflectiveOperationException {
         FilesHelper.createDirectoryIfNotExists(targetDatabaseDirectory);
 
         outLine("-> Source database directory: " + sourceJsonDirectory);
@@ -495,7 +561,7 @@ public class DatabaseTool extends GenericTool {
                         (u,v) -> { throw new IllegalStateException(String.format("Duplicate key %s", u)); },
                         LinkedHashMap::new));
 
-        AbstractDatabaseHolder.prepare(DatabasePatcher.class, allTopicObjects).batchApplyWithProperties(patchObjectsAndProps);
+        preparePatcher(allTopicObjects, identifierSeed).batchApplyWithProperties(patchObjectsAndProps);
 
         // Effective properties are not handled for now
 
@@ -509,6 +575,14 @@ public class DatabaseTool extends GenericTool {
         return resultInfo;
     }
 
+    private static DatabasePatcher preparePatcher(List<DbDto> allTopicObjects, Long identifierSeed) throws ReflectiveOperationException {
+        DatabasePatcher patcher = AbstractDatabaseHolder.prepare(DatabasePatcher.class, allTopicObjects);
+        if (identifierSeed != null) {
+            patcher.withIdentifierSeed(identifierSeed);
+        }
+        return patcher;
+    }
+
     private DatabasePatchProperties readPatchProperties(String patchFile) throws IOException {
         String propertyFile = patchFile + ".properties";
 
@@ -549,7 +623,7 @@ public class DatabaseTool extends GenericTool {
         return targetPropertyFile;
     }
 
-    private void generateDatabaseFiles(String sourceJsonDirectory, String targetExtractedDatabaseDirectory) throws IOException {
+    private void generateDatabaseFiles(DatabasePipeline pipeline, String sourceJsonDirectory, String targetExtractedDatabaseDirectory) throws IOException {
         FilesHelper.createDirectoryIfNotExists(targetExtractedDatabaseDirectory);
 
         outLine("-> Source directory: " + sourceJsonDirectory);
@@ -557,7 +631,7 @@ public class DatabaseTool extends GenericTool {
         outLine();
 
         List<DbDto.Topic> missingTopicContents = new ArrayList<>();
-        JsonGateway.gen(sourceJsonDirectory, targetExtractedDatabaseDirectory, missingTopicContents);
+        pipeline.gen(sourceJsonDirectory, targetExtractedDatabaseDirectory, missingTopicContents);
     }
 
     private Set<IntegrityError> fixIntegrityErrorsAndSaveDatabaseFiles(List<DbDto> databaseObjects, Set<IntegrityError> integrityErrors, String jsonDatabaseDirectory) throws ReflectiveOperationException {
@@ -571,14 +645,14 @@ public class DatabaseTool extends GenericTool {
         return remainingIntegrityErrors;
     }
 
-    private List<String> convertDatabaseFilesToJson(String databaseDirectory, String targetJsonDirectory, List<DbDto.Topic> missingTopicContents, Set<IntegrityError> integrityErrors) throws IOException {
+    private List<String> convertDatabaseFilesToJson(DatabasePipeline pipeline, String databaseDirectory, String targetJsonDirectory, List<DbDto.Topic> missingTopicContents, Set<IntegrityError> integrityErrors, List<DbDto> databaseObjects) throws IOException {
         FilesHelper.createDirectoryIfNotExists(targetJsonDirectory);
 
         outLine("-> Source directory: " + databaseDirectory);
         outLine("Dumping TDU database to JSON, please wait...");
         outLine();
 
-        return JsonGateway.dump(databaseDirectory, targetJsonDirectory, missingTopicContents, integrityErrors);
+        return pipeline.dump(databaseDirectory, targetJsonDirectory, missingTopicContents, integrityErrors, databaseObjects);
     }
 
     private String convertPatchFileToJSON(File patchFile) throws ParserConfigurationException, SAXException, IOException {
@@ -628,56 +702,13 @@ public class DatabaseTool extends GenericTool {
         return allTopicObjects;
     }
 
-    private List<DbDto> loadAndCheckDatabase(String sourceDatabaseDirectory, Set<IntegrityError> integrityErrors) throws IOException, ReflectiveOperationException {
-        requireNonNull(integrityErrors, "An empty set of integrity errors is required");
-
-        Set<IntegrityError> integrityErrorsWhileLoading = synchronizedSet(integrityErrors);
-        final List<DbDto> readObjects = DbDto.Topic.valuesAsStream()
-
-                .parallel()
-
-                .map((currentTopic) -> loadSingleTopicWithBasicChecking(currentTopic, sourceDatabaseDirectory, integrityErrorsWhileLoading))
-
-                .filter(Optional::isPresent)
-
-                .map(Optional::get)
-
-                .collect(toList());
-
-        outLine("  -> Now performing extensive check...");
-        Set<IntegrityError> integrityErrorsWhileExtensiveChecking = DatabaseIntegrityChecker.prepare(DatabaseIntegrityChecker.class, readObjects).checkAllContentsObjects();
-
-        integrityErrors.addAll(integrityErrorsWhileLoading);
-        integrityErrors.addAll(integrityErrorsWhileExtensiveChecking);
-
-        return readObjects;
-    }
-
-    private Optional<DbDto> loadSingleTopicWithBasicChecking(DbDto.Topic currentTopic, String sourceDatabaseDirectory, Set<IntegrityError> integrityErrorsWhileProcessing) {
-        outLine("  -> Now loading topic: " + currentTopic + "...");
-
-        int initialErrorCount = integrityErrorsWhileProcessing.size();
-
-        Optional<DbDto> potentialDbDto = empty();
-        try {
-            potentialDbDto = DatabaseReadWriteHelper.readDatabaseTopic(currentTopic, sourceDatabaseDirectory, integrityErrorsWhileProcessing);
-        } catch (IOException e) {
-            outLine("  (!)Database contents could not be read for topic " + currentTopic + ", skipping.");
-            outLine();
-            return potentialDbDto;
-        }
-
-        if (potentialDbDto.isPresent()) {
-            DbDto dbDto = potentialDbDto.get();
-            outLine("  .Read topic with basic checking: " + currentTopic + ", " + (integrityErrorsWhileProcessing.size() - initialErrorCount) + " error(s).");
+    private void printTopicObjects(List<DbDto> databaseObjects) {
+        databaseObjects.forEach(dbDto -> {
+            outLine("  .Read topic with basic checking: " + dbDto.getTopic());
             outLine("  .Content line count: " + dbDto.getData().getEntries().size());
             outLine("  .Resource entry count: " + dbDto.getResource().getEntries().size());
-        } else {
-            outLine("  (!)Database contents not found for topic " + currentTopic + ", skipping.");
-        }
-        outLine();
-
-        return potentialDbDto;
+            outLine();
+        });
     }
 
     private void printIntegrityErrors(Set<IntegrityError> integrityErrors) {
@@ -1,12 +1,11 @@
 package fr.tduf.cli.tools;
 
 import fr.tduf.cli.common.helper.CommandHelper;
-import fr.tduf.libunlimited.common.helper.CommandLineHelper;
 import fr.tduf.libunlimited.common.helper.FilesHelper;
 import fr.tduf.libunlimited.common.helper.JsonHelper;
 import fr.tduf.libunlimited.framework.io.XByteArrayInputStream;
 import fr.tduf.libunlimited.high.files.banks.BankSupport;
-import fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway;
+import fr.tduf.libunlimited.high.files.banks.NativeBankSupport;
 import fr.tduf.libunlimited.low.files.banks.dto.BankInfoDto;
 import fr.tduf.libunlimited.low.files.common.crypto.helper.CryptoHelper;
 import fr.tduf.libunlimited.low.files.research.common.helper.StructureHelper;
@@ -21,7 +20,6 @@ import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
 
 import java.io.BufferedWriter;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -103,7 +101,7 @@ public class FileTool extends GenericTool {
     }
 
     FileTool() {
-        bankSupport = new GenuineBnkGateway(new CommandLineHelper());
+        bankSupport = new NativeBankSupport();
     }
 
     @Override
@@ -261,7 +259,7 @@ public class FileTool extends GenericTool {
 
     private Map<String, ?> jsonify(String structureFile, String sourceFile, String targetJsonFile) throws IOException {
         GenericParser<String> genericParser = getFileParser(sourceFile, structureFile);
-        genericParser.parse();
+        genericParser.parse(true);
 
         logStructureInfo(structureFile, genericParser);
 
@@ -391,14 +389,11 @@ public class FileTool extends GenericTool {
 
         CryptoHelper.EncryptionModeEnum encryptionModeEnum = CryptoHelper.EncryptionModeEnum.fromIdentifier(Integer.parseInt(cryptoMode));
 
-        XByteArrayInputStream inputStream = getInputStreamForFile(sourceFile);
-        ByteArrayOutputStream outputStream;
+        byte[] inputBytes = Files.readAllBytes(new File(sourceFile).toPath());
         if (withEncryption) {
-            outputStream = CryptoHelper.encryptXTEA(inputStream, encryptionModeEnum);
-        } else {
-            outputStream = CryptoHelper.decryptXTEA(inputStream, encryptionModeEnum);
+            return CryptoHelper.encryptXTEA(inputBytes, encryptionModeEnum);
         }
-        return outputStream.toByteArray();
+        return CryptoHelper.decryptXTEA(inputBytes, encryptionModeEnum);
     }
 
     private XByteArrayInputStream getInputStreamForFile(String sourceFile) throws IOException {
@@ -58,6 +58,13 @@ public class AllToolsTest {
         testToolCommand(new DatabaseTool(), DIFF_PATCHES);
     }
 
+    @Test
+    @ExpectSystemExitWithStatus(1)
+    void databaseTool_search() throws IOException {
+        // GIVEN-WHEN-THEN
+        testToolCommand(new DatabaseTool(), SEARCH);
+    }
+
     @Test
     @ExpectSystemExitWithStatus(1)
     void fileTool_jsonify() throws IOException {
@@ -7,6 +7,7 @@ public class DisplayConstants {
     public static final String SEPARATOR_VALUES = " ";
     public static final String VALUE_ENTRY_CELL = "%d: %s";
     public static final String VALUE_UNKNOWN = "<%s>";
+    public static final String VALUE_ENTRY_LABEL_PENDING = "...";
     public static final String VALUE_FIELD_DEFAULT = "";
     public static final String VALUE_RESOURCE_DEFAULT = "";
     public static final String VALUE_RESOURCE_NONE = "_";
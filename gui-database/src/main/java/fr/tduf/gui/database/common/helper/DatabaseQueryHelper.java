@@ -8,7 +8,6 @@ import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
-import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseStructureQueryHelper;
 
 import java.util.List;
 
@@ -36,20 +35,19 @@ public class DatabaseQueryHelper {
             return String.format(DisplayConstants.VALUE_UNKNOWN, "?");
         }
 
-        List<DbStructureDto.Field> structureFields = databaseMiner.getDatabaseTopic(topic)
-                .map(DbDto::getStructure)
-                .map(DbStructureDto::getFields)
-                .orElseThrow(() -> new IllegalStateException("No structure found for topic: " + topic));
+        if (!databaseMiner.getDatabaseTopic(topic).isPresent()) {
+            throw new IllegalStateException("No structure found for topic: " + topic);
+        }
 
         List<String> contents = fieldRanks.stream()
-                .map(fieldRank -> resolveResourceValue(entryId, topic, locale, databaseMiner, editorLayoutDto, structureFields, fieldRank))
+                .map(fieldRank -> resolveResourceValue(entryId, topic, locale, databaseMiner, editorLayoutDto, fieldRank))
                 .collect(toList());
 
         return join(SEPARATOR_VALUES, contents);
     }
 
-    private static String resolveResourceValue(int entryId, DbDto.Topic topic, Locale locale, BulkDatabaseMiner databaseMiner, EditorLayoutDto editorLayoutDto, List<DbStructureDto.Field> structureFields, Integer fieldRank) {
-        DbStructureDto.Field structureField = DatabaseStructureQueryHelper.getStructureFieldWithRank(fieldRank, structureFields);
+    private static String resolveResourceValue(int entryId, DbDto.Topic topic, Locale locale, BulkDatabaseMiner databaseMiner, EditorLayoutDto editorLayoutDto, Integer fieldRank) {
+        DbStructureDto.Field structureField = databaseMiner.getStructureFieldWithTopicAndRank(topic, fieldRank);
         if (REFERENCE == structureField.getFieldType()) {
             return resolveValueForReferenceField(entryId, topic, locale, databaseMiner, editorLayoutDto, fieldRank, structureField);
         }
@@ -11,9 +11,9 @@ import fr.tduf.gui.database.controllers.main.MainStageChangeDataController;
 import fr.tduf.gui.database.domain.LocalizedResource;
 import fr.tduf.gui.database.domain.javafx.ResourceEntryDataItem;
 import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.dto.DbResourceMatchDto;
 import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
-import javafx.beans.binding.StringExpression;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.StringProperty;
@@ -27,11 +27,11 @@ import javafx.scene.control.TableView;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Pair;
-import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import static fr.tduf.gui.database.common.DisplayConstants.*;
@@ -39,6 +39,7 @@ import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
 import static fr.tduf.libunlimited.common.game.domain.Locale.fromOrder;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static javafx.beans.binding.Bindings.size;
 import static javafx.scene.control.Alert.AlertType.ERROR;
 
@@ -125,7 +126,8 @@ public class ResourcesStageController extends AbstractEditorController {
 
         DbDto currentTopicObject = getMiner().getDatabaseTopic(getCurrentTopic())
                 .orElseThrow(() -> new IllegalArgumentException("Topic not found: " + getCurrentTopic()));
-        dialogsHelper.showAddResourceDialog(currentTopicObject, currentLocale)
+        String defaultReference = getMiner().allocateResourceEntryIdentifier(getCurrentTopic());
+        dialogsHelper.showAddResourceDialog(currentTopicObject, defaultReference, currentLocale)
                 .ifPresent(newLocalizedResource -> editNewResourceAndUpdateMainStage(getCurrentTopic(), newLocalizedResource));
     }
 
@@ -206,25 +208,28 @@ public class ResourcesStageController extends AbstractEditorController {
     private void initSearchValueDialog() {
         searchValueDialog = new SearchValueDialog(TITLE_SEARCH_RESOURCE_ENTRY, LABEL_HEADER_SEARCH_VALUE);
 
-        Predicate<String> nextResult = pattern -> TableViewHelper.selectItemAndScroll((resource, rowIndex) -> {
+        Predicate<String> nextResult = pattern -> {
+            Set<String> matchingReferences = findMatchingResourceReferences(pattern);
             int selectedRowIndex = resourcesTableView.getSelectionModel().getSelectedIndex();
-            return (rowIndex > selectedRowIndex)
-                    &&
-                    Locale.valuesAsStream()
-                            .map(resource::valuePropertyForLocale)
-                            .map(StringExpression::getValue)
-                            .anyMatch(resourceValue -> StringUtils.containsIgnoreCase(resourceValue, pattern));
-        }, resourcesTableView).isPresent();
-
-        Predicate<String> firstResult = pattern -> TableViewHelper.selectItemAndScroll((resource, row) -> Locale.valuesAsStream()
-                .map(resource::valuePropertyForLocale)
-                .map(StringExpression::getValue)
-                .anyMatch(resourceValue -> StringUtils.containsIgnoreCase(resourceValue, pattern)), resourcesTableView)
-                .isPresent();
+            return TableViewHelper.selectItemAndScroll((resource, rowIndex) -> (rowIndex > selectedRowIndex)
+                    && matchingReferences.contains(resource.referenceProperty().get()), resourcesTableView).isPresent();
+        };
+
+        Predicate<String> firstResult = pattern -> {
+            Set<String> matchingReferences = findMatchingResourceReferences(pattern);
+            return TableViewHelper.selectItemAndScroll((resource, row) -> matchingReferences.contains(resource.referenceProperty().get()), resourcesTableView)
+                    .isPresent();
+        };
 
         searchValueDialog.setCallbacks(firstResult, nextResult);
     }
 
+    private Set<String> findMatchingResourceReferences(String pattern) {
+        return getMiner().findResourcesContaining(getCurrentTopic(), pattern, null).stream()
+                .map(DbResourceMatchDto::getReference)
+                .collect(toSet());
+    }
+
     private void initTopicPane() {
         fillTopics();
         topicsChoiceBox.getSelectionModel().selectedItemProperty()
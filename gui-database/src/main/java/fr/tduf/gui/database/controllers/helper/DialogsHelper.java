@@ -9,7 +9,6 @@ import fr.tduf.gui.database.common.FxConstants;
 import fr.tduf.gui.database.domain.LocalizedResource;
 import fr.tduf.gui.database.domain.javafx.ResourceEntryDataItem;
 import fr.tduf.libunlimited.common.game.domain.Locale;
-import fr.tduf.libunlimited.high.files.db.common.helper.DatabaseGenHelper;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -79,13 +78,12 @@ public class DialogsHelper {
      * Display a dialog box to add a resource.
      * It enables locale selection.
      *
-     * @param topicObject   : topic contents to be affected
-     * @param currentLocale : selected locale in GUI settings
+     * @param topicObject      : topic contents to be affected
+     * @param defaultReference : reference to be proposed for new resource
+     * @param currentLocale    : selected locale in GUI settings
      * @return resulting resource, or absent if dialog was dismissed.
      */
-    public Optional<LocalizedResource> showAddResourceDialog(DbDto topicObject, Locale currentLocale) {
-        String defaultReference = DatabaseGenHelper.generateUniqueResourceEntryIdentifier(topicObject);
-
+    public Optional<LocalizedResource> showAddResourceDialog(DbDto topicObject, String defaultReference, Locale currentLocale) {
         final Dialog<LocalizedResource> addResourceDialog = createLocalizedResourceDialog(currentLocale, defaultReference, DisplayConstants.VALUE_RESOURCE_DEFAULT);
         addResourceDialog.setTitle(DisplayConstants.TITLE_APPLICATION + DisplayConstants.TITLE_SUB_RESOURCES);
         addResourceDialog.setHeaderText(DisplayConstants.MESSAGE_ADDED_RESOURCE + topicObject.getTopic().getLabel());
@@ -61,6 +61,13 @@ abstract class AbstractMainStageSubController {
         getViewDataController().refreshAll();
     }
 
+    /**
+     * @see MainStageViewDataController#invalidateBrowsableEntryLabels()
+     */
+    protected void invalidateEntryLabels() {
+        getViewDataController().invalidateBrowsableEntryLabels();
+    }
+
     /**
      * @see MainStageViewDataController#updateViewComponentsForContentItem(int, ContentItemDto)
      */
@@ -392,6 +392,7 @@ public class MainStageChangeDataController extends AbstractMainStageSubControlle
 
     private void markChangesMade() {
         modifiedProperty().setValue(true);
+        invalidateEntryLabels();
     }
 
     private static Optional<DbPatchDto> generatePatchObject(DbDto.Topic currentTopic, List<String> entryReferences, List<String> entryFields, List<DbDto> databaseObjects) {
@@ -29,9 +29,8 @@ import fr.tduf.gui.database.stages.ResourcesDesigner;
 import fr.tduf.libunlimited.common.cache.DatabaseBanksCacheHelper;
 import fr.tduf.libunlimited.common.configuration.ApplicationConfiguration;
 import fr.tduf.libunlimited.common.game.domain.Locale;
-import fr.tduf.libunlimited.common.helper.CommandLineHelper;
 import fr.tduf.libunlimited.high.files.banks.BankSupport;
-import fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway;
+import fr.tduf.libunlimited.high.files.banks.NativeBankSupport;
 import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import javafx.application.Platform;
@@ -81,7 +80,7 @@ public class MainStageController extends AbstractGuiController {
     private BulkDatabaseMiner databaseMiner;
     private DialogsHelper dialogsHelper;
 
-    private final BankSupport bankSupport = new GenuineBnkGateway(new CommandLineHelper());
+    private final BankSupport bankSupport = new NativeBankSupport();
     private PluginHandler pluginHandler;
 
     private MainStageViewDataController viewDataController;
@@ -491,6 +490,7 @@ public class MainStageController extends AbstractGuiController {
 
         databaseLoader.bankSupportProperty().setValue(bankSupport);
         databaseLoader.databaseLocationProperty().setValue(databaseLocation);
+        databaseLoader.snapshotEnabledProperty().setValue(applicationConfiguration.isEditorSnapshotEnabled());
 
         Platform.runLater(databaseLoader::restart);
     }
@@ -560,6 +560,7 @@ public class MainStageController extends AbstractGuiController {
         databaseSaver.bankSupportProperty().setValue(bankSupport);
         databaseSaver.databaseLocationProperty().setValue(databaseLocation);
         databaseSaver.databaseObjectsProperty().setValue(databaseObjects);
+        databaseSaver.snapshotEnabledProperty().setValue(applicationConfiguration.isEditorSnapshotEnabled());
         databaseSaver.restart();
     }
 
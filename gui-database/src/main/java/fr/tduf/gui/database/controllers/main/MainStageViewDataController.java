@@ -22,8 +22,10 @@ import fr.tduf.gui.database.dto.EditorLayoutDto;
 import fr.tduf.gui.database.dto.FieldSettingsDto;
 import fr.tduf.gui.database.dto.TopicLinkDto;
 import fr.tduf.gui.database.factory.EntryCellFactory;
+import fr.tduf.gui.database.services.EntryLabelsResolver;
 import fr.tduf.libunlimited.common.configuration.ApplicationConfiguration;
 import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
@@ -57,6 +59,7 @@ import static fr.tduf.gui.common.ImageConstants.Resource.MAGNIFIER_BLUE;
 import static fr.tduf.gui.common.ImageConstants.SIZE_BUTTON_PICTO;
 import static fr.tduf.gui.database.common.FxConstants.*;
 import static fr.tduf.gui.database.common.SupportConstants.LOG_TARGET_PROFILE_NAME;
+import static fr.tduf.gui.database.services.EntryLabelsResolver.CHUNK_SIZE;
 import static fr.tduf.libunlimited.low.files.db.dto.DbStructureDto.FieldType.REFERENCE;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
@@ -91,11 +94,25 @@ public class MainStageViewDataController extends AbstractMainStageSubController
 
     private final ItemViewModel itemPropsByFieldRank = new ItemViewModel();
 
+    private final EntryLabelsResolver entryLabelsResolver = new EntryLabelsResolver();
+
+    // Browsable entry labels and references, by (topic, locale, profile)
+    private final Map<String, List<String>> entryLabelsCache = new HashMap<>();
+    private final Map<String, List<String>> entryReferencesCache = new HashMap<>();
+    private String resolvedEntryLabelsCacheKey;
+
     MainStageViewDataController(MainStageController mainStageController) {
         super(mainStageController);
 
         dynamicFieldControlsHelper = new DynamicFieldControlsHelper(mainStageController);
         dynamicLinkControlsHelper = new DynamicLinkControlsHelper(mainStageController);
+
+        entryLabelsResolver.chunkHandlerProperty().setValue(this::applyBrowsableEntryLabels);
+        entryLabelsResolver.setOnSucceeded(event -> cacheBrowsableEntryLabels(resolvedEntryLabelsCacheKey));
+        entryLabelsResolver.setOnFailed(event -> {
+            Log.warn(THIS_CLASS_NAME, "Unable to resolve entry labels in background, resolving them now", entryLabelsResolver.getException());
+            resolveRemainingBrowsableEntryLabels();
+        });
     }
 
     public EventHandler<ActionEvent> handleGotoReferenceButtonMouseClick(TableView.TableViewSelectionModel<ContentEntryDataItem> tableViewSelectionModel, DbDto.Topic targetTopic, String targetProfileName) {
@@ -319,11 +336,8 @@ public class MainStageViewDataController extends AbstractMainStageSubController
         DbDto linkedTopicObject = getMiner().getDatabaseTopic(linkTopic)
                 .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_DATABASE_OBJECT_FOR_TOPIC + linkTopic));
 
-        linkedTopicObject.getData().getEntries().stream()
-                .filter(contentEntry -> currentEntryRef.equals(contentEntry.getItemAtRank(1)
-                        .orElseThrow(() -> new IllegalStateException("No content item at rank 1 for entry id: " + contentEntry.getId()))
-                        .getRawValue())
-                )
+        // Linked entries reference current one at first field: resolved from miner index, in topic order
+        getMiner().getContentEntryStreamMatchingSimpleCondition(DbFieldValueDto.fromCouple(1, currentEntryRef), linkTopic)
                 .map(contentEntry -> fetchLinkResourceFromContentEntry(linkedTopicObject, contentEntry, linkObject))
                 .forEach(values::add);
 
@@ -332,6 +346,21 @@ public class MainStageViewDataController extends AbstractMainStageSubController
         }
     }
 
+    /**
+     * Drops all cached entry labels, as any database change may affect them.
+     * Labels of current topic, including already displayed ones, are all resolved again in background.
+     */
+    void invalidateBrowsableEntryLabels() {
+        entryLabelsCache.clear();
+        entryReferencesCache.clear();
+
+        if (browsableEntries.isEmpty()) {
+            return;
+        }
+
+        resolveBrowsableEntryLabelsInBackground(0);
+    }
+
     void updateEntriesAndSwitchTo(int entryIndex) {
         fillBrowsableEntries();
         int effectiveIndex = entryIndex;
@@ -505,15 +534,12 @@ public class MainStageViewDataController extends AbstractMainStageSubController
             return;
         }
 
-        filteredEntries.setPredicate((ContentEntryDataItem item) -> {
-            String entryRank = String.valueOf(item.internalEntryIdProperty().get() + 1);
-            String entryLabel = item.valueProperty().get().toLowerCase();
-            String entryReference = item.referenceProperty().get();
-
-            return entryRank.equals(filterCriteria)
-                    || entryLabel.contains(filterCriteria)
-                    || entryReference.equals(filterCriteria);
-        });
+        // Rank criteria is compared as text: no leading zero nor sign
+        int filterRank = filterCriteria.matches("[1-9]\\d{0,8}") ? Integer.parseInt(filterCriteria) : -1;
+        filteredEntries.setPredicate((ContentEntryDataItem item) ->
+                item.internalEntryIdProperty().get() + 1 == filterRank
+                        || item.getSearchableValue().contains(filterCriteria)
+                        || item.referenceProperty().get().equals(filterCriteria));
 
         switchToFirstFilteredEntry();
     }
@@ -647,17 +673,109 @@ public class MainStageViewDataController extends AbstractMainStageSubController
     }
 
     private void fillBrowsableEntries() {
+        entryLabelsResolver.cancel();
+
+        final String profileName = currentProfileProperty.getValue().getName();
+        final List<Integer> labelFieldRanks = EditorLayoutHelper.getEntryLabelFieldRanksSettingByProfile(profileName, getLayoutObject());
+        final DbDto.Topic currentTopic = getCurrentTopic();
+        final Locale currentLocale = currentLocaleProperty.getValue();
+        final List<ContentEntryDto> topicEntries = getMiner().getDatabaseTopic(currentTopic)
+                .map(topicObject -> topicObject.getData().getEntries())
+                .orElse(new ArrayList<>());
+
+        final String labelsCacheKey = getEntryLabelsCacheKey(currentTopic, currentLocale, profileName);
+        final List<String> cachedLabels = entryLabelsCache.get(labelsCacheKey);
+        final List<String> cachedReferences = entryReferencesCache.get(labelsCacheKey);
+        final int entryCount = topicEntries.size();
+        final boolean labelsInCache = cachedLabels != null && cachedLabels.size() == entryCount
+                && cachedReferences != null && cachedReferences.size() == entryCount;
+
+        // Without cache, only first chunk of labels and references is resolved right away; other ones will be resolved in background
+        final int immediateLabelCount = labelsInCache ? entryCount : Math.min(CHUNK_SIZE, entryCount);
+        final List<ContentEntryDataItem> entryItems = new ArrayList<>(entryCount);
+        for (ContentEntryDto topicEntry : topicEntries) {
+            int entryInternalIdentifier = topicEntry.getId();
+            String entryLabel;
+            String entryReference;
+            if (entryInternalIdentifier >= immediateLabelCount) {
+                entryLabel = DisplayConstants.VALUE_ENTRY_LABEL_PENDING;
+                entryReference = DisplayConstants.VALUE_ENTRY_LABEL_PENDING;
+            } else if (labelsInCache) {
+                entryLabel = cachedLabels.get(entryInternalIdentifier);
+                entryReference = cachedReferences.get(entryInternalIdentifier);
+            } else {
+                entryLabel = DatabaseQueryHelper.fetchResourceValuesWithEntryId(entryInternalIdentifier, currentTopic, currentLocale, labelFieldRanks, getMiner(), getLayoutObject());
+                entryReference = EntryLabelsResolver.resolveEntryReference(entryInternalIdentifier, currentTopic, getMiner());
+            }
+            entryItems.add(getDisplayableEntry(entryInternalIdentifier, entryLabel, entryReference));
+        }
+        browsableEntries.setAll(entryItems);
+
+        if (labelsInCache) {
+            return;
+        }
+
+        if (immediateLabelCount == entryCount) {
+            cacheBrowsableEntryLabels(labelsCacheKey);
+            return;
+        }
+
+        resolveBrowsableEntryLabelsInBackground(immediateLabelCount);
+    }
+
+    private void resolveBrowsableEntryLabelsInBackground(int firstEntryId) {
+        final String profileName = currentProfileProperty.getValue().getName();
+        final DbDto.Topic currentTopic = getCurrentTopic();
+        final Locale currentLocale = currentLocaleProperty.getValue();
+
+        resolvedEntryLabelsCacheKey = getEntryLabelsCacheKey(currentTopic, currentLocale, profileName);
+        entryLabelsResolver.minerProperty().setValue(getMiner());
+        entryLabelsResolver.layoutObjectProperty().setValue(getLayoutObject());
+        entryLabelsResolver.topicProperty().setValue(currentTopic);
+        entryLabelsResolver.localeProperty().setValue(currentLocale);
+        entryLabelsResolver.labelFieldRanksProperty().setValue(EditorLayoutHelper.getEntryLabelFieldRanksSettingByProfile(profileName, getLayoutObject()));
+        entryLabelsResolver.firstEntryIdProperty().setValue(firstEntryId);
+        entryLabelsResolver.entryCountProperty().setValue(browsableEntries.size() - firstEntryId);
+        entryLabelsResolver.restart();
+    }
+
+    private void applyBrowsableEntryLabels(int firstEntryId, List<String> labels, List<String> references) {
+        for (int i = 0; i < labels.size(); i++) {
+            int entryIndex = firstEntryId + i;
+            if (entryIndex < browsableEntries.size()) {
+                ContentEntryDataItem entry = browsableEntries.get(entryIndex);
+                entry.setValue(labels.get(i));
+                entry.setReference(references.get(i));
+            }
+        }
+    }
+
+    private void resolveRemainingBrowsableEntryLabels() {
         final List<Integer> labelFieldRanks = EditorLayoutHelper.getEntryLabelFieldRanksSettingByProfile(
                 currentProfileProperty.getValue().getName(),
                 getLayoutObject());
-
         final DbDto.Topic currentTopic = getCurrentTopic();
-        browsableEntries.setAll(
-                getMiner().getDatabaseTopic(currentTopic)
-                        .map(topicObject -> topicObject.getData().getEntries().stream()
-                                .map(topicEntry -> getDisplayableEntryForCurrentLocale(topicEntry, labelFieldRanks, currentTopic))
-                                .collect(toList()))
-                        .orElse(new ArrayList<>()));
+        final Locale currentLocale = currentLocaleProperty.getValue();
+        final int firstEntryId = entryLabelsResolver.firstEntryIdProperty().get();
+
+        browsableEntries.stream()
+                .filter(entry -> entry.internalEntryIdProperty().get() >= firstEntryId)
+                .forEach(entry -> {
+                    int entryId = entry.internalEntryIdProperty().get();
+                    entry.setValue(DatabaseQueryHelper.fetchResourceValuesWithEntryId(entryId, currentTopic, currentLocale, labelFieldRanks, getMiner(), getLayoutObject()));
+                    entry.setReference(EntryLabelsResolver.resolveEntryReference(entryId, currentTopic, getMiner()));
+                });
+
+        cacheBrowsableEntryLabels(resolvedEntryLabelsCacheKey);
+    }
+
+    private void cacheBrowsableEntryLabels(String labelsCacheKey) {
+        entryLabelsCache.put(labelsCacheKey, browsableEntries.stream()
+                .map(entry -> entry.valueProperty().get())
+                .collect(toList()));
+        entryReferencesCache.put(labelsCacheKey, browsableEntries.stream()
+                .map(entry -> entry.referenceProperty().get())
+                .collect(toList()));
     }
 
     private void updateBrowsableEntryLabel(int internalEntryId) {
@@ -671,23 +789,15 @@ public class MainStageViewDataController extends AbstractMainStageSubController
 
                     String entryValue = DatabaseQueryHelper.fetchResourceValuesWithEntryId(internalEntryId, getCurrentTopic(), currentLocaleProperty.getValue(), labelFieldRanks, getMiner(), getLayoutObject());
                     entry.setValue(entryValue);
+                    entry.setReference(EntryLabelsResolver.resolveEntryReference(internalEntryId, getCurrentTopic(), getMiner()));
                 });
     }
 
-    private ContentEntryDataItem getDisplayableEntryForCurrentLocale(ContentEntryDto topicEntry, List<Integer> labelFieldRanks, DbDto.Topic topic) {
+    private static ContentEntryDataItem getDisplayableEntry(int entryInternalIdentifier, String entryLabel, String entryReference) {
         ContentEntryDataItem contentEntryDataItem = new ContentEntryDataItem();
 
-        int entryInternalIdentifier = topicEntry.getId();
         contentEntryDataItem.setInternalEntryId(entryInternalIdentifier);
-
-        String entryValue = DatabaseQueryHelper.fetchResourceValuesWithEntryId(entryInternalIdentifier, topic, currentLocaleProperty.getValue(), labelFieldRanks, getMiner(), getLayoutObject());
-        contentEntryDataItem.setValue(entryValue);
-
-        String entryReference = Long.toString(entryInternalIdentifier);
-        Optional<String> potentialEntryReference = getMiner().getContentEntryReferenceWithInternalIdentifier(entryInternalIdentifier, topic);
-        if (potentialEntryReference.isPresent()) {
-            entryReference = potentialEntryReference.get();
-        }
+        contentEntryDataItem.setValue(entryLabel);
         contentEntryDataItem.setReference(entryReference);
 
         return contentEntryDataItem;
@@ -818,6 +928,10 @@ public class MainStageViewDataController extends AbstractMainStageSubController
                 .addListener(profileChangeListener);
     }
 
+    private static String getEntryLabelsCacheKey(DbDto.Topic topic, Locale locale, String profileName) {
+        return topic + ":" + locale + ":" + profileName;
+    }
+
     private Optional<EditorLayoutDto.EditorProfileDto> lookupChoiceboxProfileByName(String profileName) {
         return getProfilesChoiceBox().getItems().stream()
                 .filter(profile -> profile.getName().equals(profileName))
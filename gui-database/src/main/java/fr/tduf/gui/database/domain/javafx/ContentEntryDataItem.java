@@ -19,6 +19,13 @@ public class ContentEntryDataItem {
 
     private final StringProperty value = new SimpleStringProperty();
 
+    /** Lower-case value, kept for filtering, so that it does not have to be computed at each search. */
+    private String searchableValue = "";
+
+    public ContentEntryDataItem() {
+        value.addListener((observable, oldValue, newValue) -> searchableValue = newValue == null ? "" : newValue.toLowerCase());
+    }
+
     public StringProperty referenceProperty() {
         return reference;
     }
@@ -31,6 +38,10 @@ public class ContentEntryDataItem {
         return value;
     }
 
+    public String getSearchableValue() {
+        return searchableValue;
+    }
+
     public void setReference(String reference) {
         this.reference.set(reference);
     }
@@ -18,7 +18,6 @@ import fr.tduf.libunlimited.low.files.banks.mapping.domain.BankMap;
 import fr.tduf.libunlimited.low.files.banks.mapping.helper.MapHelper;
 import fr.tduf.libunlimited.low.files.banks.mapping.rw.MapParser;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
-import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.*;
@@ -55,6 +54,7 @@ import static fr.tduf.libunlimited.low.files.banks.domain.MappedFileKind.*;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.*;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Optional.ofNullable;
 import static javafx.geometry.Orientation.VERTICAL;
 
 /**
@@ -449,10 +449,11 @@ public class MappingPlugin extends AbstractDatabasePlugin {
         String brandRef =  retrieveCurrentRawValueFromContext(onTheFlyMappingContext, FIELD_RANK_FURNITURE_BRAND)
                 .orElseThrow(() -> new IllegalStateException("No content item for brand reference"));
         BulkDatabaseMiner miner = getEditorContext().getMiner();
-        return miner.getContentEntryFromTopicWithReference(brandRef, BRANDS)
+        String manufacturerIdRef = miner.getContentEntryFromTopicWithReference(brandRef, BRANDS)
                 .orElseThrow(() -> new IllegalStateException("No brand content entry for ref: " + brandRef))
-                .getItemAtRank(FIELD_RANK_MANUFACTURER_ID)
-                .flatMap(item -> miner.getResourceEntryFromTopicAndReference(BRANDS, item.getRawValue()))
+                .getRawValueAtRank(FIELD_RANK_MANUFACTURER_ID);
+        return ofNullable(manufacturerIdRef)
+                .flatMap(ref -> miner.getResourceEntryFromTopicAndReference(BRANDS, ref))
                 .flatMap(ResourceEntryDto::pickValue)
                 .orElseThrow(() -> new IllegalStateException("No manufacturer id available"));
     }
@@ -461,10 +462,9 @@ public class MappingPlugin extends AbstractDatabasePlugin {
         BulkDatabaseMiner miner = getEditorContext().getMiner();
         DbDto.Topic currentTopic = onTheFlyMappingContext.getCurrentTopic();
         int entryId = onTheFlyMappingContext.getContentEntryIndexProperty().getValue();
-        return miner.getContentEntryFromTopicWithInternalIdentifier(entryId, currentTopic)
+        return ofNullable(miner.getContentEntryFromTopicWithInternalIdentifier(entryId, currentTopic)
                 .orElseThrow(() -> new IllegalStateException("No content entry for identifier: " + entryId))
-                .getItemAtRank(itemRank)
-                .map(ContentItemDto::getRawValue);
+                .getRawValueAtRank(itemRank));
     }
 
     /**
@@ -18,7 +18,6 @@ import fr.tduf.gui.database.plugins.materials.stages.MaterialAdvancedInfoDesigne
 import fr.tduf.libunlimited.common.game.FileConstants;
 import fr.tduf.libunlimited.framework.io.XByteArrayInputStream;
 import fr.tduf.libunlimited.framework.lang.UByte;
-import fr.tduf.libunlimited.high.files.db.common.helper.DatabaseGenHelper;
 import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.gfx.materials.domain.Material;
@@ -56,6 +55,7 @@ import static fr.tduf.gui.database.plugins.materials.common.FxConstants.*;
 import static fr.tduf.libunlimited.common.game.FileConstants.*;
 import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
 import static fr.tduf.libunlimited.framework.fx.Bindings.bindBidirectional;
+import static fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway.getInternalPathFromRealPath;
 import static fr.tduf.libunlimited.low.files.gfx.materials.domain.Color.ColorKind.*;
 import static java.nio.file.Files.readAllBytes;
 import static java.util.Arrays.stream;
@@ -99,15 +99,18 @@ public class MaterialsPlugin extends AbstractDatabasePlugin {
         // Loads colors.2dm in colors.bnk
         String gameLocation = context.getGameLocation();
 
-        // Extracts all files from colors.bnk
+        // Extracts colors.2dm only from colors.bnk
         Path bankFilePath = resolveAndCheckBankFilePath(gameLocation);
 
         String extractedDirectory = createTempDirectory();
-        Log.debug(THIS_CLASS_NAME, String.format("Extracting materials info from %s to %s...", bankFilePath, extractedDirectory));
-        context.getMainStageController().getBankSupport().extractAll(bankFilePath.toString(), extractedDirectory);
+        Path binaryFilePath = resolveColorsFileLocation(extractedDirectory);
+        Files.createDirectories(binaryFilePath.getParent());
+        String packedFilePath = getInternalPathFromRealPath(binaryFilePath, Paths.get(extractedDirectory));
+        Log.debug(THIS_CLASS_NAME, String.format("Extracting materials info %s from %s to %s...", packedFilePath, bankFilePath, extractedDirectory));
+        context.getMainStageController().getBankSupport().extractPackedFile(bankFilePath.toString(), packedFilePath, binaryFilePath.toString());
 
         // Resolves material info binary file
-        String binaryFileLocation = resolveColorsFileLocation(extractedDirectory).toString();
+        String binaryFileLocation = binaryFilePath.toString();
         Log.debug(THIS_CLASS_NAME, String.format("Materials binary location: %s", binaryFileLocation));
         materialsContext.setBinaryFileLocation(binaryFileLocation);
         materialsContext.setBankExtractedDirectory(extractedDirectory);
@@ -139,12 +142,12 @@ public class MaterialsPlugin extends AbstractDatabasePlugin {
         Log.info(THIS_CLASS_NAME, "Saving material definitions to " + materialsFile);
         MaterialsHelper.saveMaterialDefinitions(materialsInfoEnhancedProperty.getValue(), materialsFile);
 
-        // Repacking to Colors.bnk
+        // Replacing colors.2dm in Colors.bnk
         EditorContext context = getEditorContext();
         Path bankFilePath = resolveAndCheckBankFilePath(context.getGameLocation());
-        String extractedDirectory = materialsContext.getBankExtractedDirectory();
-        Log.debug(THIS_CLASS_NAME, String.format("Repacking materials info from %s to %s...", extractedDirectory, bankFilePath));
-        context.getMainStageController().getBankSupport().packAll(extractedDirectory, bankFilePath.toString());
+        String packedFilePath = getInternalPathFromRealPath(Paths.get(materialsFile), Paths.get(materialsContext.getBankExtractedDirectory()));
+        Log.debug(THIS_CLASS_NAME, String.format("Repacking materials info from %s to %s...", materialsFile, bankFilePath));
+        context.getMainStageController().getBankSupport().replacePackedFile(bankFilePath.toString(), packedFilePath, materialsFile);
     }
 
     @Override
@@ -501,7 +504,7 @@ public class MaterialsPlugin extends AbstractDatabasePlugin {
     }
 
     private void handleAutoResourceCreation(DbDto topicObject, String materialName, OnTheFlyMaterialsContext onTheFlyContext) {
-        String newReference = DatabaseGenHelper.generateUniqueResourceEntryIdentifier(topicObject);
+        String newReference = getEditorContext().getMiner().allocateResourceEntryIdentifier(topicObject.getTopic());
         DbDto.Topic currentTopic = onTheFlyContext.getCurrentTopic();
         if (askForResourceCreation(currentTopic, newReference, materialName)) {
             getEditorContext().getChangeDataController().addResourceWithReference(currentTopic, DEFAULT, newReference, materialName);
@@ -7,6 +7,8 @@ import fr.tduf.libunlimited.high.files.banks.BankSupport;
 import fr.tduf.libunlimited.high.files.db.common.helper.BankHelper;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -17,17 +19,20 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
 
 import static fr.tduf.gui.database.common.DisplayConstants.*;
 
 /**
- * Background service to load database objects from banks or json files
+ * Background service to load database objects from banks or json files.
+ * With packed databases, binary snapshot in cache is read when still valid, instead of JSON files; it is written after JSON loading.
  */
 public class DatabaseLoader extends Service<List<DbDto>> {
     private static final String THIS_CLASS_NAME = DatabaseLoader.class.getSimpleName();
 
     private final StringProperty databaseLocation = new SimpleStringProperty();
     private final SimpleObjectProperty<BankSupport> bankSupport = new SimpleObjectProperty<>();
+    private final BooleanProperty snapshotEnabled = new SimpleBooleanProperty(false);
 
     /**
      * Created for advanced features and easier testing
@@ -45,10 +50,24 @@ public class DatabaseLoader extends Service<List<DbDto>> {
 
                 Log.debug(THIS_CLASS_NAME, "jsonDatabaseLocation=" + jsonDatabaseLocation);
 
-                databaseObjects = DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDatabaseLocation);
+                final Path realDatabasePath = Paths.get(realDatabaseLocation);
+                boolean snapshotSupported = snapshotEnabled.get() && BankHelper.isPackedDatabase(realDatabasePath);
+                Optional<List<DbDto>> snapshotDatabaseObjects = snapshotSupported ?
+                        DatabaseBanksCacheHelper.readDatabaseSnapshotWithCacheSupport(realDatabasePath) :
+                        Optional.empty();
 
-                if (databaseObjects.isEmpty()) {
-                    throw new IllegalArgumentException("Invalid database location: " + realDatabaseLocation);
+                if (snapshotDatabaseObjects.isPresent()) {
+                    databaseObjects = snapshotDatabaseObjects.get();
+                } else {
+                    databaseObjects = DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDatabaseLocation);
+
+                    if (databaseObjects.isEmpty()) {
+                        throw new IllegalArgumentException("Invalid database location: " + realDatabaseLocation);
+                    }
+
+                    if (snapshotSupported) {
+                        writeSnapshot(realDatabasePath, databaseObjects);
+                    }
                 }
             } catch (Exception e) {
                 updateMessage(String.format(STATUS_FORMAT_NOT_LOADED_DATABASE, realDatabaseLocation));
@@ -74,6 +93,14 @@ public class DatabaseLoader extends Service<List<DbDto>> {
         return new LoaderTask();
     }
 
+    private static void writeSnapshot(Path realDatabasePath, List<DbDto> databaseObjects) {
+        try {
+            DatabaseBanksCacheHelper.writeDatabaseSnapshotWithCacheSupport(realDatabasePath, databaseObjects);
+        } catch (IOException ioe) {
+            Log.warn(THIS_CLASS_NAME, "Unable to write database snapshot", ioe);
+        }
+    }
+
     private static String resolveJsonDatabaseLocationAndUnpack(String realDatabaseLocation, BankSupport bankSupport) throws IOException {
         final Path realDatabasePath = Paths.get(realDatabaseLocation);
         return BankHelper.isPackedDatabase(realDatabasePath) ?
@@ -88,4 +115,8 @@ public class DatabaseLoader extends Service<List<DbDto>> {
     public SimpleObjectProperty<BankSupport> bankSupportProperty() {
         return bankSupport;
     }
+
+    public BooleanProperty snapshotEnabledProperty() {
+        return snapshotEnabled;
+    }
 }
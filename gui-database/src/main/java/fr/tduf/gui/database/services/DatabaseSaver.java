@@ -7,13 +7,16 @@ import fr.tduf.libunlimited.high.files.banks.BankSupport;
 import fr.tduf.libunlimited.high.files.db.common.helper.BankHelper;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.concurrent.Service;
 import javafx.concurrent.Task;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
@@ -21,7 +24,8 @@ import java.util.List;
 import static fr.tduf.gui.database.common.DisplayConstants.*;
 
 /**
- * Background service to save database objects to banks or json files
+ * Background service to save database objects to banks or json files.
+ * Only modified topics are written to JSON files. With packed databases, binary snapshot in cache is rewritten after repacking.
  */
 public class DatabaseSaver extends Service<String> {
     private static final String THIS_CLASS_NAME = DatabaseSaver.class.getSimpleName();
@@ -29,6 +33,7 @@ public class DatabaseSaver extends Service<String> {
     private final StringProperty databaseLocation = new SimpleStringProperty();
     private final ObjectProperty<BankSupport> bankSupport = new SimpleObjectProperty<>();
     private final ObjectProperty<List<DbDto>> databaseObjects = new SimpleObjectProperty<>();
+    private final BooleanProperty snapshotEnabled = new SimpleBooleanProperty(false);
 
     /**
      * Created for advanced features and easier testing
@@ -44,10 +49,15 @@ public class DatabaseSaver extends Service<String> {
                 String jsonDatabaseLocation = resolveJsonDatabaseLocation(databasePath);
                 Log.debug(THIS_CLASS_NAME, "jsonDatabaseLocation=" + jsonDatabaseLocation);
 
-                DatabaseReadWriteHelper.writeDatabaseTopicsToJson(databaseObjects.get(), jsonDatabaseLocation);
+                List<String> writtenFileNames = DatabaseReadWriteHelper.writeModifiedDatabaseTopicsToJson(databaseObjects.get(), jsonDatabaseLocation);
+                Log.debug(THIS_CLASS_NAME, "writtenFileNames=" + writtenFileNames);
 
                 if (!Paths.get(databasePath).toAbsolutePath().equals(Paths.get(jsonDatabaseLocation).toAbsolutePath())) {
-                    DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(Paths.get(databasePath), bankSupport.get());
+                    DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(Paths.get(databasePath), writtenFileNames, bankSupport.get());
+
+                    if (snapshotEnabled.get()) {
+                        writeSnapshot(Paths.get(databasePath), databaseObjects.get());
+                    }
                 }
             } catch (RuntimeException re) {
                 updateMessage(String.format(STATUS_FORMAT_NOT_SAVED_DATABASE, databasePath));
@@ -65,6 +75,14 @@ public class DatabaseSaver extends Service<String> {
         return new SaverTask();
     }
 
+    private static void writeSnapshot(Path realDatabasePath, List<DbDto> databaseObjects) {
+        try {
+            DatabaseBanksCacheHelper.writeDatabaseSnapshotWithCacheSupport(realDatabasePath, databaseObjects);
+        } catch (IOException ioe) {
+            Log.warn(THIS_CLASS_NAME, "Unable to write database snapshot", ioe);
+        }
+    }
+
     private static String resolveJsonDatabaseLocation(String realDatabaseLocation) {
         final Path realDatabasePath = Paths.get(realDatabaseLocation);
         return BankHelper.isPackedDatabase(realDatabasePath) ?
@@ -83,4 +101,8 @@ public class DatabaseSaver extends Service<String> {
     public ObjectProperty<List<DbDto>> databaseObjectsProperty() {
         return databaseObjects;
     }
+
+    public BooleanProperty snapshotEnabledProperty() {
+        return snapshotEnabled;
+    }
 }
@@ -0,0 +1,181 @@
+package fr.tduf.gui.database.services;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.gui.common.services.tasks.GenericServiceTask;
+import fr.tduf.gui.database.common.helper.DatabaseQueryHelper;
+import fr.tduf.gui.database.dto.EditorLayoutDto;
+import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.concurrent.Service;
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Background service to resolve labels and references of topic entries, to be browsed in editor.
+ * Labels are resolved by chunks on FX thread, as database may be edited meanwhile; each chunk is handed over as soon as available,
+ * so that entry list remains usable between chunks.
+ * Service value is the list of all resolved labels, starting at first entry identifier.
+ */
+public class EntryLabelsResolver extends Service<List<String>> {
+    private static final String THIS_CLASS_NAME = EntryLabelsResolver.class.getSimpleName();
+
+    public static final int CHUNK_SIZE = 250;
+
+    private final ObjectProperty<BulkDatabaseMiner> miner = new SimpleObjectProperty<>();
+    private final ObjectProperty<EditorLayoutDto> layoutObject = new SimpleObjectProperty<>();
+    private final ObjectProperty<DbDto.Topic> topic = new SimpleObjectProperty<>();
+    private final ObjectProperty<Locale> locale = new SimpleObjectProperty<>();
+    private final ObjectProperty<List<Integer>> labelFieldRanks = new SimpleObjectProperty<>();
+    private final IntegerProperty firstEntryId = new SimpleIntegerProperty();
+    private final IntegerProperty entryCount = new SimpleIntegerProperty();
+    private final ObjectProperty<ChunkHandler> chunkHandler = new SimpleObjectProperty<>();
+
+    /**
+     * Receives labels and references of a chunk of entries, on FX thread.
+     */
+    @FunctionalInterface
+    public interface ChunkHandler {
+        void accept(int chunkFirstId, List<String> chunkLabels, List<String> chunkReferences);
+    }
+
+    /**
+     * Created for advanced features and easier testing.
+     * Settings are captured at creation, on FX thread.
+     */
+    class ResolverTask extends GenericServiceTask<List<String>> {
+        private final BulkDatabaseMiner taskMiner = miner.get();
+        private final EditorLayoutDto taskLayoutObject = layoutObject.get();
+        private final DbDto.Topic taskTopic = topic.get();
+        private final Locale taskLocale = locale.get();
+        private final List<Integer> taskLabelFieldRanks = labelFieldRanks.get();
+        private final int taskFirstEntryId = firstEntryId.get();
+        private final int taskEntryCount = entryCount.get();
+        private final ChunkHandler taskChunkHandler = chunkHandler.get();
+
+        @Override
+        protected List<String> call() {
+            Log.debug(THIS_CLASS_NAME, "Resolving " + taskEntryCount + " entry labels for topic " + taskTopic + ", from entry " + taskFirstEntryId);
+
+            int lastEntryId = taskFirstEntryId + taskEntryCount;
+            List<String> labels = new ArrayList<>(taskEntryCount);
+            for (int chunkFirstId = taskFirstEntryId; chunkFirstId < lastEntryId; chunkFirstId += CHUNK_SIZE) {
+                if (isCancelled()) {
+                    return labels;
+                }
+
+                int chunkLastId = Math.min(chunkFirstId + CHUNK_SIZE, lastEntryId);
+                List<String> chunkLabels = resolveChunkOnFxThread(chunkFirstId, chunkLastId);
+                if (chunkLabels == null) {
+                    return labels;
+                }
+                labels.addAll(chunkLabels);
+            }
+            return labels;
+        }
+
+        /**
+         * Miner is only read on FX thread, so that no change can happen while resolving a chunk.
+         * @return null if task was cancelled meanwhile
+         */
+        private List<String> resolveChunkOnFxThread(int chunkFirstId, int chunkLastId) {
+            FutureTask<List<String>> chunkTask = new FutureTask<>(() -> {
+                // Chunks resolved after cancellation are obsolete
+                if (isCancelled()) {
+                    return null;
+                }
+
+                List<String> chunkLabels = resolveChunkLabels(chunkFirstId, chunkLastId);
+                if (taskChunkHandler != null) {
+                    taskChunkHandler.accept(chunkFirstId, chunkLabels, resolveChunkReferences(chunkFirstId, chunkLastId));
+                }
+                return chunkLabels;
+            });
+
+            if (Platform.isFxApplicationThread()) {
+                chunkTask.run();
+            } else {
+                Platform.runLater(chunkTask);
+            }
+
+            try {
+                return chunkTask.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException ee) {
+                throw new IllegalStateException("Unable to resolve entry labels from entry " + chunkFirstId, ee.getCause());
+            }
+        }
+
+        private List<String> resolveChunkLabels(int chunkFirstId, int chunkLastId) {
+            List<String> chunkLabels = new ArrayList<>(chunkLastId - chunkFirstId);
+            for (int entryId = chunkFirstId; entryId < chunkLastId; entryId++) {
+                chunkLabels.add(DatabaseQueryHelper.fetchResourceValuesWithEntryId(entryId, taskTopic, taskLocale, taskLabelFieldRanks, taskMiner, taskLayoutObject));
+            }
+            return chunkLabels;
+        }
+
+        private List<String> resolveChunkReferences(int chunkFirstId, int chunkLastId) {
+            List<String> chunkReferences = new ArrayList<>(chunkLastId - chunkFirstId);
+            for (int entryId = chunkFirstId; entryId < chunkLastId; entryId++) {
+                chunkReferences.add(resolveEntryReference(entryId, taskTopic, taskMiner));
+            }
+            return chunkReferences;
+        }
+    }
+
+    /**
+     * @return reference of entry with given internal identifier, or internal identifier itself when topic has no reference field
+     */
+    public static String resolveEntryReference(int entryId, DbDto.Topic topic, BulkDatabaseMiner miner) {
+        return miner.getContentEntryReferenceWithInternalIdentifier(entryId, topic)
+                .orElseGet(() -> Integer.toString(entryId));
+    }
+
+    @Override
+    protected Task<List<String>> createTask() {
+        return new ResolverTask();
+    }
+
+    public ObjectProperty<BulkDatabaseMiner> minerProperty() {
+        return miner;
+    }
+
+    public ObjectProperty<EditorLayoutDto> layoutObjectProperty() {
+        return layoutObject;
+    }
+
+    public ObjectProperty<DbDto.Topic> topicProperty() {
+        return topic;
+    }
+
+    public ObjectProperty<Locale> localeProperty() {
+        return locale;
+    }
+
+    public ObjectProperty<List<Integer>> labelFieldRanksProperty() {
+        return labelFieldRanks;
+    }
+
+    public IntegerProperty firstEntryIdProperty() {
+        return firstEntryId;
+    }
+
+    public IntegerProperty entryCountProperty() {
+        return entryCount;
+    }
+
+    public ObjectProperty<ChunkHandler> chunkHandlerProperty() {
+        return chunkHandler;
+    }
+}
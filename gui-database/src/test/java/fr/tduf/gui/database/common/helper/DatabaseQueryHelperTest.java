@@ -47,11 +47,14 @@ class DatabaseQueryHelperTest {
     void setUp() {
         initMocks(this);
 
-        when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(createDatabaseObject()));
+        final DbDto databaseObject = createDatabaseObject();
+        when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(databaseObject));
+        mockStructureFields(databaseObject);
 
         final DbDto remoteDatabaseObject = createRemoteDatabaseObject();
         when(minerMock.getDatabaseTopic(TOPIC_REMOTE)).thenReturn(of(remoteDatabaseObject));
         when(minerMock.getDatabaseTopicFromReference(REF_REMOTE_TOPIC)).thenReturn(remoteDatabaseObject);
+        mockStructureFields(remoteDatabaseObject);
     }
 
     @Test
@@ -202,6 +205,12 @@ class DatabaseQueryHelperTest {
                 () -> DatabaseQueryHelper.fetchResourceValuesWithEntryId(1, TOPIC, FRANCE, fieldRanks, minerMock, layoutObject));
     }
 
+    private void mockStructureFields(DbDto databaseObject) {
+        DbDto.Topic topic = databaseObject.getStructure().getTopic();
+        databaseObject.getStructure().getFields()
+                .forEach(field -> when(minerMock.getStructureFieldWithTopicAndRank(topic, field.getRank())).thenReturn(field));
+    }
+
     private DbDto createDatabaseObject() {
         DbStructureDto structureObject = DbStructureDto.builder()
                 .forTopic(TOPIC)
@@ -10,6 +10,7 @@ import fr.tduf.gui.database.dto.TopicLinkDto;
 import fr.tduf.libtesting.common.helper.javafx.ApplicationTestHelper;
 import fr.tduf.libunlimited.common.configuration.ApplicationConfiguration;
 import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
 import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
@@ -721,7 +722,9 @@ class MainStageViewDataControllerTest {
         final Property<DbDto.Topic> currentTopicProperty = new SimpleObjectProperty<>(TOPIC1);
         when(mainStageControllerMock.currentTopicProperty()).thenReturn(currentTopicProperty);
         when(minerMock.getContentEntryReferenceWithInternalIdentifier(0, TOPIC1)).thenReturn(of("entryRef"));
-        when(minerMock.getDatabaseTopic(TOPIC2)).thenReturn(of(createTopicObjectWithDataEntryAndRef()));
+        DbDto linkedTopicObject = createTopicObjectWithDataEntryAndRef();
+        when(minerMock.getDatabaseTopic(TOPIC2)).thenReturn(of(linkedTopicObject));
+        when(minerMock.getContentEntryStreamMatchingSimpleCondition(DbFieldValueDto.fromCouple(1, "entryRef"), TOPIC2)).thenReturn(linkedTopicObject.getData().getEntries().stream());
         when(minerMock.getLocalizedResourceValueFromContentEntry(0, 1, TOPIC2, LOCALE)).thenReturn(of("remote value"));
 
         // WHEN
@@ -745,7 +748,9 @@ class MainStageViewDataControllerTest {
         when(mainStageControllerMock.currentEntryIndexProperty()).thenReturn(new SimpleObjectProperty<>(0));
         when(mainStageControllerMock.currentTopicProperty()).thenReturn(new SimpleObjectProperty<>(TOPIC1));
         when(minerMock.getContentEntryReferenceWithInternalIdentifier(0, TOPIC1)).thenReturn(of("entryRef1"));
-        when(minerMock.getDatabaseTopic(TOPIC3)).thenReturn(of(createAssociationTopicObjectWithDataEntriesAndRefs()));
+        DbDto linkedTopicObject = createAssociationTopicObjectWithDataEntriesAndRefs();
+        when(minerMock.getDatabaseTopic(TOPIC3)).thenReturn(of(linkedTopicObject));
+        when(minerMock.getContentEntryStreamMatchingSimpleCondition(DbFieldValueDto.fromCouple(1, "entryRef1"), TOPIC3)).thenReturn(linkedTopicObject.getData().getEntries().stream());
         final DbDto remoteTopicObject = createRemoteTopicObject();
         when(minerMock.getDatabaseTopicFromReference(TOPIC_REMOTE_REFERENCE)).thenReturn(remoteTopicObject);
         when(minerMock.getContentEntryInternalIdentifierWithReference("entryRef2", TOPIC4)).thenReturn(OptionalInt.of(0));
@@ -0,0 +1,121 @@
+package fr.tduf.gui.database.services;
+
+import fr.tduf.gui.database.dto.EditorLayoutDto;
+import fr.tduf.libtesting.common.helper.javafx.ApplicationTestHelper;
+import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
+import javafx.application.Platform;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static fr.tduf.libunlimited.common.game.domain.Locale.FRANCE;
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
+import static fr.tduf.libunlimited.low.files.db.dto.DbStructureDto.FieldType.INTEGER;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryLabelsResolverTest {
+
+    private EntryLabelsResolver resolverService;
+
+    @BeforeAll
+    static void globalSetUp() {
+        ApplicationTestHelper.initJavaFX();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // No mockito mocks here because of internal classes...
+        resolverService = new EntryLabelsResolver();
+        resolverService.minerProperty().setValue(BulkDatabaseMiner.load(singletonList(createTopicObject(3))));
+        resolverService.layoutObjectProperty().setValue(new EditorLayoutDto());
+        resolverService.topicProperty().setValue(CAR_PHYSICS_DATA);
+        resolverService.localeProperty().setValue(FRANCE);
+        resolverService.labelFieldRanksProperty().setValue(singletonList(1));
+    }
+
+    @Test
+    void callResolverTask_shouldReturnLabelsFromFirstEntry() {
+        // given
+        resolverService.firstEntryIdProperty().setValue(1);
+        resolverService.entryCountProperty().setValue(2);
+        EntryLabelsResolver.ResolverTask resolverTask = (EntryLabelsResolver.ResolverTask) resolverService.createTask();
+
+        // when
+        List<String> actualLabels = resolverTask.call();
+
+        // then
+        assertThat(actualLabels).containsExactly("<2>", "<3>");
+    }
+
+    @Test
+    void callResolverTask_whenSeveralChunks_shouldReturnAllLabels() {
+        // given
+        int entryCount = EntryLabelsResolver.CHUNK_SIZE + 10;
+        resolverService.minerProperty().setValue(BulkDatabaseMiner.load(singletonList(createTopicObject(entryCount))));
+        resolverService.firstEntryIdProperty().setValue(0);
+        resolverService.entryCountProperty().setValue(entryCount);
+        EntryLabelsResolver.ResolverTask resolverTask = (EntryLabelsResolver.ResolverTask) resolverService.createTask();
+
+        // when
+        List<String> actualLabels = resolverTask.call();
+
+        // then
+        assertThat(actualLabels).hasSize(entryCount);
+        assertThat(actualLabels.get(entryCount - 1)).isEqualTo("<" + entryCount + ">");
+    }
+
+    @Test
+    void callResolverTask_shouldResolveAndHandChunksOnFxThread() {
+        // given
+        List<Integer> handledChunkFirstIds = new ArrayList<>();
+        List<String> handledReferences = new ArrayList<>();
+        List<Boolean> handledOnFxThread = new ArrayList<>();
+        resolverService.firstEntryIdProperty().setValue(1);
+        resolverService.entryCountProperty().setValue(2);
+        resolverService.chunkHandlerProperty().setValue((chunkFirstId, chunkLabels, chunkReferences) -> {
+            handledChunkFirstIds.add(chunkFirstId);
+            handledReferences.addAll(chunkReferences);
+            handledOnFxThread.add(Platform.isFxApplicationThread());
+        });
+        EntryLabelsResolver.ResolverTask resolverTask = (EntryLabelsResolver.ResolverTask) resolverService.createTask();
+
+        // when
+        List<String> actualLabels = resolverTask.call();
+
+        // then
+        assertThat(actualLabels).containsExactly("<2>", "<3>");
+        assertThat(handledChunkFirstIds).containsExactly(1);
+        assertThat(handledReferences).containsExactly("1", "2");
+        assertThat(handledOnFxThread).containsExactly(true);
+    }
+
+    private static DbDto createTopicObject(int entryCount) {
+        DbDataDto.DbDataDtoBuilder dataBuilder = DbDataDto.builder()
+                .forTopic(CAR_PHYSICS_DATA);
+        for (int i = 1; i <= entryCount; i++) {
+            dataBuilder.addEntry(ContentEntryDto.builder()
+                    .addItem(ContentItemDto.builder().ofFieldRank(1).withRawValue(Integer.toString(i)).build())
+                    .build());
+        }
+
+        return DbDto.builder()
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .addItem(DbStructureDto.Field.builder()
+                                .ofRank(1)
+                                .fromType(INTEGER)
+                                .build())
+                        .build())
+                .withData(dataBuilder.build())
+                .build();
+    }
+}
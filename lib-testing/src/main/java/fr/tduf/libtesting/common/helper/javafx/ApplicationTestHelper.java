@@ -4,6 +4,10 @@ import com.esotericsoftware.minlog.Log;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 /**
  * Fake application allowing to initialize FX toolkit in tests.
  * Must be used in Junit5's @BeforeAll as rules are not supported anymore .
@@ -12,11 +16,18 @@ public class ApplicationTestHelper extends Application {
     private static final Class<ApplicationTestHelper> thisClass = ApplicationTestHelper.class;
     private static final String THIS_CLASS_NAME = thisClass.getSimpleName();
 
+    private static final int START_TIMEOUT_SECONDS = 10;
+
+    private static final CountDownLatch startLatch = new CountDownLatch(1);
+
     @Override
-    public void start(Stage primaryStage) throws Exception {}
+    public void start(Stage primaryStage) throws Exception {
+        startLatch.countDown();
+    }
 
     /**
-     * Creates Java FX main thread for testing
+     * Creates Java FX main thread for testing, and waits for it to be started, so that tasks can be run on it right away.
+     * Toolkit can only be launched once: when already started, returns immediately.
      */
     public static void initJavaFX() {
         Thread t = new Thread("JavaFX Init Thread") {
@@ -27,5 +38,13 @@ public class ApplicationTestHelper extends Application {
         };
         t.setDaemon(true);
         t.start();
+
+        try {
+            if (!startLatch.await(START_TIMEOUT_SECONDS, SECONDS)) {
+                Log.warn(THIS_CLASS_NAME, "FX thread not started after " + START_TIMEOUT_SECONDS + " seconds");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -0,0 +1,131 @@
+package fr.tduf.libunlimited.common.cache;
+
+import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.low.files.common.crypto.helper.CryptoHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static fr.tduf.libunlimited.low.files.common.crypto.helper.CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL;
+import static fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper.EXTENSION_DB_CONTENTS;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Keeps content hashes of files in database cache (JSON and extracted files), by short file name.
+ * Persisted as 'fileName=hash' lines.
+ */
+class CacheContentHashes {
+
+    private static final String ALGORITHM = "SHA";
+    private static final String SEPARATOR = "=";
+
+    private final Map<String, String> hashesByFileName = new HashMap<>();
+
+    private CacheContentHashes() {}
+
+    /**
+     * @return empty hash store
+     */
+    static CacheContentHashes empty() {
+        return new CacheContentHashes();
+    }
+
+    /**
+     * @param hashesFilePath    : location of file to read hashes from
+     * @return hash store with persisted contents, or empty one if file does not exist.
+     */
+    static CacheContentHashes load(Path hashesFilePath) throws IOException {
+        requireNonNull(hashesFilePath, "A path to hashes file is required.");
+
+        CacheContentHashes contentHashes = new CacheContentHashes();
+        if (!Files.exists(hashesFilePath)) {
+            return contentHashes;
+        }
+
+        for (String line : Files.readAllLines(hashesFilePath)) {
+            int separatorIndex = line.lastIndexOf(SEPARATOR);
+            if (separatorIndex > 0) {
+                contentHashes.hashesByFileName.put(line.substring(0, separatorIndex), line.substring(separatorIndex + 1));
+            }
+        }
+        return contentHashes;
+    }
+
+    /**
+     * Writes all hashes to given file, sorted by file name.
+     */
+    void save(Path hashesFilePath) throws IOException {
+        List<String> lines = hashesByFileName.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + SEPARATOR + entry.getValue())
+                .collect(toList());
+        Files.write(hashesFilePath, lines);
+    }
+
+    /**
+     * Computes and stores hash of given file contents.
+     * Database contents files are hashed once decrypted, as encryption introduces current time into them.
+     * @return true if file contents differ from stored ones, or if no hash was stored for this file yet.
+     */
+    boolean update(Path filePath) throws IOException {
+        String hash = EXTENSION_DB_CONTENTS.equalsIgnoreCase(FilesHelper.getExtension(filePath.toString())) ?
+                computeHash(CryptoHelper.decryptXTEA(Files.readAllBytes(filePath), OTHER_AND_SPECIAL))
+                :
+                computeHash(filePath);
+        String previousHash = hashesByFileName.put(filePath.getFileName().toString(), hash);
+        return !Objects.equals(hash, previousHash);
+    }
+
+    boolean isEmpty() {
+        return hashesByFileName.isEmpty();
+    }
+
+    /**
+     * @return hex representation of file contents' digest
+     */
+    private static String computeHash(Path filePath) throws IOException {
+        MessageDigest messageDigest = createMessageDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
+            int readCount;
+            while ((readCount = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, readCount);
+            }
+        }
+        return toHex(messageDigest);
+    }
+
+    /**
+     * @return hex representation of given contents' digest
+     */
+    private static String computeHash(byte[] contents) {
+        MessageDigest messageDigest = createMessageDigest();
+        messageDigest.update(contents);
+        return toHex(messageDigest);
+    }
+
+    private static String toHex(MessageDigest messageDigest) {
+        StringBuilder hexBuilder = new StringBuilder();
+        for (byte digestByte : messageDigest.digest()) {
+            hexBuilder.append(String.format("%02x", digestByte));
+        }
+        return hexBuilder.toString();
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException("Unable to get message digest for algorithm: " + ALGORITHM, nsae);
+        }
+    }
+}
@@ -2,12 +2,17 @@ package fr.tduf.libunlimited.common.cache;
 
 import com.esotericsoftware.minlog.Log;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import static com.esotericsoftware.minlog.Log.DEBUG;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Generic manager to simplify caching of items
@@ -17,10 +22,15 @@ public enum CacheManager {
     /**
      * Describes unique instance
      */
-    it(new CacheManagerInstance(false));
+    it(new CacheManagerInstance(true, System::nanoTime));
 
     private static final String LOG_CATEGORY = CacheManager.class.getSimpleName();
 
+    /**
+     * Maximum count of values in a store, unless configured otherwise
+     */
+    public static final int DEFAULT_STORE_MAXIMUM_SIZE = 10000;
+
     private final CacheManagerInstance cacheManagerInstance;
 
     CacheManager(CacheManagerInstance cacheManagerInstance) {
@@ -37,19 +47,27 @@ public enum CacheManager {
     public static class CacheManagerInstance {
 
         private final boolean disabled;
-        private final Map<String, Map<String, ?>> stores;
+        private final LongSupplier nanoClock;
+        private final Map<String, CacheStore> stores;
+        private final Map<String, StoreSettings> storeSettings;
+        // Owners are weakly referenced: their stores are released along with them
+        private final Map<Object, Map<String, CacheStore>> ownedStores;
 
-        private CacheManagerInstance(boolean enabled) {
+        CacheManagerInstance(boolean enabled, LongSupplier nanoClock) {
             this.disabled = !enabled;
+            this.nanoClock = nanoClock;
             this.stores = new ConcurrentHashMap<>(16);
+            this.storeSettings = new ConcurrentHashMap<>(16);
+            this.ownedStores = synchronizedMap(new WeakHashMap<>(16));
         }
 
         /**
-         * Updates store with the result.
+         * Updates store with the result. Supplier is only called when value is not in store yet, or expired;
+         * concurrent calls for the same key wait for a single computation.
          * @param storeName : store in which key should be located
          * @param key       : key to the value to be retrieved
          * @param supplier  : describes processing to get a brand new value
-         * @param <R>       : type of value to be Teturned
+         * @param <R>       : type of value to be returned
          * @return value from cache in store if existing, otherwise value returned by call to supplier.
          */
         public <R> R getValueFromKey(String storeName, String key, Supplier<R> supplier) {
@@ -57,32 +75,109 @@ public enum CacheManager {
                 throw new IllegalArgumentException("Supplier instance must not be null");
             }
 
-            if (!disabled) {
-                if (storeName == null || key == null) {
-                    return supplier.get();
-                }
-
-                stores.putIfAbsent(storeName, new ConcurrentHashMap<>(16));
-                //noinspection unchecked
-                Map<String, R> storeMap = (Map<String, R>) stores.get(storeName);
-
-                R previousValue = storeMap.putIfAbsent(key, supplier.get());
-                if (DEBUG) {
-                    String storeKeyLabel = "{" + storeName + ", " + key + "}";
-                    if (previousValue == null) {
-                        Log.debug(LOG_CATEGORY, "Cache miss! " + storeKeyLabel);
-                    } else {
-                        Log.debug(LOG_CATEGORY, "Cache hit! " + storeKeyLabel);
-                    }
-                }
-                return storeMap.get(key);
+            if (disabled || storeName == null || key == null) {
+                return supplier.get();
             }
 
-            return supplier.get();
+            CacheStore store = stores.computeIfAbsent(storeName, this::createStore);
+            if (DEBUG) {
+                Log.debug(LOG_CATEGORY, "Cache request {" + storeName + ", " + key + "}: " + store.getStatistics());
+            }
+            return store.getOrCompute(key, supplier);
         }
 
         /**
-         * Removes all cached information.
+         * Same as {@link #getValueFromKey(String, String, Supplier)}, but with a store private to given owner.
+         * Such stores are released when their owner is no longer in use; cached values must thus not refer to it.
+         * @param owner     : instance the store belongs to
+         * @param storeName : store in which key should be located, settings are shared by all owners
+         * @param key       : key to the value to be retrieved
+         * @param supplier  : describes processing to get a brand new value
+         * @param <R>       : type of value to be returned
+         * @return value from cache in store if existing, otherwise value returned by call to supplier.
+         */
+        public <R> R getValueFromKey(Object owner, String storeName, String key, Supplier<R> supplier) {
+            if (supplier == null) {
+                throw new IllegalArgumentException("Supplier instance must not be null");
+            }
+
+            if (disabled || owner == null || storeName == null || key == null) {
+                return supplier.get();
+            }
+
+            CacheStore store = ownedStores.computeIfAbsent(owner, o -> new ConcurrentHashMap<>(4))
+                    .computeIfAbsent(storeName, this::createStore);
+            if (DEBUG) {
+                Log.debug(LOG_CATEGORY, "Cache request {" + storeName + "@" + System.identityHashCode(owner) + ", " + key + "}: " + store.getStatistics());
+            }
+            return store.getOrCompute(key, supplier);
+        }
+
+        /**
+         * Sets size limit for given store, without expiry. Existing values in this store (and owned ones with same name) are removed.
+         * @param storeName     : name of store to configure
+         * @param maximumSize   : maximum count of values to keep; least recently used ones are evicted first
+         */
+        public void configureStore(String storeName, int maximumSize) {
+            configureStore(storeName, maximumSize, Duration.ZERO);
+        }
+
+        /**
+         * Sets size limit and time to live for given store. Existing values in this store (and owned ones with same name) are removed.
+         * @param storeName     : name of store to configure
+         * @param maximumSize   : maximum count of values to keep; least recently used ones are evicted first
+         * @param timeToLive    : period after which values are recomputed, zero for no expiry
+         */
+        public void configureStore(String storeName, int maximumSize, Duration timeToLive) {
+            requireNonNull(storeName, "Store name is required.");
+            requireNonNull(timeToLive, "Time to live is required.");
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("Store maximum size must be at least 1");
+            }
+
+            storeSettings.put(storeName, new StoreSettings(maximumSize, timeToLive.toNanos()));
+            stores.remove(storeName);
+            synchronized (ownedStores) {
+                ownedStores.values().forEach(storesOfOwner -> storesOfOwner.remove(storeName));
+            }
+        }
+
+        /**
+         * @param storeName : name of store to get counters from
+         * @return usage counters of store if it exists, empty otherwise.
+         */
+        public Optional<CacheStatistics> getStoreStatistics(String storeName) {
+            return Optional.ofNullable(stores.get(storeName))
+                    .map(CacheStore::getStatistics);
+        }
+
+        /**
+         * @param owner     : instance the store belongs to
+         * @param storeName : name of store to get counters from
+         * @return usage counters of owned store if it exists, empty otherwise.
+         */
+        public Optional<CacheStatistics> getStoreStatistics(Object owner, String storeName) {
+            return Optional.ofNullable(ownedStores.get(owner))
+                    .map(stores -> stores.get(storeName))
+                    .map(CacheStore::getStatistics);
+        }
+
+        /**
+         * Removes all stores belonging to given owner, without waiting for it to be discarded.
+         * @param owner : instance whose stores should be released
+         */
+        public void releaseStores(Object owner) {
+            if (disabled || owner == null) {
+                return;
+            }
+
+            ownedStores.remove(owner);
+
+            Log.debug(LOG_CATEGORY, "Released stores! {@" + System.identityHashCode(owner) + "}");
+        }
+
+        /**
+         * Removes all cached information, including counters and store settings.
          */
         public void clearAllStores() {
             if (disabled) {
@@ -90,6 +185,8 @@ public enum CacheManager {
             }
 
             stores.clear();
+            ownedStores.clear();
+            storeSettings.clear();
 
             Log.debug(LOG_CATEGORY, "All stores were cleared!");
         }
@@ -102,7 +199,10 @@ public enum CacheManager {
                 return;
             }
 
-            stores.getOrDefault(storeName, new HashMap<>()).clear();
+            CacheStore store = stores.get(storeName);
+            if (store != null) {
+                store.clear();
+            }
 
             Log.debug(LOG_CATEGORY, "Cleared store! {" + storeName + "}");
         }
@@ -113,5 +213,22 @@ public enum CacheManager {
         public boolean isDisabled() {
             return disabled;
         }
+
+        private CacheStore createStore(String storeName) {
+            StoreSettings settings = storeSettings.getOrDefault(storeName, StoreSettings.DEFAULT);
+            return new CacheStore(settings.maximumSize, settings.timeToLiveNanos, nanoClock);
+        }
+    }
+
+    private static class StoreSettings {
+        private static final StoreSettings DEFAULT = new StoreSettings(DEFAULT_STORE_MAXIMUM_SIZE, 0);
+
+        private final int maximumSize;
+        private final long timeToLiveNanos;
+
+        private StoreSettings(int maximumSize, long timeToLiveNanos) {
+            this.maximumSize = maximumSize;
+            this.timeToLiveNanos = timeToLiveNanos;
+        }
     }
 }
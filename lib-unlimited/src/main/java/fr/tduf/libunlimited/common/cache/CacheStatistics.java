@@ -0,0 +1,51 @@
+package fr.tduf.libunlimited.common.cache;
+
+/**
+ * Snapshot of usage counters for a cache store.
+ */
+public class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    CacheStatistics(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * @return count of requests answered from store
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return count of requests which needed value computation
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return count of values removed because of size limit or expiry
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return count of values currently in store
+     */
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,133 @@
+package fr.tduf.libunlimited.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded key-value store used by cache manager: least recently used values are evicted when maximum size is exceeded,
+ * and values older than time to live (if any) are recomputed.
+ * Value computation only locks computed key, so that other keys of the same store remain available.
+ */
+class CacheStore {
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, CachedValue> values;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param maximumSize       : maximum count of values to be kept in store
+     * @param timeToLiveNanos   : period after which a value is considered outdated, 0 or less for no expiry
+     * @param nanoClock         : time source, in nanoseconds
+     */
+    CacheStore(int maximumSize, long timeToLiveNanos, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Store maximum size must be at least 1");
+        }
+
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoClock = nanoClock;
+        this.values = new LinkedHashMap<String, CachedValue>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue> eldest) {
+                if (size() > CacheStore.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return value from store if available and not expired, otherwise value returned by call to supplier.
+     */
+    <R> R getOrCompute(String key, Supplier<R> supplier) {
+        CachedValue cachedValue;
+        synchronized (this) {
+            cachedValue = values.get(key);
+            if (cachedValue != null && cachedValue.isExpired()) {
+                values.remove(key);
+                evictionCount++;
+                cachedValue = null;
+            }
+
+            if (cachedValue == null) {
+                cachedValue = new CachedValue();
+                values.put(key, cachedValue);
+            }
+        }
+
+        boolean computedByThisCall;
+        try {
+            computedByThisCall = cachedValue.computeIfNeeded(supplier);
+        } catch (RuntimeException re) {
+            // Failed computation is not kept: next call computes again, as a miss
+            synchronized (this) {
+                values.remove(key, cachedValue);
+                missCount++;
+            }
+            throw re;
+        }
+
+        synchronized (this) {
+            if (computedByThisCall) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+        }
+
+        //noinspection unchecked
+        return (R) cachedValue.value;
+    }
+
+    synchronized void clear() {
+        values.clear();
+    }
+
+    synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, values.size());
+    }
+
+    /**
+     * Holds a single value, computed once on first access.
+     */
+    private class CachedValue {
+        private volatile boolean computed;
+        private Object value;
+        private long computeTime;
+
+        /**
+         * @return true if value was computed by this call, false if it was already available.
+         */
+        boolean computeIfNeeded(Supplier<?> supplier) {
+            if (computed) {
+                return false;
+            }
+
+            synchronized (this) {
+                if (computed) {
+                    return false;
+                }
+                value = supplier.get();
+                computeTime = nanoClock.getAsLong();
+                computed = true;
+                return true;
+            }
+        }
+
+        boolean isExpired() {
+            return computed
+                    && timeToLiveNanos > 0
+                    && nanoClock.getAsLong() - computeTime >= timeToLiveNanos;
+        }
+    }
+}
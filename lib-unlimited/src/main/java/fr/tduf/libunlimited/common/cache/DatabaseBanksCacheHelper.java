@@ -3,6 +3,10 @@ package fr.tduf.libunlimited.common.cache;
 import com.esotericsoftware.minlog.Log;
 import fr.tduf.libunlimited.common.helper.FilesHelper;
 import fr.tduf.libunlimited.high.files.banks.BankSupport;
+import fr.tduf.libunlimited.low.files.banks.dto.PackedFileInfoDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.rw.DatabaseSnapshotReader;
+import fr.tduf.libunlimited.low.files.db.rw.DatabaseSnapshotWriter;
 import fr.tduf.libunlimited.low.files.db.rw.JsonGateway;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseBankHelper;
 import org.apache.commons.io.FileUtils;
@@ -11,13 +15,20 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.List;
-
-import static fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper.createTempDirectory;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static fr.tduf.libunlimited.common.game.FileConstants.FILE_DATABASE_BANK;
+import static fr.tduf.libunlimited.common.game.FileConstants.FORMAT_DATABASE_RES_BANK;
+import static fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway.EXTENSION_BANKS;
+import static fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper.*;
 import static java.lang.Long.valueOf;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Helper class to handle caching over database banks and JSON files (prevents from unpacking when unmodified banks)
@@ -27,6 +38,8 @@ public class DatabaseBanksCacheHelper {
     private static final String THIS_CLASS_NAME = DatabaseBanksCacheHelper.class.getSimpleName();
     private static final String DIRECTORY_JSON_CACHE = "json-cache";
     private static final String FILE_LAST_MODIFIED = "last";
+    private static final String FILE_CONTENT_HASHES = "hashes";
+    private static final String FILE_SNAPSHOT = "database.snapshot";
 
     /**
      * Extracts TDU database banks only if necessary (DB.BNK file last modified time > 'last' file or 'last' file not found )
@@ -50,7 +63,8 @@ public class DatabaseBanksCacheHelper {
 
         long databaseBankTime = realDatabasePath.resolve("DB.bnk").toFile().lastModified();
         if (databaseBankTime > lastRepackTime) {
-            unpackDatabaseToJson(realDatabasePath.toString(), jsonDatabaseDirectory, bankSupport);
+            CacheContentHashes contentHashes = unpackDatabaseToJson(realDatabasePath.toString(), jsonDatabaseDirectory, bankSupport);
+            contentHashes.save(resolveContentHashesFilePath(realDatabasePath));
             updateCacheTimestamp(realDatabasePath);
         }
 
@@ -58,18 +72,87 @@ public class DatabaseBanksCacheHelper {
     }
 
     /**
-     *
+     * Repacks TDU database banks from JSON cache.
+     * When content hashes are available in cache ('hashes' file), only topics with modified JSON files are converted,
+     * and only modified packed files are replaced into their banks. Otherwise, all banks are rebuilt.
      * @param realDatabasePath  : TDU database path
      * @param bankSupport       : component to handle TDU banks
      */
     public static void repackDatabaseFromJsonWithCacheSupport(Path realDatabasePath, BankSupport bankSupport) throws IOException {
+        repackDatabaseFromJsonWithCacheSupport(realDatabasePath, null, bankSupport);
+    }
+
+    /**
+     * Repacks TDU database banks from JSON cache, when JSON files which may have changed are known.
+     * Only those files, and ones modified since content hashes were saved, are hashed to find changed topics.
+     * @param realDatabasePath      : TDU database path
+     * @param writtenJsonFileNames  : JSON files written since last repack, null to check all of them
+     * @param bankSupport           : component to handle TDU banks
+     */
+    public static void repackDatabaseFromJsonWithCacheSupport(Path realDatabasePath, Collection<String> writtenJsonFileNames, BankSupport bankSupport) throws IOException {
         final String jsonDatabaseDirectory = resolveCachePath(realDatabasePath).toString();
+        final Path contentHashesFilePath = resolveContentHashesFilePath(realDatabasePath);
 
-        repackJsonDatabase(jsonDatabaseDirectory, realDatabasePath.toString(), bankSupport);
+        CacheContentHashes contentHashes = CacheContentHashes.load(contentHashesFilePath);
+        if (contentHashes.isEmpty()
+                || !repackChangedJsonTopics(jsonDatabaseDirectory, realDatabasePath, contentHashes, getJsonFileFilter(writtenJsonFileNames, contentHashesFilePath), bankSupport)) {
+            contentHashes = repackJsonDatabase(jsonDatabaseDirectory, realDatabasePath.toString(), bankSupport);
+        }
+        contentHashes.save(contentHashesFilePath);
 
         updateCacheTimestamp(realDatabasePath);
     }
 
+    /**
+     * Reads database objects from binary snapshot in cache, only if it is still valid:
+     * written for current cache timestamp ('last' file) and not older than any JSON file in cache.
+     * @param realDatabasePath  : TDU database path
+     * @return database objects from snapshot, or empty if snapshot is missing, outdated or corrupted (JSON files should be read instead).
+     */
+    public static Optional<List<DbDto>> readDatabaseSnapshotWithCacheSupport(Path realDatabasePath) {
+        Path snapshotPath = resolveSnapshotFilePath(realDatabasePath);
+        Path cacheTimestampPath = resolveLastFilePath(realDatabasePath);
+        if (!Files.exists(snapshotPath) || !Files.exists(cacheTimestampPath)) {
+            return Optional.empty();
+        }
+
+        try {
+            long snapshotTime = Files.getLastModifiedTime(snapshotPath).toMillis();
+            if (getLastJsonModificationTime(resolveCachePath(realDatabasePath)) > snapshotTime) {
+                Log.info(THIS_CLASS_NAME, "->Database snapshot is older than JSON files, ignored: " + snapshotPath);
+                return Optional.empty();
+            }
+
+            DatabaseSnapshotReader snapshotReader = DatabaseSnapshotReader.load(snapshotPath);
+            if (snapshotReader.getCacheTimestamp() != readTimestamp(cacheTimestampPath)) {
+                Log.info(THIS_CLASS_NAME, "->Database snapshot does not match cache timestamp, ignored: " + snapshotPath);
+                return Optional.empty();
+            }
+
+            List<DbDto> databaseObjects = snapshotReader.readAll();
+            Log.info(THIS_CLASS_NAME, "->Loaded database snapshot: " + snapshotPath);
+            return Optional.of(databaseObjects);
+        } catch (IOException | RuntimeException e) {
+            Log.warn(THIS_CLASS_NAME, "->Unable to read database snapshot, ignored: " + snapshotPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes database objects to binary snapshot in cache, associated to current cache timestamp.
+     * Should be called once JSON files in cache are up-to-date with given objects.
+     * @param realDatabasePath  : TDU database path
+     * @param databaseObjects   : all topics to be written
+     */
+    public static void writeDatabaseSnapshotWithCacheSupport(Path realDatabasePath, List<DbDto> databaseObjects) throws IOException {
+        Path cacheTimestampPath = resolveLastFilePath(realDatabasePath);
+        if (!Files.exists(cacheTimestampPath)) {
+            throw new IOException("Database cache timestamp not found: " + cacheTimestampPath);
+        }
+
+        DatabaseSnapshotWriter.load(databaseObjects).write(resolveSnapshotFilePath(realDatabasePath), readTimestamp(cacheTimestampPath));
+    }
+
     /**
      * @param realDatabasePath  : TDU database path
      */
@@ -121,7 +204,27 @@ public class DatabaseBanksCacheHelper {
         return resolveCachePath(databasePath).resolve(FILE_LAST_MODIFIED);
     }
 
-    private static void unpackDatabaseToJson(String databaseDirectory, String jsonDatabaseDirectory, BankSupport bankSupport) throws IOException {
+    private static Path resolveContentHashesFilePath(Path databasePath) {
+        return resolveCachePath(databasePath).resolve(FILE_CONTENT_HASHES);
+    }
+
+    private static Path resolveSnapshotFilePath(Path databasePath) {
+        return resolveCachePath(databasePath).resolve(FILE_SNAPSHOT);
+    }
+
+    private static long getLastJsonModificationTime(Path jsonDatabasePath) throws IOException {
+        long lastModificationTime = 0;
+        try (Stream<Path> stream = Files.list(jsonDatabasePath)) {
+            for (Path jsonFilePath : stream
+                    .filter(path -> EXTENSION_JSON.equalsIgnoreCase(FilesHelper.getExtension(path.toString())))
+                    .collect(toList())) {
+                lastModificationTime = Math.max(lastModificationTime, Files.getLastModifiedTime(jsonFilePath).toMillis());
+            }
+        }
+        return lastModificationTime;
+    }
+
+    private static CacheContentHashes unpackDatabaseToJson(String databaseDirectory, String jsonDatabaseDirectory, BankSupport bankSupport) throws IOException {
         Log.info(THIS_CLASS_NAME, "->Unpacking TDU database: " + databaseDirectory);
 
         String unpackedDatabaseDirectory = DatabaseBankHelper.unpackDatabaseFromDirectory(databaseDirectory, jsonDatabaseDirectory, bankSupport);
@@ -132,19 +235,147 @@ public class DatabaseBanksCacheHelper {
 
         Log.info(THIS_CLASS_NAME, "->Prepared JSON database directory: " + jsonDatabaseDirectory);
 
+        CacheContentHashes contentHashes = CacheContentHashes.empty();
+        updateJsonHashes(jsonDatabaseDirectory, contentHashes);
+        try (Stream<Path> stream = Files.list(Paths.get(unpackedDatabaseDirectory))) {
+            for (Path filePath : stream
+                    .filter(Files::isRegularFile)
+                    .filter(path -> !EXTENSION_BANKS.equalsIgnoreCase(FilesHelper.getExtension(path.toString())))
+                    .collect(toList())) {
+                contentHashes.update(filePath);
+            }
+        }
+        return contentHashes;
     }
 
-    private static void repackJsonDatabase(String jsonDatabaseDirectory, String databaseDirectory, BankSupport bankSupport) throws IOException {
+    private static CacheContentHashes repackJsonDatabase(String jsonDatabaseDirectory, String databaseDirectory, BankSupport bankSupport) throws IOException {
         Log.info(THIS_CLASS_NAME, "->Converting JSON database: " + jsonDatabaseDirectory);
 
         String extractedDatabaseDirectory = createTempDirectory();
 
-        JsonGateway.gen(jsonDatabaseDirectory, extractedDatabaseDirectory, new ArrayList<>());
+        List<String> writtenFileNames = JsonGateway.gen(jsonDatabaseDirectory, extractedDatabaseDirectory, new ArrayList<>());
 
         Log.info(THIS_CLASS_NAME, "->Converted TDU database directory: " + extractedDatabaseDirectory);
 
         DatabaseBankHelper.repackDatabaseFromDirectory(extractedDatabaseDirectory, databaseDirectory, jsonDatabaseDirectory, bankSupport);
 
         Log.info(THIS_CLASS_NAME, "->Repacked database: " + extractedDatabaseDirectory + " to " + databaseDirectory);
+
+        CacheContentHashes contentHashes = CacheContentHashes.empty();
+        updateJsonHashes(jsonDatabaseDirectory, contentHashes);
+        for (String fileName : writtenFileNames) {
+            contentHashes.update(Paths.get(fileName));
+        }
+        return contentHashes;
+    }
+
+    /**
+     * @return false if some modified file could not be located into existing banks, so that full repack is needed.
+     */
+    private static boolean repackChangedJsonTopics(String jsonDatabaseDirectory, Path realDatabasePath, CacheContentHashes contentHashes, Predicate<Path> jsonFileFilter, BankSupport bankSupport) throws IOException {
+        Set<DbDto.Topic> changedTopics = updateJsonHashes(jsonDatabaseDirectory, contentHashes, jsonFileFilter);
+        if (changedTopics.isEmpty()) {
+            Log.info(THIS_CLASS_NAME, "->JSON database unchanged, no bank to repack");
+            return true;
+        }
+
+        Log.info(THIS_CLASS_NAME, "->Converting changed topics from JSON database: " + changedTopics);
+
+        String extractedDatabaseDirectory = createTempDirectory();
+        List<String> writtenFileNames = JsonGateway.gen(jsonDatabaseDirectory, extractedDatabaseDirectory, changedTopics, new ArrayList<>());
+
+        Map<String, List<Path>> changedFilesByBankFileName = new TreeMap<>();
+        for (String fileName : writtenFileNames) {
+            Path filePath = Paths.get(fileName);
+            if (contentHashes.update(filePath)) {
+                changedFilesByBankFileName.computeIfAbsent(getDatabaseBankFileName(filePath), k -> new ArrayList<>()).add(filePath);
+            }
+        }
+
+        // Locates all packed files before modifying any bank
+        Map<String, Map<Path, String>> packedFilePathsByBankFileName = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Path>> entry : changedFilesByBankFileName.entrySet()) {
+            String bankFileName = realDatabasePath.resolve(entry.getKey()).toString();
+            List<PackedFileInfoDto> packedFilesInfos = bankSupport.getBankInfo(bankFileName).getPackedFiles();
+
+            Map<Path, String> packedFilePaths = new LinkedHashMap<>();
+            for (Path filePath : entry.getValue()) {
+                String shortFileName = filePath.getFileName().toString();
+                Optional<String> potentialPackedFilePath = packedFilesInfos.stream()
+                        .filter(packedFileInfo -> shortFileName.equalsIgnoreCase(packedFileInfo.getShortName()))
+                        .map(PackedFileInfoDto::getFullName)
+                        .findAny();
+                if (!potentialPackedFilePath.isPresent()) {
+                    Log.info(THIS_CLASS_NAME, "->File not found in bank: " + shortFileName + ", all banks will be repacked");
+                    return false;
+                }
+                packedFilePaths.put(filePath, potentialPackedFilePath.get());
+            }
+            packedFilePathsByBankFileName.put(bankFileName, packedFilePaths);
+        }
+
+        for (Map.Entry<String, Map<Path, String>> bankEntry : packedFilePathsByBankFileName.entrySet()) {
+            for (Map.Entry<Path, String> fileEntry : bankEntry.getValue().entrySet()) {
+                bankSupport.replacePackedFile(bankEntry.getKey(), fileEntry.getValue(), fileEntry.getKey().toString());
+            }
+            Log.info(THIS_CLASS_NAME, "->Repacked changed files to bank: " + bankEntry.getKey());
+        }
+
+        return true;
+    }
+
+    /**
+     * @return topics having at least one JSON file with changed contents
+     */
+    private static Set<DbDto.Topic> updateJsonHashes(String jsonDatabaseDirectory, CacheContentHashes contentHashes) throws IOException {
+        return updateJsonHashes(jsonDatabaseDirectory, contentHashes, jsonFilePath -> true);
+    }
+
+    /**
+     * @param jsonFileFilter    : tells which existing JSON files should be hashed
+     * @return topics having at least one JSON file with changed contents
+     */
+    private static Set<DbDto.Topic> updateJsonHashes(String jsonDatabaseDirectory, CacheContentHashes contentHashes, Predicate<Path> jsonFileFilter) throws IOException {
+        Set<DbDto.Topic> changedTopics = EnumSet.noneOf(DbDto.Topic.class);
+        for (DbDto.Topic topic : DbDto.Topic.values()) {
+            for (String fileNameFormat : asList(FMT_JSON_DATA_FILE_NAME, FMT_JSON_STRUCTURE_FILE_NAME, FMT_JSON_RESOURCES_FILE_NAME)) {
+                Path jsonFilePath = Paths.get(jsonDatabaseDirectory, String.format(fileNameFormat, topic.getLabel()));
+                if (Files.exists(jsonFilePath) && jsonFileFilter.test(jsonFilePath) && contentHashes.update(jsonFilePath)) {
+                    changedTopics.add(topic);
+                }
+            }
+        }
+        return changedTopics;
+    }
+
+    /**
+     * Files modified since content hashes were saved are kept as well, in case a previous repack did not complete.
+     * @return filter accepting all JSON files when written ones are unknown
+     */
+    private static Predicate<Path> getJsonFileFilter(Collection<String> writtenJsonFileNames, Path contentHashesFilePath) throws IOException {
+        if (writtenJsonFileNames == null) {
+            return jsonFilePath -> true;
+        }
+
+        Set<String> writtenShortFileNames = writtenJsonFileNames.stream()
+                .map(fileName -> Paths.get(fileName).getFileName().toString())
+                .collect(toSet());
+        long contentHashesTime = Files.getLastModifiedTime(contentHashesFilePath).toMillis();
+        return jsonFilePath -> {
+            if (writtenShortFileNames.contains(jsonFilePath.getFileName().toString())) {
+                return true;
+            }
+            try {
+                return Files.getLastModifiedTime(jsonFilePath).toMillis() >= contentHashesTime;
+            } catch (IOException ioe) {
+                return true;
+            }
+        };
+    }
+
+    private static String getDatabaseBankFileName(Path extractedFilePath) {
+        String extension = FilesHelper.getExtension(extractedFilePath.toString());
+        return EXTENSION_DB_CONTENTS.equalsIgnoreCase(extension) ?
+                FILE_DATABASE_BANK : String.format(FORMAT_DATABASE_RES_BANK, extension.toUpperCase());
     }
 }
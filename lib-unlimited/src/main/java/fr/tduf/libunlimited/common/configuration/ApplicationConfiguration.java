@@ -33,6 +33,7 @@ public class ApplicationConfiguration extends Properties {
     private static final String KEY_EDITOR_PLUGINS_ENABLED = "tduf.editor.plugins.enabled";
     private static final String KEY_EDITOR_DEBUGGING_ENABLED = "tduf.editor.debugging.enabled";
     private static final String KEY_EDITOR_CUSTOM_THEME = "tduf.editor.theme";
+    private static final String KEY_EDITOR_SNAPSHOT_ENABLED = "tduf.editor.snapshot.enabled";
 
     /**
      * Solves the issue of random key ordering
@@ -128,6 +129,13 @@ public class ApplicationConfiguration extends Properties {
         return resolveBooleanProperty(KEY_EDITOR_DEBUGGING_ENABLED, false);
     }
 
+    /**
+     * @return true when Database Editor may load and write binary snapshot of database cache, false otherwise
+     */
+    public boolean isEditorSnapshotEnabled() {
+        return resolveBooleanProperty(KEY_EDITOR_SNAPSHOT_ENABLED, false);
+    }
+
     /**
      * @return path for custom theme css
      */
@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 /**
  * Same as java.io.ByteArrayInputStream but with advanced features:
  * - ability of getting current position in the stream
+ * - direct access to underlying buffer, to read values without copying them
  */
 public class XByteArrayInputStream extends ByteArrayInputStream {
     /**
@@ -41,4 +42,12 @@ public class XByteArrayInputStream extends ByteArrayInputStream {
 
         pos = position;
     }
+
+    /**
+     * @return underlying buffer, not a copy: positions in the stream are indexes in this buffer.
+     * Contents must not be modified.
+     */
+    public byte[] getBuffer() {
+        return buf;
+    }
 }
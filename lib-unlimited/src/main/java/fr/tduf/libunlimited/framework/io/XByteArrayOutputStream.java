@@ -0,0 +1,23 @@
+package fr.tduf.libunlimited.framework.io;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Same as java.io.ByteArrayOutputStream but with advanced features:
+ * - ability of discarding bytes written after a particular position
+ */
+public class XByteArrayOutputStream extends ByteArrayOutputStream {
+    /**
+     * Discards all bytes written after provided position.
+     * @param position  : position in bytes, will be new size of the stream
+     * @throws IllegalArgumentException when provided position is not in written bytes
+     */
+    public void truncate(int position) throws IllegalArgumentException {
+        if (position < 0 || position > count) {
+            String message = String.format("Truncating at invalid position (%d). Valid positions are 0..%d", position, count);
+            throw new IllegalArgumentException(message);
+        }
+
+        count = position;
+    }
+}
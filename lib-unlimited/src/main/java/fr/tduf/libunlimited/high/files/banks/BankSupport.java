@@ -31,4 +31,20 @@ public interface BankSupport {
      * @param outputBankFileName    : location of bank file to create.
      */
     void packAll(String inputDirectory, String outputBankFileName) throws IOException;
+
+    /**
+     * Extracts a single packed file, without unpacking whole bank.
+     * @param bankFileName      : location of bank file to extract packed file from
+     * @param packedFilePath    : internal path of packed file, as given by {@link #getBankInfo(String)}
+     * @param outputFileName    : location of file to create. Parent directory must exist.
+     */
+    void extractPackedFile(String bankFileName, String packedFilePath, String outputFileName) throws IOException;
+
+    /**
+     * Replaces contents of a single packed file into existing bank.
+     * @param bankFileName      : location of bank file to update
+     * @param packedFilePath    : internal path of packed file, as given by {@link #getBankInfo(String)}
+     * @param inputFileName     : location of file with new contents
+     */
+    void replacePackedFile(String bankFileName, String packedFilePath, String inputFileName) throws IOException;
 }
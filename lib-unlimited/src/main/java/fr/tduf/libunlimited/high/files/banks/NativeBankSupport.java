@@ -0,0 +1,179 @@
+package fr.tduf.libunlimited.high.files.banks;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libunlimited.low.files.banks.domain.PackedFile;
+import fr.tduf.libunlimited.low.files.banks.dto.BankInfoDto;
+import fr.tduf.libunlimited.low.files.banks.dto.PackedFileInfoDto;
+import fr.tduf.libunlimited.low.files.banks.rw.BankReader;
+import fr.tduf.libunlimited.low.files.banks.rw.BankWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway.*;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Bnk support, implementation reading and writing bank files directly, without external application.
+ */
+public class NativeBankSupport implements BankSupport {
+    private static final String THIS_CLASS_NAME = NativeBankSupport.class.getSimpleName();
+
+    private static final String TYPE_UNKNOWN = "Unknown";
+    private static final Map<String, String> TYPES_BY_EXTENSION = new HashMap<>();
+
+    static {
+        TYPES_BY_EXTENSION.put("2db", "Texture");
+        TYPES_BY_EXTENSION.put("2dm", "Materials");
+        TYPES_BY_EXTENSION.put("3dd", "3D model description");
+        TYPES_BY_EXTENSION.put("3dg", "3D model geometry");
+        TYPES_BY_EXTENSION.put("btrq", "Vehicle physics data");
+        TYPES_BY_EXTENSION.put("db", "Encrypted database file");
+        TYPES_BY_EXTENSION.put("fr", "French database resource file");
+        TYPES_BY_EXTENSION.put("ge", "German database resource file");
+        TYPES_BY_EXTENSION.put("us", "English database resource file");
+        TYPES_BY_EXTENSION.put("ch", "Chinese database resource file");
+        TYPES_BY_EXTENSION.put("ja", "Japanese database resource file");
+        TYPES_BY_EXTENSION.put("ko", "Korean database resource file");
+        TYPES_BY_EXTENSION.put("sp", "Spanish database resource file");
+        TYPES_BY_EXTENSION.put("it", "Italian database resource file");
+        TYPES_BY_EXTENSION.put("dds", "Direct Draw Surface (texture)");
+        TYPES_BY_EXTENSION.put("xml", "eXtended Markeup Language");
+        TYPES_BY_EXTENSION.put(EXTENSION_BANKS, "TDU archive");
+    }
+
+    @Override
+    public BankInfoDto getBankInfo(String bankFileName) throws IOException {
+        BankReader bankReader = BankReader.load(Paths.get(bankFileName));
+
+        List<PackedFileInfoDto> packedFilesInfos = bankReader.getPackedFiles().stream()
+
+                .map(packedFile -> PackedFileInfoDto.builder()
+                        .forReference(generatePackedFileReference(packedFile.getFullName()))
+                        .withSize(packedFile.getSize())
+                        .withFullName(packedFile.getFullName())
+                        .withShortName(packedFile.getShortName())
+                        .withTypeDescription(getTypeDescription(packedFile))
+                        .build())
+
+                .collect(toList());
+
+        return BankInfoDto.builder()
+                .fromYear(bankReader.getYear())
+                .withFileSize(bankReader.getFileSize())
+                .addPackedFiles(packedFilesInfos)
+                .build();
+    }
+
+    @Override
+    public void extractAll(String bankFileName, String outputDirectory) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "bankFileName: " + bankFileName);
+        Log.debug(THIS_CLASS_NAME, "outputDirectory: " + outputDirectory);
+
+        Path bankFilePath = Paths.get(bankFileName);
+        Files.copy(bankFilePath, Paths.get(outputDirectory, PREFIX_ORIGINAL_BANK_FILE + bankFilePath.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+
+        BankReader bankReader = BankReader.load(bankFilePath);
+        for (PackedFile packedFile : bankReader.getPackedFiles()) {
+            Path extractedFilePath = getRealFilePathFromInternalPath(packedFile.getFullName(), Paths.get(outputDirectory));
+            Files.createDirectories(extractedFilePath.getParent());
+            writeData(bankReader.getPackedFileData(packedFile), extractedFilePath);
+        }
+    }
+
+    /**
+     * Packed files not found in input directory keep their original contents.
+     */
+    @Override
+    public void packAll(String inputDirectory, String outputBankFileName) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "inputDirectory: " + inputDirectory);
+        Log.debug(THIS_CLASS_NAME, "outputBankFileName: " + outputBankFileName);
+
+        Path originalBankFilePath = searchOriginalBankPath(inputDirectory);
+
+        Log.debug(THIS_CLASS_NAME, "originalBankFilePath: " + originalBankFilePath);
+
+        Path inputPath = Paths.get(inputDirectory);
+        BankWriter.load(BankReader.load(originalBankFilePath))
+                .write(Paths.get(outputBankFileName), packedFile -> {
+                    Path packedFilePath = getRealFilePathFromInternalPath(packedFile.getFullName(), inputPath);
+                    if (Files.isRegularFile(packedFilePath)) {
+                        return Optional.of(packedFilePath);
+                    }
+
+                    Log.warn(THIS_CLASS_NAME, "Packed file not found, original contents will be kept: " + packedFilePath);
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * Only packed file contents are read, bank index being loaded without reading other files.
+     */
+    @Override
+    public void extractPackedFile(String bankFileName, String packedFilePath, String outputFileName) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "bankFileName: " + bankFileName);
+        Log.debug(THIS_CLASS_NAME, "packedFilePath: " + packedFilePath);
+
+        BankReader bankReader = BankReader.load(Paths.get(bankFileName));
+        PackedFile packedFile = getPackedFile(bankReader, packedFilePath);
+        writeData(bankReader.getPackedFileData(packedFile), Paths.get(outputFileName));
+    }
+
+    /**
+     * New contents are written in place when they fit into space allocated to packed file; otherwise, bank is rebuilt.
+     * Bank readers do not keep bank file open nor mapped, so rebuilt bank can replace it even if it has been read before.
+     */
+    @Override
+    public void replacePackedFile(String bankFileName, String packedFilePath, String inputFileName) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "bankFileName: " + bankFileName);
+        Log.debug(THIS_CLASS_NAME, "packedFilePath: " + packedFilePath);
+
+        Path bankFilePath = Paths.get(bankFileName);
+        Path inputFilePath = Paths.get(inputFileName);
+        BankReader bankReader = BankReader.load(bankFilePath);
+        PackedFile packedFile = getPackedFile(bankReader, packedFilePath);
+
+        BankWriter bankWriter = BankWriter.load(bankReader);
+        if (bankWriter.replaceInPlace(packedFile, inputFilePath)) {
+            return;
+        }
+
+        Log.debug(THIS_CLASS_NAME, "Packed file does not fit, rebuilding bank: " + bankFilePath);
+
+        Path rebuiltBankFilePath = Files.createTempFile(bankFilePath.toAbsolutePath().getParent(), bankFilePath.getFileName().toString(), ".tmp");
+        try {
+            bankWriter.write(rebuiltBankFilePath, currentPackedFile ->
+                    currentPackedFile.getIndex() == packedFile.getIndex() ? Optional.of(inputFilePath) : Optional.empty());
+            Files.move(rebuiltBankFilePath, bankFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(rebuiltBankFilePath);
+        }
+    }
+
+    private static PackedFile getPackedFile(BankReader bankReader, String packedFilePath) throws IOException {
+        return bankReader.getPackedFile(packedFilePath)
+                .orElseThrow(() -> new IOException(String.format("Packed file not found: %s in bank: %s", packedFilePath, bankReader.getBankPath())));
+    }
+
+    private static String getTypeDescription(PackedFile packedFile) {
+        return TYPES_BY_EXTENSION.getOrDefault(packedFile.getExtension().toLowerCase(), TYPE_UNKNOWN);
+    }
+
+    private static void writeData(ByteBuffer data, Path filePath) throws IOException {
+        try (FileChannel outputChannel = FileChannel.open(filePath, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            while (data.hasRemaining()) {
+                outputChannel.write(data);
+            }
+        }
+    }
+}
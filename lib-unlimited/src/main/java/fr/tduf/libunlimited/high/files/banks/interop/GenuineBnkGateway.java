@@ -90,7 +90,37 @@ public class GenuineBnkGateway extends GenuineGateway implements BankSupport {
         batchRepackFilesWithFullPath(outputBankFileName, batchInputObject);
     }
 
-    static Path searchOriginalBankPath(String inputDirectory) throws IOException {
+    /**
+     * tdumt-cli syntax: BANK-U <bankFileName> <packedFilePath> <outputFileName>
+     */
+    @Override
+    public void extractPackedFile(String bankFileName, String packedFilePath, String outputFileName) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "bankFileName: " + bankFileName);
+        Log.debug(THIS_CLASS_NAME, "packedFilePath: " + packedFilePath);
+
+        try {
+            callCommandLineInterface(CommandLineOperation.BANK_UNPACK, bankFileName, packedFilePath, outputFileName);
+        } catch (IOException ioe) {
+            throw new IOException(String.format("Error while extracting from file: %s", bankFileName), ioe);
+        }
+    }
+
+    /**
+     * tdumt-cli syntax: BANK-R <bankFileName> <packedFilePath> <inputFileName>
+     */
+    @Override
+    public void replacePackedFile(String bankFileName, String packedFilePath, String inputFileName) throws IOException {
+        Log.debug(THIS_CLASS_NAME, "bankFileName: " + bankFileName);
+        Log.debug(THIS_CLASS_NAME, "packedFilePath: " + packedFilePath);
+
+        try {
+            callCommandLineInterface(CommandLineOperation.BANK_REPACK, bankFileName, packedFilePath, inputFileName);
+        } catch (IOException ioe) {
+            throw new IOException(String.format("Error while repacking to file: %s", bankFileName), ioe);
+        }
+    }
+
+    public static Path searchOriginalBankPath(String inputDirectory) throws IOException {
         try (Stream<Path> stream =  Files.walk(Paths.get(inputDirectory))) {
             return stream
                     .filter(Files::isRegularFile)
@@ -100,7 +130,7 @@ public class GenuineBnkGateway extends GenuineGateway implements BankSupport {
         }
     }
 
-    static String getInternalPathFromRealPath(Path realPath, Path basePath) {
+    public static String getInternalPathFromRealPath(Path realPath, Path basePath) {
         Path pathRelative = basePath.relativize(realPath);
 
         String[] pathCompounds = pathRelative.toString().replace('/', '\\').split("\\\\");
@@ -116,7 +146,7 @@ public class GenuineBnkGateway extends GenuineGateway implements BankSupport {
         return PREFIX_PACKED_FILE_PATH + join(SEPARATOR_PACKED_PATH, pathElements);
     }
 
-    static Path getRealFilePathFromInternalPath(String internalPath, Path basePath) {
+    public static Path getRealFilePathFromInternalPath(String internalPath, Path basePath) {
 
         Path filePath = Paths.get(internalPath
                 .replace(PREFIX_PACKED_FILE_PATH, "")
@@ -132,7 +162,7 @@ public class GenuineBnkGateway extends GenuineGateway implements BankSupport {
         return basePath.resolve(realFilePath);
     }
 
-    static String generatePackedFileReference(String fileName) {
+    public static String generatePackedFileReference(String fileName) {
         long hash = fileName.hashCode();
 
         if (hash >= 0) {
@@ -1,37 +1,25 @@
 package fr.tduf.libunlimited.high.files.db.common.helper;
 
-import fr.tduf.libunlimited.framework.base.Strings;
 import fr.tduf.libunlimited.high.files.db.dto.DbMetadataDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toCollection;
 
 /**
  * Helper class to access bitfield information and bring bitfield reference.
  */
 public class BitfieldHelper extends MetaDataHelper {
 
-    private static final char BINARY_ZERO = '0';
-    private static final char BINARY_ONE = '1';
+    private static final Map<DbDto.Topic, List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto>> bitfieldReferenceByTopic = createBitfieldReferenceIndex();
 
     /**
      * @param topic : database topic to get bitfield reference from
      * @return a list of bitfield reference if available, empty otherwise.
      */
     public Optional<List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto>> getBitfieldReferenceForTopic(DbDto.Topic topic) {
-        return databaseMetadataObject.getTopics().stream()
-
-                .filter(topicMetaData -> topicMetaData.getTopic() == topic)
-
-                .findAny()
-
-                .map(DbMetadataDto.TopicMetadataDto::getBitfields);
+        return Optional.ofNullable(bitfieldReferenceByTopic.get(topic));
     }
 
     /**
@@ -44,7 +32,7 @@ public class BitfieldHelper extends MetaDataHelper {
 
         return getBitfieldReferenceForTopic(topic)
 
-                .map(reference -> resolveWithReference(reference, bitfieldRawValue));
+                .map(reference -> resolveWithReference(reference, parseRawValue(bitfieldRawValue)));
     }
 
     /**
@@ -64,31 +52,49 @@ public class BitfieldHelper extends MetaDataHelper {
                         return bitfieldRawValue;
                     }
 
-                    String binaryString = Integer.toBinaryString(Integer.valueOf(bitfieldRawValue));
-                    binaryString = Strings.padStart(binaryString, bitCount, BINARY_ZERO);
-
-                    char[] chars = binaryString.toCharArray();
-                    chars[binaryString.length() - bitIndex] = switchState ? BINARY_ONE : BINARY_ZERO;
-
-                    return Integer.toString(Integer.parseInt(new String(chars), 2));
+                    int bitMask = 1 << (bitIndex - 1);
+                    int value = parseRawValue(bitfieldRawValue);
+                    return Integer.toString(switchState ? value | bitMask : value & ~bitMask);
                 });
     }
 
-    private List<Boolean> resolveWithReference(List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto> reference, String bitfieldRawValue) {
-        String binaryString = Integer.toBinaryString(Integer.parseInt(bitfieldRawValue));
-        String paddedBinaryValue = Strings.padStart(binaryString, reference.size(), BINARY_ZERO);
-
-        List<Boolean> switches = new ArrayList<>();
-        paddedBinaryValue.chars()
+    /**
+     * @param bitfieldRawValue  : value of bitfield, as read in database topic
+     * @return bitfield value as mask
+     * @throws NumberFormatException when raw value is not a valid integer
+     */
+    public static int parseRawValue(String bitfieldRawValue) {
+        return Integer.parseInt(bitfieldRawValue);
+    }
 
-                .mapToObj(bit -> BINARY_ONE == (char) bit)
+    /**
+     * @param bitfieldValue : value of bitfield, as mask
+     * @param bitIndex      : 1-based rank of bit in bitfield
+     * @return true if specified bit is set (1), false otherwise
+     */
+    public static boolean isBitEnabled(int bitfieldValue, int bitIndex) {
+        return ((bitfieldValue >>> (bitIndex - 1)) & 1) == 1;
+    }
 
-                .collect(toCollection(LinkedList::new))
+    private static List<Boolean> resolveWithReference(List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto> reference, int bitfieldValue) {
+        int bitCount = Math.max(reference.size(), Integer.SIZE - Integer.numberOfLeadingZeros(bitfieldValue));
 
-                .descendingIterator()
+        List<Boolean> switches = new ArrayList<>(bitCount);
+        for (int bitIndex = 1; bitIndex <= bitCount; bitIndex++) {
+            switches.add(isBitEnabled(bitfieldValue, bitIndex));
+        }
+        return switches;
+    }
 
-                .forEachRemaining(switches::add);
+    private static Map<DbDto.Topic, List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto>> createBitfieldReferenceIndex() {
+        Map<DbDto.Topic, List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto>> references = new EnumMap<>(DbDto.Topic.class);
+        if (databaseMetadataObject == null || databaseMetadataObject.getTopics() == null) {
+            return references;
+        }
 
-        return switches;
+        databaseMetadataObject.getTopics().stream()
+                .filter(topicMetadata -> topicMetadata.getBitfields() != null)
+                .forEach(topicMetadata -> references.putIfAbsent(topicMetadata.getTopic(), topicMetadata.getBitfields()));
+        return references;
     }
 }
@@ -14,6 +14,8 @@ import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseStructureQueryHelper;
 import java.util.List;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
@@ -59,9 +61,11 @@ public class DatabaseChangeHelper {
 
         final DbResourceDto resourceEnhancedFromTopic = databaseMiner.getResourcesFromTopic(topic)
                 .orElseThrow(() -> new IllegalStateException("No resource for topic: " + topic));
+        int resourceRevision = resourceEnhancedFromTopic.getRevision();
         resourceEnhancedFromTopic.getEntryByReference(resourceReference)
                 .orElseGet(() -> resourceEnhancedFromTopic.addEntryByReference(resourceReference))
                 .setValueForLocale(resourceValue, locale);
+        databaseMiner.updateResourceSearchIndex(topic, singletonList(resourceReference), resourceRevision);
     }
 
     /**
@@ -81,7 +85,9 @@ public class DatabaseChangeHelper {
                 .addItems(genHelper.buildDefaultContentItems(reference, topicObject))
                 .build();
 
+        int dataRevision = dataDto.getRevision();
         dataDto.addEntry(newEntry);
+        databaseMiner.updateItemValueIndexes(topic, singletonList(newEntry), dataRevision);
 
         return newEntry;
     }
@@ -102,7 +108,9 @@ public class DatabaseChangeHelper {
                 .addItems(genHelper.buildDefaultContentItems(null, topicObject))
                 .build();
 
+        int dataRevision = dataDto.getRevision();
         dataDto.addEntry(newEntry);
+        databaseMiner.updateItemValueIndexes(topic, singletonList(newEntry), dataRevision);
 
         return newEntry;
     }
@@ -116,7 +124,10 @@ public class DatabaseChangeHelper {
      */
     public ContentEntryDto addContentsEntryWithDefaultItemsAndUpdateAssociation(DbDto.Topic targetTopic, String sourceEntryRef, String targetEntryRef){
         ContentEntryDto newEntry = addContentsEntryWithDefaultItems(targetTopic);
+
+        int dataRevision = getDataRevision(targetTopic);
         updateAssociationEntryWithSourceAndTargetReferences(newEntry, sourceEntryRef, targetEntryRef);
+        databaseMiner.updateItemValueIndexes(targetTopic, singletonList(newEntry), dataRevision);
 
         return newEntry;
     }
@@ -130,8 +141,18 @@ public class DatabaseChangeHelper {
      * @return updated item if value has changed, empty otherwise.
      */
     public Optional<ContentItemDto> updateItemRawValueAtIndexAndFieldRank(DbDto.Topic topic, int entryIndex, int fieldRank, String newRawValue) {
-        return databaseMiner.getContentEntryFromTopicWithInternalIdentifier(entryIndex, topic)
-                .flatMap(entry -> entry.updateItemValueAtRank(newRawValue, fieldRank));
+        Optional<ContentEntryDto> potentialEntry = databaseMiner.getContentEntryFromTopicWithInternalIdentifier(entryIndex, topic);
+        if (!potentialEntry.isPresent()) {
+            return Optional.empty();
+        }
+
+        ContentEntryDto entry = potentialEntry.get();
+        int dataRevision = getDataRevision(topic);
+        Optional<ContentItemDto> updatedItem = entry.updateItemValueAtRank(newRawValue, fieldRank);
+
+        updatedItem.ifPresent(item -> databaseMiner.updateItemValueIndexes(topic, singletonList(entry), dataRevision));
+
+        return updatedItem;
     }
 
     /**
@@ -146,7 +167,9 @@ public class DatabaseChangeHelper {
     public void updateResourceItemWithReference(DbDto.Topic topic, Locale locale, String resourceReference, String newResourceValue) {
         ResourceEntryDto existingEntry = checkResourceEntryExistsWithReference(topic, resourceReference);
 
+        int resourceRevision = getResourceRevision(topic);
         existingEntry.setValueForLocale(newResourceValue, locale);
+        databaseMiner.updateResourceSearchIndex(topic, singletonList(resourceReference), resourceRevision);
     }
 
     /**
@@ -165,10 +188,12 @@ public class DatabaseChangeHelper {
         final DbResourceDto resourceObject = databaseMiner.getResourcesFromTopic(topic)
                 .orElseThrow(() -> new IllegalStateException("No resource object available for topic: " + topic));
 
+        int resourceRevision = resourceObject.getRevision();
         resourceObject
                 .addEntryByReference(newResourceReference)
                 .setDefaultValue(newResourceValue);
         resourceObject.removeEntryByReference(oldResourceReference);
+        databaseMiner.updateResourceSearchIndex(topic, asList(oldResourceReference, newResourceReference), resourceRevision);
     }
 
     /**
@@ -187,7 +212,9 @@ public class DatabaseChangeHelper {
         ContentEntryDto entryToDelete = topicDataObject.getEntryWithInternalIdentifier(entryId)
                 .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_CONTENT_ENTRY_FOR_TOPIC + topic + MESSAGE_AT_ID + entryId));
 
+        int dataRevision = topicDataObject.getRevision();
         topicDataObject.removeEntry(entryToDelete);
+        databaseMiner.updateItemValueIndexes(topic, singletonList(entryToDelete), dataRevision);
     }
 
     /**
@@ -238,11 +265,13 @@ public class DatabaseChangeHelper {
 
         DatabaseStructureQueryHelper.getUidFieldRank(topicObject.getStructure().getFields())
                 .ifPresent(uidFieldRank -> {
-                    String newReference = DatabaseGenHelper.generateUniqueContentsEntryIdentifier(topicObject);
+                    String newReference = databaseMiner.allocateContentsEntryIdentifier(topic);
                     newEntry.updateItemValueAtRank(newReference, uidFieldRank);
                 });
 
+        int dataRevision = topicDataObject.getRevision();
         topicDataObject.addEntry(newEntry);
+        databaseMiner.updateItemValueIndexes(topic, singletonList(newEntry), dataRevision);
 
         return newEntry;
     }
@@ -271,6 +300,7 @@ public class DatabaseChangeHelper {
 
         ContentEntryDto entry = databaseMiner.getContentEntryFromTopicWithInternalIdentifier(entryId, topic)
                 .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_CONTENT_ENTRY_FOR_TOPIC + topic + MESSAGE_AT_ID + entryId));
+        int dataRevision = dataObject.getRevision();
         for (int i = 0; i < absoluteSteps; i++) {
             if (step < 0) {
                 dataObject.moveEntryUp(entry);
@@ -278,6 +308,8 @@ public class DatabaseChangeHelper {
                 dataObject.moveEntryDown(entry);
             }
         }
+        // Other entries keep their relative order
+        databaseMiner.updateItemValueIndexes(topic, singletonList(entry), dataRevision);
     }
 
     /**
@@ -289,7 +321,11 @@ public class DatabaseChangeHelper {
      */
     public void removeResourceEntryWithReference(DbDto.Topic topic, String resourceReference) {
         databaseMiner.getResourcesFromTopic(topic)
-                .ifPresent(resources -> resources.removeEntryByReference(resourceReference));
+                .ifPresent(resources -> {
+                    int resourceRevision = resources.getRevision();
+                    resources.removeEntryByReference(resourceReference);
+                    databaseMiner.updateResourceSearchIndex(topic, singletonList(resourceReference), resourceRevision);
+                });
     }
 
     /**
@@ -332,7 +368,22 @@ public class DatabaseChangeHelper {
                         .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_CONTENT_ENTRY_FOR_TOPIC + topic + MESSAGE_AT_ID + id)))
                 .collect(toList());
 
+        int dataRevision = topicDataObject.getRevision();
         topicDataObject.removeEntries(entriesToDelete);
+        databaseMiner.updateItemValueIndexes(topic, entriesToDelete, dataRevision);
+    }
+
+    private int getDataRevision(DbDto.Topic topic) {
+        return databaseMiner.getDatabaseTopic(topic)
+                .map(DbDto::getData)
+                .map(DbDataDto::getRevision)
+                .orElse(-1);
+    }
+
+    private int getResourceRevision(DbDto.Topic topic) {
+        return databaseMiner.getResourcesFromTopic(topic)
+                .map(DbResourceDto::getRevision)
+                .orElse(-1);
     }
 
     private static List<ContentItemDto> cloneContentItems(ContentEntryDto entry, DbDto.Topic topic) {
@@ -6,14 +6,11 @@ import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
-import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseStructureQueryHelper;
-import org.apache.commons.lang3.Range;
 
 import java.util.*;
 
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * Class providing methods to generate database contents and resources.
@@ -24,9 +21,6 @@ public class DatabaseGenHelper {
 
     private static final String BITFIELD_VALUE_DEFAULT = "0";
 
-    private static final int IDENTIFIER_MIN = 10000000;
-    private static final int IDENTIFIER_MAX = 99999999;
-
     private final BulkDatabaseMiner databaseMiner;
 
     private final DatabaseChangeHelper changeHelper;
@@ -72,7 +66,7 @@ public class DatabaseGenHelper {
         switch (fieldType) {
             case UID:
                 rawValue = ofNullable(entryReference)
-                        .orElseGet(() -> DatabaseGenHelper.generateUniqueContentsEntryIdentifier(topicObject));
+                        .orElseGet(() -> databaseMiner.allocateContentsEntryIdentifier(topicObject.getTopic()));
                 break;
             case BITFIELD:
                 rawValue = BITFIELD_VALUE_DEFAULT;
@@ -107,59 +101,6 @@ public class DatabaseGenHelper {
                 .build();
     }
 
-    /**
-     * Produces a random, unique identifier of content entry.
-     *
-     * @param topicObject : database topic to provide structure and contents
-     * @return null if topicObject is null.
-     * @throws java.lang.IllegalArgumentException if current topic does not have an identifier field
-     */
-    public static String generateUniqueContentsEntryIdentifier(DbDto topicObject) {
-        if (topicObject == null) {
-            return null;
-        }
-
-        Optional<DbStructureDto.Field> identifierField = DatabaseStructureQueryHelper.getUidField(topicObject.getStructure().getFields());
-        if (!identifierField.isPresent()) {
-            throw new IllegalArgumentException("Provided contents object has no identifier field described in its structure.");
-        }
-
-        Set<String> existingEntryRefs = extractContentEntryReferences(identifierField.get(), topicObject);
-        return generateUniqueIdentifier(existingEntryRefs, Range.between(IDENTIFIER_MIN, IDENTIFIER_MAX));
-    }
-
-    /**
-     * Produces a random, unique identifier of content entry.
-     *
-     * @param topicObject : database topic to provide resources
-     * @return null if topicObject is null.
-     */
-    public static String generateUniqueResourceEntryIdentifier(DbDto topicObject) {
-        if (topicObject == null) {
-            return null;
-        }
-
-        Set<String> existingResourceRefs = extractResourceEntryReferences(topicObject);
-        return generateUniqueIdentifier(existingResourceRefs, Range.between(IDENTIFIER_MIN, IDENTIFIER_MAX));
-    }
-
-    /**
-     * @param existingIdentifiers : set of identifiers which already exist
-     * @param range               : range the generated value will be into
-     * @return a random, unique identifier in provided range.
-     */
-    public static String generateUniqueIdentifier(Set<String> existingIdentifiers, Range<Integer> range) {
-        if (existingIdentifiers.size() >= range.getMaximum() - range.getMinimum()) {
-            throw new IllegalArgumentException("No space left to generate value in provided range: " + range);
-        }
-
-        String generatedId = null;
-        while (generatedId == null || existingIdentifiers.contains(generatedId)) {
-            generatedId = generateIdentifier(range);
-        }
-        return generatedId;
-    }
-
     /**
      * V2
      *
@@ -170,7 +111,7 @@ public class DatabaseGenHelper {
         return findDefaultResourceEntry(topicObject)
                 .map(ResourceEntryDto::getReference)
                 .orElseGet(() -> {
-                    String newResourceReference = generateUniqueResourceEntryIdentifier(topicObject);
+                    String newResourceReference = databaseMiner.allocateResourceEntryIdentifier(topicObject.getTopic());
                     final ResourceEntryDto newEntry = topicObject.getResource().addEntryByReference(newResourceReference);
 
                     Locale.valuesAsStream().forEach(locale -> newEntry.setValueForLocale(RESOURCE_VALUE_DEFAULT, locale));
@@ -180,38 +121,11 @@ public class DatabaseGenHelper {
     }
 
     private String generateDefaultContentsReference(DbDto topicObject) {
-        String newContentsReference = generateUniqueContentsEntryIdentifier(topicObject);
+        String newContentsReference = databaseMiner.allocateContentsEntryIdentifier(topicObject.getTopic());
         changeHelper.addContentsEntryWithDefaultItems(newContentsReference, topicObject.getTopic());
         return newContentsReference;
     }
 
-    private static Set<String> extractContentEntryReferences(DbStructureDto.Field identifierField, DbDto topicObject) {
-        return topicObject.getData().getEntries().stream()
-                .map(entry -> entry.getItems().stream()
-                        .filter(item -> item.getFieldRank() == identifierField.getRank())
-                        .findAny()
-                        .map(ContentItemDto::getRawValue)
-                        .orElseThrow(() -> new IllegalStateException("No identifier field for topic object: " + topicObject.getTopic())))
-
-                .collect(toSet());
-    }
-
-    private static Set<String> extractResourceEntryReferences(DbDto topicObject) {
-        final Collection<ResourceEntryDto> entries = topicObject.getResource().getEntries();
-        if(entries == null) {
-            return new HashSet<>();
-        }
-
-        return entries.stream()
-                .map(ResourceEntryDto::getReference)
-                .collect(toSet());
-    }
-
-    private static String generateIdentifier(Range<Integer> range) {
-        final int identifier = new Random().nextInt(range.getMaximum() - range.getMinimum()) + range.getMinimum();
-        return Integer.toString(identifier);
-    }
-
     private static Optional<ResourceEntryDto> findDefaultResourceEntry(DbDto topicObject) {
         final Collection<ResourceEntryDto> entries = topicObject.getResource().getEntries();
         if (entries == null) {
@@ -0,0 +1,76 @@
+package fr.tduf.libunlimited.high.files.db.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+
+import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
+import static org.apache.commons.lang3.builder.HashCodeBuilder.reflectionHashCode;
+import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
+
+/**
+ * A resource value matching a text search.
+ */
+@JsonTypeName("dbResourceMatch")
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DbResourceMatchDto {
+
+    @JsonProperty("topic")
+    private final DbDto.Topic topic;
+
+    @JsonProperty("ref")
+    private final String reference;
+
+    @JsonProperty("locale")
+    private final Locale locale;
+
+    @JsonProperty("value")
+    private final String value;
+
+    /** For Jackson **/
+    private DbResourceMatchDto() {
+        this(null, null, null, null);
+    }
+
+    private DbResourceMatchDto(DbDto.Topic topic, String reference, Locale locale, String value) {
+        this.topic = topic;
+        this.reference = reference;
+        this.locale = locale;
+        this.value = value;
+    }
+
+    public static DbResourceMatchDto fromResourceValue(DbDto.Topic topic, String reference, Locale locale, String value) {
+        return new DbResourceMatchDto(topic, reference, locale, value);
+    }
+
+    public DbDto.Topic getTopic() {
+        return topic;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() { return reflectionToString(this); }
+
+    @Override
+    public boolean equals(Object o) { return reflectionEquals(this, o); }
+
+    @Override
+    public int hashCode() { return reflectionHashCode(this); }
+}
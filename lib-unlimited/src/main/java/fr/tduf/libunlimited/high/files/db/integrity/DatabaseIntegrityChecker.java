@@ -4,7 +4,6 @@ import fr.tduf.libunlimited.high.files.db.common.AbstractDatabaseHolder;
 import fr.tduf.libunlimited.low.files.db.domain.IntegrityError;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
-import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
 
 import java.util.*;
@@ -21,13 +20,18 @@ import static java.util.stream.Collectors.toSet;
  */
 public class DatabaseIntegrityChecker extends AbstractDatabaseHolder {
 
+    private static final Set<DbStructureDto.FieldType> REFERENCE_FIELD_TYPES = EnumSet.of(
+            DbStructureDto.FieldType.REFERENCE,
+            DbStructureDto.FieldType.RESOURCE_CURRENT_GLOBALIZED,
+            DbStructureDto.FieldType.RESOURCE_CURRENT_LOCALIZED,
+            DbStructureDto.FieldType.RESOURCE_REMOTE);
+
     private Map<String, DbDto> topicObjectsByReferences;
     private Map<DbDto, Map<Integer, DbStructureDto.Field>> fieldsByRanksByTopicObjects;
 
     /**
      * Process checking over all loaded database objects.
-     * Beware! This piece of code is very CPU-intelnsive on a complete database
-     * and takes a couple of minutes on a modern processor!
+     * Reference and resource fields are checked once per distinct value, using miner indexes.
      *
      * @return set of integrity errors.
      */
@@ -76,17 +80,16 @@ public class DatabaseIntegrityChecker extends AbstractDatabaseHolder {
     }
 
     private void checkContentsObject(DbDto contentsObject, Set<IntegrityError> integrityErrors) {
+        DbDto.Topic currentTopic = contentsObject.getTopic();
 
-        Map<Integer, DbStructureDto.Field> fieldsByRankIndex = fieldsByRanksByTopicObjects.get(contentsObject);
-
-        contentsObject.getData().getEntries().stream()
-                .forEach(entry -> entry.getItems().stream()
-
-                        .forEach(item -> checkContentsItem(item, contentsObject, fieldsByRankIndex, integrityErrors)));
+        // Each distinct value of reference fields is checked once, from item value indexes
+        fieldsByRanksByTopicObjects.get(contentsObject).values().stream()
+                .filter(field -> REFERENCE_FIELD_TYPES.contains(field.getFieldType()))
+                .forEach(field -> databaseMiner.getDistinctItemValuesAtFieldRank(field.getRank(), currentTopic)
+                        .forEach(rawValue -> checkContentsItemValue(rawValue, field, contentsObject, integrityErrors)));
     }
 
-    private void checkContentsItem(ContentItemDto item, DbDto localTopicObject, Map<Integer, DbStructureDto.Field> fieldsByRanksIndex, Set<IntegrityError> integrityErrors) {
-        DbStructureDto.Field field = fieldsByRanksIndex.get(item.getFieldRank());
+    private void checkContentsItemValue(String rawValue, DbStructureDto.Field field, DbDto localTopicObject, Set<IntegrityError> integrityErrors) {
         String targetRef = field.getTargetRef();
 
         DbDto remoteTopicObject = null;
@@ -98,16 +101,16 @@ public class DatabaseIntegrityChecker extends AbstractDatabaseHolder {
 
         switch (field.getFieldType()) {
             case REFERENCE:
-                integrityErrors.addAll(checkContentsReference(item.getRawValue(), remoteTopicObject, currentTopic));
+                integrityErrors.addAll(checkContentsReference(rawValue, remoteTopicObject, currentTopic));
                 break;
             case RESOURCE_CURRENT_GLOBALIZED:
-                integrityErrors.addAll(checkResourceReference(item.getRawValue(), localTopicObject, currentTopic, true));
+                integrityErrors.addAll(checkResourceReference(rawValue, localTopicObject, currentTopic, true));
                 break;
             case RESOURCE_CURRENT_LOCALIZED:
-                integrityErrors.addAll(checkResourceReference(item.getRawValue(), localTopicObject, currentTopic, false));
+                integrityErrors.addAll(checkResourceReference(rawValue, localTopicObject, currentTopic, false));
                 break;
             case RESOURCE_REMOTE:
-                integrityErrors.addAll(checkResourceReference(item.getRawValue(), remoteTopicObject, currentTopic, false));
+                integrityErrors.addAll(checkResourceReference(rawValue, remoteTopicObject, currentTopic, false));
                 break;
             default:
                 break;
@@ -1,21 +1,31 @@
 package fr.tduf.libunlimited.high.files.db.miner;
 
 import com.esotericsoftware.minlog.Log;
+import fr.tduf.libunlimited.common.cache.CacheManager;
 import fr.tduf.libunlimited.common.game.domain.Locale;
 import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
+import fr.tduf.libunlimited.high.files.db.dto.DbResourceMatchDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseStructureQueryHelper;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static fr.tduf.libunlimited.high.files.db.common.DatabaseConstants.FIELD_RANK_ID_CAR;
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static fr.tduf.libunlimited.low.files.db.dto.DbStructureDto.FieldType.RESOURCE_REMOTE;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingInt;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.*;
@@ -29,6 +39,15 @@ public class BulkDatabaseMiner {
     private static final String MESSAGE_NO_DATABASE_OBJECT = "No database object found for topic: ";
     private static final String MESSAGE_NO_TOPIC = "No topic in database: ";
 
+    public static final int IDENTIFIER_MIN = 10000000;
+    public static final int IDENTIFIER_MAX = 99999999;
+
+    private static final int CAR_IDENTIFIER_MIN = 8000;
+    private static final int CAR_IDENTIFIER_MAX = 9000;
+
+    static final String STORE_NAME_STRUCTURE = THIS_CLASS_NAME + ":structure";
+    static final String STORE_NAME_RESOURCE_VALUES = THIS_CLASS_NAME + ":resourceValues";
+
     static {
         Log.trace(THIS_CLASS_NAME, "*** new perf session ***");
     }
@@ -37,6 +56,17 @@ public class BulkDatabaseMiner {
 
     private final List<DbDto> topicObjects;
 
+    private final Map<DbDto.Topic, Map<Integer, ItemValueIndex>> itemValueIndexes = new ConcurrentHashMap<>();
+
+    private final Map<DbDto.Topic, ResourceValueIndex> resourceValueIndexes = new ConcurrentHashMap<>();
+
+    private final Map<DbDto.Topic, IdentifierAllocator> contentsIdentifierAllocators = new ConcurrentHashMap<>();
+
+    private final Map<DbDto.Topic, IdentifierAllocator> resourceIdentifierAllocators = new ConcurrentHashMap<>();
+
+    private IdentifierAllocator carIdentifierAllocator;
+
+    private volatile Long identifierSeed;
 
     private BulkDatabaseMiner(List<DbDto> topicObjects) {
         this.topicObjects = topicObjects;
@@ -78,10 +108,24 @@ public class BulkDatabaseMiner {
             return null;
         }
 
-        return topicObjects.stream()
-                .filter(databaseObject -> databaseObject.getStructure().getRef().equals(topicReference))
-                .findAny()
-                .orElseThrow(() -> new IllegalStateException("No topic for topic ref: " + topicReference));
+        // Structure never changes for the lifetime of a miner: cached in a store owned by this instance
+        return CacheManager.it.self().getValueFromKey(this, STORE_NAME_STRUCTURE, "topicRef:" + topicReference,
+                () -> topicObjects.stream()
+                        .filter(databaseObject -> databaseObject.getStructure().getRef().equals(topicReference))
+                        .findAny()
+                        .orElseThrow(() -> new IllegalStateException("No topic for topic ref: " + topicReference)));
+    }
+
+    /**
+     * @param topic     : topic in TDU Database to search
+     * @param fieldRank : rank of field in topic structure
+     * @return structure field having specified rank.
+     */
+    public DbStructureDto.Field getStructureFieldWithTopicAndRank(DbDto.Topic topic, int fieldRank) {
+        Log.trace(THIS_CLASS_NAME, "getStructureFieldWithTopicAndRank(" + topic + ", " + fieldRank + ")");
+
+        return CacheManager.it.self().getValueFromKey(this, STORE_NAME_STRUCTURE, "field:" + topic + ":" + fieldRank,
+                () -> DatabaseStructureQueryHelper.getStructureFieldWithRank(fieldRank, getStructureFields(topic)));
     }
 
     /**
@@ -137,8 +181,6 @@ public class BulkDatabaseMiner {
     }
 
     /**
-     * Warning! CPU intensive method. Should not be used on a wide (>2) field range
-     *
      * @param criteria : list of conditions to select content entries
      * @param topic    : topic in TDU Database to search
      * @return all database entries satisfying all conditions.
@@ -158,25 +200,68 @@ public class BulkDatabaseMiner {
     }
 
     /**
-     * Warning! CPU intensive method. Should not be used on a wide (>2) field range
+     * Relies on per-field value indexes, built on first use then each time topic contents have changed.
      *
      * @param criteria : list of conditions to select content entries
      * @param topic    : topic in TDU Database to search
-     * @return a stream of all database entries satisfying all conditions.
+     * @return a stream of all database entries satisfying all conditions, in topic order.
      */
     public Stream<ContentEntryDto> getContentEntryStreamMatchingCriteria(List<DbFieldValueDto> criteria, DbDto.Topic topic) {
-        final LinkedHashMap<ContentEntryDto, Long> collect = criteria.stream()
-                .flatMap(filter -> getAllContentEntriesFromTopicWithItemValueAtFieldRank(filter.getRank(), filter.getValue(), topic).stream())
-                .collect(groupingBy(
-                        topicEntry -> topicEntry,
-                        LinkedHashMap::new,
-                        counting())
-                );
+        if (criteria.isEmpty()) {
+            return Stream.empty();
+        }
+
+        DbDataDto dataObject = getDatabaseTopic(topic)
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_TOPIC + topic))
+                .getData();
+
+        // Smallest postings first, to check as few entries as possible
+        List<List<ContentEntryDto>> postings = criteria.stream()
+                .map(filter -> getItemValueIndex(dataObject, topic, filter.getRank()).getEntriesWithValue(filter.getValue()))
+                .sorted(comparingInt(List::size))
+                .collect(toList());
+
+        List<ContentEntryDto> candidateEntries = postings.get(0);
+        List<Set<ContentEntryDto>> otherPostings = postings.stream()
+                .skip(1)
+                .map(BulkDatabaseMiner::toIdentitySet)
+                .collect(toList());
 
-        return collect
-                .entrySet().stream()
-                .filter(entry -> entry.getValue() >= criteria.size())
-                .map(Map.Entry::getKey);
+        return candidateEntries.stream()
+                .filter(entry -> otherPostings.stream().allMatch(posting -> posting.contains(entry)));
+    }
+
+    /**
+     * Relies on per-field value indexes, acting as reverse reference index when field holds a REF to another topic.
+     *
+     * @param fieldRank : rank of field in topic structure
+     * @param topic     : topic in TDU Database to search
+     * @return all distinct raw values of items at given field rank.
+     */
+    public Set<String> getDistinctItemValuesAtFieldRank(int fieldRank, DbDto.Topic topic) {
+        DbDataDto dataObject = getDatabaseTopic(topic)
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_TOPIC + topic))
+                .getData();
+
+        return getItemValueIndex(dataObject, topic, fieldRank).getValues();
+    }
+
+    /**
+     * Keeps item value indexes of given topic up-to-date after some entries were added, updated, moved or removed,
+     * so that they do not have to be rebuilt on next use.
+     * Indexes which were not up-to-date with topic data before the change are left as is, to be rebuilt.
+     *
+     * @param topic                 : topic whose entries have changed
+     * @param changedEntries        : all entries affected by the change
+     * @param previousDataRevision  : revision of topic data before the change
+     */
+    public void updateItemValueIndexes(DbDto.Topic topic, Collection<ContentEntryDto> changedEntries, int previousDataRevision) {
+        Log.trace(THIS_CLASS_NAME, "updateItemValueIndexes(" + topic + ", " + changedEntries.size() + ", " + previousDataRevision + ")");
+
+        Map<Integer, ItemValueIndex> topicIndexes = itemValueIndexes.get(topic);
+        if (topicIndexes != null) {
+            topicIndexes.values().forEach(index -> index.update(changedEntries, previousDataRevision));
+        }
     }
 
     /**
@@ -201,18 +286,15 @@ public class BulkDatabaseMiner {
     public Optional<String> getContentEntryReferenceWithInternalIdentifier(int entryIdentifier, DbDto.Topic topic) {
         Log.trace(THIS_CLASS_NAME, "getContentEntryReferenceWithInternalIdentifier(" + entryIdentifier + ", " + topic + ")");
 
-        List<DbStructureDto.Field> structureFields = getDatabaseTopic(topic)
-                .map(databaseTopic -> databaseTopic.getStructure().getFields())
-                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_TOPIC + topic));
-
-        OptionalInt potentialRefFieldRank = DatabaseStructureQueryHelper.getUidFieldRank(structureFields);
-        if (potentialRefFieldRank.isPresent()) {
-            Optional<ContentItemDto> potentialRefItem = getContentItemWithEntryIdentifierAndFieldRank(topic, potentialRefFieldRank.getAsInt(), entryIdentifier);
-            if (potentialRefItem.isPresent()) {
-                return Optional.of(potentialRefItem.get().getRawValue());
-            }
+        OptionalInt potentialRefFieldRank = CacheManager.it.self().getValueFromKey(this, STORE_NAME_STRUCTURE, "uidRank:" + topic,
+                () -> DatabaseStructureQueryHelper.getUidFieldRank(getStructureFields(topic)));
+        if (!potentialRefFieldRank.isPresent()) {
+            return empty();
         }
-        return empty();
+
+        int refFieldRank = potentialRefFieldRank.getAsInt();
+        return getContentEntryFromTopicWithInternalIdentifier(entryIdentifier, topic)
+                .map(entry -> entry.getRawValueAtRank(refFieldRank));
     }
 
     /**
@@ -239,8 +321,7 @@ public class BulkDatabaseMiner {
         Log.trace(THIS_CLASS_NAME, "getContentItemWithEntryIdentifierAndFieldRank(" + fieldRank + ", " + entryIdentifier + ", " + topic + ")");
 
         return getContentEntryFromTopicWithInternalIdentifier(entryIdentifier, topic)
-                .map(entry -> entry.getItemAtRank(fieldRank)
-                        .orElse(null));
+                .map(entry -> entry.getItemAtRankOrNull(fieldRank));
     }
 
     /**
@@ -270,17 +351,29 @@ public class BulkDatabaseMiner {
      * @return resource value targeted by specified entry field if it exists, empty otherwise
      */
     public Optional<String> getLocalizedResourceValueFromContentEntry(int sourceEntryIndex, int sourceFieldRank, DbDto.Topic sourceTopic, Locale locale) {
-        List<DbStructureDto.Field> sourceTopicStructureFields = getDatabaseTopic(sourceTopic)
-                .map(topicObject -> topicObject.getStructure().getFields())
+        DbDto sourceTopicObject = getDatabaseTopic(sourceTopic)
                 .orElseThrow(() -> new IllegalStateException("No source topic object: " + sourceTopic));
 
+        // Revisions of source contents and target resources are part of the key: any change gives a new one
+        int targetResourceRevision = getResourceTargetTopic(sourceTopic, sourceFieldRank)
+                .flatMap(this::getResourcesFromTopic)
+                .map(DbResourceDto::getRevision)
+                .orElse(-1);
+        String key = sourceTopic + ":" + sourceEntryIndex + ":" + sourceFieldRank + ":" + locale
+                + ":" + sourceTopicObject.getData().getRevision() + ":" + targetResourceRevision;
+        return CacheManager.it.self().getValueFromKey(this, STORE_NAME_RESOURCE_VALUES, key,
+                () -> resolveLocalizedResourceValueFromContentEntry(sourceEntryIndex, sourceFieldRank, sourceTopic, locale));
+    }
+
+    private Optional<String> resolveLocalizedResourceValueFromContentEntry(int sourceEntryIndex, int sourceFieldRank, DbDto.Topic sourceTopic, Locale locale) {
         return getContentEntryFromTopicWithInternalIdentifier(sourceEntryIndex, sourceTopic)
 
                 .flatMap(contentEntry -> {
-                    DbStructureDto.Field structureField = DatabaseStructureQueryHelper.getStructureField(
-                            contentEntry.getItemAtRank(sourceFieldRank)
-                                    .orElseThrow(() -> new IllegalStateException("No item at rank: " + sourceEntryIndex + " for source entry id: " + contentEntry.getId())),
-                            sourceTopicStructureFields);
+                    ContentItemDto sourceItem = contentEntry.getItemAtRankOrNull(sourceFieldRank);
+                    if (sourceItem == null) {
+                        throw new IllegalStateException("No item at rank: " + sourceEntryIndex + " for source entry id: " + contentEntry.getId());
+                    }
+                    DbStructureDto.Field structureField = getStructureFieldWithTopicAndRank(sourceTopic, sourceItem.getFieldRank());
 
                     if (structureField.isAResourceField()) {
                         DbDto.Topic targetTopic = sourceTopic;
@@ -295,6 +388,16 @@ public class BulkDatabaseMiner {
                 });
     }
 
+    private Optional<DbDto.Topic> getResourceTargetTopic(DbDto.Topic sourceTopic, int sourceFieldRank) {
+        return CacheManager.it.self().getValueFromKey(this, STORE_NAME_STRUCTURE, "resourceTarget:" + sourceTopic + ":" + sourceFieldRank,
+                () -> getStructureFields(sourceTopic).stream()
+                        .filter(field -> field.getRank() == sourceFieldRank)
+                        .filter(DbStructureDto.Field::isAResourceField)
+                        .findAny()
+                        .map(field -> RESOURCE_REMOTE == field.getFieldType() ?
+                                getDatabaseTopicFromReference(field.getTargetRef()).getTopic() : sourceTopic));
+    }
+
     /**
      * @return entry having given reference for specified topic, empty otherwise
      */
@@ -303,6 +406,136 @@ public class BulkDatabaseMiner {
                 .flatMap(resource -> resource.getEntryByReference(reference));
     }
 
+    /**
+     * @param text      : text to search, case-insensitive
+     * @param locale    : language of values to search, null to search all of them
+     * @return all resource values containing given text, in topic then reference order. When searching all languages, only first matching value of each entry is returned.
+     */
+    public List<DbResourceMatchDto> findResourcesContaining(String text, Locale locale) {
+        Log.trace(THIS_CLASS_NAME, "findResourcesContaining(" + text + ", " + locale + ")");
+
+        return findResources(topicObjects.stream(), text, locale, false);
+    }
+
+    /**
+     * @param topic     : topic in TDU Database to search resources from
+     * @param text      : text to search, case-insensitive
+     * @param locale    : language of values to search, null to search all of them
+     * @return resource values of given topic containing given text, in reference order. When searching all languages, only first matching value of each entry is returned.
+     */
+    public List<DbResourceMatchDto> findResourcesContaining(DbDto.Topic topic, String text, Locale locale) {
+        Log.trace(THIS_CLASS_NAME, "findResourcesContaining(" + topic + ", " + text + ", " + locale + ")");
+
+        return findResources(getDatabaseTopic(topic).map(Stream::of).orElseGet(Stream::empty), text, locale, false);
+    }
+
+    /**
+     * @param text      : text to search, case-insensitive
+     * @param locale    : language of values to search, null to search all of them
+     * @return all resource values starting with given text, in topic then reference order. When searching all languages, only first matching value of each entry is returned.
+     */
+    public List<DbResourceMatchDto> findResourcesStartingWith(String text, Locale locale) {
+        Log.trace(THIS_CLASS_NAME, "findResourcesStartingWith(" + text + ", " + locale + ")");
+
+        return findResources(topicObjects.stream(), text, locale, true);
+    }
+
+    /**
+     * Updates search index of topic resources with given changed references, to be called after resources were modified.
+     * Index which was not up-to-date with resources before the change is left as is, to be rebuilt.
+     * @param changedReferences         : references of entries which have been added, modified or deleted
+     * @param previousResourceRevision  : revision of topic resources before the change
+     */
+    public void updateResourceSearchIndex(DbDto.Topic topic, Collection<String> changedReferences, int previousResourceRevision) {
+        Log.trace(THIS_CLASS_NAME, "updateResourceSearchIndex(" + topic + ", " + changedReferences.size() + ", " + previousResourceRevision + ")");
+
+        ResourceValueIndex resourceIndex = resourceValueIndexes.get(topic);
+        if (resourceIndex != null) {
+            resourceIndex.update(changedReferences, previousResourceRevision);
+        }
+    }
+
+    /**
+     * Makes following identifier allocations reproducible: with same seed and same database, same identifiers are allocated in same order, per topic.
+     * Identifiers already allocated are forgotten.
+     */
+    public void seedIdentifierAllocation(long seed) {
+        identifierSeed = seed;
+        contentsIdentifierAllocators.clear();
+        resourceIdentifierAllocators.clear();
+        synchronized (this) {
+            carIdentifierAllocator = null;
+        }
+    }
+
+    /**
+     * @param topic : topic in TDU Database to generate content entry identifier for
+     * @return a random identifier, not used by any content entry in topic, and never allocated before by this miner.
+     * @throws IllegalArgumentException if topic does not have an identifier field
+     */
+    public String allocateContentsEntryIdentifier(DbDto.Topic topic) {
+        Log.trace(THIS_CLASS_NAME, "allocateContentsEntryIdentifier(" + topic + ")");
+
+        DbDto topicObject = getDatabaseTopic(topic)
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_DATABASE_OBJECT + topic));
+        int uidFieldRank = DatabaseStructureQueryHelper.getUidFieldRank(topicObject.getStructure().getFields())
+                .orElseThrow(() -> new IllegalArgumentException("Provided contents object has no identifier field described in its structure."));
+
+        // UID index is kept up-to-date with entry changes
+        ItemValueIndex uidIndex = getItemValueIndex(topicObject.getData(), topic, uidFieldRank);
+        return getIdentifierAllocator(contentsIdentifierAllocators, topic, false)
+                .allocate(uidIndex::hasEntriesWithValue);
+    }
+
+    /**
+     * @param topic : topic in TDU Database to generate resource entry identifier for
+     * @return a random identifier, not used by any resource entry in topic, and never allocated before by this miner.
+     */
+    public String allocateResourceEntryIdentifier(DbDto.Topic topic) {
+        Log.trace(THIS_CLASS_NAME, "allocateResourceEntryIdentifier(" + topic + ")");
+
+        DbResourceDto resourceObject = getResourcesFromTopic(topic)
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_DATABASE_OBJECT + topic));
+
+        return getIdentifierAllocator(resourceIdentifierAllocators, topic, true)
+                .allocate(identifier -> resourceObject.getEntryByReference(identifier).isPresent());
+    }
+
+    /**
+     * @return a random car identifier (ID_CAR), not used by any vehicle in CAR_PHYSICS_DATA topic, and never allocated before by this miner.
+     */
+    public String allocateCarIdentifier() {
+        Log.trace(THIS_CLASS_NAME, "allocateCarIdentifier()");
+
+        DbDto topicObject = getDatabaseTopic(CAR_PHYSICS_DATA)
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_DATABASE_OBJECT + CAR_PHYSICS_DATA));
+
+        ItemValueIndex idCarIndex = getItemValueIndex(topicObject.getData(), CAR_PHYSICS_DATA, FIELD_RANK_ID_CAR);
+        return getCarIdentifierAllocator()
+                .allocate(idCarIndex::hasEntriesWithValue);
+    }
+
+    /**
+     * Prevents from allocating given identifier for content entries of topic, e.g when it is about to be used by a change not applied yet.
+     */
+    public void reserveContentsEntryIdentifier(DbDto.Topic topic, String identifier) {
+        getIdentifierAllocator(contentsIdentifierAllocators, topic, false).reserve(identifier);
+    }
+
+    /**
+     * Prevents from allocating given identifier for resource entries of topic, e.g when it is about to be used by a change not applied yet.
+     */
+    public void reserveResourceEntryIdentifier(DbDto.Topic topic, String identifier) {
+        getIdentifierAllocator(resourceIdentifierAllocators, topic, true).reserve(identifier);
+    }
+
+    /**
+     * Prevents from allocating given car identifier (ID_CAR), e.g when it is about to be used by a change not applied yet.
+     */
+    public void reserveCarIdentifier(String identifier) {
+        getCarIdentifierAllocator().reserve(identifier);
+    }
+
     /**
      * @return a set of corresponding values for exsiting entry
      */
@@ -331,30 +564,89 @@ public class BulkDatabaseMiner {
     public static String getContentEntryReference(ContentEntryDto entry, int uidFieldRank) {
         Log.trace(THIS_CLASS_NAME, "getContentEntryReference(" + entry.getId() + ", " + uidFieldRank + ")");
 
-        return entry.getItemAtRank(uidFieldRank)
-                .map(ContentItemDto::getRawValue)
-                .orElseThrow(() -> new IllegalStateException("No REF item for entry at id: " + entry.getId()));
+        String rawValue = entry.getRawValueAtRank(uidFieldRank);
+        if (rawValue == null) {
+            throw new IllegalStateException("No REF item for entry at id: " + entry.getId());
+        }
+        return rawValue;
     }
 
     private String getRawValueAtEntryIndexAndRank(DbDto.Topic topic, int fieldRank, int entryIndex) {
-        return getContentEntryFromTopicWithInternalIdentifier(entryIndex, topic)
-                .flatMap(contentEntry -> contentEntry.getItemAtRank(fieldRank))
-                .map(ContentItemDto::getRawValue)
-                .orElseThrow(() -> new IllegalStateException("No item at entry id: " + entryIndex + ", rank: " + fieldRank));
+        String rawValue = getContentEntryFromTopicWithInternalIdentifier(entryIndex, topic)
+                .map(contentEntry -> contentEntry.getRawValueAtRank(fieldRank))
+                .orElse(null);
+        if (rawValue == null) {
+            throw new IllegalStateException("No item at entry id: " + entryIndex + ", rank: " + fieldRank);
+        }
+        return rawValue;
     }
 
-    private List<ContentEntryDto> getAllContentEntriesFromTopicWithItemValueAtFieldRank(int fieldRank, String itemValue, DbDto.Topic topic) {
+    private List<DbStructureDto.Field> getStructureFields(DbDto.Topic topic) {
         return getDatabaseTopic(topic)
-                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_TOPIC + topic))
-                .getData().getEntries().stream()
-                .filter(entry -> {
-                    Optional<ContentItemDto> contentItemFromEntryAtFieldRank = entry.getItemAtRank(fieldRank);
-                    return contentItemFromEntryAtFieldRank.isPresent()
-                            && itemValue.equals(contentItemFromEntryAtFieldRank.get().getRawValue());
-                })
+                .map(databaseTopic -> databaseTopic.getStructure().getFields())
+                .orElseThrow(() -> new IllegalStateException(MESSAGE_NO_TOPIC + topic));
+    }
+
+    private ItemValueIndex getItemValueIndex(DbDataDto dataObject, DbDto.Topic topic, int fieldRank) {
+        return itemValueIndexes
+                .computeIfAbsent(topic, t -> new ConcurrentHashMap<>())
+                .compute(fieldRank, (rank, index) -> index == null || !index.isUpToDateWith(dataObject) ?
+                        ItemValueIndex.build(dataObject, rank)
+                        :
+                        index);
+    }
+
+    private List<DbResourceMatchDto> findResources(Stream<DbDto> searchedTopicObjects, String text, Locale locale, boolean prefixOnly) {
+        requireNonNull(text, "A text to search is required.");
+
+        String normalizedText = ResourceValueIndex.normalize(text);
+        return searchedTopicObjects
+                .filter(topicObject -> topicObject.getResource() != null)
+                .sorted(comparingInt(topicObject -> topicObject.getTopic().ordinal()))
+                .flatMap(topicObject -> getResourceValueIndex(topicObject.getResource(), topicObject.getTopic())
+                        .findMatches(normalizedText, locale, prefixOnly).stream())
                 .collect(toList());
     }
 
+    private ResourceValueIndex getResourceValueIndex(DbResourceDto resourceObject, DbDto.Topic topic) {
+        return resourceValueIndexes
+                .compute(topic, (t, index) -> index == null || !index.isUpToDateWith(resourceObject) ?
+                        ResourceValueIndex.build(resourceObject, t)
+                        :
+                        index);
+    }
+
+    private IdentifierAllocator getIdentifierAllocator(Map<DbDto.Topic, IdentifierAllocator> allocators, DbDto.Topic topic, boolean forResources) {
+        return allocators.computeIfAbsent(topic, t -> {
+            Long seed = identifierSeed;
+            // Each topic and kind gets its own sequence, not depending on allocations for other ones
+            return new IdentifierAllocator(seed == null ?
+                    new Random()
+                    :
+                    new Random(seed * 31 + t.ordinal() * 2 + (forResources ? 1 : 0)),
+                    IDENTIFIER_MIN, IDENTIFIER_MAX);
+        });
+    }
+
+    private synchronized IdentifierAllocator getCarIdentifierAllocator() {
+        if (carIdentifierAllocator == null) {
+            Long seed = identifierSeed;
+            // Sequence distinct from the ones of topic entries
+            carIdentifierAllocator = new IdentifierAllocator(seed == null ?
+                    new Random()
+                    :
+                    new Random(seed * 31 - 1),
+                    CAR_IDENTIFIER_MIN, CAR_IDENTIFIER_MAX);
+        }
+        return carIdentifierAllocator;
+    }
+
+    private static Set<ContentEntryDto> toIdentitySet(List<ContentEntryDto> entries) {
+        Set<ContentEntryDto> identitySet = Collections.newSetFromMap(new IdentityHashMap<>(entries.size()));
+        identitySet.addAll(entries);
+        return identitySet;
+    }
+
     List<DbDto> getTopicObjects() {
         return topicObjects;
     }
@@ -362,4 +654,344 @@ public class BulkDatabaseMiner {
     UUID getId() {
         return id;
     }
+
+    Map<DbDto.Topic, Map<Integer, ItemValueIndex>> getItemValueIndexes() {
+        return itemValueIndexes;
+    }
+
+    Map<DbDto.Topic, ResourceValueIndex> getResourceValueIndexes() {
+        return resourceValueIndexes;
+    }
+
+    /**
+     * Random identifiers for new entries of a topic, within [minimum, maximum[.
+     * Allocated identifiers are kept, so that they're not allocated twice even if related entries are not created yet (e.g. patch placeholders).
+     */
+    static class IdentifierAllocator {
+        private static final int RANDOM_ATTEMPTS = 100;
+
+        private final Random random;
+        private final int minimum;
+        private final int maximum;
+        private final Set<String> allocatedIdentifiers = new HashSet<>();
+
+        private IdentifierAllocator(Random random, int minimum, int maximum) {
+            this.random = random;
+            this.minimum = minimum;
+            this.maximum = maximum;
+        }
+
+        /**
+         * Picks identifiers at random first, then scans the whole range from last pick when it is nearly full.
+         * @param usedIdentifier : tells if identifier is already used in topic
+         * @throws IllegalStateException when all identifiers in range are either used or allocated
+         */
+        synchronized String allocate(Predicate<String> usedIdentifier) {
+            int rangeSize = maximum - minimum;
+            if (allocatedIdentifiers.size() < rangeSize) {
+                int value = 0;
+                for (int attempt = 0; attempt < RANDOM_ATTEMPTS; attempt++) {
+                    value = random.nextInt(rangeSize) + minimum;
+                    if (isAvailable(value, usedIdentifier)) {
+                        return take(value);
+                    }
+                }
+
+                for (int offset = 1; offset < rangeSize; offset++) {
+                    int candidate = minimum + (value - minimum + offset) % rangeSize;
+                    if (isAvailable(candidate, usedIdentifier)) {
+                        return take(candidate);
+                    }
+                }
+            }
+
+            throw new IllegalStateException("No space left to allocate identifier in range: [" + minimum + ", " + maximum + "[");
+        }
+
+        private boolean isAvailable(int value, Predicate<String> usedIdentifier) {
+            String identifier = Integer.toString(value);
+            return !allocatedIdentifiers.contains(identifier) && !usedIdentifier.test(identifier);
+        }
+
+        private String take(int value) {
+            String identifier = Integer.toString(value);
+            allocatedIdentifiers.add(identifier);
+            return identifier;
+        }
+
+        /**
+         * Identifiers out of range can't be allocated anyway, so they are ignored.
+         */
+        synchronized void reserve(String identifier) {
+            try {
+                int value = Integer.parseInt(identifier);
+                if (value >= minimum && value < maximum && Integer.toString(value).equals(identifier)) {
+                    allocatedIdentifiers.add(identifier);
+                }
+            } catch (NumberFormatException nfe) {
+                // Not an allocatable identifier
+            }
+        }
+    }
+
+    /**
+     * Entries of a topic, grouped by raw value of item at a given field rank.
+     * Can be updated in place for a few changed entries; entries with a given value are kept in topic order.
+     */
+    static class ItemValueIndex {
+        private final DbDataDto dataObject;
+        private final int fieldRank;
+        private int dataRevision;
+        private final Map<String, List<ContentEntryDto>> entriesByValue = new HashMap<>();
+        private final Map<ContentEntryDto, String> valuesByEntry = new IdentityHashMap<>();
+        private final Set<String> unorderedValues = new HashSet<>();
+
+        private ItemValueIndex(DbDataDto dataObject, int fieldRank) {
+            this.dataObject = dataObject;
+            this.fieldRank = fieldRank;
+            this.dataRevision = dataObject.getRevision();
+        }
+
+        static ItemValueIndex build(DbDataDto dataObject, int fieldRank) {
+            Log.trace(THIS_CLASS_NAME, "ItemValueIndex.build(" + dataObject.getTopic() + ", " + fieldRank + ")");
+
+            ItemValueIndex index = new ItemValueIndex(dataObject, fieldRank);
+            dataObject.getEntries().forEach(index::addEntry);
+            return index;
+        }
+
+        synchronized boolean isUpToDateWith(DbDataDto currentDataObject) {
+            return dataObject == currentDataObject
+                    && dataRevision == currentDataObject.getRevision();
+        }
+
+        /**
+         * @return a copy of entries having given value, taken under lock: it is not affected by later index updates.
+         */
+        synchronized List<ContentEntryDto> getEntriesWithValue(String rawValue) {
+            List<ContentEntryDto> entries = entriesByValue.get(rawValue);
+            if (entries == null) {
+                return emptyList();
+            }
+
+            if (unorderedValues.remove(rawValue)) {
+                entries.sort(comparingInt(ContentEntryDto::getId));
+            }
+            return unmodifiableList(new ArrayList<>(entries));
+        }
+
+        synchronized boolean hasEntriesWithValue(String rawValue) {
+            return entriesByValue.containsKey(rawValue);
+        }
+
+        synchronized Set<String> getValues() {
+            return new HashSet<>(entriesByValue.keySet());
+        }
+
+        /**
+         * Applies changes of given entries, only if index was up-to-date with data before the change.
+         */
+        synchronized void update(Collection<ContentEntryDto> changedEntries, int previousDataRevision) {
+            if (dataRevision != previousDataRevision) {
+                return;
+            }
+
+            changedEntries.forEach(entry -> {
+                removeEntry(entry);
+                // Removed entries have no identifier anymore
+                if (entry.getId() != -1) {
+                    addEntry(entry);
+                }
+            });
+            dataRevision = dataObject.getRevision();
+        }
+
+        private void addEntry(ContentEntryDto entry) {
+            String rawValue = entry.getRawValueAtRank(fieldRank);
+            if (rawValue == null) {
+                return;
+            }
+
+            List<ContentEntryDto> entries = entriesByValue.computeIfAbsent(rawValue, v -> new ArrayList<>());
+            if (!entries.isEmpty() && entries.get(entries.size() - 1).getId() > entry.getId()) {
+                unorderedValues.add(rawValue);
+            }
+            entries.add(entry);
+            valuesByEntry.put(entry, rawValue);
+        }
+
+        private void removeEntry(ContentEntryDto entry) {
+            String previousValue = valuesByEntry.remove(entry);
+            if (previousValue == null) {
+                return;
+            }
+
+            List<ContentEntryDto> entries = entriesByValue.get(previousValue);
+            entries.removeIf(indexedEntry -> indexedEntry == entry);
+            if (entries.isEmpty()) {
+                entriesByValue.remove(previousValue);
+                unorderedValues.remove(previousValue);
+            }
+        }
+    }
+
+    /**
+     * Resource entry references of a topic, grouped by lower-case value for all locales, with trigram lookup of values.
+     * Candidate values from trigrams are always checked against searched text, then against current value for requested locale.
+     * Can be updated in place for a few changed references.
+     */
+    static class ResourceValueIndex {
+        private static final int GRAM_LENGTH = 3;
+
+        private final DbResourceDto resourceObject;
+        private final DbDto.Topic topic;
+        private int resourceRevision;
+        private final Map<String, Set<String>> referencesByValue = new HashMap<>();
+        private final Map<String, Set<String>> valuesByReference = new HashMap<>();
+        private final Map<String, Set<String>> valuesByGram = new HashMap<>();
+
+        private ResourceValueIndex(DbResourceDto resourceObject, DbDto.Topic topic) {
+            this.resourceObject = resourceObject;
+            this.topic = topic;
+            this.resourceRevision = resourceObject.getRevision();
+        }
+
+        static ResourceValueIndex build(DbResourceDto resourceObject, DbDto.Topic topic) {
+            Log.trace(THIS_CLASS_NAME, "ResourceValueIndex.build(" + topic + ")");
+
+            ResourceValueIndex index = new ResourceValueIndex(resourceObject, topic);
+            resourceObject.getEntries().forEach(index::addEntry);
+            return index;
+        }
+
+        static String normalize(String value) {
+            return value.toLowerCase(java.util.Locale.ROOT);
+        }
+
+        synchronized boolean isUpToDateWith(DbResourceDto currentResourceObject) {
+            return resourceObject == currentResourceObject
+                    && resourceRevision == currentResourceObject.getRevision();
+        }
+
+        synchronized List<DbResourceMatchDto> findMatches(String normalizedText, Locale locale, boolean prefixOnly) {
+            Collection<String> candidateValues = normalizedText.length() < GRAM_LENGTH ?
+                    referencesByValue.keySet()
+                    :
+                    getCandidateValues(normalizedText);
+
+            Set<String> candidateReferences = new TreeSet<>();
+            candidateValues.stream()
+                    .filter(value -> prefixOnly ? value.startsWith(normalizedText) : value.contains(normalizedText))
+                    .forEach(value -> candidateReferences.addAll(referencesByValue.get(value)));
+
+            List<DbResourceMatchDto> matches = new ArrayList<>(candidateReferences.size());
+            candidateReferences.forEach(reference -> resourceObject.getEntryByReference(reference)
+                    .flatMap(entry -> findMatchInEntry(entry, normalizedText, locale, prefixOnly))
+                    .ifPresent(matches::add));
+            return matches;
+        }
+
+        /**
+         * Applies changes of given references, only if index was up-to-date with resources before the change.
+         */
+        synchronized void update(Collection<String> changedReferences, int previousResourceRevision) {
+            if (resourceRevision != previousResourceRevision) {
+                return;
+            }
+
+            changedReferences.forEach(reference -> {
+                removeReference(reference);
+                resourceObject.getEntryByReference(reference).ifPresent(this::addEntry);
+            });
+            resourceRevision = resourceObject.getRevision();
+        }
+
+        private Collection<String> getCandidateValues(String normalizedText) {
+            // Values containing text have all its grams: the least frequent one gives fewest candidates
+            Collection<String> candidateValues = null;
+            for (int i = 0; i + GRAM_LENGTH <= normalizedText.length(); i++) {
+                Set<String> gramValues = valuesByGram.get(normalizedText.substring(i, i + GRAM_LENGTH));
+                if (gramValues == null) {
+                    return emptyList();
+                }
+                if (candidateValues == null || gramValues.size() < candidateValues.size()) {
+                    candidateValues = gramValues;
+                }
+            }
+            return candidateValues;
+        }
+
+        private Optional<DbResourceMatchDto> findMatchInEntry(ResourceEntryDto entry, String normalizedText, Locale locale, boolean prefixOnly) {
+            Stream<Locale> searchedLocales = locale == null ?
+                    Stream.of(Locale.values())
+                    :
+                    Stream.of(locale);
+            return searchedLocales
+                    .map(searchedLocale -> entry.getValueForLocale(searchedLocale)
+                            .filter(value -> prefixOnly ? normalize(value).startsWith(normalizedText) : normalize(value).contains(normalizedText))
+                            .map(value -> DbResourceMatchDto.fromResourceValue(topic, entry.getReference(), searchedLocale, value)))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+        }
+
+        private void addEntry(ResourceEntryDto entry) {
+            Set<String> values = new HashSet<>();
+            Stream.of(Locale.values())
+                    .map(entry::getItemForLocale)
+                    .filter(Optional::isPresent)
+                    .map(item -> normalize(item.get().getValue()))
+                    .forEach(values::add);
+            if (values.isEmpty()) {
+                return;
+            }
+
+            String reference = entry.getReference();
+            valuesByReference.put(reference, values);
+            values.forEach(value -> {
+                Set<String> references = referencesByValue.get(value);
+                if (references == null) {
+                    references = new HashSet<>();
+                    referencesByValue.put(value, references);
+                    addGrams(value);
+                }
+                references.add(reference);
+            });
+        }
+
+        private void removeReference(String reference) {
+            Set<String> previousValues = valuesByReference.remove(reference);
+            if (previousValues == null) {
+                return;
+            }
+
+            previousValues.forEach(value -> {
+                Set<String> references = referencesByValue.get(value);
+                references.remove(reference);
+                if (references.isEmpty()) {
+                    referencesByValue.remove(value);
+                    removeGrams(value);
+                }
+            });
+        }
+
+        private void addGrams(String value) {
+            for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                valuesByGram.computeIfAbsent(value.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>()).add(value);
+            }
+        }
+
+        private void removeGrams(String value) {
+            for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+                String gram = value.substring(i, i + GRAM_LENGTH);
+                Set<String> gramValues = valuesByGram.get(gram);
+                if (gramValues != null) {
+                    gramValues.remove(value);
+                    if (gramValues.isEmpty()) {
+                        valuesByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -12,26 +12,36 @@ import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseStructureQueryHelper;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
+import static fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto.DbChangeDto.ChangeTypeEnum.DELETE_RES;
+import static fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto.DbChangeDto.ChangeTypeEnum.UPDATE_RES;
 import static fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto.DbChangeDto.DirectionEnum.UP;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Used to apply patches to an existing database.
  */
 public class DatabasePatcher extends AbstractDatabaseHolder {
+    private static final String THIS_CLASS_NAME = DatabasePatcher.class.getSimpleName();
 
     private DatabaseChangeHelper databaseChangeHelper;
 
@@ -67,10 +77,45 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
 
     /**
      * Execute provided patches onto current database, taking properties into account.
+     * Placeholders of all patches are resolved first, then changes are grouped per topic and applied in one pass per topic,
+     * topics being processed in parallel.
+     * Identifiers given as is by all patches are reserved beforehand, so that they're not generated for placeholders.
+     * Within a topic, changes keep patch order: resulting database is the same as when applying patches one after the other.
      */
     public void batchApplyWithProperties(Map<DbPatchDto, DatabasePatchProperties> patchObjectsAndProperties) {
-        requireNonNull(patchObjectsAndProperties, "A list of patch objects and associated properties are required.")
-                .forEach(this::applyWithProperties);
+        requireNonNull(patchObjectsAndProperties, "A list of patch objects and associated properties are required.");
+
+        List<DatabasePlaceholderResolver> resolvers = new ArrayList<>(patchObjectsAndProperties.size());
+        patchObjectsAndProperties.forEach((patchObject, patchProperties) -> {
+            requireNonNull(patchObject, "A patch object is required.");
+            requireNonNull(patchProperties, "Patch properties are required.");
+
+            DatabasePlaceholderResolver resolver = DatabasePlaceholderResolver.load(patchObject, patchProperties.makeCopy(), databaseMiner);
+            resolver.reserveLiteralIdentifiers();
+            resolvers.add(resolver);
+        });
+        resolvers.forEach(DatabasePlaceholderResolver::resolveAllPlaceholders);
+
+        Map<DbDto.Topic, List<DbPatchDto.DbChangeDto>> changesByTopic = new EnumMap<>(DbDto.Topic.class);
+        patchObjectsAndProperties.keySet().forEach(patchObject -> patchObject.getChanges()
+                .forEach(changeObject -> changesByTopic.computeIfAbsent(changeObject.getTopic(), topic -> new ArrayList<>()).add(changeObject)));
+
+        Log.debug(THIS_CLASS_NAME, "Applying changes from " + patchObjectsAndProperties.size() + " patches onto " + changesByTopic.size() + " topics");
+
+        // Changes only affect and look up their own topic
+        changesByTopic.entrySet().parallelStream()
+                .forEach(topicChanges -> applyTopicChanges(topicChanges.getKey(), topicChanges.getValue()));
+    }
+
+    /**
+     * Makes identifiers generated for reference placeholders reproducible:
+     * with same seed, same database and same patches, same identifiers are generated.
+     *
+     * @return current patcher.
+     */
+    public DatabasePatcher withIdentifierSeed(long seed) {
+        databaseMiner.seedIdentifierAllocation(seed);
+        return this;
     }
 
     @Override
@@ -86,6 +131,26 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
                 .forEach(this::apply);
     }
 
+    private void applyTopicChanges(DbDto.Topic topic, List<DbPatchDto.DbChangeDto> changeObjects) {
+        Optional<DbResourceDto> potentialResources = databaseMiner.getResourcesFromTopic(topic);
+        int resourceRevision = potentialResources
+                .map(DbResourceDto::getRevision)
+                .orElse(0);
+
+        changeObjects.forEach(this::applyChange);
+
+        // Resource search index is updated once for all changes of topic
+        potentialResources.ifPresent(resources -> {
+            Set<String> changedReferences = changeObjects.stream()
+                    .filter(changeObject -> UPDATE_RES == changeObject.getType()
+                            || DELETE_RES == changeObject.getType())
+                    .map(DbPatchDto.DbChangeDto::getRef)
+                    .filter(Objects::nonNull)
+                    .collect(toSet());
+            databaseMiner.updateResourceSearchIndex(topic, changedReferences, resourceRevision);
+        });
+    }
+
     private void applyChange(DbPatchDto.DbChangeDto changeObject) {
 
         DbPatchDto.DbChangeDto.ChangeTypeEnum changeType = changeObject.getType();
@@ -168,7 +233,9 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
 
             List<DbFieldValueDto> partialValues = changeObject.getPartialValues();
             if (potentialEntry.isPresent()) {
+                int dataRevision = topicObject.getData().getRevision();
                 updateEntryWithPartialChanges(potentialEntry.get(), topicObject.getStructure(), partialValues);
+                databaseMiner.updateItemValueIndexes(changedTopic, singletonList(potentialEntry.get()), dataRevision);
             } else {
                 updateEntriesMatchingCriteriaWithPartialChanges(changeObject, topicObject);
             }
@@ -200,7 +267,15 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
 
     private void addEntryWithFullChanges(DbDto topicObject, List<String> values) {
         List<ContentItemDto> modifiedItems = createEntryItemsWithValues(topicObject, values);
-        topicObject.getData().addEntryWithItems(modifiedItems);
+        ContentEntryDto newEntry = ContentEntryDto.builder()
+                .addItems(modifiedItems)
+                .build();
+
+        // Keeps value indexes usable by following changes, instead of having them rebuilt
+        DbDataDto dataObject = topicObject.getData();
+        int dataRevision = dataObject.getRevision();
+        dataObject.addEntry(newEntry);
+        databaseMiner.updateItemValueIndexes(topicObject.getTopic(), singletonList(newEntry), dataRevision);
     }
 
     private void updateEntryWithFullChanges(ContentEntryDto existingEntry, DbDto topicObject, DbPatchDto.DbChangeDto changeObject) {
@@ -209,7 +284,9 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
         }
 
         List<ContentItemDto> modifiedItems = createEntryItemsWithValues(topicObject, changeObject.getValues());
+        int dataRevision = topicObject.getData().getRevision();
         existingEntry.replaceItems(modifiedItems);
+        databaseMiner.updateItemValueIndexes(topicObject.getTopic(), singletonList(existingEntry), dataRevision);
     }
 
     private void updateEntryWithPartialChanges(ContentEntryDto existingEntry, DbStructureDto structureObject, List<DbFieldValueDto> partialValues) {
@@ -231,7 +308,9 @@ public class DatabasePatcher extends AbstractDatabaseHolder {
             return;
         }
 
+        int dataRevision = topicObject.getData().getRevision();
         entries.forEach(entry -> updateEntryWithPartialChanges(entry, topicObject.getStructure(), partialValues));
+        databaseMiner.updateItemValueIndexes(changeObject.getTopic(), entries, dataRevision);
     }
 
     private void deleteResources(DbPatchDto.DbChangeDto changeObject) {
@@ -124,9 +124,10 @@ public class DiffPatchesGenerator {
                 .map(entryItem -> {
                     int fieldRank = entryItem.getFieldRank();
                     String currentValue = entryItem.getRawValue();
-                    String referenceValue = referenceEntry.getItemAtRank(fieldRank)
-                            .orElseThrow(() -> new IllegalStateException("No content item at rank: " + fieldRank + " in reference entry: " + entry.getId()))
-                            .getRawValue();
+                    String referenceValue = referenceEntry.getRawValueAtRank(fieldRank);
+                    if (referenceValue == null) {
+                        throw new IllegalStateException("No content item at rank: " + fieldRank + " in reference entry: " + entry.getId());
+                    }
 
                     return currentValue.equals(referenceValue) ?
                             null
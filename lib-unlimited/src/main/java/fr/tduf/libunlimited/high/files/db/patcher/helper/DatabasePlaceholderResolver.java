@@ -2,29 +2,23 @@ package fr.tduf.libunlimited.high.files.db.patcher.helper;
 
 import fr.tduf.libunlimited.high.files.common.patcher.domain.PatchProperties;
 import fr.tduf.libunlimited.high.files.common.patcher.helper.PlaceholderResolver;
-import fr.tduf.libunlimited.high.files.db.common.helper.DatabaseGenHelper;
 import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
 import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.high.files.db.patcher.domain.DatabasePatchProperties;
 import fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
-import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
-import org.apache.commons.lang3.Range;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static fr.tduf.libunlimited.high.files.db.dto.DbMetadataDto.TopicMetadataDto.FIELD_RANK_ID_CAR;
+import static fr.tduf.libunlimited.high.files.db.common.DatabaseConstants.FIELD_RANK_ID_CAR;
 import static fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto.DbChangeDto.ChangeTypeEnum.*;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * Component to handle placeholder values in patch instructions.
@@ -35,7 +29,6 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
 
     private final DbPatchDto patchObject;
     private final BulkDatabaseMiner databaseMiner;
-    private final Set<String> generatedIdentifiers = new HashSet<>();
 
     private DatabasePlaceholderResolver(DbPatchDto patchObject, DatabasePatchProperties patchProperties, BulkDatabaseMiner databaseMiner) {
         this.patchObject = patchObject;
@@ -60,8 +53,6 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
      * Main component entry point
      */
     public void resolveAllPlaceholders() {
-        generatedIdentifiers.clear();
-
         resolveContentsReferencePlaceholders();
 
         resolveResourceReferencePlaceholders();
@@ -71,16 +62,33 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
         resolveResourceValuePlaceholders();
     }
 
+    /**
+     * Reserves identifiers given as is by changes (REF, ID_CAR), so that they can't be allocated for placeholders
+     * of other patches, resolved before current one is applied.
+     */
+    public void reserveLiteralIdentifiers() {
+        patchObject.getChanges().forEach(changeObject -> {
+            DbDto.Topic topic = changeObject.getTopic();
+            Optional<String> potentialLiteralRef = Optional.ofNullable(changeObject.getRef())
+                    .filter(ref -> !PATTERN_PLACEHOLDER.matcher(ref).matches());
+            if (UPDATE == changeObject.getType()) {
+                potentialLiteralRef.ifPresent(ref -> databaseMiner.reserveContentsEntryIdentifier(topic, ref));
+                if (CAR_PHYSICS_DATA == topic) {
+                    getLiteralCarIdentifier(changeObject).ifPresent(databaseMiner::reserveCarIdentifier);
+                }
+            } else if (UPDATE_RES == changeObject.getType()) {
+                potentialLiteralRef.ifPresent(ref -> databaseMiner.reserveResourceEntryIdentifier(topic, ref));
+            }
+        });
+    }
+
     private void resolveContentsReferencePlaceholders() {
         patchObject.getChanges().stream()
                 .filter(changeObject -> DELETE == changeObject.getType()
                         || UPDATE == changeObject.getType())
                 .filter(changeObject -> changeObject.getRef() != null)
                 .forEach(changeObject -> {
-                    final DbDto.Topic currentTopic = changeObject.getTopic();
-                    DbDto topicObject = databaseMiner.getDatabaseTopic(currentTopic)
-                            .orElseThrow(() -> new IllegalStateException("No database object found for topic: " + currentTopic));
-                    String effectiveReference = resolveReferencePlaceholder(true, changeObject.getRef(), patchProperties, topicObject, generatedIdentifiers);
+                    String effectiveReference = resolveReferencePlaceholder(true, changeObject.getRef(), patchProperties, changeObject.getTopic(), databaseMiner);
                     changeObject.setRef(effectiveReference);
                 });
     }
@@ -91,10 +99,7 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
                         || UPDATE_RES == changeObject.getType())
                 .filter(changeObject -> changeObject.getRef() != null)
                 .forEach(changeObject -> {
-                    final DbDto.Topic currentTopic = changeObject.getTopic();
-                    DbDto topicObject = databaseMiner.getDatabaseTopic(changeObject.getTopic())
-                            .orElseThrow(() -> new IllegalStateException("No database object found for topic: " + currentTopic));
-                    String effectiveReference = resolveReferencePlaceholder(false, changeObject.getRef(), patchProperties, topicObject, generatedIdentifiers);
+                    String effectiveReference = resolveReferencePlaceholder(false, changeObject.getRef(), patchProperties, changeObject.getTopic(), databaseMiner);
                     changeObject.setRef(effectiveReference);
                 });
     }
@@ -157,14 +162,29 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
                 .collect(toList());
     }
 
-    static String resolveReferencePlaceholder(boolean forContents, String value, PatchProperties patchProperties, DbDto topicObject, Set<String> generatedIdentifiers) {
+    private static Optional<String> getLiteralCarIdentifier(DbPatchDto.DbChangeDto changeObject) {
+        Optional<String> potentialCarIdentifier = Optional.empty();
+        List<String> values = changeObject.getValues();
+        if (values != null && values.size() >= FIELD_RANK_ID_CAR) {
+            potentialCarIdentifier = Optional.of(values.get(FIELD_RANK_ID_CAR - 1));
+        } else if (changeObject.getPartialValues() != null) {
+            potentialCarIdentifier = changeObject.getPartialValues().stream()
+                    .filter(partialValue -> FIELD_RANK_ID_CAR == partialValue.getRank())
+                    .map(DbFieldValueDto::getValue)
+                    .findAny();
+        }
+        return potentialCarIdentifier
+                .filter(carIdentifier -> !PATTERN_PLACEHOLDER.matcher(carIdentifier).matches());
+    }
+
+    static String resolveReferencePlaceholder(boolean forContents, String value, PatchProperties patchProperties, DbDto.Topic topic, BulkDatabaseMiner miner) {
         if (forContents) {
             final Matcher matcherForPseudoRef = PATTERN_PLACEHOLDER_PSEUDO_REF.matcher(value);
             if (matcherForPseudoRef.matches()) {
                 final String placeholderName1 = matcherForPseudoRef.group(1);
                 final String placeholderName2 = matcherForPseudoRef.group(2);
-                String ref1 = resolveReferencePlaceholderOrGenerate(true, placeholderName1, topicObject, patchProperties, generatedIdentifiers);
-                String ref2 = resolveReferencePlaceholderOrGenerate(true, placeholderName2, topicObject, patchProperties, generatedIdentifiers);
+                String ref1 = resolveReferencePlaceholderOrGenerate(true, placeholderName1, topic, miner, patchProperties);
+                String ref2 = resolveReferencePlaceholderOrGenerate(true, placeholderName2, topic, miner, patchProperties);
                 return String.format(ContentEntryDto.FORMAT_PSEUDO_REF, ref1, ref2);
             }
         }
@@ -172,16 +192,16 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
         final Matcher matcher = PATTERN_PLACEHOLDER.matcher(value);
         if (matcher.matches()) {
             final String placeholderName = matcher.group(1);
-            return resolveReferencePlaceholderOrGenerate(forContents, placeholderName, topicObject, patchProperties, generatedIdentifiers);
+            return resolveReferencePlaceholderOrGenerate(forContents, placeholderName, topic, miner, patchProperties);
         }
 
         return value;
     }
 
-    private static String resolveReferencePlaceholderOrGenerate(boolean forContents, String placeholderName, DbDto topicObject, PatchProperties patchProperties, Set<String> generatedIdentifiers) {
+    private static String resolveReferencePlaceholderOrGenerate(boolean forContents, String placeholderName, DbDto.Topic topic, BulkDatabaseMiner miner, PatchProperties patchProperties) {
         return patchProperties.retrieve(placeholderName)
                 .orElseGet(() -> {
-                    String uniqueValue = generateUniqueIdentifier(forContents, topicObject, generatedIdentifiers);
+                    String uniqueValue = allocateIdentifier(forContents, topic, miner);
                     patchProperties.register(placeholderName, uniqueValue);
                     return uniqueValue;
                 });
@@ -199,7 +219,8 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
             }
 
             if (PlaceholderConstants.isPlaceholderForCarIdentifier(placeholderName)) {
-                return generateValueForCARIDPlaceholder(miner);
+                // Allocated identifiers are reserved by miner, so that patches resolved together do not get the same one
+                return miner.allocateCarIdentifier();
             }
 
             throw new IllegalArgumentException("No property found for value placeholder: " + value);
@@ -208,32 +229,10 @@ public class DatabasePlaceholderResolver extends PlaceholderResolver{
         return value;
     }
 
-    private static String generateUniqueIdentifier(boolean forContents, DbDto topicObject, Set<String> generatedIdentifiers) {
-        String uniqueValue = null;
-        while (uniqueValue == null) {
-            String generatedValue = forContents ?
-                    DatabaseGenHelper.generateUniqueContentsEntryIdentifier(topicObject) :
-                    DatabaseGenHelper.generateUniqueResourceEntryIdentifier(topicObject);
-
-            if (!generatedIdentifiers.contains(generatedValue)) {
-                uniqueValue = generatedValue;
-            }
-        }
-
-        generatedIdentifiers.add(uniqueValue);
-        return uniqueValue;
-    }
-
-    private static String generateValueForCARIDPlaceholder(BulkDatabaseMiner miner) {
-        final DbDto topicObject = miner.getDatabaseTopic(CAR_PHYSICS_DATA)
-                .orElseThrow(() -> new IllegalStateException("No database object found for topic: CAR_PHYSICS_DATA"));
-        final Set<String> allIdCars = topicObject.getData().getEntries().stream()
-                .map(entry -> entry.getItemAtRank(FIELD_RANK_ID_CAR)
-                        .orElseThrow(() -> new IllegalStateException("No ID_CAR item found for entry id: " + entry.getId()))
-                )
-                .map(ContentItemDto::getRawValue)
-                .collect(toSet());
-
-        return DatabaseGenHelper.generateUniqueIdentifier(allIdCars, Range.between(8000, 9000));
+    private static String allocateIdentifier(boolean forContents, DbDto.Topic topic, BulkDatabaseMiner miner) {
+        // Allocated identifiers are reserved by miner: no need to track them here
+        return forContents ?
+                miner.allocateContentsEntryIdentifier(topic) :
+                miner.allocateResourceEntryIdentifier(topic);
     }
 }
@@ -0,0 +1,67 @@
+package fr.tduf.libunlimited.low.files.banks.domain;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Location and names of a file packed into bank.
+ */
+public class PackedFile {
+    private final int index;
+    private final String fullName;
+    private final String shortName;
+    private final long offset;
+    private final int size;
+
+    /**
+     * @param index     : rank in bank file table, i.e in packed data order
+     * @param fullName  : internal path, e.g 'D:\Eden-Prog\Games\TestDrive\Resources\4Build\PC\EURO\Vehicules\Cars\Mercedes\CLK_55\.3DD\CLK_55'
+     * @param shortName : file name with extension, e.g 'CLK_55.3DD'
+     * @param offset    : position of contents in bank file
+     * @param size      : size of contents, in bytes
+     */
+    public PackedFile(int index, String fullName, String shortName, long offset, int size) {
+        this.index = index;
+        this.fullName = requireNonNull(fullName, "Full name is required.");
+        this.shortName = requireNonNull(shortName, "Short name is required.");
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedFile{" +
+                "index=" + index +
+                ", fullName='" + fullName + '\'' +
+                ", offset=" + offset +
+                ", size=" + size +
+                '}';
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    /**
+     * @return extension of file, without dot, e.g '3DD'
+     */
+    public String getExtension() {
+        int dotPosition = shortName.lastIndexOf('.');
+        return dotPosition == -1 ? "" : shortName.substring(dotPosition + 1);
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
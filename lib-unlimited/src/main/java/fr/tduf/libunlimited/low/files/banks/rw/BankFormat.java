@@ -0,0 +1,82 @@
+package fr.tduf.libunlimited.low.files.banks.rw;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of BNK files, shared by {@link BankReader} and {@link BankWriter}. All numbers are 32-bit, little-endian.
+ * A bank is made of sections (header, file table, type mapping, name tree, file order), each one starting with
+ * size and checksum of its data, then of packed file data. Sections and packed files are padded with a text pattern.
+ */
+final class BankFormat {
+    static final int SECTION_DATA_OFFSET = 8;
+
+    static final int HEADER_SECTION_OFFSET = 0;
+    static final int HEADER_TAG_OFFSET = 0x08;
+    static final int HEADER_FILE_SIZE_OFFSET = 0x18;
+    static final int HEADER_PACKED_SIZE_OFFSET = 0x1C;
+    static final int HEADER_PACKED_ALIGNMENT_OFFSET = 0x24;
+    static final int HEADER_FILE_COUNT_OFFSET = 0x28;
+    static final int HEADER_YEAR_OFFSET = 0x2C;
+    static final int HEADER_FILE_TABLE_OFFSET = 0x30;
+    static final int HEADER_NAME_TREE_OFFSET = 0x38;
+    static final int HEADER_FILE_ORDER_OFFSET = 0x3C;
+    static final int HEADER_PACKED_DATA_OFFSET = 0x44;
+    static final int HEADER_SIZE = HEADER_PACKED_DATA_OFFSET + 4;
+
+    static final byte[] TAG = "KNAB".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * File table has one more entry than packed files: the last one locates remaining data, after all packed files.
+     */
+    static final int FILE_TABLE_ENTRY_SIZE = 16;
+    static final int FILE_TABLE_ENTRY_OFFSET = 0;
+    static final int FILE_TABLE_ENTRY_SIZE_OFFSET = 4;
+
+    private static final byte[] PADDING_PATTERN = createPaddingPattern();
+
+    private BankFormat() {}
+
+    /**
+     * @return checksum of section data at given location: CRC32 without final inversion
+     */
+    static int computeChecksum(ByteBuffer buffer, int sectionOffset) {
+        int dataSize = buffer.getInt(sectionOffset);
+        ByteBuffer sectionData = buffer.duplicate();
+        sectionData.limit(sectionOffset + SECTION_DATA_OFFSET + dataSize).position(sectionOffset + SECTION_DATA_OFFSET);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(sectionData);
+        return (int) ~crc32.getValue();
+    }
+
+    /**
+     * @return padding bytes to be written at given position
+     */
+    static byte[] createPadding(long position, int alignment) {
+        int paddingSize = alignment <= 1 ? 0 : (int) ((alignment - position % alignment) % alignment);
+        return createPadding(paddingSize);
+    }
+
+    /**
+     * @return padding bytes of given size, following pattern
+     */
+    static byte[] createPadding(int paddingSize) {
+        byte[] padding = new byte[paddingSize];
+        for (int i = 0; i < paddingSize; i++) {
+            padding[i] = PADDING_PATTERN[i % PADDING_PATTERN.length];
+        }
+        return padding;
+    }
+
+    private static byte[] createPaddingPattern() {
+        // Text is repeated 4 times, then a null character ends the pattern
+        byte[] text = "STNICC2000 RULEZPADDING DATAS...-ORIC AND ATARI--COOL  MACHINES-".getBytes(StandardCharsets.US_ASCII);
+        byte[] pattern = new byte[text.length * 4 + 1];
+        for (int i = 0; i < 4; i++) {
+            System.arraycopy(text, 0, pattern, i * text.length, text.length);
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,278 @@
+package fr.tduf.libunlimited.low.files.banks.rw;
+
+import fr.tduf.libunlimited.low.files.banks.domain.PackedFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+import static fr.tduf.libunlimited.low.files.banks.rw.BankFormat.*;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads BNK file contents: bank structure is loaded into memory, and packed file data is only read when requested.
+ * Bank file is neither kept open nor mapped, so that it can be rewritten or replaced afterwards.
+ */
+public class BankReader {
+    private static final char SEPARATOR_PACKED_PATH = '\\';
+
+    private final Path bankPath;
+    private final long bankSize;
+
+    /**
+     * All sections, from header to beginning of packed data.
+     */
+    private final ByteBuffer bankData;
+
+    private final List<PackedFile> packedFiles = new ArrayList<>();
+    private final Map<String, PackedFile> packedFilesByName = new HashMap<>();
+
+    private BankReader(Path bankPath, long bankSize, ByteBuffer bankData) {
+        this.bankPath = bankPath;
+        this.bankSize = bankSize;
+        this.bankData = bankData;
+    }
+
+    /**
+     * Entry point for this reader.
+     * @param bankPath  : location of bank file to read
+     * @return a {@link BankReader} instance, with packed files list already read.
+     * @throws IOException when file could not be read or does not have bank layout
+     */
+    public static BankReader load(Path bankPath) throws IOException {
+        requireNonNull(bankPath, "A bank file path is required");
+
+        BankReader bankReader;
+        try (FileChannel bankChannel = FileChannel.open(bankPath, READ)) {
+            long bankSize = bankChannel.size();
+            if (bankSize > Integer.MAX_VALUE) {
+                throw new IOException("Bank file is too large: " + bankPath);
+            }
+            if (bankSize < HEADER_SIZE) {
+                throw new IOException("Not a bank file: " + bankPath);
+            }
+
+            ByteBuffer header = readData(bankChannel, 0, HEADER_SIZE);
+            checkTag(header, bankPath);
+
+            int packedDataOffset = header.getInt(HEADER_PACKED_DATA_OFFSET);
+            if (packedDataOffset < HEADER_SIZE || packedDataOffset > bankSize) {
+                throw new IOException("Invalid packed data location in bank: " + bankPath);
+            }
+            bankReader = new BankReader(bankPath, bankSize, readData(bankChannel, 0, packedDataOffset));
+        }
+
+        try {
+            bankReader.readPackedFiles();
+        } catch (IndexOutOfBoundsException ioobe) {
+            throw new IOException("Unexpected end of bank file: " + bankPath, ioobe);
+        }
+        return bankReader;
+    }
+
+    /**
+     * @param fullName  : internal path of packed file, case-insensitive like game file system,
+     *                  e.g 'D:\Eden-Prog\Games\TestDrive\Resources\4Build\PC\EURO\Vehicules\Cars\Mercedes\CLK_55\.3DD\CLK_55'
+     * @return packed file with given name, if it exists in bank.
+     */
+    public Optional<PackedFile> getPackedFile(String fullName) {
+        requireNonNull(fullName, "Full name of packed file is required");
+
+        return Optional.ofNullable(packedFilesByName.get(toNameKey(fullName)));
+    }
+
+    /**
+     * @return read-only contents of given packed file, read from bank file.
+     */
+    public ByteBuffer getPackedFileData(PackedFile packedFile) throws IOException {
+        return readData(packedFile.getOffset(), packedFile.getSize()).asReadOnlyBuffer();
+    }
+
+    public Path getBankPath() {
+        return bankPath;
+    }
+
+    public int getYear() {
+        return bankData.getInt(HEADER_YEAR_OFFSET);
+    }
+
+    public int getFileSize() {
+        return (int) bankSize;
+    }
+
+    /**
+     * @return all packed files, in bank file table order.
+     */
+    public List<PackedFile> getPackedFiles() {
+        return unmodifiableList(packedFiles);
+    }
+
+    /**
+     * @return all sections, read-only and little-endian
+     */
+    ByteBuffer getStructureData() {
+        return bankData.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return contents at given location, read from bank file into a new little-endian buffer
+     */
+    ByteBuffer readData(long offset, int length) throws IOException {
+        try (FileChannel bankChannel = FileChannel.open(bankPath, READ)) {
+            return readData(bankChannel, offset, length);
+        }
+    }
+
+    private void readPackedFiles() throws IOException {
+        int packedFileCount = bankData.getInt(HEADER_FILE_COUNT_OFFSET);
+        int fileTableOffset = bankData.getInt(HEADER_FILE_TABLE_OFFSET);
+        if (packedFileCount < 0 || bankData.getInt(fileTableOffset) != (packedFileCount + 1) * FILE_TABLE_ENTRY_SIZE) {
+            throw new IOException("Invalid file table in bank: " + bankPath);
+        }
+
+        List<String> fullNames = readNameTree(packedFileCount);
+        int[] fileTableIndexes = readFileOrder(packedFileCount);
+
+        PackedFile[] packedFilesInTableOrder = new PackedFile[packedFileCount];
+        for (int nameIndex = 0; nameIndex < packedFileCount; nameIndex++) {
+            int tableIndex = fileTableIndexes[nameIndex];
+            if (tableIndex >= packedFileCount || packedFilesInTableOrder[tableIndex] != null) {
+                throw new IOException("Invalid file order in bank: " + bankPath);
+            }
+
+            int entryOffset = fileTableOffset + SECTION_DATA_OFFSET + tableIndex * FILE_TABLE_ENTRY_SIZE;
+            long offset = Integer.toUnsignedLong(bankData.getInt(entryOffset + FILE_TABLE_ENTRY_OFFSET));
+            int size = bankData.getInt(entryOffset + FILE_TABLE_ENTRY_SIZE_OFFSET);
+            if (size < 0 || offset + size > bankSize) {
+                throw new IOException("Packed file located out of bank: " + fullNames.get(nameIndex));
+            }
+
+            String fullName = fullNames.get(nameIndex);
+            packedFilesInTableOrder[tableIndex] = new PackedFile(tableIndex, fullName, getShortName(fullName), offset, size);
+        }
+
+        packedFiles.addAll(Arrays.asList(packedFilesInTableOrder));
+        packedFiles.forEach(packedFile -> packedFilesByName.put(toNameKey(packedFile.getFullName()), packedFile));
+    }
+
+    private static void checkTag(ByteBuffer header, Path bankPath) throws IOException {
+        byte[] tag = new byte[TAG.length];
+        ByteBuffer tagData = header.duplicate();
+        tagData.position(HEADER_TAG_OFFSET);
+        tagData.get(tag);
+        if (!Arrays.equals(TAG, tag)) {
+            throw new IOException("Not a bank file: " + bankPath);
+        }
+    }
+
+    /**
+     * Name tree is a depth-first sequence of nodes: directories as [-name length][child count][name],
+     * files as [name length][name]. File names are listed in name index order.
+     */
+    private List<String> readNameTree(int packedFileCount) throws IOException {
+        int sectionOffset = bankData.getInt(HEADER_NAME_TREE_OFFSET);
+        int position = sectionOffset + SECTION_DATA_OFFSET;
+        int endPosition = position + bankData.getInt(sectionOffset);
+
+        List<String> fullNames = new ArrayList<>(packedFileCount);
+        Deque<String> directoryNames = new ArrayDeque<>();
+        Deque<Integer> remainingChildCounts = new ArrayDeque<>();
+        while (position < endPosition && fullNames.size() < packedFileCount) {
+            byte nameLength = bankData.get(position);
+            boolean directory = nameLength < 0;
+            int nameStart = directory ? position + 2 : position + 1;
+            String name = readName(nameStart, Math.abs(nameLength));
+
+            if (!remainingChildCounts.isEmpty()) {
+                remainingChildCounts.push(remainingChildCounts.pop() - 1);
+            }
+
+            if (directory) {
+                directoryNames.addLast(name);
+                remainingChildCounts.push(bankData.get(position + 1) & 0xFF);
+            } else {
+                StringBuilder fullName = new StringBuilder();
+                directoryNames.forEach(directoryName -> fullName.append(directoryName).append(SEPARATOR_PACKED_PATH));
+                fullNames.add(fullName.append(name).toString());
+            }
+
+            while (!remainingChildCounts.isEmpty() && remainingChildCounts.peek() == 0) {
+                remainingChildCounts.pop();
+                directoryNames.removeLast();
+            }
+
+            position = nameStart + Math.abs(nameLength);
+        }
+
+        if (fullNames.size() != packedFileCount) {
+            throw new IOException("Invalid name tree in bank: " + bankPath);
+        }
+        return fullNames;
+    }
+
+    private int[] readFileOrder(int packedFileCount) throws IOException {
+        int[] fileTableIndexes = new int[packedFileCount];
+        if (packedFileCount == 0) {
+            return fileTableIndexes;
+        }
+
+        int sectionOffset = bankData.getInt(HEADER_FILE_ORDER_OFFSET);
+        int entrySize = bankData.getInt(sectionOffset) / packedFileCount;
+        int position = sectionOffset + SECTION_DATA_OFFSET;
+        for (int nameIndex = 0; nameIndex < packedFileCount; nameIndex++) {
+            switch (entrySize) {
+                case 1:
+                    fileTableIndexes[nameIndex] = bankData.get(position) & 0xFF;
+                    break;
+                case 2:
+                    fileTableIndexes[nameIndex] = bankData.getShort(position) & 0xFFFF;
+                    break;
+                case 4:
+                    fileTableIndexes[nameIndex] = bankData.getInt(position);
+                    break;
+                default:
+                    throw new IOException("Invalid file order in bank: " + bankPath);
+            }
+            position += entrySize;
+        }
+        return fileTableIndexes;
+    }
+
+    private String readName(int position, int length) {
+        byte[] name = new byte[length];
+        ByteBuffer nameData = bankData.duplicate();
+        nameData.position(position);
+        nameData.get(name);
+        return new String(name, StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer readData(FileChannel bankChannel, long offset, int length) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (data.hasRemaining()) {
+            if (bankChannel.read(data, offset + data.position()) < 0) {
+                throw new IOException("Unexpected end of bank file");
+            }
+        }
+        data.flip();
+        return data;
+    }
+
+    private static String toNameKey(String fullName) {
+        return fullName.toUpperCase(Locale.ROOT);
+    }
+
+    private static String getShortName(String fullName) {
+        int nameStart = fullName.lastIndexOf(SEPARATOR_PACKED_PATH);
+        if (nameStart == -1) {
+            return fullName;
+        }
+        int extensionStart = fullName.lastIndexOf(SEPARATOR_PACKED_PATH, nameStart - 1);
+        return fullName.substring(nameStart + 1) + fullName.substring(extensionStart + 1, nameStart);
+    }
+}
@@ -0,0 +1,248 @@
+package fr.tduf.libunlimited.low.files.banks.rw;
+
+import fr.tduf.libunlimited.low.files.banks.domain.PackedFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static fr.tduf.libunlimited.low.files.banks.rw.BankFormat.*;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes a BNK file from an original one, replacing contents of packed files.
+ * Bank structure (sections, names, unknown values) is kept from original, only offsets, sizes and checksums are updated.
+ * Data is streamed to output file: neither original bank nor replacement files are fully loaded into memory.
+ */
+public class BankWriter {
+    private final BankReader originalBank;
+
+    private BankWriter(BankReader originalBank) {
+        this.originalBank = originalBank;
+    }
+
+    /**
+     * Single entry point for this writer.
+     * @param originalBank  : bank to take structure and unchanged packed files from
+     * @return a {@link BankWriter} instance.
+     */
+    public static BankWriter load(BankReader originalBank) {
+        requireNonNull(originalBank, "Original bank is required");
+
+        return new BankWriter(originalBank);
+    }
+
+    /**
+     * Creates bank file at given location.
+     * Packed files without replacement are copied from original bank, with surrounding padding.
+     * @param outputBankPath        : location of bank file to create, must not be the one of original bank
+     * @param replacementProvider   : gives location of new contents for a packed file, if any
+     */
+    public void write(Path outputBankPath, Function<PackedFile, Optional<Path>> replacementProvider) throws IOException {
+        requireNonNull(outputBankPath, "Output bank path is required");
+        requireNonNull(replacementProvider, "Replacement provider is required");
+
+        ByteBuffer originalStructure = originalBank.getStructureData();
+        List<PackedFile> packedFilesInDataOrder = getPackedFilesInDataOrder();
+        long trailingDataOffset = getTrailingDataOffset(originalStructure);
+        long originalSize = originalBank.getFileSize();
+
+        // Structure before packed data is updated in memory, then written last
+        ByteBuffer structure = copyStructure(originalStructure, packedFilesInDataOrder, trailingDataOffset);
+        int packedAlignment = originalStructure.getInt(HEADER_PACKED_ALIGNMENT_OFFSET);
+
+        long packedSizeDelta = 0;
+        try (FileChannel originalChannel = FileChannel.open(originalBank.getBankPath(), READ);
+             FileChannel outputChannel = FileChannel.open(outputBankPath, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            long position = structure.capacity();
+            for (int rank = 0; rank < packedFilesInDataOrder.size(); rank++) {
+                PackedFile packedFile = packedFilesInDataOrder.get(rank);
+                long nextOffset = getNextOffset(packedFilesInDataOrder, rank, trailingDataOffset);
+                long originalEnd = packedFile.getOffset() + packedFile.getSize();
+
+                Optional<Path> replacementPath = replacementProvider.apply(packedFile);
+                long size = replacementPath.isPresent() ?
+                        writeFile(replacementPath.get(), outputChannel, position) :
+                        transferData(originalChannel, packedFile.getOffset(), packedFile.getSize(), outputChannel, position);
+
+                updateFileTableEntry(structure, packedFile.getIndex(), position, size);
+                position += size;
+                packedSizeDelta += size - packedFile.getSize();
+
+                // Unchanged size: original padding is kept as is, to produce same bank when nothing changed
+                position += size == packedFile.getSize() ?
+                        transferData(originalChannel, originalEnd, nextOffset - originalEnd, outputChannel, position) :
+                        writeData(ByteBuffer.wrap(createPadding(position, packedAlignment)), outputChannel, position);
+                checkPosition(position);
+            }
+
+            int trailingEntryOffset = getFileTableEntryOffset(structure, packedFilesInDataOrder.size());
+            structure.putInt(trailingEntryOffset + FILE_TABLE_ENTRY_OFFSET, (int) position);
+            position += transferData(originalChannel, trailingDataOffset, originalSize - trailingDataOffset, outputChannel, position);
+            checkPosition(position);
+
+            structure.putInt(HEADER_FILE_SIZE_OFFSET, (int) (structure.getInt(HEADER_FILE_SIZE_OFFSET) + position - originalSize));
+            writeStructure(structure, packedSizeDelta, outputChannel);
+        }
+    }
+
+    /**
+     * Replaces contents of a single packed file directly into original bank file, when they fit into space allocated to it,
+     * i.e its current size and following padding. Other packed files are neither moved nor rewritten.
+     * Original bank reader must not be used afterwards, as packed file information it gives becomes stale.
+     * @param packedFile    : packed file to replace, from original bank
+     * @param contentsPath  : location of new contents
+     * @return true if contents have been replaced, false if they do not fit: bank is left unchanged and has to be rebuilt.
+     */
+    public boolean replaceInPlace(PackedFile packedFile, Path contentsPath) throws IOException {
+        requireNonNull(packedFile, "Packed file is required");
+        requireNonNull(contentsPath, "Contents path is required");
+
+        ByteBuffer originalStructure = originalBank.getStructureData();
+        List<PackedFile> packedFilesInDataOrder = getPackedFilesInDataOrder();
+        long trailingDataOffset = getTrailingDataOffset(originalStructure);
+        ByteBuffer structure = copyStructure(originalStructure, packedFilesInDataOrder, trailingDataOffset);
+
+        int rank = 0;
+        while (rank < packedFilesInDataOrder.size() && packedFilesInDataOrder.get(rank).getIndex() != packedFile.getIndex()) {
+            rank++;
+        }
+        if (rank == packedFilesInDataOrder.size()) {
+            throw new IllegalArgumentException("Packed file does not belong to bank: " + packedFile.getFullName());
+        }
+
+        long allocatedSize = getNextOffset(packedFilesInDataOrder, rank, trailingDataOffset) - packedFile.getOffset();
+        long size = Files.size(contentsPath);
+        if (size > allocatedSize) {
+            return false;
+        }
+
+        try (FileChannel bankChannel = FileChannel.open(originalBank.getBankPath(), WRITE)) {
+            writeFile(contentsPath, bankChannel, packedFile.getOffset());
+            if (size != packedFile.getSize()) {
+                writeData(ByteBuffer.wrap(createPadding((int) (allocatedSize - size))), bankChannel, packedFile.getOffset() + size);
+            }
+
+            updateFileTableEntry(structure, packedFile.getIndex(), packedFile.getOffset(), size);
+            writeStructure(structure, size - packedFile.getSize(), bankChannel);
+        }
+        return true;
+    }
+
+    private List<PackedFile> getPackedFilesInDataOrder() {
+        List<PackedFile> packedFilesInDataOrder = new ArrayList<>(originalBank.getPackedFiles());
+        packedFilesInDataOrder.sort(comparingLong(PackedFile::getOffset));
+        return packedFilesInDataOrder;
+    }
+
+    private long getTrailingDataOffset(ByteBuffer originalStructure) {
+        int trailingEntryOffset = getFileTableEntryOffset(originalStructure, originalBank.getPackedFiles().size());
+        return Integer.toUnsignedLong(originalStructure.getInt(trailingEntryOffset + FILE_TABLE_ENTRY_OFFSET));
+    }
+
+    /**
+     * @return copy of all sections, i.e bank contents before first packed file
+     */
+    private ByteBuffer copyStructure(ByteBuffer originalStructure, List<PackedFile> packedFilesInDataOrder, long trailingDataOffset) throws IOException {
+        int fileTableEnd = getFileTableEntryOffset(originalStructure, packedFilesInDataOrder.size() + 1);
+        long packedDataOffset = packedFilesInDataOrder.isEmpty() ? trailingDataOffset : packedFilesInDataOrder.get(0).getOffset();
+        if (trailingDataOffset > originalBank.getFileSize() || packedDataOffset > trailingDataOffset || packedDataOffset < fileTableEnd) {
+            throw new IOException("Invalid packed data location in bank: " + originalBank.getBankPath());
+        }
+
+        for (int rank = 0; rank < packedFilesInDataOrder.size(); rank++) {
+            PackedFile packedFile = packedFilesInDataOrder.get(rank);
+            if (packedFile.getOffset() + packedFile.getSize() > getNextOffset(packedFilesInDataOrder, rank, trailingDataOffset)) {
+                throw new IOException("Overlapping packed file in bank: " + packedFile.getFullName());
+            }
+        }
+
+        if (packedDataOffset <= originalStructure.capacity()) {
+            return copyOf(originalStructure, 0, (int) packedDataOffset);
+        }
+        return originalBank.readData(0, (int) packedDataOffset);
+    }
+
+    /**
+     * Updates packed data size in header, then checksums of file table and header; and writes all sections.
+     */
+    private static void writeStructure(ByteBuffer structure, long packedSizeDelta, FileChannel outputChannel) throws IOException {
+        int fileTableOffset = structure.getInt(HEADER_FILE_TABLE_OFFSET);
+        structure.putInt(HEADER_PACKED_SIZE_OFFSET, (int) (structure.getInt(HEADER_PACKED_SIZE_OFFSET) + packedSizeDelta));
+        structure.putInt(fileTableOffset + 4, computeChecksum(structure, fileTableOffset));
+        structure.putInt(HEADER_SECTION_OFFSET + 4, computeChecksum(structure, HEADER_SECTION_OFFSET));
+
+        structure.rewind();
+        writeData(structure, outputChannel, 0);
+    }
+
+    private static void updateFileTableEntry(ByteBuffer structure, int index, long offset, long size) {
+        int entryOffset = getFileTableEntryOffset(structure, index);
+        structure.putInt(entryOffset + FILE_TABLE_ENTRY_OFFSET, (int) offset);
+        structure.putInt(entryOffset + FILE_TABLE_ENTRY_SIZE_OFFSET, (int) size);
+    }
+
+    private static int getFileTableEntryOffset(ByteBuffer data, int index) {
+        return data.getInt(HEADER_FILE_TABLE_OFFSET) + SECTION_DATA_OFFSET + index * FILE_TABLE_ENTRY_SIZE;
+    }
+
+    private static long getNextOffset(List<PackedFile> packedFilesInDataOrder, int rank, long trailingDataOffset) {
+        return rank + 1 < packedFilesInDataOrder.size() ? packedFilesInDataOrder.get(rank + 1).getOffset() : trailingDataOffset;
+    }
+
+    private void checkPosition(long position) throws IOException {
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("Bank file would be too large: " + originalBank.getBankPath());
+        }
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer data, int offset, int length) {
+        ByteBuffer slice = data.duplicate();
+        slice.limit(offset + length).position(offset);
+
+        ByteBuffer copy = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        copy.put(slice).rewind();
+        return copy;
+    }
+
+    private static long writeFile(Path filePath, FileChannel outputChannel, long position) throws IOException {
+        try (FileChannel inputChannel = FileChannel.open(filePath, READ)) {
+            long size = inputChannel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Packed file is too large: " + filePath);
+            }
+
+            return transferData(inputChannel, 0, size, outputChannel, position);
+        }
+    }
+
+    private static long transferData(FileChannel inputChannel, long offset, long size, FileChannel outputChannel, long position) throws IOException {
+        long transferred = 0;
+        while (transferred < size) {
+            long count = inputChannel.transferTo(offset + transferred, size - transferred, outputChannel.position(position + transferred));
+            if (count <= 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            transferred += count;
+        }
+        return size;
+    }
+
+    private static int writeData(ByteBuffer data, FileChannel outputChannel, long position) throws IOException {
+        int size = data.remaining();
+        long currentPosition = position;
+        while (data.hasRemaining()) {
+            currentPosition += outputChannel.write(data, currentPosition);
+        }
+        return size;
+    }
+}
@@ -109,6 +109,11 @@ public class CamerasParser extends GenericParser<CamerasDatabase> {
         };
     }
 
+    @Override
+    protected DataStore.StorageMode getStorageMode() {
+        return DataStore.StorageMode.COLUMNAR;
+    }
+
     @Override
     public String getStructureResource() {
         return "/files/structures/BIN-cameras-map.json";
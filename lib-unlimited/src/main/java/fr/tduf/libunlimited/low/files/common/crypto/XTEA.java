@@ -1,9 +1,11 @@
 package fr.tduf.libunlimited.low.files.common.crypto;
 
+import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 
 /**
  * XTEA algorithm implementation for Java.
+ * Instances are immutable, hence can be shared between threads.
  */
 public class XTEA {
 
@@ -16,10 +18,10 @@ public class XTEA {
             D_SUM       = 0xC6EF3720;
 
     // Subkeys
-    private static int[] S;
+    private final int[] subKeys;
 
     // False for encipher, true for decipher
-    private static boolean decrypt;
+    private final boolean decrypt;
 
     /**
      * XTEA engine initialization.
@@ -27,10 +29,10 @@ public class XTEA {
      * @param decipher  : true to decrypt data, false to encrypt.
      * @throws InvalidKeyException if provided key does not fulfill requirements (null or invalid size).
      */
-    public static void engineInit(int[] subKey, boolean decipher) throws InvalidKeyException {
+    public XTEA(int[] subKey, boolean decipher) throws InvalidKeyException {
         checkKey(subKey);
 
-        S = subKey;
+        subKeys = subKey.clone();
         decrypt = decipher;
     }
 
@@ -40,11 +42,78 @@ public class XTEA {
      * @param inputOffset   : byte index in array of block to convert
      * @return an array of BLOCK_SIZE elements, which are encrypted or decrypted, as needed.
      */
-    public static byte[] engineCrypt(byte[] inputBytes, int inputOffset) {
-        // Pack bytes into integers
-        int v0 = packBytes(inputBytes, inputOffset);
-        int v1 = packBytes(inputBytes, inputOffset + 4);
+    public byte[] engineCrypt(byte[] inputBytes, int inputOffset) {
+        byte[] outputBytes = new byte[BLOCK_SIZE];
+        engineCrypt(inputBytes, inputOffset, outputBytes, 0);
+        return outputBytes;
+    }
 
+    /**
+     * Encrypt/decrypt one block (BLOCK_SIZE) of data with XTEA algorithm, into provided array.
+     * @param inputBytes    : full array of bytes
+     * @param inputOffset   : byte index in array of block to convert
+     * @param outputBytes   : array receiving encrypted or decrypted block (may be input array)
+     * @param outputOffset  : byte index in output array to write block at
+     */
+    public void engineCrypt(byte[] inputBytes, int inputOffset, byte[] outputBytes, int outputOffset) {
+        crypt(inputBytes, inputOffset, outputBytes, outputOffset, BLOCK_SIZE);
+    }
+
+    /**
+     * Encrypt/decrypt consecutive blocks with XTEA algorithm, without any allocation.
+     * Processing in place is supported, with same array and offsets for source and destination.
+     * @param src       : array of bytes to convert
+     * @param srcOff    : byte index in source array of first block to convert
+     * @param dst       : array receiving converted blocks
+     * @param dstOff    : byte index in destination array to write first block at
+     * @param len       : count of bytes to convert - must be multiple of BLOCK_SIZE
+     */
+    public void crypt(byte[] src, int srcOff, byte[] dst, int dstOff, int len) {
+        checkLength(len);
+
+        for (int position = 0; position < len; position += BLOCK_SIZE) {
+            int v0 = packBytes(src, srcOff + position);
+            int v1 = packBytes(src, srcOff + position + 4);
+
+            long block = cryptBlock(v0, v1);
+
+            unpackInts((int) block, (int) (block >>> 32), dst, dstOff + position);
+        }
+    }
+
+    /**
+     * Encrypt/decrypt all remaining blocks in source buffer with XTEA algorithm, without any allocation.
+     * Positions of both buffers are advanced by count of remaining bytes in source buffer.
+     * Processing in place is supported, with a duplicate of source buffer as destination.
+     * @param src   : buffer of bytes to convert - remaining count must be multiple of BLOCK_SIZE
+     * @param dst   : buffer receiving converted blocks
+     */
+    public void crypt(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        checkLength(len);
+        if (dst.remaining() < len) {
+            throw new IllegalArgumentException("Destination buffer is too small: " + dst.remaining() + " bytes remaining, " + len + " required");
+        }
+
+        if (src.hasArray() && dst.hasArray()) {
+            crypt(src.array(), src.arrayOffset() + src.position(), dst.array(), dst.arrayOffset() + dst.position(), len);
+            src.position(src.position() + len);
+            dst.position(dst.position() + len);
+            return;
+        }
+
+        while (src.hasRemaining()) {
+            int v0 = packBytes(src);
+            int v1 = packBytes(src);
+
+            long block = cryptBlock(v0, v1);
+
+            unpackInts((int) block, dst);
+            unpackInts((int) (block >>> 32), dst);
+        }
+    }
+
+    private long cryptBlock(int v0, int v1) {
         int n = ROUNDS;
 
         if (decrypt) {
@@ -52,22 +121,28 @@ public class XTEA {
             int sum = D_SUM;
 
             while (n-- > 0) {
-                v1	-= ((v0 << 4 ^ v0 >>> 5) + v0) ^ (sum + S[sum >> 11 & 3]);
+                v1	-= ((v0 << 4 ^ v0 >>> 5) + v0) ^ (sum + subKeys[sum >> 11 & 3]);
                 sum -= DELTA;
-                v0	-= ((v1 << 4 ^ v1 >>> 5) + v1) ^ (sum + S[sum & 3]);
+                v0	-= ((v1 << 4 ^ v1 >>> 5) + v1) ^ (sum + subKeys[sum & 3]);
             }
         } else {
             // Encipher
             int sum = 0;
 
             while (n-- > 0) {
-                v0	+= ((v1 << 4 ^ v1 >>> 5) + v1) ^ (sum + S[sum & 3]);
+                v0	+= ((v1 << 4 ^ v1 >>> 5) + v1) ^ (sum + subKeys[sum & 3]);
                 sum += DELTA;
-                v1	+= ((v0 << 4 ^ v0 >>> 5) + v0) ^ (sum + S[sum >> 11 & 3]);
+                v1	+= ((v0 << 4 ^ v0 >>> 5) + v0) ^ (sum + subKeys[sum >> 11 & 3]);
             }
         }
 
-        return unpackInts(v0, v1);
+        return (v0 & 0xFFFFFFFFL) | ((long) v1 << 32);
+    }
+
+    private static void checkLength(int len) {
+        if (len % BLOCK_SIZE != 0) {
+            throw new IllegalArgumentException("Length to process must be multiple of " + BLOCK_SIZE + ". Current=" + len);
+        }
     }
 
     private static void checkKey(int[] key) throws InvalidKeyException {
@@ -87,10 +162,21 @@ public class XTEA {
                 ((valueBytes[inOffset])             << 24);
     }
 
-    private static byte[] unpackInts(int v0, int v1) {
-        byte[] out = new byte[BLOCK_SIZE];
-        int outOffset = 0;
+    private static int packBytes(ByteBuffer buffer) {
+        return ((buffer.get() & 0xFF)      ) |
+                ((buffer.get() & 0xFF)    <<  8)  |
+                ((buffer.get() & 0xFF)    << 16)  |
+                ((buffer.get())           << 24);
+    }
+
+    private static void unpackInts(int v, ByteBuffer buffer) {
+        buffer.put((byte)(v       ));
+        buffer.put((byte)(v >>>  8));
+        buffer.put((byte)(v >>> 16));
+        buffer.put((byte)(v >>> 24));
+    }
 
+    private static void unpackInts(int v0, int v1, byte[] out, int outOffset) {
         out[outOffset++]    = (byte)(v0       );
         out[outOffset++]    = (byte)(v0 >>>  8);
         out[outOffset++]    = (byte)(v0 >>> 16);
@@ -100,7 +186,5 @@ public class XTEA {
         out[outOffset++]    = (byte)(v1 >>>  8);
         out[outOffset++]    = (byte)(v1 >>> 16);
         out[outOffset]      = (byte)(v1 >>> 24);
-
-        return out;
     }
-}
\ No newline at end of file
+}
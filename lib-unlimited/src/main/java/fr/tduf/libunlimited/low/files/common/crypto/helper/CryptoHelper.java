@@ -7,6 +7,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.stream.Stream;
 
 import static fr.tduf.libunlimited.common.helper.AssertorHelper.assertSimpleCondition;
@@ -18,6 +20,9 @@ public class CryptoHelper {
 
     private static final int BLOCK_SIZE = 8;
 
+    // Under this count of blocks (64 KB), decryption is not split further
+    private static final int PARALLEL_DECRYPTION_BLOCK_THRESHOLD = 8192;
+
     private static Integer timestampOverride;
 
     /**
@@ -31,32 +36,41 @@ public class CryptoHelper {
         int contentsSize = checkContentsSize(inputStream);
         byte[] inputBytes = readBytes(inputStream, contentsSize);
 
+        byte[] outputBytes = decryptXTEA(inputBytes, encryptionModeEnum);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(outputBytes.length);
+        outputStream.write(outputBytes);
+        return outputStream;
+    }
+
+    /**
+     * Converts encrypted contents to clear ones. Each block only depends on encrypted contents,
+     * so large contents are decrypted in parallel chunks, into a single output array.
+     *
+     * @param inputBytes         : contents to be decrypted - size must be multiple of 8
+     * @param encryptionModeEnum : encryption mode to be used
+     * @return clear contents.
+     */
+    public static byte[] decryptXTEA(byte[] inputBytes, EncryptionModeEnum encryptionModeEnum) throws IOException {
+        int contentsSize = checkContentsSize(inputBytes.length);
+
+        XTEA xtea;
         try {
-            XTEA.engineInit(encryptionModeEnum.key, true);
+            xtea = new XTEA(encryptionModeEnum.key, true);
         } catch (InvalidKeyException e) {
             throw new IOException("Provided key is invalid to decrypt contents.", e);
         }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        int position = encryptionModeEnum.contentsOffset;
-        while (position < contentsSize) {
-
-            byte[] outputBytes = XTEA.engineCrypt(inputBytes, position);
-
-            if (encryptionModeEnum == EncryptionModeEnum.OTHER_AND_SPECIAL) {
-                // XOR XTEA decipher result with input file data
-                for (int i = 0; i < outputBytes.length; i++) {
-                    int offset = position - encryptionModeEnum.contentsOffset;
-                    outputBytes[i] ^= inputBytes[offset + i];
-                }
-            }
-
-            outputStream.write(outputBytes);
-
-            position += BLOCK_SIZE;
+        int contentsOffset = encryptionModeEnum.contentsOffset;
+        byte[] outputBytes = new byte[Math.max(0, contentsSize - contentsOffset)];
+        DecryptionTask decryptionTask = new DecryptionTask(xtea, encryptionModeEnum, inputBytes, outputBytes, 0, outputBytes.length / BLOCK_SIZE);
+        if (outputBytes.length / BLOCK_SIZE <= PARALLEL_DECRYPTION_BLOCK_THRESHOLD) {
+            decryptionTask.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(decryptionTask);
         }
 
-        return outputStream;
+        return outputBytes;
     }
 
     /**
@@ -70,41 +84,47 @@ public class CryptoHelper {
         int contentsSize = checkContentsSize(inputStream);
         byte[] inputBytes = readBytes(inputStream, contentsSize);
 
+        byte[] outputBytes = encryptXTEA(inputBytes, encryptionModeEnum);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(outputBytes.length);
+        outputStream.write(outputBytes);
+        return outputStream;
+    }
+
+    /**
+     * Converts clear contents to encrypted ones, into a single output array.
+     *
+     * @param inputBytes         : contents to be encrypted - size must be multiple of 8
+     * @param encryptionModeEnum : encryption mode to be used
+     * @return encrypted contents.
+     */
+    public static byte[] encryptXTEA(byte[] inputBytes, EncryptionModeEnum encryptionModeEnum) throws IOException {
+        int contentsSize = checkContentsSize(inputBytes.length);
+
+        XTEA xtea;
         try {
-            XTEA.engineInit(encryptionModeEnum.key, false);
+            xtea = new XTEA(encryptionModeEnum.key, false);
         } catch (InvalidKeyException e) {
             throw new IOException("Provided key is invalid to encrypt contents.", e);
         }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        if (encryptionModeEnum == EncryptionModeEnum.OTHER_AND_SPECIAL) {
-            inputBytes = introduceTimeStamp(inputBytes);
-            outputStream.write(inputBytes, 0, 8);
-            contentsSize = inputBytes.length;
+        int contentsOffset = encryptionModeEnum.contentsOffset;
+        byte[] outputBytes = new byte[contentsSize + contentsOffset];
+        if (encryptionModeEnum != EncryptionModeEnum.OTHER_AND_SPECIAL) {
+            xtea.crypt(inputBytes, 0, outputBytes, 0, contentsSize);
+            return outputBytes;
         }
 
-        int position = encryptionModeEnum.contentsOffset;
-        while (position < contentsSize) {
-
-            if (encryptionModeEnum == EncryptionModeEnum.OTHER_AND_SPECIAL) {
-                // XOR XTEA encipher current block with previously decoded block
-                for (int i = 0; i < BLOCK_SIZE; i++) {
-                    inputBytes[position + i] ^= inputBytes[position - BLOCK_SIZE + i];
-                }
+        writeTimestamp(outputBytes);
+        for (int position = contentsOffset; position < outputBytes.length; position += BLOCK_SIZE) {
+            // XOR current block with previously encrypted block (or timestamp), then encipher it in place
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                outputBytes[position + i] = (byte) (inputBytes[position - contentsOffset + i] ^ outputBytes[position - BLOCK_SIZE + i]);
             }
-
-            byte[] outputBytes = XTEA.engineCrypt(inputBytes, position);
-            outputStream.write(outputBytes);
-
-            if (encryptionModeEnum == EncryptionModeEnum.OTHER_AND_SPECIAL) {
-                // Store result in input buffer to be used with next iteration
-                System.arraycopy(outputBytes, 0, inputBytes, position, BLOCK_SIZE);
-            }
-
-            position += BLOCK_SIZE;
+            xtea.crypt(outputBytes, position, outputBytes, position, BLOCK_SIZE);
         }
 
-        return outputStream;
+        return outputBytes;
     }
 
     private static int getTimestamp() {
@@ -115,24 +135,20 @@ public class CryptoHelper {
     }
 
     static byte[] introduceTimeStamp(byte[] inputBytes) {
-
-        byte[] currentTimeBytes = ByteBuffer
-                .allocate(4)
-                .putInt(getTimestamp())
-                .array();
-        byte[] currentTimeComplementBytes = ByteBuffer
-                .allocate(4)
-                .putInt(~getTimestamp())
-                .array();
-
         byte[] resultBytes = new byte[inputBytes.length + 8];
-        System.arraycopy(currentTimeBytes, 0, resultBytes, 0, 4);
-        System.arraycopy(currentTimeComplementBytes, 0, resultBytes, 4, 4);
+        writeTimestamp(resultBytes);
         System.arraycopy(inputBytes, 0, resultBytes, 8, inputBytes.length);
 
         return resultBytes;
     }
 
+    private static void writeTimestamp(byte[] outputBytes) {
+        int timestamp = getTimestamp();
+        ByteBuffer.wrap(outputBytes, 0, 8)
+                .putInt(timestamp)
+                .putInt(~timestamp);
+    }
+
     /**
      * @param timestamp : in seconds
      */
@@ -155,13 +171,62 @@ public class CryptoHelper {
     }
 
     private static int checkContentsSize(ByteArrayInputStream inputStream) {
-        int contentsSize = inputStream.available();
+        return checkContentsSize(inputStream.available());
+    }
+
+    private static int checkContentsSize(int contentsSize) {
         if (contentsSize % BLOCK_SIZE != 0) {
             throw new IllegalArgumentException("Provided buffer must have length multiple of " + BLOCK_SIZE + ". Current=" + contentsSize);
         }
         return contentsSize;
     }
 
+    /**
+     * Decrypts a range of blocks, splitting it when too large.
+     */
+    private static class DecryptionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1;
+
+        private final XTEA xtea;
+        private final EncryptionModeEnum encryptionModeEnum;
+        private final byte[] inputBytes;
+        private final byte[] outputBytes;
+        private final int fromBlock;
+        private final int toBlock;
+
+        private DecryptionTask(XTEA xtea, EncryptionModeEnum encryptionModeEnum, byte[] inputBytes, byte[] outputBytes, int fromBlock, int toBlock) {
+            this.xtea = xtea;
+            this.encryptionModeEnum = encryptionModeEnum;
+            this.inputBytes = inputBytes;
+            this.outputBytes = outputBytes;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected void compute() {
+            int blockCount = toBlock - fromBlock;
+            if (blockCount > PARALLEL_DECRYPTION_BLOCK_THRESHOLD) {
+                int middleBlock = fromBlock + blockCount / 2;
+                invokeAll(
+                        new DecryptionTask(xtea, encryptionModeEnum, inputBytes, outputBytes, fromBlock, middleBlock),
+                        new DecryptionTask(xtea, encryptionModeEnum, inputBytes, outputBytes, middleBlock, toBlock));
+                return;
+            }
+
+            int fromPosition = fromBlock * BLOCK_SIZE;
+            int toPosition = toBlock * BLOCK_SIZE;
+            xtea.crypt(inputBytes, fromPosition + encryptionModeEnum.contentsOffset, outputBytes, fromPosition, toPosition - fromPosition);
+
+            if (encryptionModeEnum == EncryptionModeEnum.OTHER_AND_SPECIAL) {
+                // XOR XTEA decipher result with input file data
+                for (int position = fromPosition; position < toPosition; position++) {
+                    outputBytes[position] ^= inputBytes[position];
+                }
+            }
+        }
+    }
+
     /**
      * All encrypted file types with associated keys.
      */
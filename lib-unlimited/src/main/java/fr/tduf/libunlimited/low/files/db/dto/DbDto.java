@@ -30,6 +30,12 @@ public class DbDto implements Serializable {
     @JsonProperty("resource")
     private DbResourceDto resource;
 
+    /**
+     * Revisions of contents and resources when topic was built or last saved, to tell whether they have been changed since.
+     */
+    private transient int savedDataRevision;
+    private transient int savedResourceRevision;
+
     /**
      * All TDU database topics
      */
@@ -119,6 +125,7 @@ public class DbDto implements Serializable {
             dbDto.structure = structure;
             dbDto.data = data;
             dbDto.resource = resource;
+            dbDto.clearModified();
 
             return dbDto;
         }
@@ -147,6 +154,31 @@ public class DbDto implements Serializable {
         return resource;
     }
 
+    /**
+     * @return true if topic contents or resources have been changed since loading or last save.
+     */
+    @JsonIgnore
+    public boolean isModified() {
+        return getDataRevision() != savedDataRevision
+                || getResourceRevision() != savedResourceRevision;
+    }
+
+    /**
+     * Considers current contents and resources as unchanged, e.g after topic has been saved.
+     */
+    public void clearModified() {
+        savedDataRevision = getDataRevision();
+        savedResourceRevision = getResourceRevision();
+    }
+
+    private int getDataRevision() {
+        return data == null ? 0 : data.getRevision();
+    }
+
+    private int getResourceRevision() {
+        return resource == null ? 0 : resource.getRevision();
+    }
+
     @Override
     public boolean equals(Object o) {
         return reflectionEquals(this, o, false);
@@ -10,6 +10,7 @@ import java.util.*;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
 
@@ -30,6 +31,12 @@ public class ContentEntryDto {
     @JsonIgnore
     private int valuesHash;
 
+    @JsonIgnore
+    private int internalId = -1;
+
+    @JsonIgnore
+    private ContentItemDto[] itemsByRank = new ContentItemDto[0];
+
     /**
      * @return builder, used to generate custom values.
      */
@@ -48,7 +55,10 @@ public class ContentEntryDto {
             }
         }
 
+        updateItemIndexByRank();
         computeValuesHash();
+
+        notifyDataHost();
     }
 
     public void appendItem(ContentItemDto item) {
@@ -59,7 +69,10 @@ public class ContentEntryDto {
         items.clear();
         items.addAll(newItems);
 
+        updateItemIndexByRank();
         computeValuesHash();
+
+        notifyDataHost();
     }
 
     public List<ContentItemDto> getItems() {
@@ -67,9 +80,36 @@ public class ContentEntryDto {
     }
 
     public Optional<ContentItemDto> getItemAtRank(int fieldRank) {
-        return items.stream()
-                .filter(item -> item.getFieldRank() == fieldRank)
-                .findAny();
+        return ofNullable(getItemAtRankOrNull(fieldRank));
+    }
+
+    /**
+     * Does not allocate anything, so should be preferred to getItemAtRank on hot paths.
+     * @return item at given field rank, or null if it does not exist.
+     */
+    public ContentItemDto getItemAtRankOrNull(int fieldRank) {
+        if (fieldRank < 0 || fieldRank >= itemsByRank.length) {
+            return null;
+        }
+        return itemsByRank[fieldRank];
+    }
+
+    /**
+     * Does not allocate anything, so should be preferred to getItemAtRank on hot paths.
+     * @return raw value of item at given field rank, or null if item does not exist.
+     */
+    public String getRawValueAtRank(int fieldRank) {
+        ContentItemDto item = getItemAtRankOrNull(fieldRank);
+        return item == null ? null : item.getRawValue();
+    }
+
+    /**
+     * Does not allocate anything, so should be preferred to getItemAtRank when filtering many entries.
+     * @return true if an item exists at given field rank, with same raw value as provided one.
+     */
+    public boolean hasItemValueAtRank(String rawValue, int fieldRank) {
+        ContentItemDto item = getItemAtRankOrNull(fieldRank);
+        return item != null && Objects.equals(rawValue, item.getRawValue());
     }
 
     public Optional<ContentItemDto> updateItemValueAtRank(String newValue, int fieldRank) {
@@ -87,6 +127,7 @@ public class ContentEntryDto {
 
         if (dataHost != null) {
             dataHost.updateEntryIndexByReferenceWithChangedReference(this, oldValue, newValue, fieldRank);
+            dataHost.incrementRevision();
         }
 
         return of(itemObject);
@@ -140,16 +181,19 @@ public class ContentEntryDto {
     }
 
     String getNativeRef() {
-        return getItemAtRank(1)
-                .orElseThrow(() -> new IllegalArgumentException("Entry has no item at field rank 1"))
-                .getRawValue();
+        return getRawValueAtRankOrFail(1);
     }
 
     String getPseudoRef() {
-        String secondValue = getItemAtRank(2)
-                .orElseThrow(() -> new IllegalArgumentException("Entry has no item at field rank 2"))
-                .getRawValue();
-        return getPseudoRef(getNativeRef(), secondValue);
+        return getPseudoRef(getNativeRef(), getRawValueAtRankOrFail(2));
+    }
+
+    String getRawValueAtRankOrFail(int fieldRank) {
+        ContentItemDto item = getItemAtRankOrNull(fieldRank);
+        if (item == null) {
+            throw new IllegalArgumentException("Entry has no item at field rank " + fieldRank);
+        }
+        return item.getRawValue();
     }
 
     void computeValuesHash() {
@@ -159,14 +203,56 @@ public class ContentEntryDto {
         );
     }
 
+    @JsonSetter("items")
+    void setItems(List<ContentItemDto> items) {
+        this.items = new ArrayList<>(items);
+
+        updateItemIndexByRank();
+    }
+
+    void bindBitfieldItemsToTopic(DbDto.Topic topic) {
+        items.forEach(item -> item.bindBitfieldTopic(topic));
+    }
+
     void setDataHost(DbDataDto dataHost) {
         this.dataHost = dataHost;
     }
 
+    int getInternalId() {
+        return internalId;
+    }
+
+    void setInternalId(int internalId) {
+        this.internalId = internalId;
+    }
+
     DbDataDto getDataHost() {
         return dataHost;
     }
 
+    private void notifyDataHost() {
+        if (dataHost != null) {
+            dataHost.incrementRevision();
+        }
+    }
+
+    private void updateItemIndexByRank() {
+        int maxRank = 0;
+        for (ContentItemDto item : items) {
+            maxRank = Math.max(maxRank, item.getFieldRank());
+        }
+
+        ContentItemDto[] newIndex = new ContentItemDto[maxRank + 1];
+        for (ContentItemDto item : items) {
+            int fieldRank = item.getFieldRank();
+            // First item wins, should ranks be duplicated
+            if (fieldRank >= 0 && newIndex[fieldRank] == null) {
+                newIndex[fieldRank] = item;
+            }
+        }
+        itemsByRank = newIndex;
+    }
+
     public static class EntryBuilder {
         private final List<ContentItemDto> items = new ArrayList<>();
 
@@ -184,6 +270,7 @@ public class ContentEntryDto {
 
             entry.items = this.items;
 
+            entry.updateItemIndexByRank();
             entry.computeValuesHash();
 
             return entry;
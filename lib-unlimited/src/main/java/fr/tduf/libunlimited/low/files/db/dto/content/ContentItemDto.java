@@ -3,16 +3,15 @@ package fr.tduf.libunlimited.low.files.db.dto.content;
 import com.fasterxml.jackson.annotation.*;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import fr.tduf.libunlimited.high.files.db.common.helper.BitfieldHelper;
-import fr.tduf.libunlimited.high.files.db.dto.DbMetadataDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static fr.tduf.libunlimited.low.files.db.dto.DbStructureDto.FieldType.BITFIELD;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
 import static org.apache.commons.lang3.builder.HashCodeBuilder.reflectionHashCode;
 import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
@@ -21,16 +20,31 @@ import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToStrin
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonPropertyOrder({ "value", "switches", "rank"})
 public class ContentItemDto {
+    private static final BitfieldHelper bitfieldHelper = new BitfieldHelper();
+
     @JsonProperty("value")
     private String rawValue;
 
-    @JsonProperty("switches")
-    private List<SwitchValueDto> switchValues;
-
     @JsonProperty("rank")
     private int fieldRank;
 
+    @JsonIgnore
+    private boolean bitfield;
+
+    /**
+     * Topic to get bitfield reference from. May be unknown until attached to topic data, when item comes from JSON.
+     */
+    @JsonIgnore
+    private DbDto.Topic bitfieldTopic;
+
+    /**
+     * Raw value of bitfield as a mask, switch values being resolved on demand.
+     */
+    @JsonIgnore
+    private int bitfieldValue;
+
     public static ItemBuilder builder() {
         return new ItemBuilder();
     }
@@ -43,13 +57,33 @@ public class ContentItemDto {
         return fieldRank;
     }
 
+    /**
+     * @return switch values computed from current raw value and bitfield reference (empty if no reference),
+     * or null when item is not a bitfield.
+     */
+    @JsonProperty("switches")
     public List<SwitchValueDto> getSwitchValues() {
-        return switchValues;
+        if (!bitfield) {
+            return null;
+        }
+
+        if (bitfieldTopic == null) {
+            return new ArrayList<>(0);
+        }
+
+        return bitfieldHelper.getBitfieldReferenceForTopic(bitfieldTopic)
+                .map(refs -> refs.stream()
+                        .map(ref -> new SwitchValueDto(ref.getIndex(), ref.getLabel(), BitfieldHelper.isBitEnabled(bitfieldValue, ref.getIndex())))
+                        .collect(toList()))
+                .orElseGet(ArrayList::new);
     }
 
+    /**
+     * @return true if item holds a bitfield value, whose switches are resolved from raw value.
+     */
     @JsonIgnore
-    private boolean isBitfield() {
-        return switchValues != null;
+    public boolean isBitfield() {
+        return bitfield;
     }
 
     @Override
@@ -69,6 +103,34 @@ public class ContentItemDto {
 
     void setRawValue(String rawValue) {
         this.rawValue = rawValue;
+
+        if (bitfield) {
+            bitfieldValue = parseBitfieldValueOrZero(rawValue);
+        }
+    }
+
+    /**
+     * Attaches bitfield item read from JSON to its topic, so that switch values can be resolved.
+     */
+    void bindBitfieldTopic(DbDto.Topic topic) {
+        if (bitfield && bitfieldTopic == null) {
+            bitfieldTopic = topic;
+            bitfieldValue = parseBitfieldValueOrZero(rawValue);
+        }
+    }
+
+    @JsonSetter("switches")
+    private void setSwitchValues(List<SwitchValueDto> switchValues) {
+        // Switch values are computed from raw value: only keeps the information that item is a bitfield.
+        bitfield = switchValues != null;
+    }
+
+    private static int parseBitfieldValueOrZero(String rawValue) {
+        try {
+            return BitfieldHelper.parseRawValue(rawValue);
+        } catch (NumberFormatException nfe) {
+            return 0;
+        }
     }
 
     void shiftFieldRankRight() {
@@ -80,8 +142,6 @@ public class ContentItemDto {
     }
 
     public static class ItemBuilder {
-        private static BitfieldHelper bitfieldHelper = new BitfieldHelper();
-
         private Integer fieldRank;
         private String raw;
 
@@ -130,29 +190,19 @@ public class ContentItemDto {
             item.fieldRank = this.fieldRank;
 
             if (isBitField) {
-                item.switchValues = buildSwitchValues();
+                requireNonNull(raw, "A raw value is required");
+                requireNonNull(topicForBitField, "A database topic is required");
+
+                item.bitfield = true;
+                item.bitfieldTopic = topicForBitField;
+                if (bitfieldHelper.getBitfieldReferenceForTopic(topicForBitField).isPresent()) {
+                    item.bitfieldValue = BitfieldHelper.parseRawValue(raw);
+                } else {
+                    item.bitfieldValue = parseBitfieldValueOrZero(raw);
+                }
             }
 
             return item;
         }
-
-        private List<SwitchValueDto> buildSwitchValues() {
-            requireNonNull(raw, "A raw value is required");
-            requireNonNull(topicForBitField, "A database topic is required");
-
-            Optional<List<DbMetadataDto.TopicMetadataDto.BitfieldMetadataDto>> bitfieldReference = bitfieldHelper.getBitfieldReferenceForTopic(topicForBitField);
-
-            List<SwitchValueDto> switchValues = new ArrayList<>();
-            bitfieldReference.ifPresent(refs -> {
-                List<Boolean> values = bitfieldHelper.resolve(topicForBitField, raw)
-                        .orElseThrow(() -> new IllegalStateException("Bitfield information unavailable for topic: " + topicForBitField));
-                refs.forEach(ref -> {
-                            boolean switchState = values.get(ref.getIndex() - 1);
-                            switchValues.add(new SwitchValueDto(ref.getIndex(), ref.getLabel(), switchState));
-                        });
-            });
-
-            return switchValues;
-        }
     }
 }
@@ -20,6 +20,7 @@ import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToStrin
 @JsonTypeName("db")
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "topic", "entries"})
 public class DbDataDto implements Serializable {
 
     @JsonProperty("topic")
@@ -31,6 +32,9 @@ public class DbDataDto implements Serializable {
     @JsonIgnore
     private Map<String, ContentEntryDto> entriesByReference;
 
+    @JsonIgnore
+    private int revision;
+
     /**
      * @return builder, used to generate custom values.
      */
@@ -56,8 +60,11 @@ public class DbDataDto implements Serializable {
 
     public void addEntry(ContentEntryDto entry) {
         entry.setDataHost(this);
+        entry.setInternalId(entries.size());
         entries.add(entry);
         updateEntryIndexByReferenceWithNewEntry(entry);
+
+        incrementRevision();
     }
 
     public void addEntryWithItems(List<ContentItemDto> items) {
@@ -73,11 +80,37 @@ public class DbDataDto implements Serializable {
         }
 
         entries.remove(entryId);
+        entry.setInternalId(-1);
         removeEntryFromIndexByReference(entry);
+
+        updateEntryIdsFrom(entryId);
+        incrementRevision();
     }
 
     public void removeEntries(List<ContentEntryDto> entriesToDelete) {
-        entriesToDelete.forEach(this::removeEntry);
+        Set<ContentEntryDto> attachedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+        int firstEntryId = entries.size();
+        for (ContentEntryDto entry : entriesToDelete) {
+            int entryId = getEntryId(entry);
+            if (entryId != -1) {
+                attachedEntries.add(entry);
+                firstEntryId = Math.min(firstEntryId, entryId);
+            }
+        }
+
+        if (attachedEntries.isEmpty()) {
+            return;
+        }
+
+        // Single pass removal, ids being updated only once
+        entries.removeIf(attachedEntries::contains);
+        attachedEntries.forEach(entry -> {
+            entry.setInternalId(-1);
+            removeEntryFromIndexByReference(entry);
+        });
+
+        updateEntryIdsFrom(firstEntryId);
+        incrementRevision();
     }
 
     public void moveEntryUp(ContentEntryDto entry) {
@@ -92,6 +125,14 @@ public class DbDataDto implements Serializable {
         return topic;
     }
 
+    /**
+     * @return a number changing each time entries or their item values are modified, to help invalidating external indexes.
+     */
+    @JsonIgnore
+    public int getRevision() {
+        return revision;
+    }
+
     @Override
     public boolean equals(Object that) {
         return that != null
@@ -110,14 +151,13 @@ public class DbDataDto implements Serializable {
     }
 
     int getEntryId(ContentEntryDto contentEntry) {
-        int index = 0;
-        for (ContentEntryDto entry : entries) {
-            if (entry == contentEntry) {
-                return index;
-            }
-            index++;
+        int internalId = contentEntry.getInternalId();
+        if (internalId < 0
+                || internalId >= entries.size()
+                || entries.get(internalId) != contentEntry) {
+            return -1;
         }
-        return -1;
+        return internalId;
     }
 
     Map<String, ContentEntryDto> getEntriesByReference() {
@@ -128,12 +168,36 @@ public class DbDataDto implements Serializable {
     void setEntries(Collection<ContentEntryDto> entries) {
         this.entries = new ArrayList<>(entries);
 
-        createEntryIndexByReference(entries);
+        if (topic != null) {
+            createEntryIndexByReference(entries);
+        }
 
         entries.forEach(entry -> {
             entry.computeValuesHash();
             entry.setDataHost(this);
+            entry.bindBitfieldItemsToTopic(topic);
         });
+
+        updateEntryIdsFrom(0);
+        incrementRevision();
+    }
+
+    /**
+     * Entries may have been read from JSON before topic: in that case, they are attached to topic afterwards.
+     */
+    @JsonSetter("topic")
+    void setTopic(DbDto.Topic topic) {
+        this.topic = topic;
+
+        if (entries != null) {
+            createEntryIndexByReference(entries);
+
+            entries.forEach(entry -> entry.bindBitfieldItemsToTopic(topic));
+        }
+    }
+
+    void incrementRevision() {
+        revision++;
     }
 
     void updateEntryIndexByReferenceWithChangedReference(ContentEntryDto entry, String oldItemValue, String newItemValue, int fieldRank) {
@@ -160,7 +224,11 @@ public class DbDataDto implements Serializable {
     }
 
     private String getRefPart(ContentEntryDto entry, int fieldRank) {
-        return entry.getItemAtRank(fieldRank).map(ContentItemDto::getRawValue).orElseThrow(() -> new IllegalStateException("No item at field rank: " + fieldRank));
+        String rawValue = entry.getRawValueAtRank(fieldRank);
+        if (rawValue == null) {
+            throw new IllegalStateException("No item at field rank: " + fieldRank);
+        }
+        return rawValue;
     }
 
     private void updateEntryIndexByReferenceWithNewEntry(ContentEntryDto entry) {
@@ -205,6 +273,17 @@ public class DbDataDto implements Serializable {
 
         entries.set(entryId, neighbourEntry);
         entries.set(neighbourEntryId, entry);
+
+        neighbourEntry.setInternalId(entryId);
+        entry.setInternalId(neighbourEntryId);
+
+        incrementRevision();
+    }
+
+    private void updateEntryIdsFrom(int firstEntryId) {
+        for (int i = firstEntryId; i < entries.size(); i++) {
+            entries.get(i).setInternalId(i);
+        }
     }
 
     public static class DbDataDtoBuilder {
@@ -234,6 +313,7 @@ public class DbDataDto implements Serializable {
             dbDataDto.createEntryIndexByReference(entries);
 
             dbDataDto.entries.forEach(entry -> entry.setDataHost(dbDataDto));
+            dbDataDto.updateEntryIdsFrom(0);
 
             return dbDataDto;
         }
@@ -29,16 +29,26 @@ public class DbResourceDto implements Serializable {
     @JsonIgnore
     private Map<String, ResourceEntryDto> entriesByReference = new LinkedHashMap<>();
 
+    @JsonIgnore
+    private int revision;
+
     private DbResourceDto() {}
 
-    private static Map<String, ResourceEntryDto> createResourceIndex(Collection<ResourceEntryDto> entries) {
-        return entries.stream()
+    private Map<String, ResourceEntryDto> createResourceIndex(Collection<ResourceEntryDto> entries) {
+        Map<String, ResourceEntryDto> resourceIndex = entries.stream()
                 .collect(toMap(
                         ResourceEntryDto::getReference,
                         Function.identity(),
                         (u, v) -> { throw new IllegalStateException(String.format("Duplicate key %s", u)); },
                         LinkedHashMap::new)
                 );
+        // Most values are repeated across locales: entries being loaded share a single instance of each of them
+        Map<String, String> sharedValues = new HashMap<>();
+        resourceIndex.values().forEach(entry -> {
+            entry.setResourceHost(this);
+            entry.shareValues(sharedValues);
+        });
+        return resourceIndex;
     }
 
     public static DbResourceDtoBuilder builder() {
@@ -59,7 +69,7 @@ public class DbResourceDto implements Serializable {
                 .forReference(reference)
                 .build();
 
-        entriesByReference.put(reference, newResourceEntryDto);
+        putEntry(newResourceEntryDto);
 
         return newResourceEntryDto;
     }
@@ -75,13 +85,35 @@ public class DbResourceDto implements Serializable {
                 .withDefaultItem(value)
                 .build();
 
-        entriesByReference.put(reference, newResourceEntryDto);
+        putEntry(newResourceEntryDto);
 
         return newResourceEntryDto;
     }
 
     public void removeEntryByReference(String reference) {
-        entriesByReference.remove(reference);
+        ofNullable(entriesByReference.remove(reference))
+                .ifPresent(removedEntry -> {
+                    removedEntry.setResourceHost(null);
+                    incrementRevision();
+                });
+    }
+
+    /**
+     * @return a number changing each time entries or their values are modified, to help invalidating external indexes.
+     */
+    @JsonIgnore
+    public int getRevision() {
+        return revision;
+    }
+
+    void incrementRevision() {
+        revision++;
+    }
+
+    private void putEntry(ResourceEntryDto entry) {
+        entriesByReference.put(entry.getReference(), entry);
+        entry.setResourceHost(this);
+        incrementRevision();
     }
 
     private void checkEntryDoesNotExistWithReference(String reference) {
@@ -93,12 +125,12 @@ public class DbResourceDto implements Serializable {
 
     @Override
     public boolean equals(Object o) {
-        return reflectionEquals(this, o);
+        return reflectionEquals(this, o, "revision");
     }
 
     @Override
     public int hashCode() {
-        return reflectionHashCode(this);
+        return reflectionHashCode(this, "revision");
     }
 
     @Override
@@ -114,6 +146,7 @@ public class DbResourceDto implements Serializable {
     @JsonSetter("entries")
     private void setEntries(Collection<ResourceEntryDto> entries) {
         entriesByReference = createResourceIndex(entries);
+        incrementRevision();
     }
 
     public String getVersion() {
@@ -150,7 +183,7 @@ public class DbResourceDto implements Serializable {
 
             dbResourceDto.categoryCount = categoryCount;
             dbResourceDto.version = requireNonNull(version, "Version is required.");
-            dbResourceDto.entriesByReference = createResourceIndex(entries);
+            dbResourceDto.entriesByReference = dbResourceDto.createResourceIndex(entries);
 
             return dbResourceDto;
         }
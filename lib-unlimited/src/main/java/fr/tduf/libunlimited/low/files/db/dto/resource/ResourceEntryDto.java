@@ -3,29 +3,41 @@ package fr.tduf.libunlimited.low.files.db.dto.resource;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import fr.tduf.libunlimited.common.game.domain.Locale;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Function;
 
 import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
 import static java.util.Objects.hash;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
-import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
+import static org.apache.commons.lang3.builder.ReflectionToStringBuilder.toStringExclude;
 
 @JsonTypeName("dbResourceEnhancedEntry")
 @JsonSerialize
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ResourceEntryDto implements Serializable {
+    private static final Locale[] LOCALES = Locale.values();
+
     @JsonProperty("ref")
     private String reference;
 
-    @JsonProperty("items")
-    private LinkedHashSet<ResourceItemDto> items;
+    /**
+     * One slot per locale ordinal, DEFAULT included; null when no value for that locale.
+     * Values loaded with the same resource host are shared between its entries, as most of them are repeated across locales.
+     */
+    @JsonIgnore
+    private String[] values = new String[LOCALES.length];
+
+    @JsonIgnore
+    private DbResourceDto resourceHost;
 
     private ResourceEntryDto() {
     }
@@ -38,9 +50,8 @@ public class ResourceEntryDto implements Serializable {
      * @return available item for specified locale, empty otherwise. Does not rely on default item.
      */
     public Optional<ResourceItemDto> getItemForLocale(Locale locale) {
-        return items.stream()
-                .filter(item -> locale == item.getLocale())
-                .findAny();
+        return Optional.ofNullable(values[locale.ordinal()])
+                .map(value -> createItem(locale, value));
     }
 
     /**
@@ -53,21 +64,21 @@ public class ResourceEntryDto implements Serializable {
             return defaultValue;
         }
 
-        return getPresentLocales().stream()
-                .findAny()
-                .flatMap(this::getValueForLocale);
+        return Locale.valuesAsStream()
+                .map(locale -> values[locale.ordinal()])
+                .filter(Objects::nonNull)
+                .findFirst();
     }
 
     /**
      * @return available value for specified locale, default value as fallback, empty otherwise.
      */
     public Optional<String> getValueForLocale(Locale locale) {
-        Optional<ResourceItemDto> itemForLocale = getItemForLocale(locale);
-        if (itemForLocale.isPresent()) {
-            return itemForLocale.map(ResourceItemDto::getValue);
-        } else {
-            return getItemForLocale(DEFAULT).map(ResourceItemDto::getValue);
+        String value = values[locale.ordinal()];
+        if (value == null) {
+            value = values[DEFAULT.ordinal()];
         }
+        return Optional.ofNullable(value);
     }
 
     /**
@@ -85,24 +96,8 @@ public class ResourceEntryDto implements Serializable {
      * @return current entry
      */
     public ResourceEntryDto setValueForLocale(String value, Locale locale) {
-        Optional<ResourceItemDto> potentialItem = getItemForLocale(locale);
-
-        if (potentialItem.isPresent()) {
-            potentialItem.get().setValue(value);
-        } else {
-            ResourceItemDto resourceItemDto;
-            if (DEFAULT == locale) {
-                resourceItemDto = ResourceItemDto.builder()
-                        .withGlobalValue(value)
-                        .build();
-            } else {
-                resourceItemDto = ResourceItemDto.builder()
-                        .withLocale(locale)
-                        .withValue(value)
-                        .build();
-            }
-            items.add(resourceItemDto);
-        }
+        values[locale.ordinal()] = requireNonNull(value, "Value is required.");
+        updateHostRevision();
 
         return this;
     }
@@ -112,21 +107,29 @@ public class ResourceEntryDto implements Serializable {
      * @return current entry
      */
     public ResourceEntryDto removeValueForLocale(Locale locale) {
-        items.removeIf(item -> item.getLocale() == locale);
+        if (values[locale.ordinal()] != null) {
+            values[locale.ordinal()] = null;
+            updateHostRevision();
+        }
 
         return this;
     }
 
     @JsonIgnore
     public int getItemCount() {
-        return items.size();
+        int itemCount = 0;
+        for (String value : values) {
+            if (value != null) {
+                itemCount++;
+            }
+        }
+        return itemCount;
     }
 
     @JsonIgnore
     public Set<Locale> getPresentLocales() {
-        return items.stream()
-                .map(ResourceItemDto::getLocale)
-                .filter(locale -> DEFAULT != locale)
+        return Locale.valuesAsStream()
+                .filter(locale -> values[locale.ordinal()] != null)
                 .collect(toSet());
     }
 
@@ -151,7 +154,7 @@ public class ResourceEntryDto implements Serializable {
 
     @Override
     public boolean equals(Object o) {
-        return reflectionEquals(this, o);
+        return reflectionEquals(this, o, "resourceHost");
     }
 
     @Override
@@ -162,13 +165,69 @@ public class ResourceEntryDto implements Serializable {
 
     @Override
     public String toString() {
-        return reflectionToString(this);
+        return toStringExclude(this, "resourceHost");
     }
 
     public String getReference() {
         return reference;
     }
 
+    /**
+     * @return items for all available values, in locale order. Changes to returned items are not reflected into entry.
+     */
+    @JsonProperty("items")
+    public Set<ResourceItemDto> getItems() {
+        return Arrays.stream(LOCALES)
+                .filter(locale -> values[locale.ordinal()] != null)
+                .map(locale -> createItem(locale, values[locale.ordinal()]))
+                .collect(toCollection(LinkedHashSet::new));
+    }
+
+    @JsonSetter("items")
+    private void setItems(Collection<ResourceItemDto> items) {
+        values = toValues(items);
+    }
+
+    void setResourceHost(DbResourceDto resourceHost) {
+        this.resourceHost = resourceHost;
+    }
+
+    /**
+     * Replaces values with canonical instances from given map, adding missing ones to it.
+     */
+    void shareValues(Map<String, String> sharedValues) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i] = sharedValues.computeIfAbsent(values[i], Function.identity());
+            }
+        }
+    }
+
+    private void updateHostRevision() {
+        if (resourceHost != null) {
+            resourceHost.incrementRevision();
+        }
+    }
+
+    private static String[] toValues(Collection<ResourceItemDto> items) {
+        String[] values = new String[LOCALES.length];
+        items.forEach(item -> values[item.getLocale().ordinal()] = item.getValue());
+        return values;
+    }
+
+    private static ResourceItemDto createItem(Locale locale, String value) {
+        ResourceItemDto.ItemBuilder itemBuilder = ResourceItemDto.builder();
+        if (DEFAULT == locale) {
+            return itemBuilder
+                    .withGlobalValue(value)
+                    .build();
+        }
+        return itemBuilder
+                .withLocale(locale)
+                .withValue(value)
+                .build();
+    }
+
     public static class EntryBuilder {
         private String reference;
 
@@ -200,7 +259,7 @@ public class ResourceEntryDto implements Serializable {
             ResourceEntryDto entry = new ResourceEntryDto();
 
             entry.reference = requireNonNull(reference, "Resource reference is required.");
-            entry.items = items;
+            entry.values = toValues(items);
 
             return entry;
         }
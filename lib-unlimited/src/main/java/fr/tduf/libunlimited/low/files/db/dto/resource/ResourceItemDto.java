@@ -59,10 +59,6 @@ public class ResourceItemDto implements Serializable {
         return locale;
     }
 
-    void setValue(String value) {
-        this.value = value;
-    }
-
     @JsonSetter("locale")
     private void setLocaleFromCode(String localeCode) {
         locale = Locale.fromCode(localeCode);
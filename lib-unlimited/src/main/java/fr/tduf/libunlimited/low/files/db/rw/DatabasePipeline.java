@@ -0,0 +1,343 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libunlimited.high.files.banks.BankSupport;
+import fr.tduf.libunlimited.low.files.db.domain.IntegrityError;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseBankHelper;
+import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Collections.synchronizedSet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs full database conversions (unpack-all, repack-all) as successive stages on a dedicated executor.
+ * Per-topic stages are overlapped: a topic may be written while next ones are still being read,
+ * the count of topics between both stages being bounded so that memory use stays under control.
+ * Wall and CPU times are recorded for every stage.
+ */
+public class DatabasePipeline implements AutoCloseable {
+    private static final String THIS_CLASS_NAME = DatabasePipeline.class.getSimpleName();
+
+    public static final String STAGE_EXTRACT_BANKS = "extractBanks";
+    public static final String STAGE_READ_DATABASE = "readDatabase";
+    public static final String STAGE_WRITE_JSON = "writeJson";
+    public static final String STAGE_READ_JSON = "readJson";
+    public static final String STAGE_WRITE_DATABASE = "writeDatabase";
+    public static final String STAGE_REPACK_BANKS = "repackBanks";
+
+    static final int IN_FLIGHT_TOPICS_PER_JOB = 2;
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final ExecutorService executor;
+    private final int maxInFlightTopics;
+
+    private final Map<String, StageTiming> stageTimings = new LinkedHashMap<>();
+
+    /**
+     * @param jobCount  : count of threads to run stage tasks
+     */
+    public DatabasePipeline(int jobCount) {
+        if (jobCount < 1) {
+            throw new IllegalArgumentException("Job count must be at least 1");
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(jobCount, runnable -> {
+            Thread thread = new Thread(runnable, "tduf-pipeline-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlightTopics = jobCount * IN_FLIGHT_TOPICS_PER_JOB;
+    }
+
+    /**
+     * @return default count of jobs, according to available processors
+     */
+    public static int getDefaultJobCount() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Extracts all database banks, one task per bank.
+     * @see DatabaseBankHelper#unpackDatabaseFromDirectory(String, String, BankSupport, Executor)
+     * @return directory where extracted contents are located for further processing.
+     */
+    public String extractBanks(String databaseDirectory, String targetDirectory, BankSupport bankSupport) throws IOException {
+        StageTiming stageTiming = getStageTiming(STAGE_EXTRACT_BANKS);
+        try {
+            return DatabaseBankHelper.unpackDatabaseFromDirectory(databaseDirectory, targetDirectory, bankSupport, getStageExecutor(stageTiming));
+        } finally {
+            stageTiming.awaitPendingTasks();
+        }
+    }
+
+    /**
+     * Reads (decrypts and parses) all topics from extracted database, and writes them as JSON files.
+     * @param sourceDatabaseDirectory   : directory where extracted TDU database files are located
+     * @param targetJsonDirectory       : directory where JSON files will be created
+     * @param missingTopicContents      : a list which will contain topic whose contents can't be found
+     * @param integrityErrors           : a set which will contain database parsing errors
+     * @param topicObjects              : a list which will contain read topic objects, in topic order
+     * @return list of written file names, in topic order.
+     */
+    public List<String> dump(String sourceDatabaseDirectory, String targetJsonDirectory, List<DbDto.Topic> missingTopicContents, Set<IntegrityError> integrityErrors, List<DbDto> topicObjects) {
+        requireNonNull(integrityErrors, "A set for integrity errors is required.");
+
+        Set<IntegrityError> integrityErrorsWhileProcessing = synchronizedSet(new LinkedHashSet<>());
+        List<String> writtenFileNames = processTopics(
+                STAGE_READ_DATABASE, topic -> DatabaseReadWriteHelper.readDatabaseTopic(topic, sourceDatabaseDirectory, integrityErrorsWhileProcessing),
+                STAGE_WRITE_JSON, topicObject -> DatabaseReadWriteHelper.writeDatabaseTopicToJson(topicObject, targetJsonDirectory),
+                missingTopicContents, topicObjects);
+
+        integrityErrors.addAll(integrityErrorsWhileProcessing);
+
+        return writtenFileNames;
+    }
+
+    /**
+     * Reads all topics from JSON files, and writes them as TDU database files (encrypted contents + resources).
+     * @param sourceJsonDirectory       : directory where JSON files are located
+     * @param targetDatabaseDirectory   : directory where TDU database files will be created
+     * @param missingTopicContents      : a list which will contain topic whose contents can't be found
+     * @return list of written file names, in topic order.
+     */
+    public List<String> gen(String sourceJsonDirectory, String targetDatabaseDirectory, List<DbDto.Topic> missingTopicContents) {
+        return processTopics(
+                STAGE_READ_JSON, topic -> {
+                    try {
+                        return DatabaseReadWriteHelper.readDatabaseTopicFromJson(topic, sourceJsonDirectory);
+                    } catch (IOException ioe) {
+                        Log.error(THIS_CLASS_NAME, ExceptionUtils.getStackTrace(ioe));
+                        return Optional.empty();
+                    }
+                },
+                STAGE_WRITE_DATABASE, topicObject -> {
+                    try {
+                        return DatabaseReadWriteHelper.writeDatabaseTopic(topicObject, targetDatabaseDirectory);
+                    } catch (IOException ioe) {
+                        Log.error(THIS_CLASS_NAME, ExceptionUtils.getStackTrace(ioe));
+                        return new ArrayList<>();
+                    }
+                },
+                missingTopicContents, new ArrayList<>());
+    }
+
+    /**
+     * Repacks all database banks, one task per bank.
+     * @see DatabaseBankHelper#repackDatabaseFromDirectory(String, String, String, BankSupport, Executor)
+     */
+    public void repackBanks(String extractedDatabaseDirectory, String targetDirectory, String originalBanksDirectory, BankSupport bankSupport) {
+        StageTiming stageTiming = getStageTiming(STAGE_REPACK_BANKS);
+        try {
+            DatabaseBankHelper.repackDatabaseFromDirectory(extractedDatabaseDirectory, targetDirectory, originalBanksDirectory, bankSupport, getStageExecutor(stageTiming));
+        } finally {
+            stageTiming.awaitPendingTasks();
+        }
+    }
+
+    /**
+     * Runs a single-task stage, from current thread.
+     * @param stageName : name to record timings under
+     * @param task      : stage processing
+     * @return task result.
+     */
+    public <T> T runStage(String stageName, Callable<T> task) throws Exception {
+        StageTiming stageTiming = getStageTiming(stageName);
+        long startTime = System.nanoTime();
+        long startCpuTime = getCurrentThreadCpuTime();
+        try {
+            return task.call();
+        } finally {
+            stageTiming.record(startTime, System.nanoTime(), getCurrentThreadCpuTime() - startCpuTime);
+        }
+    }
+
+    /**
+     * @return timings of all stages run so far, in order of first run.
+     */
+    public List<StageTiming> getStageTimings() {
+        synchronized (stageTimings) {
+            return new ArrayList<>(stageTimings.values());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private List<String> processTopics(String readStageName, TopicReader reader, String writeStageName, Function<DbDto, List<String>> writer, List<DbDto.Topic> missingTopicContents, List<DbDto> topicObjects) {
+        requireNonNull(missingTopicContents, "A list for missing topics is required.");
+        requireNonNull(topicObjects, "A list for topic objects is required.");
+
+        StageTiming readStageTiming = getStageTiming(readStageName);
+        StageTiming writeStageTiming = getStageTiming(writeStageName);
+        Map<DbDto.Topic, DbDto> topicObjectsByTopic = new ConcurrentHashMap<>();
+        Map<DbDto.Topic, List<String>> writtenFileNamesByTopic = new ConcurrentHashMap<>();
+
+        Semaphore inFlightTopics = new Semaphore(maxInFlightTopics);
+        List<CompletableFuture<Void>> topicTasks = new ArrayList<>();
+        for (DbDto.Topic topic : DbDto.Topic.values()) {
+            acquire(inFlightTopics);
+
+            CompletableFuture<Void> topicTask = CompletableFuture
+                    .supplyAsync(timed(readStageTiming, () -> readTopic(reader, topic)), executor)
+                    .thenAcceptAsync(potentialTopicObject -> potentialTopicObject.ifPresent(topicObject -> {
+                        topicObjectsByTopic.put(topic, topicObject);
+                        writtenFileNamesByTopic.put(topic, timed(writeStageTiming, () -> writer.apply(topicObject)).get());
+                    }), executor)
+                    .whenComplete((result, throwable) -> inFlightTopics.release());
+            topicTasks.add(topicTask);
+        }
+        DatabaseBankHelper.waitForAll(topicTasks);
+
+        List<String> writtenFileNames = new ArrayList<>();
+        DbDto.Topic.valuesAsStream()
+                .forEach(topic -> {
+                    DbDto topicObject = topicObjectsByTopic.get(topic);
+                    if (topicObject == null) {
+                        missingTopicContents.add(topic);
+                    } else {
+                        topicObjects.add(topicObject);
+                        writtenFileNames.addAll(writtenFileNamesByTopic.get(topic));
+                    }
+                });
+        return writtenFileNames;
+    }
+
+    /**
+     * @return executor recording timings of submitted tasks. As tasks may signal completion before their timing is recorded,
+     * stage timing must be awaited before being reported.
+     */
+    private Executor getStageExecutor(StageTiming stageTiming) {
+        return command -> {
+            stageTiming.taskSubmitted();
+            executor.execute(() -> timed(stageTiming, () -> {
+                command.run();
+                return null;
+            }).get());
+        };
+    }
+
+    private StageTiming getStageTiming(String stageName) {
+        synchronized (stageTimings) {
+            return stageTimings.computeIfAbsent(stageName, StageTiming::new);
+        }
+    }
+
+    private static <T> Supplier<T> timed(StageTiming stageTiming, Supplier<T> task) {
+        return () -> {
+            long startTime = System.nanoTime();
+            long startCpuTime = getCurrentThreadCpuTime();
+            try {
+                return task.get();
+            } finally {
+                stageTiming.record(startTime, System.nanoTime(), getCurrentThreadCpuTime() - startCpuTime);
+            }
+        };
+    }
+
+    private static Optional<DbDto> readTopic(TopicReader reader, DbDto.Topic topic) {
+        try {
+            return reader.read(topic);
+        } catch (IOException ioe) {
+            throw new RuntimeException("Unable to read database topic: " + topic, ioe);
+        }
+    }
+
+    private static void acquire(Semaphore inFlightTopics) {
+        try {
+            inFlightTopics.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for topic processing", ie);
+        }
+    }
+
+    private static long getCurrentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    @FunctionalInterface
+    private interface TopicReader {
+        Optional<DbDto> read(DbDto.Topic topic) throws IOException;
+    }
+
+    /**
+     * Cumulated timings of all tasks run for a stage.
+     * Wall time spans from first task start to last task end, CPU time is the sum of task thread CPU times
+     * (time spent by external processes is not included).
+     */
+    public static class StageTiming {
+        private final String stageName;
+
+        private long firstStartTime = Long.MAX_VALUE;
+        private long lastEndTime = Long.MIN_VALUE;
+        private long cpuTime;
+        private int taskCount;
+        private int pendingTaskCount;
+
+        StageTiming(String stageName) {
+            this.stageName = stageName;
+        }
+
+        synchronized void taskSubmitted() {
+            pendingTaskCount++;
+        }
+
+        synchronized void record(long startTime, long endTime, long taskCpuTime) {
+            firstStartTime = Math.min(firstStartTime, startTime);
+            lastEndTime = Math.max(lastEndTime, endTime);
+            cpuTime += taskCpuTime;
+            taskCount++;
+
+            if (pendingTaskCount > 0) {
+                pendingTaskCount--;
+                notifyAll();
+            }
+        }
+
+        synchronized void awaitPendingTasks() {
+            try {
+                while (pendingTaskCount > 0) {
+                    wait();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public String getStageName() {
+            return stageName;
+        }
+
+        public synchronized long getWallTimeMillis() {
+            return taskCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(lastEndTime - firstStartTime);
+        }
+
+        public synchronized long getCpuTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(cpuTime);
+        }
+
+        public synchronized int getTaskCount() {
+            return taskCount;
+        }
+
+        @Override
+        public String toString() {
+            return stageName + ": wall=" + getWallTimeMillis() + "ms, cpu=" + getCpuTimeMillis() + "ms, tasks=" + getTaskCount();
+        }
+    }
+}
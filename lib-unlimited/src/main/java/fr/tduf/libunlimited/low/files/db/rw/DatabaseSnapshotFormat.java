@@ -0,0 +1,44 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Layout of binary database snapshot files, shared by reader and writer.
+ *
+ * Header (big endian):
+ * - magic (4 bytes: 'TDBS')
+ * - format version (int32)
+ * - cache timestamp (int64): value of JSON cache timestamp when snapshot was written
+ * - payload size (int32)
+ * - payload checksum (int32): CRC32 of payload
+ *
+ * Payload:
+ * - string table: count (int32), then each string as UTF-8 byte count (int32) and bytes
+ * - topic count (int32), then byte size of each topic (int32), so that topics can be decoded independently
+ * - for each topic: structure, data, resources; strings being indexes into string table (-1 for null)
+ */
+final class DatabaseSnapshotFormat {
+    static final int MAGIC = 0x54444253;
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 24;
+    static final int HEADER_MAGIC_OFFSET = 0;
+    static final int HEADER_VERSION_OFFSET = 4;
+    static final int HEADER_TIMESTAMP_OFFSET = 8;
+    static final int HEADER_PAYLOAD_SIZE_OFFSET = 16;
+    static final int HEADER_CHECKSUM_OFFSET = 20;
+
+    static final int NULL_INDEX = -1;
+
+    private DatabaseSnapshotFormat() {}
+
+    /**
+     * @return CRC32 of remaining bytes in given buffer, position being left unchanged
+     */
+    static int computeChecksum(ByteBuffer payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.duplicate());
+        return (int) crc32.getValue();
+    }
+}
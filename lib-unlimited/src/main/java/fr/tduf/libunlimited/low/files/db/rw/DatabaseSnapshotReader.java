@@ -0,0 +1,230 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceItemDto;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
+import static fr.tduf.libunlimited.low.files.db.rw.DatabaseSnapshotFormat.*;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Helper class to read database topics from a binary snapshot file, as written by {@link DatabaseSnapshotWriter}.
+ * Snapshot file is fully read into memory, without keeping it open, so that it can be replaced afterwards;
+ * header and checksum are verified when loading.
+ */
+public class DatabaseSnapshotReader {
+    private static final Locale[] LOCALES = Locale.values();
+    private static final DbDto.Topic[] TOPICS = DbDto.Topic.values();
+    private static final DbStructureDto.FieldType[] FIELD_TYPES = DbStructureDto.FieldType.values();
+
+    private final Path snapshotPath;
+    private final long cacheTimestamp;
+    private final ByteBuffer payload;
+
+    private DatabaseSnapshotReader(Path snapshotPath, long cacheTimestamp, ByteBuffer payload) {
+        this.snapshotPath = snapshotPath;
+        this.cacheTimestamp = cacheTimestamp;
+        this.payload = payload;
+    }
+
+    /**
+     * Single entry point for this reader.
+     * @param snapshotPath  : location of snapshot file
+     * @return reader instance, with verified header and payload.
+     * @throws IOException when file can't be read, or is not a valid snapshot with supported version.
+     */
+    public static DatabaseSnapshotReader load(Path snapshotPath) throws IOException {
+        requireNonNull(snapshotPath, "A snapshot path is required.");
+
+        ByteBuffer snapshotBuffer = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+
+        if (snapshotBuffer.capacity() < HEADER_SIZE
+                || snapshotBuffer.getInt(HEADER_MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("Not a database snapshot: " + snapshotPath);
+        }
+
+        int version = snapshotBuffer.getInt(HEADER_VERSION_OFFSET);
+        if (version != VERSION) {
+            throw new IOException("Unsupported database snapshot version: " + version + ", in file: " + snapshotPath);
+        }
+
+        int payloadSize = snapshotBuffer.getInt(HEADER_PAYLOAD_SIZE_OFFSET);
+        if (payloadSize != snapshotBuffer.capacity() - HEADER_SIZE) {
+            throw new IOException("Invalid database snapshot size, in file: " + snapshotPath);
+        }
+
+        snapshotBuffer.position(HEADER_SIZE);
+        ByteBuffer payload = snapshotBuffer.slice();
+        if (computeChecksum(payload) != snapshotBuffer.getInt(HEADER_CHECKSUM_OFFSET)) {
+            throw new IOException("Invalid database snapshot checksum, in file: " + snapshotPath);
+        }
+
+        return new DatabaseSnapshotReader(snapshotPath, snapshotBuffer.getLong(HEADER_TIMESTAMP_OFFSET), payload);
+    }
+
+    /**
+     * @return all database topics from snapshot.
+     * @throws IOException when snapshot contents are inconsistent.
+     */
+    public List<DbDto> readAll() throws IOException {
+        ByteBuffer buffer = payload.duplicate();
+        try {
+            String[] strings = readStringTable(buffer);
+
+            int topicCount = buffer.getInt();
+            int[] topicOffsets = new int[topicCount];
+            int topicOffset = buffer.position() + 4 * topicCount;
+            for (int i = 0; i < topicCount; i++) {
+                topicOffsets[i] = topicOffset;
+                topicOffset += buffer.getInt();
+            }
+            if (topicOffset != buffer.limit()) {
+                throw new IOException("Invalid database snapshot topic sizes, in file: " + snapshotPath);
+            }
+
+            // Topics are decoded independently, like JSON files
+            return IntStream.range(0, topicCount)
+                    .parallel()
+                    .mapToObj(topicIndex -> {
+                        ByteBuffer topicBuffer = payload.duplicate();
+                        topicBuffer.position(topicOffsets[topicIndex]);
+                        return readTopic(topicBuffer, strings);
+                    })
+                    .collect(toList());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NullPointerException e) {
+            throw new IOException("Invalid database snapshot contents, in file: " + snapshotPath, e);
+        }
+    }
+
+    /**
+     * @return value of JSON cache timestamp when snapshot was written
+     */
+    public long getCacheTimestamp() {
+        return cacheTimestamp;
+    }
+
+    private static String[] readStringTable(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] valueBytes = new byte[buffer.getInt()];
+            buffer.get(valueBytes);
+            strings[i] = new String(valueBytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static DbDto readTopic(ByteBuffer buffer, String[] strings) {
+        DbStructureDto structureObject = readStructure(buffer, strings);
+        return DbDto.builder()
+                .withStructure(structureObject)
+                .withData(readData(buffer, strings, structureObject.getTopic()))
+                .withResource(readResources(buffer, strings))
+                .build();
+    }
+
+    private static DbStructureDto readStructure(ByteBuffer buffer, String[] strings) {
+        DbStructureDto.DbStructureDtoBuilder structureBuilder = DbStructureDto.builder()
+                .forReference(readString(buffer, strings))
+                .forTopic(TOPICS[buffer.getInt()])
+                .atVersion(readString(buffer, strings))
+                .withCategoryCount(buffer.getInt());
+
+        int fieldCount = buffer.getInt();
+        List<DbStructureDto.Field> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            String name = readString(buffer, strings);
+            int fieldTypeIndex = buffer.getInt();
+            fields.add(DbStructureDto.Field.builder()
+                    .forName(name)
+                    .fromType(fieldTypeIndex == NULL_INDEX ? null : FIELD_TYPES[fieldTypeIndex])
+                    .toTargetReference(readString(buffer, strings))
+                    .ofRank(buffer.getInt())
+                    .build());
+        }
+
+        return structureBuilder
+                .addItems(fields)
+                .build();
+    }
+
+    private static DbDataDto readData(ByteBuffer buffer, String[] strings, DbDto.Topic topic) {
+        int entryCount = buffer.getInt();
+        List<ContentEntryDto> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            int itemCount = buffer.getInt();
+            List<ContentItemDto> items = new ArrayList<>(itemCount);
+            for (int j = 0; j < itemCount; j++) {
+                int fieldRank = buffer.getInt();
+                boolean bitfield = buffer.get() != 0;
+                items.add(ContentItemDto.builder()
+                        .ofFieldRank(fieldRank)
+                        .withRawValue(readString(buffer, strings))
+                        .bitFieldForTopic(bitfield, bitfield ? topic : null)
+                        .build());
+            }
+            entries.add(ContentEntryDto.builder()
+                    .addItems(items)
+                    .build());
+        }
+
+        return DbDataDto.builder()
+                .forTopic(topic)
+                .addEntries(entries)
+                .build();
+    }
+
+    private static DbResourceDto readResources(ByteBuffer buffer, String[] strings) {
+        DbResourceDto.DbResourceDtoBuilder resourceBuilder = DbResourceDto.builder()
+                .atVersion(readString(buffer, strings))
+                .withCategoryCount(buffer.getInt());
+
+        int entryCount = buffer.getInt();
+        List<ResourceEntryDto> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            String reference = readString(buffer, strings);
+            List<ResourceItemDto> items = new ArrayList<>(LOCALES.length);
+            for (Locale locale : LOCALES) {
+                String value = readString(buffer, strings);
+                if (value == null) {
+                    continue;
+                }
+
+                ResourceItemDto.ItemBuilder itemBuilder = ResourceItemDto.builder();
+                items.add(DEFAULT == locale ?
+                        itemBuilder.withGlobalValue(value).build() :
+                        itemBuilder.withLocale(locale).withValue(value).build());
+            }
+            entries.add(ResourceEntryDto.builder()
+                    .forReference(reference)
+                    .withItems(items)
+                    .build());
+        }
+
+        return resourceBuilder
+                .containingEntries(entries)
+                .build();
+    }
+
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        int index = buffer.getInt();
+        return index == NULL_INDEX ? null : strings[index];
+    }
+}
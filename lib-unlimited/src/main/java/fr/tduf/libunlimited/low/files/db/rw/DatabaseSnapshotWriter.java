@@ -0,0 +1,186 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceItemDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static fr.tduf.libunlimited.low.files.db.rw.DatabaseSnapshotFormat.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Helper class to write loaded database topics to a binary snapshot file, faster to load than JSON files.
+ * See {@link DatabaseSnapshotFormat} for file layout.
+ */
+public class DatabaseSnapshotWriter {
+    private static final String THIS_CLASS_NAME = DatabaseSnapshotWriter.class.getSimpleName();
+
+    private static final Locale[] LOCALES = Locale.values();
+
+    private final List<DbDto> databaseObjects;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    private DatabaseSnapshotWriter(List<DbDto> databaseObjects) {
+        this.databaseObjects = databaseObjects;
+    }
+
+    /**
+     * Single entry point for this writer.
+     * @param databaseObjects   : all topics to be written. Each topic must have structure, data and resources.
+     * @return writer instance.
+     */
+    public static DatabaseSnapshotWriter load(List<DbDto> databaseObjects) {
+        requireNonNull(databaseObjects, "A list of database objects is required.");
+        databaseObjects.forEach(topicObject -> {
+            requireNonNull(topicObject.getStructure(), "Database structure is required.");
+            requireNonNull(topicObject.getData(), "Database contents are required.");
+            requireNonNull(topicObject.getResource(), "Database resources are required.");
+        });
+
+        return new DatabaseSnapshotWriter(databaseObjects);
+    }
+
+    /**
+     * Writes snapshot file. Existing file is replaced only when complete snapshot could be written.
+     * @param snapshotPath      : location of file to create
+     * @param cacheTimestamp    : value to be stored into header, to validate snapshot against source when reading
+     */
+    public void write(Path snapshotPath, long cacheTimestamp) throws IOException {
+        List<byte[]> allTopicBytes = new ArrayList<>(databaseObjects.size());
+        for (DbDto topicObject : databaseObjects) {
+            allTopicBytes.add(writeTopic(topicObject));
+        }
+        byte[] stringTableBytes = writeStringTable();
+
+        int topicsSize = allTopicBytes.stream()
+                .mapToInt(topicBytes -> topicBytes.length)
+                .sum();
+        ByteBuffer fileBuffer = ByteBuffer.allocate(HEADER_SIZE + stringTableBytes.length + 4 + 4 * allTopicBytes.size() + topicsSize);
+        fileBuffer.position(HEADER_SIZE);
+        fileBuffer.put(stringTableBytes);
+        fileBuffer.putInt(allTopicBytes.size());
+        allTopicBytes.forEach(topicBytes -> fileBuffer.putInt(topicBytes.length));
+        allTopicBytes.forEach(fileBuffer::put);
+
+        fileBuffer.position(HEADER_SIZE);
+        int payloadChecksum = computeChecksum(fileBuffer);
+
+        fileBuffer.putInt(HEADER_MAGIC_OFFSET, MAGIC);
+        fileBuffer.putInt(HEADER_VERSION_OFFSET, VERSION);
+        fileBuffer.putLong(HEADER_TIMESTAMP_OFFSET, cacheTimestamp);
+        fileBuffer.putInt(HEADER_PAYLOAD_SIZE_OFFSET, fileBuffer.capacity() - HEADER_SIZE);
+        fileBuffer.putInt(HEADER_CHECKSUM_OFFSET, payloadChecksum);
+
+        Path absoluteSnapshotPath = snapshotPath.toAbsolutePath();
+        Path tempSnapshotPath = Files.createTempFile(absoluteSnapshotPath.getParent(), absoluteSnapshotPath.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tempSnapshotPath, fileBuffer.array());
+            Files.move(tempSnapshotPath, absoluteSnapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempSnapshotPath);
+        }
+
+        Log.debug(THIS_CLASS_NAME, "Written snapshot: " + absoluteSnapshotPath + ", " + strings.size() + " distinct strings, " + fileBuffer.capacity() + " bytes");
+    }
+
+    private byte[] writeTopic(DbDto topicObject) throws IOException {
+        ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(byteOutputStream)) {
+            writeStructure(topicObject.getStructure(), outputStream);
+            writeData(topicObject.getData(), outputStream);
+            writeResources(topicObject.getResource(), outputStream);
+        }
+        return byteOutputStream.toByteArray();
+    }
+
+    private void writeStructure(DbStructureDto structureObject, DataOutputStream outputStream) throws IOException {
+        writeString(structureObject.getRef(), outputStream);
+        outputStream.writeInt(structureObject.getTopic().ordinal());
+        writeString(structureObject.getVersion(), outputStream);
+        outputStream.writeInt(Optional.ofNullable(structureObject.getCategoryCount()).orElse(0));
+
+        outputStream.writeInt(structureObject.getFields().size());
+        for (DbStructureDto.Field field : structureObject.getFields()) {
+            writeString(field.getName(), outputStream);
+            outputStream.writeInt(field.getFieldType() == null ? NULL_INDEX : field.getFieldType().ordinal());
+            writeString(field.getTargetRef(), outputStream);
+            outputStream.writeInt(field.getRank());
+        }
+    }
+
+    private void writeData(DbDataDto dataObject, DataOutputStream outputStream) throws IOException {
+        List<ContentEntryDto> entries = dataObject.getEntries();
+        outputStream.writeInt(entries.size());
+        for (ContentEntryDto entry : entries) {
+            List<ContentItemDto> items = entry.getItems();
+            outputStream.writeInt(items.size());
+            for (ContentItemDto item : items) {
+                outputStream.writeInt(item.getFieldRank());
+                outputStream.writeBoolean(item.isBitfield());
+                writeString(item.getRawValue(), outputStream);
+            }
+        }
+    }
+
+    private void writeResources(DbResourceDto resourceObject, DataOutputStream outputStream) throws IOException {
+        writeString(resourceObject.getVersion(), outputStream);
+        outputStream.writeInt(Optional.ofNullable(resourceObject.getCategoryCount()).orElse(0));
+
+        Collection<ResourceEntryDto> entries = resourceObject.getEntries();
+        outputStream.writeInt(entries.size());
+        for (ResourceEntryDto entry : entries) {
+            writeString(entry.getReference(), outputStream);
+            for (Locale locale : LOCALES) {
+                writeString(entry.getItemForLocale(locale)
+                        .map(ResourceItemDto::getValue)
+                        .orElse(null), outputStream);
+            }
+        }
+    }
+
+    private byte[] writeStringTable() throws IOException {
+        ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(byteOutputStream)) {
+            outputStream.writeInt(strings.size());
+            for (String value : strings) {
+                byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+                outputStream.writeInt(valueBytes.length);
+                outputStream.write(valueBytes);
+            }
+        }
+        return byteOutputStream.toByteArray();
+    }
+
+    private void writeString(String value, DataOutputStream outputStream) throws IOException {
+        if (value == null) {
+            outputStream.writeInt(NULL_INDEX);
+            return;
+        }
+
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            stringIndexes.put(value, index);
+            strings.add(value);
+        }
+        outputStream.writeInt(index);
+    }
+}
@@ -11,8 +11,10 @@ import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -70,6 +72,36 @@ public class DatabaseWriter {
         return writtenFilenames;
     }
 
+    /**
+     * Writes TDU contents file (structure+items, clear) to memory, leaving encryption and storage to caller.
+     * @return contents file bytes, with size multiple of 8
+     */
+    public byte[] writeStructureAndContentsAsBytes() throws IOException {
+        checkPrerequisites(this.databaseDto);
+
+        DbStructureDto dbStructureDto = this.databaseDto.getStructure();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+            writeStructureAndContents(dbStructureDto, this.databaseDto.getData(), getContentsFileName(dbStructureDto.getTopic()), bufferedWriter);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes all TDU resource files to given path (must exist).
+     * @param path location to write resource files
+     * @return a list of written file names, one per locale
+     */
+    public List<String> writeResources(String path) {
+        checkPrerequisites(this.databaseDto);
+
+        DbResourceDto dbResourceDto = databaseDto.getResource();
+        String topicLabel = databaseDto.getTopic().getLabel();
+        return Locale.valuesAsStream()
+                .map(locale -> writeResourcesForLocale(locale, topicLabel, dbResourceDto, path))
+                .collect(toList());
+    }
+
     /**
      * Writes all contents to given path as JSON file .
      * @param path  : location to write db files
@@ -103,24 +135,25 @@ public class DatabaseWriter {
         DbStructureDto dbStructureDto = this.databaseDto.getStructure();
         DbDataDto dbDataDto = this.databaseDto.getData();
 
-        DbDto.Topic currentTopic = dbStructureDto.getTopic();
-
-        String topicLabel = currentTopic.getLabel();
-        String contentsFileName = format("%s.db", topicLabel);
+        String contentsFileName = getContentsFileName(dbStructureDto.getTopic());
 
         Path contentsFilePath = Paths.get(directoryPath, contentsFileName);
         try ( BufferedWriter bufferedWriter = Files.newBufferedWriter(contentsFilePath, StandardCharsets.UTF_8)) {
-            long writtenSize = writeMetaContents(dbStructureDto, contentsFileName, bufferedWriter);
+            writeStructureAndContents(dbStructureDto, dbDataDto, contentsFileName, bufferedWriter);
+        }
+
+        return contentsFilePath.toAbsolutePath().toString();
+    }
 
-            writtenSize += writeStructureContents(dbStructureDto, topicLabel, bufferedWriter);
+    private void writeStructureAndContents(DbStructureDto dbStructureDto, DbDataDto dbDataDto, String contentsFileName, BufferedWriter bufferedWriter) throws IOException {
+        long writtenSize = writeMetaContents(dbStructureDto, contentsFileName, bufferedWriter);
 
-            writtenSize += writeItemContents(dbDataDto, bufferedWriter);
+        writtenSize += writeStructureContents(dbStructureDto, dbStructureDto.getTopic().getLabel(), bufferedWriter);
 
-            // Required for later encryption
-            writePaddingForSizeMultipleOfEight(bufferedWriter, writtenSize);
-        }
+        writtenSize += writeItemContents(dbDataDto, bufferedWriter);
 
-        return contentsFilePath.toAbsolutePath().toString();
+        // Required for later encryption
+        writePaddingForSizeMultipleOfEight(bufferedWriter, writtenSize);
     }
 
     private long writeItemContents(DbDataDto dbDataDto, BufferedWriter bufferedWriter) throws IOException {
@@ -168,12 +201,8 @@ public class DatabaseWriter {
         return writtenSize;
     }
 
-    private List<String> writeResources(String directoryPath) throws IOException {
-        DbResourceDto dbResourceDto = databaseDto.getResource();
-        String topicLabel = databaseDto.getTopic().getLabel();
-        return Locale.valuesAsStream()
-                .map(locale -> writeResourcesForLocale(locale, topicLabel, dbResourceDto, directoryPath))
-                .collect(toList());
+    private static String getContentsFileName(DbDto.Topic topic) {
+        return format("%s.db", topic.getLabel());
     }
 
     private static void checkPrerequisites(DbDto dbDto) {
@@ -68,11 +68,24 @@ public class JsonGateway {
      * @param missingTopicContents      : a list which will contain topic whose contents can't be found.
      */
     public static List<String> gen(String sourceJsonDirectory, String targetDatabaseDirectory, List<DbDto.Topic> missingTopicContents) throws IOException {
+        return gen(sourceJsonDirectory, targetDatabaseDirectory, EnumSet.allOf(DbDto.Topic.class), missingTopicContents);
+    }
+
+    /**
+     * Converts JSON database to TDU extracted files, for specified topics only.
+     * @param sourceJsonDirectory       : directory where JSON files are located
+     * @param targetDatabaseDirectory   : directory where TDU database files will be created
+     * @param topics                    : topics to be converted
+     * @param missingTopicContents      : a list which will contain topic whose contents can't be found.
+     * @return list of written file names.
+     */
+    public static List<String> gen(String sourceJsonDirectory, String targetDatabaseDirectory, Set<DbDto.Topic> topics, List<DbDto.Topic> missingTopicContents) throws IOException {
+        requireNonNull(topics, "A set of topics is required.");
         requireNonNull(missingTopicContents, "A list for missing topics is requried.");
 
         List<String> writtenFileNames = synchronizedList(new ArrayList<>());
         List<DbDto.Topic> missingTopicContentsWhileProcessing = synchronizedList(new ArrayList<>());
-        DbDto.Topic.valuesAsStream()
+        topics.stream()
 
                 .parallel()
 
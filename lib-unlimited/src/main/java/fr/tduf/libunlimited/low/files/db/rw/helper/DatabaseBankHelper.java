@@ -12,6 +12,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static fr.tduf.libunlimited.common.game.FileConstants.FILE_DATABASE_BANK;
 import static fr.tduf.libunlimited.common.game.FileConstants.FORMAT_DATABASE_RES_BANK;
@@ -38,15 +42,30 @@ public class DatabaseBankHelper {
      * @return directory where extracted contents are located for further processing.
      */
     public static String unpackDatabaseFromDirectory(String databaseDirectory, String targetDirectory, BankSupport bankSupport) throws IOException {
+        return unpackDatabaseFromDirectory(databaseDirectory, targetDirectory, bankSupport, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Extracts all TDU database files from specified directory to a temporary location, one bank per task on given executor.
+     * Optionally, prepares further processing by copying original bank files to targetDirectory.
+     *
+     * @param databaseDirectory : directory containing ALL TDU database files
+     * @param targetDirectory   : directory where to copy original bank files, if provided (can be null)
+     * @param bankSupport       : module instance to unpack/repack bnks
+     * @param executor          : runs bank extraction tasks
+     * @return directory where extracted contents are located for further processing.
+     */
+    public static String unpackDatabaseFromDirectory(String databaseDirectory, String targetDirectory, BankSupport bankSupport, Executor executor) throws IOException {
         requireNonNull(databaseDirectory, "A database directory is required.");
         requireNonNull(bankSupport, "A module instance for bank support is required.");
+        requireNonNull(executor, "An executor is required.");
 
         String tempDirectory = createTempDirectory();
 
-        getDatabaseBankFileNames().stream()
-                .parallel()
+        waitForAll(getDatabaseBankFileNames().stream()
                 .map((fileName) -> checkDatabaseFileExists(databaseDirectory, fileName))
-                .forEach((validFileName) -> unpackDatabaseAndGroupFiles(validFileName, tempDirectory, bankSupport));
+                .map((validFileName) -> CompletableFuture.runAsync(() -> unpackDatabaseAndGroupFiles(validFileName, tempDirectory, bankSupport), executor))
+                .collect(toList()));
 
         ofNullable(targetDirectory).ifPresent((directory) -> {
             try {
@@ -68,9 +87,23 @@ public class DatabaseBankHelper {
      * @param bankSupport                   : module instance to unpack/repack bnks
      */
     public static void repackDatabaseFromDirectory(String extractedDatabaseDirectory, String targetDirectory, String originalBanksDirectory, BankSupport bankSupport) {
+        repackDatabaseFromDirectory(extractedDatabaseDirectory, targetDirectory, originalBanksDirectory, bankSupport, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Repacks all TDU database files from specified directory to target location, one bank per task on given executor.
+     * Optionally, copies original bank files from specified location to source cirectory (extractedDatabaseDirectory).
+     * @param extractedDatabaseDirectory    : directory containing ALL database files under extracted form
+     * @param targetDirectory               : directory where to place generated BNK files
+     * @param originalBanksDirectory        : directory where original bank files are kept, if provided
+     * @param bankSupport                   : module instance to unpack/repack bnks
+     * @param executor                      : runs bank repacking tasks
+     */
+    public static void repackDatabaseFromDirectory(String extractedDatabaseDirectory, String targetDirectory, String originalBanksDirectory, BankSupport bankSupport, Executor executor) {
         requireNonNull(extractedDatabaseDirectory, "A database directory is required.");
         requireNonNull(targetDirectory, "A target directory is required.");
         requireNonNull(bankSupport, "A module instance for bank support is required.");
+        requireNonNull(executor, "An executor is required.");
 
         ofNullable(originalBanksDirectory).ifPresent((directory) -> {
             try {
@@ -80,13 +113,13 @@ public class DatabaseBankHelper {
             }
         });
 
-        getDatabaseBankFileNames()
+        waitForAll(getDatabaseBankFileNames()
 
                 .stream()
 
-                .parallel()
+                .map((targetBankFileName) -> CompletableFuture.runAsync(() -> rebuildFileStructureAndRepackDatabase(extractedDatabaseDirectory, targetDirectory, targetBankFileName, bankSupport), executor))
 
-                .forEach((targetBankFileName) -> rebuildFileStructureAndRepackDatabase(extractedDatabaseDirectory, targetDirectory, targetBankFileName, bankSupport));
+                .collect(toList()));
     }
 
     static List<String> getDatabaseBankFileNames() {
@@ -99,6 +132,21 @@ public class DatabaseBankHelper {
         return databaseBankFileNames;
     }
 
+    /**
+     * Waits for completion of all given tasks.
+     * When one of them fails, its runtime exception is rethrown as is.
+     */
+    public static void waitForAll(List<? extends CompletableFuture<?>> tasks) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ce.getCause();
+            }
+            throw ce;
+        }
+    }
+
     private static String createTempDirectory() throws IOException {
         return Files.createTempDirectory("libUnlimited-databaseBank").toString();
     }
@@ -12,8 +12,13 @@ import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import fr.tduf.libunlimited.low.files.db.rw.DatabaseParser;
 import fr.tduf.libunlimited.low.files.db.rw.DatabaseWriter;
 
-import java.io.*;
-import java.nio.file.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,15 +37,12 @@ public class DatabaseReadWriteHelper {
     public static final String FMT_JSON_STRUCTURE_FILE_NAME = "%s.structure.json";
     public static final String FMT_JSON_RESOURCES_FILE_NAME = "%s.resources.json";
 
-    static final String EXTENSION_DB_CONTENTS = "db";
+    public static final String EXTENSION_DB_CONTENTS = "db";
 
     private static final String THIS_CLASS_NAME = DatabaseReadWriteHelper.class.getSimpleName();
 
     private static final String FMT_FILENAME_EXTENSION = "%s.%s";
 
-    private static final String ENCODING_UTF_8 = "UTF-8";
-    private static final String ENCODING_UTF_16 = "UTF-16";
-
     private static final String LINE_ENDING_WINDOWS_CRLF = "\r\n";
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -61,12 +63,12 @@ public class DatabaseReadWriteHelper {
         if (contentsFileName == null) {
             return Optional.empty();
         }
-        contentsFileName = prepareClearContents(contentsFileName, integrityErrors);
-        if (contentsFileName == null) {
+        byte[] clearContents = prepareClearContents(contentsFileName, integrityErrors);
+        if (clearContents == null) {
             return Optional.empty();
         }
 
-        List<String> contentLines = parseTopicContentsFromFile(contentsFileName);
+        List<String> contentLines = parseTopicContentsFromBytes(clearContents);
         if(contentLines.isEmpty()) {
             return Optional.empty();
         }
@@ -150,6 +152,7 @@ public class DatabaseReadWriteHelper {
 
     /**
      * Writes all database contents (+resources) as TDU format from specified topic into outputDirectory.
+     * Contents are encrypted in memory, then written once to their final location.
      * @param dbDto             : topic contents to be written
      * @param outputDirectory   : location of generated files
      * @return a list of written TDU files
@@ -157,9 +160,14 @@ public class DatabaseReadWriteHelper {
     public static List<String> writeDatabaseTopic(DbDto dbDto, String outputDirectory) throws IOException {
 
         DatabaseWriter writer = DatabaseWriter.load(dbDto);
-        List<String> writtenFileNames = writer.writeAll(outputDirectory);
 
-        encryptContents(outputDirectory, writtenFileNames);
+        String contentsFileName = getDatabaseFileName(dbDto.getTopic().getLabel(), outputDirectory, EXTENSION_DB_CONTENTS);
+        byte[] encryptedContents = CryptoHelper.encryptXTEA(writer.writeStructureAndContentsAsBytes(), CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL);
+        Files.write(Paths.get(contentsFileName), encryptedContents);
+
+        List<String> writtenFileNames = new ArrayList<>();
+        writtenFileNames.add(contentsFileName);
+        writtenFileNames.addAll(writer.writeResources(outputDirectory));
 
         return writtenFileNames;
     }
@@ -184,6 +192,35 @@ public class DatabaseReadWriteHelper {
                 .collect(toList());
     }
 
+    /**
+     * Writes database contents (+resources) as JSON format into outputDirectory, only for topics which have been modified
+     * (see {@link DbDto#isModified()}) or whose JSON files do not exist yet.
+     * Correctly written topics are then considered as unmodified.
+     * @param allTopicObjects   : topics contents to be written if necessary
+     * @param outputDirectory   : location of generated file
+     * @return names of correctlty written JSON files.
+     */
+    public static List<String> writeModifiedDatabaseTopicsToJson(List<DbDto> allTopicObjects, String outputDirectory) {
+        return allTopicObjects.stream()
+
+                .parallel()
+
+                .filter(topicObject -> topicObject.isModified()
+                        || !Files.exists(Paths.get(outputDirectory, String.format(FMT_JSON_DATA_FILE_NAME, topicObject.getTopic().getLabel()))))
+
+                .map(topicObject -> {
+                    List<String> writtenFiles = writeDatabaseTopicToJson(topicObject, outputDirectory);
+                    if (!writtenFiles.isEmpty()) {
+                        topicObject.clearModified();
+                    }
+                    return writtenFiles;
+                })
+
+                .flatMap(Collection::stream)
+
+                .collect(toList());
+    }
+
     /**
      * Writes database contents (+resources) as JSON format from specified topic into outputDirectory.
      * @param dbDto             : topic contents to be written
@@ -209,11 +246,11 @@ public class DatabaseReadWriteHelper {
         return Files.createTempDirectory("libUnlimited-databaseRW").toString();
     }
 
-    static List<String> parseTopicContentsFromFile(String contentsFileName) throws FileNotFoundException {
-        return parseLinesInFile(contentsFileName, ENCODING_UTF_8);
+    static List<String> parseTopicContentsFromBytes(byte[] clearContents) {
+        return parseLines(new String(clearContents, StandardCharsets.UTF_8));
     }
 
-    static Map<Locale, List<String>> parseTopicResourcesFromDirectoryAndCheck(DbDto.Topic topic, String databaseDirectory, Set<IntegrityError> integrityErrors) throws FileNotFoundException {
+    static Map<Locale, List<String>> parseTopicResourcesFromDirectoryAndCheck(DbDto.Topic topic, String databaseDirectory, Set<IntegrityError> integrityErrors) {
 
         Map<Locale, List<String>> resourcesLinesByLocale = readLinesFromResourceFiles(databaseDirectory, topic);
 
@@ -263,11 +300,11 @@ public class DatabaseReadWriteHelper {
                     String resourceFileName = getDatabaseFileName(topic.getLabel(), databaseDirectory, currentLocale.getCode());
 
                     try {
-                        List<String> readLines = parseLinesInFile(resourceFileName, ENCODING_UTF_16);
+                        List<String> readLines = parseLinesInFile(resourceFileName, StandardCharsets.UTF_16);
                         resourcesLinesByLocale.put(currentLocale, readLines);
-                    } catch (FileNotFoundException fnfe) {
-                        Log.warn(THIS_CLASS_NAME, "Unable to parse resource file: " + resourceFileName, fnfe);
-                        throw new RuntimeException(fnfe);
+                    } catch (IOException ioe) {
+                        Log.warn(THIS_CLASS_NAME, "Unable to parse resource file: " + resourceFileName, ioe);
+                        throw new RuntimeException(ioe);
                     }
                 });
         return resourcesLinesByLocale;
@@ -316,24 +353,36 @@ public class DatabaseReadWriteHelper {
         return null;
     }
 
-    private static List<String> parseLinesInFile(String fileName, String encoding) throws FileNotFoundException {
-        List<String> resourceLines = new ArrayList<>() ;
+    private static List<String> parseLinesInFile(String fileName, Charset charset) throws IOException {
+        Path inputPath = Paths.get(fileName);
 
-        File inputFile = new File(fileName);
-
-        if (!inputFile.exists()) {
+        if (!Files.exists(inputPath)) {
             // Returns empty contents so far
-            return resourceLines;
+            return new ArrayList<>();
         }
 
-        try (Scanner scanner = new Scanner(inputFile, encoding)) {
-            scanner.useDelimiter(LINE_ENDING_WINDOWS_CRLF);
+        return parseLines(new String(Files.readAllBytes(inputPath), charset));
+    }
 
-            while (scanner.hasNext()) {
-                resourceLines.add(scanner.next());
-            }
-            return resourceLines;
+    /**
+     * Splits text at each CRLF sequence, the same way as a Scanner with CRLF delimiter:
+     * a delimiter at the very beginning is skipped, empty lines are kept, no empty line is returned after final delimiter.
+     */
+    static List<String> parseLines(String text) {
+        List<String> lines = new ArrayList<>();
+
+        int delimiterLength = LINE_ENDING_WINDOWS_CRLF.length();
+        int lineStart = text.startsWith(LINE_ENDING_WINDOWS_CRLF) ? delimiterLength : 0;
+        int lineEnd;
+        while ((lineEnd = text.indexOf(LINE_ENDING_WINDOWS_CRLF, lineStart)) != -1) {
+            lines.add(text.substring(lineStart, lineEnd));
+            lineStart = lineEnd + delimiterLength;
+        }
+        if (lineStart < text.length()) {
+            lines.add(text.substring(lineStart));
         }
+
+        return lines;
     }
 
     private static String getDatabaseFileName(String
@@ -342,15 +391,11 @@ public class DatabaseReadWriteHelper {
         return new File(databaseDirectory, fileName).getAbsolutePath();
     }
 
-    private static String prepareClearContents(String contentsFileName, Set<IntegrityError> integrityErrors) throws IOException {
-        File inputFile = new File(contentsFileName);
-        File outputFile = new File(createTempDirectory(), inputFile.getName());
-
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(Files.readAllBytes(inputFile.toPath()));
+    private static byte[] prepareClearContents(String contentsFileName, Set<IntegrityError> integrityErrors) throws IOException {
+        byte[] encryptedBytes = Files.readAllBytes(Paths.get(contentsFileName));
 
         try {
-            ByteArrayOutputStream outputStream = CryptoHelper.decryptXTEA(inputStream, CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL);
-            Files.write(outputFile.toPath(), outputStream.toByteArray());
+            return CryptoHelper.decryptXTEA(encryptedBytes, CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL);
         } catch (Exception e) {
             Log.warn(THIS_CLASS_NAME, "Can't unencrypt file: " + contentsFileName, e);
 
@@ -364,32 +409,5 @@ public class DatabaseReadWriteHelper {
 
             return null;
         }
-
-        return outputFile.getPath();
-    }
-
-    private static void encryptContents(String outputDirectory, List<String> writtenFileNames) {
-        writtenFileNames.stream()
-
-                .filter(fileName -> fileName.toUpperCase().endsWith(EXTENSION_DB_CONTENTS.toUpperCase()))
-
-                .findFirst()
-
-                .ifPresent(contentsFileName -> {
-                    try {
-                        File inputFile = new File(contentsFileName);
-                        File outputFile = new File(createTempDirectory(), inputFile.getName());
-
-                        ByteArrayInputStream inputStream = new ByteArrayInputStream(Files.readAllBytes(inputFile.toPath()));
-                        ByteArrayOutputStream outputStream = CryptoHelper.encryptXTEA(inputStream, CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL);
-                        Files.write(outputFile.toPath(), outputStream.toByteArray());
-
-                        Path source = outputFile.toPath();
-                        Path target = Paths.get(outputDirectory, source.getFileName().toString());
-                        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-                    } catch (IOException e) {
-                        Log.warn(THIS_CLASS_NAME, "Can't encrypt file: " + contentsFileName, e);
-                    }
-                });
     }
 }
@@ -220,6 +220,11 @@ public class MaterialsParser extends GenericParser<MaterialDefs> {
                 .mapToObj(itemIndex -> String.format(FORMAT_SETTINGS_KEY, groupKeyName, settingKeyName, itemIndex));
     }
 
+    @Override
+    protected DataStore.StorageMode getStorageMode() {
+        return DataStore.StorageMode.COLUMNAR;
+    }
+
     @Override
     public String getStructureResource() {
         return "/files/structures/2DM-map.json";
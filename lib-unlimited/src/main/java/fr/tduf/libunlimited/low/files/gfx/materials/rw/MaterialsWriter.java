@@ -5,6 +5,7 @@ import fr.tduf.libunlimited.low.files.gfx.materials.domain.MaterialDefs;
 import fr.tduf.libunlimited.low.files.gfx.materials.domain.MaterialPiece;
 import fr.tduf.libunlimited.low.files.gfx.materials.domain.MaterialSettings;
 import fr.tduf.libunlimited.low.files.gfx.materials.helper.MaterialsHelper;
+import fr.tduf.libunlimited.low.files.research.domain.DataStore;
 import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
 import fr.tduf.libunlimited.low.files.research.rw.GenericWriter;
 
@@ -97,6 +98,11 @@ public class MaterialsWriter extends GenericWriter<MaterialDefs> {
                 });
     }
 
+    @Override
+    protected DataStore.StorageMode getStorageMode() {
+        return DataStore.StorageMode.COLUMNAR;
+    }
+
     @Override
     public String getStructureResource() {
         return "/files/structures/2DM-map.json";
@@ -5,12 +5,16 @@ import net.objecthunter.exp4j.Expression;
 import net.objecthunter.exp4j.ExpressionBuilder;
 import net.objecthunter.exp4j.operator.Operator;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -19,7 +23,7 @@ import static java.util.Objects.requireNonNull;
 public class FormulaHelper {
 
     private static final String FORMULA_PREFIX = "=" ;
-    private static final String POINTER_FORMAT = "?%s?";
+    private static final String VARIABLE_PREFIX = "ptr";
     private static final Pattern POINTER_PATTERN = Pattern.compile("\\?(\\w+)\\?");     // e.g '?myValue?-?myOtherValue?'
 
     private static final Operator OPERATOR_GREATER_THAN = new Operator(">", 2, true, Operator.PRECEDENCE_ADDITION - 1) {
@@ -42,6 +46,10 @@ public class FormulaHelper {
     };
     private static final List<Operator> CONDITIONAL_OPERATORS = asList(OPERATOR_EQUAL, OPERATOR_LOWER_THAN, OPERATOR_GREATER_THAN);
 
+    // Formulas come from file structures, so their count remains small: each one is only compiled once
+    private static final Map<String, CompiledFormula> COMPILED_FORMULAS = new ConcurrentHashMap<>();
+    private static final Map<String, CompiledFormula> COMPILED_CONDITIONS = new ConcurrentHashMap<>();
+
     /**
      * Evaluates given formula and returns result as integer.
      * @param formula               : formula to be evaluated
@@ -54,14 +62,8 @@ public class FormulaHelper {
             return null;
         }
 
-        if (formula.startsWith(FORMULA_PREFIX)) {
-            formula = formula.substring(1);
-        }
-
-        formula = handlePatternWithStore(formula, potentialRepeaterKey, dataStore);
-
-        Expression expression = new ExpressionBuilder(formula).build();
-        return ((Double) expression.evaluate()).intValue();
+        CompiledFormula compiledFormula = COMPILED_FORMULAS.computeIfAbsent(formula, FormulaHelper::compileFormula);
+        return ((Double) compiledFormula.evaluate(potentialRepeaterKey, dataStore)).intValue();
     }
 
     /**
@@ -76,36 +78,20 @@ public class FormulaHelper {
     public static boolean resolveCondition(String condition, String potentialRepeaterKey, DataStore dataStore) {
         requireNonNull(condition, "Condition to evaluate is required");
 
-        String resolvedCondition = handlePatternWithStore(condition, potentialRepeaterKey, dataStore);
-
-        Expression expression = new ExpressionBuilder(resolvedCondition)
-                .operator(CONDITIONAL_OPERATORS)
-                .build();
-        return expression.evaluate() == 1d;
+        CompiledFormula compiledCondition = COMPILED_CONDITIONS.computeIfAbsent(condition, FormulaHelper::compileCondition);
+        return compiledCondition.evaluate(potentialRepeaterKey, dataStore) == 1d;
     }
 
-    private static String handlePatternWithStore(String formula, String potentialRepeaterKeyPrefix, DataStore dataStore) {
-        Matcher matcher = POINTER_PATTERN.matcher(formula);
-        boolean hasMatch = matcher.find();
-        if (!hasMatch) {
-            return formula;
-        }
-
-        if (dataStore == null) {
-            throw new IllegalArgumentException("A valid datastore is required to compute provided formula.");
-        }
-
-        while (hasMatch) {
-            String pointerReference = matcher.group(1);
-            String dataStoreValue = seekForLongValueInStore(pointerReference, potentialRepeaterKeyPrefix, dataStore);
-            formula = formula.replace(String.format(POINTER_FORMAT, pointerReference), dataStoreValue);
-            hasMatch = matcher.find();
-        }
+    private static CompiledFormula compileFormula(String formula) {
+        String expressionText = formula.startsWith(FORMULA_PREFIX) ? formula.substring(1) : formula;
+        return CompiledFormula.compile(expressionText, emptyList());
+    }
 
-        return formula;
+    private static CompiledFormula compileCondition(String condition) {
+        return CompiledFormula.compile(condition, CONDITIONAL_OPERATORS);
     }
 
-    private static String seekForLongValueInStore(String pointerReference, String potentialRepeaterKeyPrefix, DataStore dataStore) {
+    private static double seekForLongValueInStore(String pointerReference, String potentialRepeaterKeyPrefix, DataStore dataStore) {
         Optional<Long> storedValue = Optional.empty();
         //1. Try to fetch in repeater if specified
         if (potentialRepeaterKeyPrefix != null) {
@@ -117,7 +103,64 @@ public class FormulaHelper {
         }
 
         return storedValue
-                .map(Object::toString)
                 .orElseThrow(() -> new IllegalArgumentException("Such an item does not exist in store: " + pointerReference));
     }
+
+    /**
+     * Expression built once from formula text: each pointer becomes a variable, bound to store value at evaluation time.
+     */
+    private static class CompiledFormula {
+        private final Expression expression;
+        private final List<String> pointerReferences;
+        private final List<String> variableNames;
+        private final double constantResult;
+
+        private CompiledFormula(Expression expression, List<String> pointerReferences, List<String> variableNames) {
+            this.expression = expression;
+            this.pointerReferences = pointerReferences;
+            this.variableNames = variableNames;
+            this.constantResult = pointerReferences.isEmpty() ? expression.evaluate() : Double.NaN;
+        }
+
+        private static CompiledFormula compile(String formula, List<Operator> operators) {
+            List<String> pointerReferences = new ArrayList<>();
+            List<String> variableNames = new ArrayList<>();
+            StringBuffer expressionText = new StringBuffer(formula.length());
+            Matcher matcher = POINTER_PATTERN.matcher(formula);
+            while (matcher.find()) {
+                String pointerReference = matcher.group(1);
+                int variableIndex = pointerReferences.indexOf(pointerReference);
+                if (variableIndex == -1) {
+                    variableIndex = pointerReferences.size();
+                    pointerReferences.add(pointerReference);
+                    variableNames.add(VARIABLE_PREFIX + variableIndex);
+                }
+                matcher.appendReplacement(expressionText, variableNames.get(variableIndex));
+            }
+            matcher.appendTail(expressionText);
+
+            Expression expression = new ExpressionBuilder(expressionText.toString())
+                    .operator(operators)
+                    .variables(variableNames.toArray(new String[0]))
+                    .build();
+            return new CompiledFormula(expression, pointerReferences, variableNames);
+        }
+
+        private double evaluate(String potentialRepeaterKeyPrefix, DataStore dataStore) {
+            if (pointerReferences.isEmpty()) {
+                return constantResult;
+            }
+
+            if (dataStore == null) {
+                throw new IllegalArgumentException("A valid datastore is required to compute provided formula.");
+            }
+
+            // Expression instances hold variable values, so a copy is used for thread safety
+            Expression boundExpression = new Expression(expression);
+            for (int i = 0; i < pointerReferences.size(); i++) {
+                boundExpression.setVariable(variableNames.get(i), seekForLongValueInStore(pointerReferences.get(i), potentialRepeaterKeyPrefix, dataStore));
+            }
+            return boundExpression.evaluate();
+        }
+    }
 }
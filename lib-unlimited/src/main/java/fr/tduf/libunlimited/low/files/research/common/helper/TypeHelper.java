@@ -8,7 +8,6 @@ import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.util.regex.Pattern;
 
-import static fr.tduf.libunlimited.framework.primitives.Ints.asList;
 import static java.lang.Math.min;
 
 /**
@@ -183,6 +182,44 @@ public class TypeHelper {
         return targetArray;
     }
 
+    /**
+     * Reads an INTEGER value directly from a buffer, without sign extension.
+     *
+     * @param source        : buffer holding value
+     * @param offset        : position of first value byte in buffer
+     * @param size          : value size, in bytes (up to 8)
+     * @param littleEndian  : true if value bytes are in little-endian order
+     * @return corresponding value as 64-bit integer, as {@link #rawToInteger(byte[], boolean, int)} would return it for an unsigned value
+     * @throws IllegalArgumentException when provided size is not in 0..8 range
+     */
+    public static long readRawInteger(byte[] source, int offset, int size, boolean littleEndian) throws IllegalArgumentException {
+        if (size < 0 || size > 8) {
+            throw new IllegalArgumentException("Provided size is not compatible to 64-bit: " + size);
+        }
+
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            int byteIndex = littleEndian ? offset + size - 1 - i : offset + i;
+            value = (value << 8) | (source[byteIndex] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Applies sign to an INTEGER value read without sign extension.
+     *
+     * @param rawValue  : value as returned by {@link #readRawInteger(byte[], int, int, boolean)}
+     * @param size      : value size, in bytes
+     * @return corresponding signed value as 64-bit integer
+     * @throws IllegalArgumentException when provided size is not any of 1, 2, 4 or 8 bytes
+     */
+    public static long toSignedInteger(long rawValue, int size) throws IllegalArgumentException {
+        checkRegularSize(size);
+
+        int shift = 64 - size * 8;
+        return (rawValue << shift) >> shift;
+    }
+
     /**
      * Provides a byte array to fit particular size (truncate or fill with zeros).
      *
@@ -253,7 +290,7 @@ public class TypeHelper {
     }
 
     private static void checkRegularSize(int size) {
-        if (!asList(1, 2, 4, 8).contains(size)) {
+        if (size != 1 && size != 2 && size != 4 && size != 8) {
             throw new IllegalArgumentException("Provided size is not any of BYTE(1), SHORT(2), INTEGER(4) or LONG(8): " + size);
         }
     }
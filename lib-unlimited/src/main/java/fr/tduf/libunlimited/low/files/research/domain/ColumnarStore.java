@@ -0,0 +1,333 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Entry storage for {@link DataStore}, keeping values of structure fields in primitive columns instead of one entry per key.
+ * Keys are resolved against a {@link StoreSchema}: each field path owns a column, whose rows are addressed by repeater indexes.
+ * - integers are kept as long values,
+ * - floating point values are kept as their raw bits, so that they can be written back unchanged,
+ * - other values are kept as (buffer, offset, length) slices.
+ * Keys unknown to schema, and values which can't fit into their column, are kept as regular entries.
+ * Entries are only created when requested, through {@link Map} methods.
+ */
+class ColumnarStore extends AbstractMap<String, Entry> {
+    // Inside this class, Entry refers to Map.Entry: store entries are designated by their full name.
+
+    private final StoreSchema schema;
+
+    private final StoreColumn[] columns;
+
+    private final Map<String, fr.tduf.libunlimited.low.files.research.domain.Entry> otherEntries = new HashMap<>();
+
+    private int columnEntryCount;
+
+    private Set<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> entrySet;
+
+    private Set<String> keySet;
+
+    ColumnarStore(StoreSchema schema) {
+        this.schema = requireNonNull(schema, "Store schema is required.");
+        this.columns = new StoreColumn[schema.getFields().size()];
+    }
+
+    @Override
+    public fr.tduf.libunlimited.low.files.research.domain.Entry get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        StoreSchema.FieldAddress address = schema.resolve((String) key);
+        if (address != null) {
+            StoreColumn column = columns[address.getField().getId()];
+            int row = column == null ? -1 : column.findRow(address.getIndexes());
+            if (row != -1) {
+                return column.getEntry(row);
+            }
+        }
+
+        return otherEntries.isEmpty() ? null : otherEntries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+
+        StoreSchema.FieldAddress address = schema.resolve((String) key);
+        if (address != null) {
+            StoreColumn column = columns[address.getField().getId()];
+            if (column != null && column.findRow(address.getIndexes()) != -1) {
+                return true;
+            }
+        }
+
+        return !otherEntries.isEmpty() && otherEntries.containsKey(key);
+    }
+
+    @Override
+    public fr.tduf.libunlimited.low.files.research.domain.Entry put(String key, fr.tduf.libunlimited.low.files.research.domain.Entry entry) {
+        requireNonNull(key, "Key is required.");
+        requireNonNull(entry, "Entry is required.");
+
+        StoreSchema.FieldAddress address = schema.resolve(key);
+        fr.tduf.libunlimited.low.files.research.domain.Entry previousEntry = detach(key, address, true);
+
+        if (address != null && address.getField().getType() == entry.getType()) {
+            StoreColumn column = getOrCreateColumn(address.getField());
+            int row = column.findOrCreateRow(address.getIndexes());
+            if (column.set(row, entry)) {
+                columnEntryCount++;
+                return previousEntry;
+            }
+            column.clear(row);
+        }
+
+        otherEntries.put(key, entry);
+        return previousEntry;
+    }
+
+    /**
+     * Stores a value read from a source buffer, without creating any entry.
+     * Integer and floating point values are decoded, other values are kept as slices of source buffer, which must not be modified afterwards.
+     * @return false if value can't be kept in a column: it has not been stored then.
+     */
+    boolean putFromSource(String key, Type type, boolean signed, int size, byte[] source, int offset, int length, boolean littleEndian) {
+        StoreSchema.FieldAddress address = schema.resolve(key);
+        if (address == null || address.getField().getType() != type) {
+            return false;
+        }
+
+        detach(key, address, false);
+
+        StoreColumn column = getOrCreateColumn(address.getField());
+        int row = column.findOrCreateRow(address.getIndexes());
+        if (column.setFromSource(row, signed, size, source, offset, length, littleEndian)) {
+            columnEntryCount++;
+            return true;
+        }
+        column.clear(row);
+        return false;
+    }
+
+    /**
+     * @return read-only view over raw value with given key, without copying it when kept as a slice; or null if it does not exist
+     */
+    ByteBuffer getRawValueAsBuffer(String key) {
+        StoreSchema.FieldAddress address = schema.resolve(key);
+        if (address != null) {
+            StoreColumn column = columns[address.getField().getId()];
+            int row = column == null ? -1 : column.findRow(address.getIndexes());
+            if (row != -1) {
+                return column.getBuffer(row);
+            }
+        }
+
+        fr.tduf.libunlimited.low.files.research.domain.Entry entry = otherEntries.isEmpty() ? null : otherEntries.get(key);
+        return entry == null ? null : ByteBuffer.wrap(entry.getRawValue()).asReadOnlyBuffer();
+    }
+
+    /**
+     * When current store is empty and source store has same schema, columns are copied as a whole, sharing slices of source buffers.
+     */
+    @Override
+    public void putAll(Map<? extends String, ? extends fr.tduf.libunlimited.low.files.research.domain.Entry> entries) {
+        if (isEmpty() && entries instanceof ColumnarStore && schema.hasSameFields(((ColumnarStore) entries).schema)) {
+            ColumnarStore sourceStore = (ColumnarStore) entries;
+            for (int fieldId = 0; fieldId < columns.length; fieldId++) {
+                StoreColumn sourceColumn = sourceStore.columns[fieldId];
+                columns[fieldId] = sourceColumn == null ? null : sourceColumn.copy();
+            }
+            otherEntries.putAll(sourceStore.otherEntries);
+            columnEntryCount = sourceStore.columnEntryCount;
+            return;
+        }
+
+        super.putAll(entries);
+    }
+
+    @Override
+    public fr.tduf.libunlimited.low.files.research.domain.Entry remove(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        StoreSchema.FieldAddress address = schema.resolve((String) key);
+        if (address != null) {
+            StoreColumn column = columns[address.getField().getId()];
+            int row = column == null ? -1 : column.findRow(address.getIndexes());
+            if (row != -1) {
+                fr.tduf.libunlimited.low.files.research.domain.Entry removedEntry = column.getEntry(row);
+                column.clear(row);
+                columnEntryCount--;
+                return removedEntry;
+            }
+        }
+
+        return otherEntries.isEmpty() ? null : otherEntries.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return columnEntryCount + otherEntries.size();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(columns, null);
+        otherEntries.clear();
+        columnEntryCount = 0;
+    }
+
+    @Override
+    public Set<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>>() {
+                @Override
+                public Iterator<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> iterator() {
+                    return new StoreIterator<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>>() {
+                        @Override
+                        Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry> fromColumn(StoreColumn column, int row) {
+                            return new SimpleImmutableEntry<>(column.getKey(row), column.getEntry(row));
+                        }
+
+                        @Override
+                        Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry> fromOtherEntry(Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry> otherEntry) {
+                            return otherEntry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return ColumnarStore.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Unlike entry set, iterating keys does not create any entry.
+     */
+    @Override
+    public Set<String> keySet() {
+        if (keySet == null) {
+            keySet = new AbstractSet<String>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new StoreIterator<String>() {
+                        @Override
+                        String fromColumn(StoreColumn column, int row) {
+                            return column.getKey(row);
+                        }
+
+                        @Override
+                        String fromOtherEntry(Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry> otherEntry) {
+                            return otherEntry.getKey();
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int size() {
+                    return ColumnarStore.this.size();
+                }
+            };
+        }
+        return keySet;
+    }
+
+    /**
+     * @return count of values held in columns, not as regular entries
+     */
+    int getColumnEntryCount() {
+        return columnEntryCount;
+    }
+
+    /**
+     * Removes value with given key, wherever it is kept.
+     * @return removed value, only when requested to be materialized; null otherwise
+     */
+    private fr.tduf.libunlimited.low.files.research.domain.Entry detach(String key, StoreSchema.FieldAddress address, boolean materialize) {
+        if (address != null) {
+            StoreColumn column = columns[address.getField().getId()];
+            int row = column == null ? -1 : column.findRow(address.getIndexes());
+            if (row != -1) {
+                fr.tduf.libunlimited.low.files.research.domain.Entry previousEntry = materialize ? column.getEntry(row) : null;
+                column.clear(row);
+                columnEntryCount--;
+                return previousEntry;
+            }
+        }
+
+        return otherEntries.isEmpty() ? null : otherEntries.remove(key);
+    }
+
+    private StoreColumn getOrCreateColumn(StoreSchema.SchemaField field) {
+        int fieldId = field.getId();
+        StoreColumn column = columns[fieldId];
+        if (column == null) {
+            column = StoreColumn.create(field);
+            columns[fieldId] = column;
+        }
+        return column;
+    }
+
+    /**
+     * Iterates over column values first, then over regular entries.
+     */
+    private abstract class StoreIterator<T> implements Iterator<T> {
+        private final Iterator<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> otherEntriesIterator = otherEntries.entrySet().iterator();
+        private int columnIndex = -1;
+        private int row = -1;
+
+        StoreIterator() {
+            moveToNextColumnValue();
+        }
+
+        abstract T fromColumn(StoreColumn column, int row);
+
+        abstract T fromOtherEntry(Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry> otherEntry);
+
+        @Override
+        public boolean hasNext() {
+            return columnIndex < columns.length || otherEntriesIterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (columnIndex >= columns.length) {
+                return fromOtherEntry(otherEntriesIterator.next());
+            }
+
+            T nextItem = fromColumn(columns[columnIndex], row);
+            moveToNextColumnValue();
+            return nextItem;
+        }
+
+        private void moveToNextColumnValue() {
+            if (columnIndex >= 0) {
+                row = columns[columnIndex].nextRow(row + 1);
+                if (row != -1) {
+                    return;
+                }
+            }
+
+            do {
+                columnIndex++;
+                row = columnIndex < columns.length && columns[columnIndex] != null ?
+                        columns[columnIndex].nextRow(0) : -1;
+            } while (row == -1 && columnIndex < columns.length);
+        }
+    }
+}
@@ -3,14 +3,13 @@ package fr.tduf.libunlimited.low.files.research.domain;
 import fr.tduf.libunlimited.low.files.research.common.helper.TypeHelper;
 import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import static fr.tduf.libunlimited.common.helper.AssertorHelper.assertSimpleCondition;
 import static fr.tduf.libunlimited.low.files.research.common.helper.TypeHelper.*;
 import static fr.tduf.libunlimited.low.files.research.domain.Type.*;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
@@ -23,18 +22,20 @@ import static java.util.stream.Collectors.toList;
 public class DataStore {
     private static final String REPEATER_FIELD_SEPARATOR = ".";
 
-    private static final Pattern FIELD_NAME_PATTERN = Pattern.compile("^(?:.*\\.)?(.+)$");              // e.g 'entry_list[1].my_field', 'my_field'
-
     private static final String REST_STORE_KEY = "#rest#";
-    private static final String SUB_FIELD_PREFIX_FORMAT = "%s[%d]" + REPEATER_FIELD_SEPARATOR;
-    private static final String SUB_FIELD_WITH_PARENT_KEY_PREFIX_FORMAT = "%s" + SUB_FIELD_PREFIX_FORMAT;
 
-    private final Map<String, Entry> store = new HashMap<>();
+    private final Map<String, Entry> store;
+    private final RepeaterIndex repeaterIndex = new RepeaterIndex();
 
     private final FileStructureDto fileStructure;
     private final int repeatIndex;
+    private final StorageMode storageMode;
+
+    private final LinksContainer linksContainer;
 
-    private final LinksContainer linksContainer = new LinksContainer();
+    // Only set for sub datastores of repeated items
+    private final DataStore parentStore;
+    private final String itemKeyPrefix;
 
     /**
      * Creates a datastore.
@@ -45,6 +46,16 @@ public class DataStore {
         this(fileStructure, -1);
     }
 
+    /**
+     * Creates a datastore, with specified storage.
+     *
+     * @param fileStructure : structure of stored file contents.
+     * @param storageMode   : how values will be kept in memory.
+     */
+    public DataStore(FileStructureDto fileStructure, StorageMode storageMode) {
+        this(fileStructure, -1, storageMode);
+    }
+
     /**
      * Creates a sub datastore for repeated values.
      *
@@ -52,10 +63,35 @@ public class DataStore {
      * @param repeatIndex : 0-based index for repeated values in it.
      */
     public DataStore(FileStructureDto fileStructure, int repeatIndex) {
+        this(fileStructure, repeatIndex, StorageMode.KEYED);
+    }
+
+    private DataStore(FileStructureDto fileStructure, int repeatIndex, StorageMode storageMode) {
         requireNonNull(fileStructure, "File structure must be provided.");
+        requireNonNull(storageMode, "Storage mode must be provided.");
 
         this.fileStructure = fileStructure;
         this.repeatIndex = repeatIndex;
+        this.storageMode = storageMode;
+        this.store = storageMode == StorageMode.COLUMNAR ?
+                new ColumnarStore(new StoreSchema(fileStructure)) : new HashMap<>();
+        this.linksContainer = new LinksContainer();
+        this.parentStore = null;
+        this.itemKeyPrefix = "";
+    }
+
+    /**
+     * Creates a sub datastore as a view over items of parent one: values are not copied, links are shared.
+     * Values added to it do not change parent store.
+     */
+    private DataStore(DataStore parentStore, String itemKeyPrefix, int repeatIndex) {
+        this.fileStructure = parentStore.fileStructure;
+        this.repeatIndex = repeatIndex;
+        this.storageMode = StorageMode.KEYED;
+        this.store = new RepeatedItemStore(parentStore.store, itemKeyPrefix);
+        this.linksContainer = parentStore.linksContainer;
+        this.parentStore = parentStore;
+        this.itemKeyPrefix = itemKeyPrefix;
     }
 
     /**
@@ -63,7 +99,10 @@ public class DataStore {
      */
     public void clearAll() {
         this.store.clear();
-        this.getLinksContainer().clear();
+        this.repeaterIndex.clear();
+        if (parentStore == null) {
+            this.getLinksContainer().clear();
+        }
     }
 
     /**
@@ -77,6 +116,7 @@ public class DataStore {
     public void putEntry(String key, Type type, boolean signed, Integer size, byte[] rawValue) {
         Entry entry = new Entry(type, signed, size == null ? rawValue.length : size, rawValue);
         this.getStore().put(key, entry);
+        this.repeaterIndex.register(key);
     }
 
     /**
@@ -123,6 +163,34 @@ public class DataStore {
         putEntry(fieldName, type, signed, length, rawValue);
     }
 
+    /**
+     * Adds a value read from a source buffer, if type is stor-able.
+     * With columnar storage, value is not copied: integer and floating point values are decoded, other values are kept as slices of source buffer.
+     * Source buffer must not be modified afterwards.
+     * @param fieldName     : identifier of field hosting the value, should not exist already
+     * @param type          : value type
+     * @param signed        : indicates if value is signed or not (only applicable to integer data type)
+     * @param length        : size of value, in bytes (can be null)
+     * @param source        : buffer holding value
+     * @param offset        : position of first value byte in buffer
+     * @param sourceLength  : count of value bytes in buffer
+     * @param littleEndian  : true if numeric value bytes are in little-endian order
+     */
+    public void addValueFromSource(String fieldName, Type type, boolean signed, Integer length, byte[] source, int offset, int sourceLength, boolean littleEndian) {
+        if (!type.isValueToBeStored()) {
+            return;
+        }
+
+        int size = length == null ? sourceLength : length;
+        if (store instanceof ColumnarStore
+                && ((ColumnarStore) store).putFromSource(fieldName, type, signed, size, source, offset, sourceLength, littleEndian)) {
+            repeaterIndex.register(fieldName);
+            return;
+        }
+
+        putEntry(fieldName, type, signed, size, toRawValue(type, source, offset, sourceLength, littleEndian));
+    }
+
     /**
      * Adds provided bytes to the store, as remaining value.
      * @param rawValue  : value to store
@@ -299,6 +367,21 @@ public class DataStore {
                 .map(Entry::getRawValue);
     }
 
+    /**
+     * Returns all bytes from the store, as a read-only buffer.
+     * Unlike {@link #getRawValue(String)}, value is not copied when kept as a slice of source buffer.
+     *
+     * @param fieldName : identifier of field hosting the value
+     * @return a view over stored raw value whose key match provided identifier, or empty if it does not exist
+     */
+    public Optional<ByteBuffer> getRawValueAsBuffer(String fieldName) {
+        if (store instanceof ColumnarStore) {
+            return ofNullable(((ColumnarStore) store).getRawValueAsBuffer(fieldName));
+        }
+        return getRawValue(fieldName)
+                .map(rawValue -> ByteBuffer.wrap(rawValue).asReadOnlyBuffer());
+    }
+
     /**
      * Returns all remaining bytes from the store.
      *
@@ -315,11 +398,11 @@ public class DataStore {
      * @return the stored value whose key match provided identifier, or empty if it does not exist
      */
     public Optional<String> getText(String fieldName) {
-        if (!this.store.containsKey(fieldName)) {
+        Entry entry = this.store.get(fieldName);
+        if (entry == null) {
             return Optional.empty();
         }
 
-        Entry entry = this.store.get(fieldName);
         checkEntryType(fieldName, entry, TEXT);
 
         byte[] rawValue = entry.getRawValue();
@@ -334,11 +417,11 @@ public class DataStore {
      * @return the stored value whose key match provided identifier, or empty if it does not exist
      */
     public Optional<Long> getInteger(String fieldName) {
-        if (!this.store.containsKey(fieldName)) {
+        Entry entry = this.store.get(fieldName);
+        if (entry == null) {
             return Optional.empty();
         }
 
-        Entry entry = this.store.get(fieldName);
         checkEntryType(fieldName, entry, INTEGER);
 
         return of(
@@ -352,11 +435,11 @@ public class DataStore {
      * @return the stored value whose key match provided identifier, or empty if it does not exist
      */
     public Optional<Float> getFloatingPoint(String fieldName) {
-        if (!this.store.containsKey(fieldName)) {
+        Entry entry = this.store.get(fieldName);
+        if (entry == null) {
             return Optional.empty();
         }
 
-        Entry entry = this.store.get(fieldName);
         checkEntryType(fieldName, entry, FPOINT);
 
         return of(
@@ -367,16 +450,10 @@ public class DataStore {
      * Returns a list of numeric integer values from the store.
      *
      * @param fieldName : name of field to search
-     * @return all stored values whose key match provided identifier
+     * @return all stored values whose key match provided identifier, in structure order
      */
     public List<Long> getIntegerListOf(String fieldName) {
-
-        return store.keySet().stream()
-                .filter(key -> {
-                    Matcher matcher = FIELD_NAME_PATTERN.matcher(key);
-                    return matcher.matches() && matcher.group(1).equals(fieldName);
-                })
-                .map(this.store::get)
+        return getEntriesOfField(fieldName).stream()
                 .map(storeEntry -> TypeHelper.rawToInteger(storeEntry.getRawValue(), storeEntry.isSigned(), storeEntry.getSize()))
                 .collect(toList());
     }
@@ -385,15 +462,11 @@ public class DataStore {
      * Returns a list of numeric floating point values from the store.
      *
      * @param fieldName : name of field to search
-     * @return all stored values whose key match provided identifier
+     * @return all stored values whose key match provided identifier, in structure order
      */
     public List<Float> getFloatingPointListOf(String fieldName) {
-        return store.keySet().stream()
-                .filter(key -> {
-                    Matcher matcher = FIELD_NAME_PATTERN.matcher(key);
-                    return matcher.matches() && matcher.group(1).equals(fieldName);
-                })
-                .map(key -> this.store.get(key).getRawValue())
+        return getEntriesOfField(fieldName).stream()
+                .map(Entry::getRawValue)
                 .map(TypeHelper::rawToFloatingPoint)
                 .collect(toList());
     }
@@ -409,39 +482,19 @@ public class DataStore {
 
     /**
      * Returns sub-DataStores of items contained by a repeater field under parent repeater(s) (level 2+).
+     * Sub-DataStores are views over current store: values are not copied, and changes to current store are visible in them.
      *
      * @param repeaterFieldName : name of repeater field
      * @param parentRepeaterKey : key of parent repeater(s), e.g "lvl1[0].lvl2[1]."
      */
     public List<DataStore> getRepeatedValues(String repeaterFieldName, String parentRepeaterKey) {
-        Map<Integer, List<String>> groupedKeysByIndex = store.keySet().stream()
-                .filter(key -> key.startsWith(parentRepeaterKey + repeaterFieldName))
-                .collect(Collectors.groupingBy(key -> {
-                    int repeaterFieldPosition = key.indexOf(repeaterFieldName);
-                    int indexPositionStart = key.indexOf("[", repeaterFieldPosition);
-                    int indexPositionEnd = key.indexOf("]", indexPositionStart);
-
-                    if (indexPositionStart == indexPositionEnd || indexPositionStart == -1 || indexPositionEnd == -1) {
-                        return 0;
-                    }
-
-                    String lastIndexAsString = key.substring(indexPositionStart + 1, indexPositionEnd);
-                    return Integer.parseInt(lastIndexAsString);
-                }));
-
-        List<DataStore> repeatedValues = createEmptyList(groupedKeysByIndex.size(), this.getFileStructure());
-
-        for (Map.Entry<Integer, List<String>> entry: groupedKeysByIndex.entrySet()) {
-            int currentIndex = entry.getKey();
-            DataStore subDataStore = repeatedValues.get(currentIndex);
-
-            for (String key : entry.getValue()) {
-                String parentKey = String.format(SUB_FIELD_WITH_PARENT_KEY_PREFIX_FORMAT, parentRepeaterKey, repeaterFieldName, currentIndex);
-                subDataStore.getStore().put(key.replace(parentKey, ""), store.get(key)); // extracts field name part
-                subDataStore.getLinksContainer().populateFromDatastore(this);
-            }
-        }
+        String repeaterKey = parentRepeaterKey + repeaterFieldName;
+        BitSet itemIndexes = getItemIndexes(repeaterKey);
 
+        List<DataStore> repeatedValues = new ArrayList<>(itemIndexes.cardinality());
+        itemIndexes.stream()
+                .forEach(itemIndex -> repeatedValues.add(
+                        new DataStore(this, generateKeyPrefixForRepeatedField(repeaterKey, itemIndex), itemIndex)));
         return repeatedValues;
     }
 
@@ -463,6 +516,7 @@ public class DataStore {
         Map<Integer, String> otherLinkTargets = otherStore.getLinksContainer().getTargets();
 
         this.getStore().putAll(otherStore.getStore());
+        this.registerKeysOf(otherStore);
         currentLinksContainer.getSources().putAll(otherLinkSources);
         currentLinksContainer.getTargets().putAll(otherLinkTargets);
     }
@@ -471,8 +525,9 @@ public class DataStore {
      * @return a full copy of data store instance.
      */
     public DataStore copy() {
-        DataStore clone = new DataStore(fileStructure, repeatIndex);
+        DataStore clone = new DataStore(fileStructure, repeatIndex, storageMode);
         clone.getStore().putAll(copyAllEntries(store));
+        clone.registerKeysOf(this);
         return clone;
     }
 
@@ -508,10 +563,9 @@ public class DataStore {
      */
     public boolean repeaterHasSubItems(String repeaterFieldName, String parentRepeaterKey) {
         requireNonNull(repeaterFieldName, "Repeater field name is required");
-        requireNonNull(repeaterFieldName, "Parent repeater key is required (may be empty)");
+        requireNonNull(parentRepeaterKey, "Parent repeater key is required (may be empty)");
 
-        return parentRepeaterKey.isEmpty() || getStore().keySet().parallelStream()
-                .anyMatch(k -> k.startsWith(parentRepeaterKey + repeaterFieldName));
+        return parentRepeaterKey.isEmpty() || hasItems(parentRepeaterKey + repeaterFieldName);
     }
 
     /**
@@ -534,10 +588,11 @@ public class DataStore {
      * @return a prefix allowing to parse sub-fields.
      */
     public static String generateKeyPrefixForRepeatedField(String repeaterFieldName, long index, String parentRepeaterKey) {
+        String keyPrefix = repeaterFieldName + '[' + index + ']' + REPEATER_FIELD_SEPARATOR;
         if (parentRepeaterKey != null && !parentRepeaterKey.isEmpty()) {
-            return String.format(SUB_FIELD_WITH_PARENT_KEY_PREFIX_FORMAT, parentRepeaterKey, repeaterFieldName, index);
+            return parentRepeaterKey + keyPrefix;
         }
-        return String.format(SUB_FIELD_PREFIX_FORMAT, repeaterFieldName, index);
+        return keyPrefix;
     }
 
     private static String generateKeyForRepeatedField(String repeaterFieldName, String repeatedFieldName, long index) {
@@ -545,14 +600,104 @@ public class DataStore {
         return keyPrefix + repeatedFieldName;
     }
 
-    private static List<DataStore> createEmptyList(int size, FileStructureDto fileStructure) {
-        List<DataStore> list = new ArrayList<>(size);
+    /**
+     * @return indexes of items in repeater with given key, including the ones from parent store if visible
+     */
+    private BitSet getItemIndexes(String repeaterKey) {
+        BitSet itemIndexes = new BitSet();
+        collectItemIndexes(repeaterKey, itemIndexes);
+        return itemIndexes;
+    }
+
+    private void collectItemIndexes(String repeaterKey, BitSet itemIndexes) {
+        repeaterIndex.collectItemIndexes(repeaterKey, itemIndexes);
+        if (isParentStoreVisible()) {
+            parentStore.collectItemIndexes(itemKeyPrefix + repeaterKey, itemIndexes);
+        }
+    }
+
+    private boolean hasItems(String repeaterKey) {
+        return repeaterIndex.hasItems(repeaterKey)
+                || isParentStoreVisible() && parentStore.hasItems(itemKeyPrefix + repeaterKey);
+    }
+
+    private boolean isParentStoreVisible() {
+        return parentStore != null && ((RepeatedItemStore) store).isParentVisible();
+    }
 
-        for (int i = 0; i < size; i++) {
-            list.add(new DataStore(fileStructure, i));
+    private void registerKeysOf(DataStore sourceStore) {
+        if (sourceStore.parentStore == null) {
+            repeaterIndex.addAll(sourceStore.repeaterIndex);
+        } else {
+            sourceStore.store.keySet().forEach(repeaterIndex::register);
         }
+    }
 
-        return list;
+    /**
+     * @return entries of all fields with given name, walking structure through indexed repeater items
+     */
+    private List<Entry> getEntriesOfField(String fieldName) {
+        List<String> keys = new ArrayList<>();
+        collectKeysOfField(getStructureFields(), "", fieldName, keys);
+
+        return keys.stream()
+                .map(store::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
+    private void collectKeysOfField(List<FileStructureDto.Field> fields, String parentKey, String fieldName, List<String> keys) {
+        for (FileStructureDto.Field field : fields) {
+            String key = parentKey + field.getName();
+            if (REPEATER == field.getType()) {
+                if (field.getSubFields() != null) {
+                    getItemIndexes(key).stream()
+                            .forEach(itemIndex -> collectKeysOfField(field.getSubFields(), generateKeyPrefixForRepeatedField(key, itemIndex), fieldName, keys));
+                }
+            } else if (fieldName.equals(field.getName())) {
+                keys.add(key);
+            }
+        }
+    }
+
+    /**
+     * @return structure fields of current store: sub fields of repeater for a sub datastore
+     */
+    private List<FileStructureDto.Field> getStructureFields() {
+        if (parentStore == null) {
+            return ofNullable(fileStructure.getFields()).orElse(emptyList());
+        }
+
+        List<FileStructureDto.Field> fields = parentStore.getStructureFields();
+        int position = 0;
+        while (position < itemKeyPrefix.length()) {
+            int indexStart = itemKeyPrefix.indexOf('[', position);
+            int indexEnd = itemKeyPrefix.indexOf(']', indexStart);
+            if (indexStart == -1 || indexEnd == -1) {
+                return emptyList();
+            }
+
+            String repeaterName = itemKeyPrefix.substring(position, indexStart);
+            fields = fields.stream()
+                    .filter(field -> REPEATER == field.getType() && repeaterName.equals(field.getName()))
+                    .findAny()
+                    .map(FileStructureDto.Field::getSubFields)
+                    .orElse(emptyList());
+            position = indexEnd + 1 + REPEATER_FIELD_SEPARATOR.length();
+        }
+        return fields;
+    }
+
+    private static byte[] toRawValue(Type type, byte[] source, int offset, int sourceLength, boolean littleEndian) {
+        if (INTEGER == type) {
+            return integerToRaw(readRawInteger(source, offset, sourceLength, littleEndian));
+        }
+
+        byte[] rawValue = Arrays.copyOfRange(source, offset, offset + sourceLength);
+        if (FPOINT == type && littleEndian) {
+            return changeEndianType(rawValue);
+        }
+        return rawValue;
     }
 
     private static Map<String, Entry> copyAllEntries(Map<String, Entry> store) {
@@ -581,4 +726,23 @@ public class DataStore {
         return linksContainer;
     }
 
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Describes how values are kept in memory.
+     */
+    public enum StorageMode {
+        /**
+         * One entry per field key: suitable for small files, or stores being built.
+         */
+        KEYED,
+        /**
+         * Values of each structure field in a primitive column, rows being addressed by repeater indexes:
+         * suitable for large files with many repeated items.
+         */
+        COLUMNAR
+    }
+
 }
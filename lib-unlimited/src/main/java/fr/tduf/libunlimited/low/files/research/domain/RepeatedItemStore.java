@@ -0,0 +1,121 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Entry storage for sub {@link DataStore} of a repeated item: entries are read from parent store, without being copied.
+ * Keys are relative to item, e.g 'my_field' for 'entry_list[1].my_field' in parent store.
+ * Entries put here are kept apart, so that parent store is never changed; once cleared, parent entries are not visible anymore.
+ * Lookups are direct, whereas iterating requires scanning parent keys.
+ */
+class RepeatedItemStore extends AbstractMap<String, Entry> {
+    // Inside this class, Entry refers to Map.Entry: store entries are designated by their full name.
+
+    private final Map<String, fr.tduf.libunlimited.low.files.research.domain.Entry> parentStore;
+    private final String itemKeyPrefix;
+
+    private final Map<String, fr.tduf.libunlimited.low.files.research.domain.Entry> ownEntries = new HashMap<>();
+
+    private boolean parentVisible = true;
+
+    private Set<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> entrySet;
+
+    RepeatedItemStore(Map<String, fr.tduf.libunlimited.low.files.research.domain.Entry> parentStore, String itemKeyPrefix) {
+        this.parentStore = requireNonNull(parentStore, "Parent store is required.");
+        this.itemKeyPrefix = requireNonNull(itemKeyPrefix, "Item key prefix is required.");
+    }
+
+    @Override
+    public fr.tduf.libunlimited.low.files.research.domain.Entry get(Object key) {
+        fr.tduf.libunlimited.low.files.research.domain.Entry ownEntry = ownEntries.get(key);
+        if (ownEntry != null || !parentVisible || !(key instanceof String)) {
+            return ownEntry;
+        }
+        return parentStore.get(itemKeyPrefix + key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (ownEntries.containsKey(key)) {
+            return true;
+        }
+        return parentVisible && key instanceof String && parentStore.containsKey(itemKeyPrefix + key);
+    }
+
+    @Override
+    public fr.tduf.libunlimited.low.files.research.domain.Entry put(String key, fr.tduf.libunlimited.low.files.research.domain.Entry entry) {
+        requireNonNull(key, "Key is required.");
+        requireNonNull(entry, "Entry is required.");
+
+        fr.tduf.libunlimited.low.files.research.domain.Entry previousEntry = ownEntries.put(key, entry);
+        if (previousEntry == null && parentVisible) {
+            return parentStore.get(itemKeyPrefix + key);
+        }
+        return previousEntry;
+    }
+
+    @Override
+    public int size() {
+        int size = ownEntries.size();
+        if (parentVisible) {
+            for (String parentKey : parentStore.keySet()) {
+                if (parentKey.startsWith(itemKeyPrefix) && !ownEntries.containsKey(parentKey.substring(itemKeyPrefix.length()))) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        ownEntries.clear();
+        parentVisible = false;
+    }
+
+    @Override
+    public Set<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>>() {
+                @Override
+                public Iterator<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> iterator() {
+                    return collectEntries().iterator();
+                }
+
+                @Override
+                public int size() {
+                    return RepeatedItemStore.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * @return false if store has been cleared: entries of parent store are not visible anymore
+     */
+    boolean isParentVisible() {
+        return parentVisible;
+    }
+
+    private List<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> collectEntries() {
+        List<Entry<String, fr.tduf.libunlimited.low.files.research.domain.Entry>> entries = new ArrayList<>(ownEntries.size());
+        ownEntries.forEach((key, entry) -> entries.add(new SimpleImmutableEntry<>(key, entry)));
+
+        if (parentVisible) {
+            for (String parentKey : parentStore.keySet()) {
+                if (!parentKey.startsWith(itemKeyPrefix)) {
+                    continue;
+                }
+                String key = parentKey.substring(itemKeyPrefix.length());
+                if (!ownEntries.containsKey(key)) {
+                    entries.add(new SimpleImmutableEntry<>(key, parentStore.get(parentKey)));
+                }
+            }
+        }
+
+        return Collections.unmodifiableList(entries);
+    }
+}
@@ -0,0 +1,97 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Item indexes of repeaters, maintained by {@link DataStore} as values are added.
+ * A repeater key is the part of a store key before an item index, e.g 'lvl1[0].lvl2' and 'lvl1' for 'lvl1[0].lvl2[1].number'.
+ */
+class RepeaterIndex {
+    private static final char INDEX_START = '[';
+    private static final char INDEX_END = ']';
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    private final Map<String, BitSet> itemIndexesByRepeaterKey = new HashMap<>();
+
+    // Keys are mostly added item after item: item part of last registered key is kept, not to register it again.
+    private String lastItemKey;
+
+    /**
+     * Registers all repeater items given key belongs to. Keys without valid item indexes are ignored.
+     */
+    void register(String key) {
+        int itemKeyLength = key.lastIndexOf(INDEX_END) + 1;
+        if (itemKeyLength == 0) {
+            return;
+        }
+        if (lastItemKey != null && lastItemKey.length() == itemKeyLength && key.startsWith(lastItemKey)) {
+            return;
+        }
+
+        int indexStart = key.indexOf(INDEX_START);
+        while (indexStart != -1 && indexStart < itemKeyLength) {
+            int indexEnd = key.indexOf(INDEX_END, indexStart);
+            int index = parseIndex(key, indexStart + 1, indexEnd);
+            if (index == -1) {
+                return;
+            }
+
+            itemIndexesByRepeaterKey.computeIfAbsent(key.substring(0, indexStart), k -> new BitSet())
+                    .set(index);
+
+            indexStart = key.indexOf(INDEX_START, indexEnd);
+        }
+
+        lastItemKey = key.substring(0, itemKeyLength);
+    }
+
+    /**
+     * Adds item indexes of repeater with given key to provided set.
+     */
+    void collectItemIndexes(String repeaterKey, BitSet itemIndexes) {
+        BitSet currentItemIndexes = itemIndexesByRepeaterKey.get(repeaterKey);
+        if (currentItemIndexes != null) {
+            itemIndexes.or(currentItemIndexes);
+        }
+    }
+
+    /**
+     * @return true if repeater with given key has at least one item
+     */
+    boolean hasItems(String repeaterKey) {
+        BitSet itemIndexes = itemIndexesByRepeaterKey.get(repeaterKey);
+        return itemIndexes != null && !itemIndexes.isEmpty();
+    }
+
+    /**
+     * Adds all items from other index to current one.
+     */
+    void addAll(RepeaterIndex otherIndex) {
+        otherIndex.itemIndexesByRepeaterKey.forEach((repeaterKey, itemIndexes) ->
+                itemIndexesByRepeaterKey.computeIfAbsent(repeaterKey, k -> new BitSet())
+                        .or(itemIndexes));
+    }
+
+    void clear() {
+        itemIndexesByRepeaterKey.clear();
+        lastItemKey = null;
+    }
+
+    private static int parseIndex(String key, int start, int end) {
+        if (end == -1 || end == start || end - start > MAX_INDEX_DIGITS) {
+            return -1;
+        }
+
+        int index = 0;
+        for (int position = start; position < end; position++) {
+            char currentChar = key.charAt(position);
+            if (currentChar < '0' || currentChar > '9') {
+                return -1;
+            }
+            index = index * 10 + (currentChar - '0');
+        }
+        return index;
+    }
+}
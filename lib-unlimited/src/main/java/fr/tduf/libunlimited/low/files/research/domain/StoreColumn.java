@@ -0,0 +1,450 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import fr.tduf.libunlimited.low.files.research.common.helper.TypeHelper;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static fr.tduf.libunlimited.low.files.research.domain.Type.FPOINT;
+import static fr.tduf.libunlimited.low.files.research.domain.Type.INTEGER;
+
+/**
+ * Values of a schema field, for all repeater indexes.
+ * Rows at depth 0 and 1 are directly addressed (by repeater index); deeper rows are allocated through a tree of parent indexes.
+ */
+abstract class StoreColumn {
+    private static final int INITIAL_ROW_CAPACITY = 16;
+    private static final int INTEGER_RAW_SIZE = 8;
+    private static final byte SIGNED_FLAG = (byte) 0x80;
+    private static final int MAX_FLAGGED_SIZE = 0x7F;
+
+    private final StoreSchema.SchemaField field;
+    private final BitSet presentRows = new BitSet();
+
+    private Object[] rowTree;
+    private int[] rowAddresses;
+    private int allocatedRowCount;
+
+    StoreColumn(StoreSchema.SchemaField field) {
+        this.field = field;
+    }
+
+    /**
+     * @return true if value could be stored into column
+     */
+    abstract boolean set(int row, Entry entry);
+
+    /**
+     * Stores value read from a source buffer. Depending on column type, value is decoded or kept as a slice of this buffer.
+     * @return true if value could be stored into column
+     */
+    abstract boolean setFromSource(int row, boolean signed, int size, byte[] source, int offset, int length, boolean littleEndian);
+
+    abstract Entry getEntry(int row);
+
+    abstract void ensureCapacity(int rowCount);
+
+    /**
+     * @return column with same values: slices of source buffers are shared, not copied
+     */
+    abstract StoreColumn copy();
+
+    /**
+     * @return read-only view over raw value
+     */
+    ByteBuffer getBuffer(int row) {
+        return ByteBuffer.wrap(getEntry(row).getRawValue()).asReadOnlyBuffer();
+    }
+
+    void clear(int row) {
+        presentRows.clear(row);
+    }
+
+    int findRow(int[] indexes) {
+        int row = locateRow(indexes, false);
+        return row != -1 && presentRows.get(row) ? row : -1;
+    }
+
+    int findOrCreateRow(int[] indexes) {
+        int row = locateRow(indexes, true);
+        ensureCapacity(row + 1);
+        return row;
+    }
+
+    int nextRow(int fromRow) {
+        return presentRows.nextSetBit(fromRow);
+    }
+
+    void markPresent(int row) {
+        presentRows.set(row);
+    }
+
+    String getKey(int row) {
+        int depth = field.getDepth();
+        if (depth == 0) {
+            return field.getPath();
+        }
+        if (depth == 1) {
+            return field.toKey(new int[] { row });
+        }
+        return field.toKey(Arrays.copyOfRange(rowAddresses, row * depth, (row + 1) * depth));
+    }
+
+    <C extends StoreColumn> C copyRowsTo(C targetColumn) {
+        StoreColumn column = targetColumn;
+        column.presentRows.or(presentRows);
+        column.rowTree = rowTree == null ? null : copyRowTree(rowTree);
+        column.rowAddresses = rowAddresses == null ? null : rowAddresses.clone();
+        column.allocatedRowCount = allocatedRowCount;
+        return targetColumn;
+    }
+
+    static int grow(int currentCapacity, int rowCount) {
+        return Math.max(rowCount, Math.max(INITIAL_ROW_CAPACITY, currentCapacity + (currentCapacity >> 1)));
+    }
+
+    private int locateRow(int[] indexes, boolean create) {
+        int depth = field.getDepth();
+        if (depth == 0) {
+            return 0;
+        }
+        if (depth == 1) {
+            return indexes[0];
+        }
+
+        if (rowTree == null) {
+            if (!create) {
+                return -1;
+            }
+            rowTree = new Object[0];
+        }
+
+        Object[] node = rowTree;
+        Object[] parentNode = null;
+        int parentIndex = -1;
+        for (int level = 0; level < depth - 1; level++) {
+            int index = indexes[level];
+            if (index >= node.length) {
+                if (!create) {
+                    return -1;
+                }
+                node = Arrays.copyOf(node, index + 1);
+                if (parentNode == null) {
+                    rowTree = node;
+                } else {
+                    parentNode[parentIndex] = node;
+                }
+            }
+
+            if (level == depth - 2) {
+                return locateLeafRow(node, index, indexes, create);
+            }
+
+            if (node[index] == null) {
+                if (!create) {
+                    return -1;
+                }
+                node[index] = new Object[0];
+            }
+            parentNode = node;
+            parentIndex = index;
+            node = (Object[]) node[index];
+        }
+        throw new IllegalStateException("Unreachable row tree level");
+    }
+
+    private int locateLeafRow(Object[] node, int nodeIndex, int[] indexes, boolean create) {
+        int depth = field.getDepth();
+        int lastIndex = indexes[depth - 1];
+
+        int[] rowsByLastIndex = (int[]) node[nodeIndex];
+        if (rowsByLastIndex == null || lastIndex >= rowsByLastIndex.length) {
+            if (!create) {
+                return -1;
+            }
+            int[] newRows = new int[lastIndex + 1];
+            Arrays.fill(newRows, -1);
+            if (rowsByLastIndex != null) {
+                System.arraycopy(rowsByLastIndex, 0, newRows, 0, rowsByLastIndex.length);
+            }
+            rowsByLastIndex = newRows;
+            node[nodeIndex] = rowsByLastIndex;
+        }
+
+        int row = rowsByLastIndex[lastIndex];
+        if (row == -1 && create) {
+            row = allocatedRowCount++;
+            rowsByLastIndex[lastIndex] = row;
+
+            if (rowAddresses == null) {
+                rowAddresses = new int[INITIAL_ROW_CAPACITY * depth];
+            } else if ((row + 1) * depth > rowAddresses.length) {
+                rowAddresses = Arrays.copyOf(rowAddresses, grow(rowAddresses.length / depth, row + 1) * depth);
+            }
+            System.arraycopy(indexes, 0, rowAddresses, row * depth, depth);
+        }
+        return row;
+    }
+
+    private static Object[] copyRowTree(Object[] node) {
+        Object[] nodeCopy = node.clone();
+        for (int i = 0; i < nodeCopy.length; i++) {
+            if (nodeCopy[i] instanceof Object[]) {
+                nodeCopy[i] = copyRowTree((Object[]) nodeCopy[i]);
+            } else if (nodeCopy[i] instanceof int[]) {
+                nodeCopy[i] = ((int[]) nodeCopy[i]).clone();
+            }
+        }
+        return nodeCopy;
+    }
+
+    StoreSchema.SchemaField getField() {
+        return field;
+    }
+
+    static StoreColumn create(StoreSchema.SchemaField field) {
+        switch (field.getType()) {
+            case INTEGER:
+                return new IntegerColumn(field);
+            case FPOINT:
+                return new FloatingPointColumn(field);
+            default:
+                return new BytesColumn(field);
+        }
+    }
+
+    private static byte toFlags(boolean signed, int size) {
+        return (byte) (signed ? size | SIGNED_FLAG : size);
+    }
+
+    private static boolean isSigned(byte flags) {
+        return (flags & SIGNED_FLAG) != 0;
+    }
+
+    private static int getSize(byte flags) {
+        return flags & MAX_FLAGGED_SIZE;
+    }
+
+    /**
+     * Integer values, as long.
+     */
+    private static class IntegerColumn extends StoreColumn {
+        private long[] values = new long[0];
+        private byte[] flags = new byte[0];
+
+        IntegerColumn(StoreSchema.SchemaField field) {
+            super(field);
+        }
+
+        @Override
+        boolean set(int row, Entry entry) {
+            byte[] rawValue = entry.getRawValue();
+            int size = entry.getSize();
+            if (rawValue.length != INTEGER_RAW_SIZE || size < 0 || size > MAX_FLAGGED_SIZE) {
+                return false;
+            }
+
+            long value = 0;
+            for (byte rawByte : rawValue) {
+                value = (value << 8) | (rawByte & 0xFF);
+            }
+            values[row] = value;
+            flags[row] = toFlags(entry.isSigned(), size);
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        boolean setFromSource(int row, boolean signed, int size, byte[] source, int offset, int length, boolean littleEndian) {
+            if (length > INTEGER_RAW_SIZE || size < 0 || size > MAX_FLAGGED_SIZE) {
+                return false;
+            }
+
+            values[row] = TypeHelper.readRawInteger(source, offset, length, littleEndian);
+            flags[row] = toFlags(signed, size);
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        Entry getEntry(int row) {
+            byte[] rawValue = new byte[INTEGER_RAW_SIZE];
+            long value = values[row];
+            for (int i = INTEGER_RAW_SIZE - 1; i >= 0; i--) {
+                rawValue[i] = (byte) value;
+                value >>>= 8;
+            }
+            return new Entry(INTEGER, isSigned(flags[row]), getSize(flags[row]), rawValue);
+        }
+
+        @Override
+        void ensureCapacity(int rowCount) {
+            if (rowCount > values.length) {
+                int capacity = grow(values.length, rowCount);
+                values = Arrays.copyOf(values, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+        }
+
+        @Override
+        StoreColumn copy() {
+            IntegerColumn columnCopy = copyRowsTo(new IntegerColumn(getField()));
+            columnCopy.values = values.clone();
+            columnCopy.flags = flags.clone();
+            return columnCopy;
+        }
+    }
+
+    /**
+     * 16-bit or 32-bit floating point values, as raw bits.
+     */
+    private static class FloatingPointColumn extends StoreColumn {
+        private int[] bits = new int[0];
+        private byte[] flags = new byte[0];
+
+        FloatingPointColumn(StoreSchema.SchemaField field) {
+            super(field);
+        }
+
+        @Override
+        boolean set(int row, Entry entry) {
+            byte[] rawValue = entry.getRawValue();
+            int size = entry.getSize();
+            if ((rawValue.length != 2 && rawValue.length != 4) || size != rawValue.length) {
+                return false;
+            }
+
+            int value = 0;
+            for (byte rawByte : rawValue) {
+                value = (value << 8) | (rawByte & 0xFF);
+            }
+            bits[row] = value;
+            flags[row] = toFlags(entry.isSigned(), size);
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        boolean setFromSource(int row, boolean signed, int size, byte[] source, int offset, int length, boolean littleEndian) {
+            if ((length != 2 && length != 4) || size != length) {
+                return false;
+            }
+
+            bits[row] = (int) TypeHelper.readRawInteger(source, offset, length, littleEndian);
+            flags[row] = toFlags(signed, size);
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        Entry getEntry(int row) {
+            int size = getSize(flags[row]);
+            byte[] rawValue = new byte[size];
+            int value = bits[row];
+            for (int i = size - 1; i >= 0; i--) {
+                rawValue[i] = (byte) value;
+                value >>>= 8;
+            }
+            return new Entry(FPOINT, isSigned(flags[row]), size, rawValue);
+        }
+
+        @Override
+        void ensureCapacity(int rowCount) {
+            if (rowCount > bits.length) {
+                int capacity = grow(bits.length, rowCount);
+                bits = Arrays.copyOf(bits, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+        }
+
+        @Override
+        StoreColumn copy() {
+            FloatingPointColumn columnCopy = copyRowsTo(new FloatingPointColumn(getField()));
+            columnCopy.bits = bits.clone();
+            columnCopy.flags = flags.clone();
+            return columnCopy;
+        }
+    }
+
+    /**
+     * Text, delimiter and unknown values, as slices of byte buffers: source buffers are kept, values are only copied when requested as entries.
+     */
+    private static class BytesColumn extends StoreColumn {
+        private byte[][] buffers = new byte[0][];
+        private int[] offsets = new int[0];
+        private int[] lengths = new int[0];
+        private int[] sizes = new int[0];
+        private BitSet signedRows = new BitSet();
+
+        BytesColumn(StoreSchema.SchemaField field) {
+            super(field);
+        }
+
+        @Override
+        boolean set(int row, Entry entry) {
+            byte[] rawValue = entry.getRawValue();
+            buffers[row] = rawValue;
+            offsets[row] = 0;
+            lengths[row] = rawValue.length;
+            sizes[row] = entry.getSize();
+            signedRows.set(row, entry.isSigned());
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        boolean setFromSource(int row, boolean signed, int size, byte[] source, int offset, int length, boolean littleEndian) {
+            buffers[row] = source;
+            offsets[row] = offset;
+            lengths[row] = length;
+            sizes[row] = size;
+            signedRows.set(row, signed);
+            markPresent(row);
+            return true;
+        }
+
+        @Override
+        void clear(int row) {
+            super.clear(row);
+            buffers[row] = null;
+        }
+
+        @Override
+        Entry getEntry(int row) {
+            byte[] buffer = buffers[row];
+            int offset = offsets[row];
+            int length = lengths[row];
+            byte[] rawValue = offset == 0 && length == buffer.length ?
+                    buffer : Arrays.copyOfRange(buffer, offset, offset + length);
+            return new Entry(getField().getType(), signedRows.get(row), sizes[row], rawValue);
+        }
+
+        @Override
+        ByteBuffer getBuffer(int row) {
+            return ByteBuffer.wrap(buffers[row], offsets[row], lengths[row]).slice().asReadOnlyBuffer();
+        }
+
+        @Override
+        void ensureCapacity(int rowCount) {
+            if (rowCount > buffers.length) {
+                int capacity = grow(buffers.length, rowCount);
+                buffers = Arrays.copyOf(buffers, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+        }
+
+        @Override
+        StoreColumn copy() {
+            BytesColumn columnCopy = copyRowsTo(new BytesColumn(getField()));
+            columnCopy.buffers = buffers.clone();
+            columnCopy.offsets = offsets.clone();
+            columnCopy.lengths = lengths.clone();
+            columnCopy.sizes = sizes.clone();
+            columnCopy.signedRows = (BitSet) signedRows.clone();
+            return columnCopy;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static fr.tduf.libunlimited.low.files.research.domain.Type.REPEATER;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Interned field paths of a file structure, used by {@link ColumnarStore} to address values.
+ * A field path is a store key without repeater indexes, e.g 'entry_list[].my_field' for 'entry_list[1234].my_field'.
+ */
+class StoreSchema {
+    private static final char INDEX_START = '[';
+    private static final char INDEX_END = ']';
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    private final Map<String, SchemaField> fieldsByPath = new HashMap<>();
+    private final List<SchemaField> fields = new ArrayList<>();
+
+    StoreSchema(FileStructureDto fileStructure) {
+        requireNonNull(fileStructure, "File structure must be provided.");
+
+        Set<String> conflictingPaths = new HashSet<>();
+        registerFields(fileStructure.getFields(), "", 0, conflictingPaths);
+        conflictingPaths.forEach(fieldsByPath::remove);
+
+        fieldsByPath.values().stream()
+                .sorted((field1, field2) -> field1.path.compareTo(field2.path))
+                .forEach(field -> {
+                    field.id = fields.size();
+                    fields.add(field);
+                });
+    }
+
+    /**
+     * @return location of value with given key in schema, or null if key does not match any field of structure
+     */
+    FieldAddress resolve(String key) {
+        int keyLength = key.length();
+        StringBuilder pathBuilder = new StringBuilder(keyLength);
+        int[] indexes = null;
+        int depth = 0;
+
+        int position = 0;
+        while (position < keyLength) {
+            char currentChar = key.charAt(position);
+            pathBuilder.append(currentChar);
+            position++;
+
+            if (currentChar != INDEX_START) {
+                continue;
+            }
+
+            int index = 0;
+            int digitCount = 0;
+            while (position < keyLength && isDigit(key.charAt(position))) {
+                if (++digitCount > MAX_INDEX_DIGITS) {
+                    return null;
+                }
+                index = index * 10 + (key.charAt(position) - '0');
+                position++;
+            }
+            if (digitCount == 0 || position == keyLength || key.charAt(position) != INDEX_END) {
+                return null;
+            }
+
+            if (indexes == null) {
+                indexes = new int[2];
+            } else if (depth == indexes.length) {
+                int[] newIndexes = new int[depth * 2];
+                System.arraycopy(indexes, 0, newIndexes, 0, depth);
+                indexes = newIndexes;
+            }
+            indexes[depth++] = index;
+        }
+
+        SchemaField field = fieldsByPath.get(pathBuilder.toString());
+        if (field == null || field.depth != depth) {
+            return null;
+        }
+        return new FieldAddress(field, indexes == null ? new int[0] : indexes);
+    }
+
+    /**
+     * @return true if both schemas have same field paths and types, hence same field identifiers
+     */
+    boolean hasSameFields(StoreSchema otherSchema) {
+        if (this == otherSchema) {
+            return true;
+        }
+        if (fields.size() != otherSchema.fields.size()) {
+            return false;
+        }
+
+        for (int fieldId = 0; fieldId < fields.size(); fieldId++) {
+            SchemaField field = fields.get(fieldId);
+            SchemaField otherField = otherSchema.fields.get(fieldId);
+            if (!field.path.equals(otherField.path) || field.type != otherField.type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<SchemaField> getFields() {
+        return fields;
+    }
+
+    private void registerFields(List<FileStructureDto.Field> structureFields, String parentPath, int depth, Set<String> conflictingPaths) {
+        if (structureFields == null) {
+            return;
+        }
+
+        for (FileStructureDto.Field structureField : structureFields) {
+            String name = structureField.getName();
+            Type type = structureField.getType();
+            if (name == null || type == null) {
+                continue;
+            }
+
+            String path = parentPath + name;
+            if (REPEATER == type) {
+                registerFields(structureField.getSubFields(), path + INDEX_START + INDEX_END + '.', depth + 1, conflictingPaths);
+            } else if (type.isValueToBeStored()) {
+                SchemaField existingField = fieldsByPath.putIfAbsent(path, new SchemaField(path, type, depth));
+                if (existingField != null && existingField.type != type) {
+                    conflictingPaths.add(path);
+                }
+            }
+        }
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    /**
+     * Field of structure whose values are to be stored.
+     */
+    static class SchemaField {
+        private final String path;
+        private final Type type;
+        private final int depth;
+        private final String[] pathParts;
+
+        private int id;
+
+        private SchemaField(String path, Type type, int depth) {
+            this.path = path;
+            this.type = type;
+            this.depth = depth;
+            this.pathParts = path.split("\\[]", -1);
+        }
+
+        /**
+         * @return full store key of this field, for given repeater indexes
+         */
+        String toKey(int[] indexes) {
+            if (depth == 0) {
+                return path;
+            }
+
+            StringBuilder keyBuilder = new StringBuilder(path.length() + depth * 4);
+            keyBuilder.append(pathParts[0]);
+            for (int level = 0; level < depth; level++) {
+                keyBuilder
+                        .append(INDEX_START)
+                        .append(indexes[level])
+                        .append(INDEX_END)
+                        .append(pathParts[level + 1]);
+            }
+            return keyBuilder.toString();
+        }
+
+        int getId() {
+            return id;
+        }
+
+        Type getType() {
+            return type;
+        }
+
+        int getDepth() {
+            return depth;
+        }
+
+        String getPath() {
+            return path;
+        }
+    }
+
+    /**
+     * Location of a value: field in schema and repeater indexes (one per repeater level).
+     */
+    static class FieldAddress {
+        private final SchemaField field;
+        private final int[] indexes;
+
+        private FieldAddress(SchemaField field, int[] indexes) {
+            this.field = field;
+            this.indexes = indexes;
+        }
+
+        SchemaField getField() {
+            return field;
+        }
+
+        int[] getIndexes() {
+            return indexes;
+        }
+    }
+}
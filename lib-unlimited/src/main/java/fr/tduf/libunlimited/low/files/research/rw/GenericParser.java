@@ -13,16 +13,18 @@ import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
-import static fr.tduf.libunlimited.common.helper.AssertorHelper.assertSimpleCondition;
 import static fr.tduf.libunlimited.low.files.research.domain.Type.*;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Helper to read files whose file structure is available as separate asset.
  * Make it possible to extract values from them.
+ * Values are read in place from (decrypted) input buffer, which must not be modified while parser is in use.
  */
 public abstract class GenericParser<T> implements StructureBasedProcessor {
     private static final String THIS_CLASS_NAME = GenericParser.class.getSimpleName();
@@ -39,6 +41,12 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
 
     private final StringBuilder dumpBuilder = new StringBuilder();
 
+    private final Map<String, byte[]> constantValuesCache = new HashMap<>();
+
+    private boolean dumpEnabled;
+
+    private boolean dumpAvailable;
+
     protected GenericParser(XByteArrayInputStream inputStream) throws IOException {
         requireNonNull(inputStream, "Data stream is required");
 
@@ -49,21 +57,24 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
             fileStructure = StructureHelper.retrieveStructureFromLocation(getStructureResource());
         }
 
-        this.dataStore = new DataStore(fileStructure);
+        this.dataStore = new DataStore(fileStructure, getStorageMode());
         this.inputStream = StructureHelper.decryptIfNeeded(inputStream, fileStructure.getCryptoMode());
     }
 
     /**
      * Extracts file contents according to provided structure.
+     * Human-readable dump is not built, see {@link #parse(boolean)}.
      */
     public T parse() {
-        dataStore.clearAll();
-        dumpBuilder.setLength(0);
-        inputStream.reset();
-
-        readFields(getFileStructure().getFields(), "");
+        return parse(false);
+    }
 
-        dataStore.getLinksContainer().validate();
+    /**
+     * Extracts file contents according to provided structure.
+     * @param withDump : true to build human-readable dump at the same time, available afterwards via {@link #dump()}
+     */
+    public T parse(boolean withDump) {
+        readContents(withDump);
 
         return generate();
     }
@@ -71,8 +82,12 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
     /**
      * Returns parsed contents of current file.
      * @return a String with all entries.
+     * @throws IllegalStateException when last parse did not build the dump.
      */
     public String dump() {
+        if (!dumpAvailable) {
+            throw new IllegalStateException("No dump available: contents must be parsed with dump first");
+        }
         return this.dumpBuilder.toString();
     }
 
@@ -88,6 +103,27 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
      */
     protected abstract T generate();
 
+    /**
+     * @return how parsed values are to be kept in memory. Columnar storage is advised for files with many repeated items:
+     * it does not copy values from input buffer.
+     */
+    protected DataStore.StorageMode getStorageMode() {
+        return DataStore.StorageMode.KEYED;
+    }
+
+    private void readContents(boolean withDump) {
+        dataStore.clearAll();
+        dumpBuilder.setLength(0);
+        inputStream.reset();
+        dumpEnabled = withDump;
+
+        readFields(getFileStructure().getFields(), "");
+
+        dataStore.getLinksContainer().validate();
+
+        dumpAvailable = withDump;
+    }
+
     ReadResult readRawValue(Integer length) {
         int availableBytes = inputStream.available();
         if (availableBytes == 0 && length != null) {
@@ -100,10 +136,7 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
             throw new IllegalArgumentException("Invalid raw value size supplied: " + length);
         }
 
-        byte[] readValueAsBytes = new byte[actualSize];
-        long parsedCount = inputStream.read(readValueAsBytes, 0, actualSize);
-
-        return new ReadResult(parsedCount, readValueAsBytes);
+        return readSlice(actualSize);
     }
 
     private void readFields(List<FileStructureDto.Field> fields, String repeaterKey) {
@@ -122,13 +155,17 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
             Integer length = FormulaHelper.resolveToInteger(field.getSizeFormula(), repeaterKey, dataStore);
             ReadResult readResult = readAndDumpValue(key, field, length);
 
-            String messageFormat = "Structure mismatch for field key: %s (%s) - expected length : %d, parsed: %d";
             long parsedCount = readResult.parsedCount;
             Type type = field.getType();
-            assertSimpleCondition(() -> length == null || parsedCount == length,
-                    String.format(messageFormat, key, type.toString(), length, parsedCount));
+            if (length != null && parsedCount != length) {
+                String messageFormat = "Structure mismatch for field key: %s (%s) - expected length : %d, parsed: %d";
+                throw new IllegalStateException(String.format(messageFormat, key, type.toString(), length, parsedCount));
+            }
 
-            dataStore.addValue(key, type, field.isSigned(), length, readResult.readValueAsBytes);
+            if (readResult.source != null) {
+                dataStore.addValueFromSource(key, type, field.isSigned(), length,
+                        readResult.source, readResult.offset, readResult.getLength(), getFileStructure().isLittleEndian());
+            }
         }
 
         // Handle remaining bytes at level 0
@@ -143,52 +180,71 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
             Log.debug(THIS_CLASS_NAME, String.format("Parsing@0x%08X (%d) bytes...", currentPosition, currentPosition));
         }
 
+        boolean dumping = isDumping();
         ReadResult readResult;
         Type type = field.getType();
         switch(type) {
             case GAP:
                 readResult = jumpGap(field, length);
-                dumpGap(length, key);
+                if (dumping) {
+                    dumpGap(length, key);
+                }
                 break;
 
             case INTEGER:
                 readResult = readIntegerValue(length);
-                long readValue = TypeHelper.rawToInteger(readResult.readValueAsBytes, field.isSigned(), length);
+                if (field.isLinkSource() || dumping) {
+                    long readValue = getIntegerValue(readResult, field.isSigned(), length);
 
-                // Links handling
-                if (field.isLinkSource()) {
-                    handleLinkSource(key, (int) readValue);
-                }
+                    // Links handling
+                    if (field.isLinkSource()) {
+                        handleLinkSource(key, (int) readValue);
+                    }
 
-                dumpIntegerValue(field, readResult.readValueAsBytes, readValue, length, key);
+                    if (dumping) {
+                        dumpIntegerValue(field, TypeHelper.integerToRaw(getRawIntegerValue(readResult)), readValue, length, key);
+                    }
+                }
                 break;
 
             case FPOINT:
                 readResult = readFloatingPointValue(length);
-                dumpFloatingPointValue(readResult.readValueAsBytes, length, key);
+                if (dumping) {
+                    dumpFloatingPointValue(getFloatingPointBytes(readResult), length, key);
+                }
                 break;
 
             case DELIMITER:
             case TEXT:
                 readResult = readDelimiterOrTextValue(length);
-                dumpDelimiterOrTextValue(readResult.readValueAsBytes, length, key, type);
+                if (dumping) {
+                    dumpDelimiterOrTextValue(readResult.getReadValueAsBytes(), length, key, type);
+                }
                 break;
 
             case UNKNOWN:
                 readResult = readRawValue(length);
-                dumpRawValue(readResult.readValueAsBytes, length, key);
+                if (dumping) {
+                    dumpRawValue(readResult.getReadValueAsBytes(), length, key);
+                }
                 break;
 
             case CONSTANT:
                 readResult = readConstantValue(field);
-                dumpConstantValue(readResult.readValueAsBytes, field.getConstantValue(), key);
+                if (dumping) {
+                    dumpConstantValue(readResult.getReadValueAsBytes(), field.getConstantValue(), key);
+                }
                 break;
 
             case REPEATER:
                 boolean isLinkTarget = field.isLinkTarget();
-                dumpRepeaterStart(key, isLinkTarget);
+                if (dumping) {
+                    dumpRepeaterStart(key, isLinkTarget);
+                }
                 readResult = readRepeatedValues(field, length, key);
-                dumpRepeaterFinish(key, readResult, isLinkTarget);
+                if (dumping) {
+                    dumpRepeaterFinish(key, readResult, isLinkTarget);
+                }
                 break;
 
             default:
@@ -221,71 +277,82 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
     }
 
     private ReadResult jumpGap(FileStructureDto.Field fieldSettings, Integer length) {
-        byte[] gapValue = new byte[length];
-        return readConstantValue(fieldSettings, gapValue);
-    }
-
-    private ReadResult readIntegerValue(Integer length) {
-        byte[] readValueAsBytes = new byte[8]; // Prepare long values
-        long parsedCount;
+        ReadResult readResult = readSlice(length);
 
-        if (this.getFileStructure().isLittleEndian()) {
-            parsedCount = inputStream.read(readValueAsBytes, 0, length);
-            readValueAsBytes = TypeHelper.changeEndianType(readValueAsBytes);
-        } else {
-            parsedCount = inputStream.read(readValueAsBytes, 8-length, length);
+        if (fieldSettings.isConstantChecked()) {
+            for (int i = 0; i < readResult.getLength(); i++) {
+                if (readResult.source[readResult.offset + i] != 0) {
+                    throwConstantCheckFailure(fieldSettings, new byte[length], readResult);
+                }
+            }
         }
 
-        return new ReadResult(parsedCount, readValueAsBytes);
+        return readResult;
     }
 
-    private ReadResult readFloatingPointValue(Integer length) {
-        byte[] readValueAsBytes = new byte[length];
-        long parsedCount = inputStream.read(readValueAsBytes, 0, length);
-
-        if (this.getFileStructure().isLittleEndian()) {
-            readValueAsBytes = TypeHelper.changeEndianType(readValueAsBytes);
-        }
+    private ReadResult readIntegerValue(Integer length) {
+        return readSlice(length);
+    }
 
-        return new ReadResult(parsedCount, readValueAsBytes);
+    private ReadResult readFloatingPointValue(Integer length) {
+        return readSlice(length);
     }
 
     private ReadResult readDelimiterOrTextValue(Integer length) {
-        byte[] readValueAsBytes = new byte[length];
-        long parsedCount = inputStream.read(readValueAsBytes, 0, length);
-
-        return new ReadResult(parsedCount, readValueAsBytes);
+        return readSlice(length);
     }
 
     private ReadResult readConstantValue(FileStructureDto.Field fieldSettings) {
-        String constantValue = fieldSettings.getConstantValue();
-        byte[] expectedValueAsBytes = TypeHelper.hexRepresentationToByteArray(constantValue);
-
-        return readConstantValue(fieldSettings, expectedValueAsBytes);
-    }
-
-    private ReadResult readConstantValue(FileStructureDto.Field fieldSettings, byte[] expectedValueAsBytes) {
+        byte[] expectedValueAsBytes = constantValuesCache.computeIfAbsent(fieldSettings.getConstantValue(), TypeHelper::hexRepresentationToByteArray);
         requireNonNull(expectedValueAsBytes, "Expected values as byte array must be provided");
 
-        byte[] readValueAsBytes = new byte[expectedValueAsBytes.length];
-        long parsedCount = inputStream.read(readValueAsBytes, 0, readValueAsBytes.length);
+        ReadResult readResult = readSlice(expectedValueAsBytes.length);
 
         // Perform check
         if (fieldSettings.isConstantChecked()) {
-            if (!Arrays.equals(expectedValueAsBytes, readValueAsBytes)) {
-                String actualValueAsString = TypeHelper.byteArrayToHexRepresentation(readValueAsBytes);
-                String expectedValueAsString = TypeHelper.byteArrayToHexRepresentation(expectedValueAsBytes);
-                throw new IllegalStateException(String.format("Constant check failed for field: %s - expected: %s, read: %s", fieldSettings.getName(), expectedValueAsString, actualValueAsString));
+            int readLength = readResult.getLength();
+            for (int i = 0; i < expectedValueAsBytes.length; i++) {
+                byte readByte = i < readLength ? readResult.source[readResult.offset + i] : 0;
+                if (readByte != expectedValueAsBytes[i]) {
+                    throwConstantCheckFailure(fieldSettings, expectedValueAsBytes, readResult);
+                }
             }
         }
 
-        return new ReadResult(parsedCount, readValueAsBytes);
+        return readResult;
+    }
+
+    private ReadResult readSlice(int length) {
+        int offset = inputStream.position();
+        long parsedCount = inputStream.available() == 0 ? -1 : inputStream.skip(length);
+        return new ReadResult(parsedCount, inputStream.getBuffer(), offset);
+    }
+
+    private long getRawIntegerValue(ReadResult readResult) {
+        return TypeHelper.readRawInteger(readResult.source, readResult.offset, readResult.getLength(), getFileStructure().isLittleEndian());
+    }
+
+    private long getIntegerValue(ReadResult readResult, boolean signed, int length) {
+        long rawValue = getRawIntegerValue(readResult);
+        return signed ? TypeHelper.toSignedInteger(rawValue, length) : rawValue;
+    }
+
+    private byte[] getFloatingPointBytes(ReadResult readResult) {
+        byte[] readValueAsBytes = readResult.getReadValueAsBytes();
+        return getFileStructure().isLittleEndian() ? TypeHelper.changeEndianType(readValueAsBytes) : readValueAsBytes;
     }
 
     private void readAndStoreRemainingBytes() {
         FileStructureDto.Field unknownField = FileStructureDto.Field.builder().withType(UNKNOWN).build();
         ReadResult readResult = readAndDumpValue("#rest#(remaining bytes)", unknownField, inputStream.available());
-        dataStore.addRemainingValue(readResult.readValueAsBytes);
+        dataStore.addRemainingValue(readResult.getReadValueAsBytes());
+    }
+
+    private static void throwConstantCheckFailure(FileStructureDto.Field fieldSettings, byte[] expectedValueAsBytes, ReadResult readResult) {
+        byte[] readValueAsBytes = Arrays.copyOf(readResult.getReadValueAsBytes(), expectedValueAsBytes.length);
+        String actualValueAsString = TypeHelper.byteArrayToHexRepresentation(readValueAsBytes);
+        String expectedValueAsString = TypeHelper.byteArrayToHexRepresentation(expectedValueAsBytes);
+        throw new IllegalStateException(String.format("Constant check failed for field: %s - expected: %s, read: %s", fieldSettings.getName(), expectedValueAsString, actualValueAsString));
     }
 
     private void handleLinkSource(String fieldKey, int targetAddress) {
@@ -382,8 +449,14 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
         updateDump(currentDump);
     }
 
+    private boolean isDumping() {
+        return dumpEnabled || Log.DEBUG;
+    }
+
     private void updateDump(String dumpExtract) {
-        dumpBuilder.append(dumpExtract);
+        if (dumpEnabled) {
+            dumpBuilder.append(dumpExtract);
+        }
         if (Log.DEBUG) {
             Log.debug(THIS_CLASS_NAME, dumpExtract);
         }
@@ -403,23 +476,35 @@ public abstract class GenericParser<T> implements StructureBasedProcessor {
     }
 
     /**
-     * Encapsulates result of reading in stream
+     * Encapsulates result of reading in stream: location of read bytes in source buffer, if any
      */
     static class ReadResult {
-        private final byte[] readValueAsBytes;
+        private final byte[] source;
+        private final int offset;
         private final long parsedCount;
 
-        ReadResult(long parsedCount, byte[] readValueAsBytes) {
-            this.readValueAsBytes = readValueAsBytes;
+        ReadResult(long parsedCount, byte[] source, int offset) {
+            this.source = source;
+            this.offset = offset;
             this.parsedCount = parsedCount;
         }
 
         ReadResult(long parsedCount) {
-            this(parsedCount, new byte[0]);
+            this(parsedCount, null, 0);
+        }
+
+        /**
+         * @return count of read bytes in source buffer
+         */
+        int getLength() {
+            return source == null ? 0 : (int) Math.max(0, parsedCount);
         }
 
+        /**
+         * @return a copy of read bytes
+         */
         byte[] getReadValueAsBytes() {
-            return this.readValueAsBytes;
+            return source == null ? new byte[0] : Arrays.copyOfRange(source, offset, offset + getLength());
         }
     }
 }
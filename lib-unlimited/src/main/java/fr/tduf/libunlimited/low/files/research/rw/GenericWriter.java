@@ -1,7 +1,7 @@
 package fr.tduf.libunlimited.low.files.research.rw;
 
 import com.esotericsoftware.minlog.Log;
-import fr.tduf.libunlimited.common.helper.AssertorHelper;
+import fr.tduf.libunlimited.framework.io.XByteArrayOutputStream;
 import fr.tduf.libunlimited.low.files.research.common.helper.FormulaHelper;
 import fr.tduf.libunlimited.low.files.research.common.helper.StructureHelper;
 import fr.tduf.libunlimited.low.files.research.common.helper.TypeHelper;
@@ -11,22 +11,34 @@ import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static fr.tduf.libunlimited.common.helper.AssertorHelper.assertSimpleCondition;
+import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Helper to write files whose file structure is available as separate asset.
+ * Values are written straight from the store: with columnar storage, slices of a parsed buffer are copied back as is.
  */
 public abstract class GenericWriter<T> implements StructureBasedProcessor {
     private static final String THIS_CLASS_NAME = GenericWriter.class.getSimpleName();
 
+    private static final int TRANSFER_BUFFER_SIZE = 4096;
+    private static final byte[] ZERO_BYTES = new byte[TRANSFER_BUFFER_SIZE];
+
     private final DataStore dataStore;
 
     private final T data;
 
+    private final byte[] transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+
+    private final Map<String, byte[]> constantValuesCache = new HashMap<>();
+
     protected GenericWriter(T data) throws IOException {
         requireNonNull(data, "Data is required");
 
@@ -38,7 +50,7 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
         }
 
         this.data = data;
-        this.dataStore = new DataStore(fileStructure);
+        this.dataStore = new DataStore(fileStructure, getStorageMode());
     }
 
     /**
@@ -50,7 +62,7 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
 
         fillStore();
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        XByteArrayOutputStream outputStream = new XByteArrayOutputStream();
         FileStructureDto fileStructure = getFileStructure();
         writeFields(fileStructure.getFields(), outputStream, "");
 
@@ -62,7 +74,14 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
      */
     protected abstract void fillStore();
 
-    private void writeFields(List<FileStructureDto.Field> fields, ByteArrayOutputStream outputStream, String repeaterKey) throws IOException {
+    /**
+     * @return how values are to be kept in memory. Columnar storage is advised when store is filled from a parsed one, see {@link DataStore#merge(DataStore)}.
+     */
+    protected DataStore.StorageMode getStorageMode() {
+        return DataStore.StorageMode.KEYED;
+    }
+
+    private void writeFields(List<FileStructureDto.Field> fields, XByteArrayOutputStream outputStream, String repeaterKey) {
         for(FileStructureDto.Field field : fields) {
 
             // Check for satisfied condition first
@@ -74,7 +93,7 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
                 continue;
             }
 
-            byte[] valueBytes = retrieveValueFromStore(field, repeaterKey);
+            ByteBuffer valueBuffer = retrieveValueFromStore(field, repeaterKey);
             Integer length = FormulaHelper.resolveToInteger(field.getSizeFormula(), repeaterKey, this.dataStore);
 
             Type type = field.getType();
@@ -86,20 +105,20 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
                 case UNKNOWN:
                 case DELIMITER:
                 case TEXT:
-                    writeRawValue(valueBytes, length, outputStream);
+                    writeRawValue(valueBuffer, length, outputStream);
                     break;                
                     
                 case CONSTANT:
-                    valueBytes = TypeHelper.hexRepresentationToByteArray(field.getConstantValue());
-                    writeRawValue(valueBytes, valueBytes.length, outputStream);
+                    byte[] constantBytes = constantValuesCache.computeIfAbsent(field.getConstantValue(), TypeHelper::hexRepresentationToByteArray);
+                    outputStream.write(constantBytes, 0, constantBytes.length);
                     break;
 
                 case INTEGER:
-                    writeIntegerValue(valueBytes, length, outputStream);
+                    writeIntegerValue(valueBuffer, length, outputStream);
                     break;
 
                 case FPOINT:
-                    writeFloatingPointValue(valueBytes, length, outputStream);
+                    writeFloatingPointValue(valueBuffer, length, outputStream);
                     break;
 
                 case REPEATER:
@@ -117,72 +136,83 @@ public abstract class GenericWriter<T> implements StructureBasedProcessor {
         }        
     }
     
-    private void writeRepeatedFields(FileStructureDto.Field repeaterField, String parentRepeaterKey, ByteArrayOutputStream outputStream) throws IOException {
+    private void writeRepeatedFields(FileStructureDto.Field repeaterField, String parentRepeaterKey, XByteArrayOutputStream outputStream) {
         Integer repeatedItemsCount = FormulaHelper.resolveToInteger(repeaterField.getSizeFormula(), parentRepeaterKey, this.dataStore);
 
+        int itemStartPosition = outputStream.size();
         try {
             for (int itemIndex = 0 ; repeatedItemsCount == null || itemIndex < repeatedItemsCount ; itemIndex++) {
                 String newRepeaterKeyPrefix = DataStore.generateKeyPrefixForRepeatedField(repeaterField.getName(), itemIndex, parentRepeaterKey);
-                ByteArrayOutputStream temporayOutputStream = new ByteArrayOutputStream();
-                writeFields(repeaterField.getSubFields(), temporayOutputStream, newRepeaterKeyPrefix);
-                outputStream.write(temporayOutputStream.toByteArray());
+                itemStartPosition = outputStream.size();
+                writeFields(repeaterField.getSubFields(), outputStream, newRepeaterKeyPrefix);
             }
         } catch (NoSuchElementException nsee) {
-            // Ignoring exception is normal, no more items in this repeater
+            // Ignoring exception is normal, no more items in this repeater: partially written item is discarded
+            outputStream.truncate(itemStartPosition);
         }
     }
 
-    private byte[] retrieveValueFromStore(FileStructureDto.Field field, String repeaterKey) {
-        byte[] valueBytes = null;
+    private ByteBuffer retrieveValueFromStore(FileStructureDto.Field field, String repeaterKey) {
+        ByteBuffer valueBuffer = null;
         if (field.getType().isValueToBeStored()) {
             String key = repeaterKey + field.getName();
-            valueBytes = dataStore.getRawValue(key).orElse(null);
-            if (valueBytes == null) {
+            valueBuffer = dataStore.getRawValueAsBuffer(key).orElse(null);
+            if (valueBuffer == null) {
                 throw new NoSuchElementException("Value does not exist in store for following key: " + key);
             }
         }
-        return valueBytes;
+        return valueBuffer;
     }
 
-    private void writeFloatingPointValue(final byte[] valueBytes, Integer length, ByteArrayOutputStream outputStream) {
-        assertSimpleCondition(() -> valueBytes != null);
+    private void writeFloatingPointValue(final ByteBuffer valueBuffer, Integer length, XByteArrayOutputStream outputStream) {
+        assertSimpleCondition(() -> valueBuffer != null);
 
-        if (getFileStructure().isLittleEndian()) {
-            outputStream.write(TypeHelper.changeEndianType(valueBytes), 0, length);
-        } else {
-            outputStream.write(valueBytes, 0, length);
+        boolean littleEndian = getFileStructure().isLittleEndian();
+        int lastIndex = valueBuffer.limit() - 1;
+        for (int i = 0; i < length; i++) {
+            transferBuffer[i] = valueBuffer.get(littleEndian ? lastIndex - i : i);
         }
+        outputStream.write(transferBuffer, 0, length);
     }
 
-    private void writeGapField(Integer length, ByteArrayOutputStream outputStream) throws IOException {
-        outputStream.write(new byte[length]);
+    private void writeGapField(Integer length, XByteArrayOutputStream outputStream) {
+        writeZeros(length, outputStream);
     }
 
-    private void writeRawValue(byte[] valueBytes, Integer length, ByteArrayOutputStream outputStream) throws IOException {
-        assertSimpleCondition(() -> valueBytes != null);
+    private void writeRawValue(ByteBuffer valueBuffer, Integer length, XByteArrayOutputStream outputStream) {
+        assertSimpleCondition(() -> valueBuffer != null);
 
-        outputStream.write(TypeHelper.fitToSize(valueBytes, length));
+        int valueLength = valueBuffer.remaining();
+        int effectiveLength = length == null ? valueLength : length;
+        int copiedLength = min(valueLength, effectiveLength);
+        for (int remainingLength = copiedLength; remainingLength > 0; remainingLength -= TRANSFER_BUFFER_SIZE) {
+            int chunkLength = min(remainingLength, TRANSFER_BUFFER_SIZE);
+            valueBuffer.get(transferBuffer, 0, chunkLength);
+            outputStream.write(transferBuffer, 0, chunkLength);
+        }
+        writeZeros(effectiveLength - copiedLength, outputStream);
     }
 
-    private void writeIntegerValue(final byte[] valueBytes, Integer length, ByteArrayOutputStream outputStream) {
-        AssertorHelper.assertSimpleCondition(() -> valueBytes != null);
+    private void writeIntegerValue(final ByteBuffer valueBuffer, Integer length, XByteArrayOutputStream outputStream) {
+        assertSimpleCondition(() -> valueBuffer != null);
 
-        if (getFileStructure().isLittleEndian()) {
-            outputStream.write(TypeHelper.changeEndianType(valueBytes), 0, length);
-        } else {
-            outputStream.write(valueBytes, 8 - length, length);
+        boolean littleEndian = getFileStructure().isLittleEndian();
+        int lastIndex = valueBuffer.limit() - 1;
+        for (int i = 0; i < length; i++) {
+            transferBuffer[i] = valueBuffer.get(littleEndian ? lastIndex - i : 8 - length + i);
         }
+        outputStream.write(transferBuffer, 0, length);
     }
 
-    private void fetchAndWriteRemainingBytes(ByteArrayOutputStream outputStream) {
+    private void fetchAndWriteRemainingBytes(XByteArrayOutputStream outputStream) {
         dataStore.getRemainingValue()
-                .ifPresent(remainingBytes -> {
-                    try {
-                        writeRawValue(remainingBytes, null, outputStream);
-                    } catch (IOException ioe) {
-                        throw new IllegalStateException("Unable to write remaining bytes", ioe);
-                    }
-                });
+                .ifPresent(remainingBytes -> writeRawValue(ByteBuffer.wrap(remainingBytes), null, outputStream));
+    }
+
+    private static void writeZeros(int length, XByteArrayOutputStream outputStream) {
+        for (int remainingLength = length; remainingLength > 0; remainingLength -= TRANSFER_BUFFER_SIZE) {
+            outputStream.write(ZERO_BYTES, 0, min(remainingLength, TRANSFER_BUFFER_SIZE));
+        }
     }
 
     // Visible for testing use
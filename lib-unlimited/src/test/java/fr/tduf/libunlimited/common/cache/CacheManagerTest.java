@@ -5,11 +5,20 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.esotericsoftware.minlog.Log.LEVEL_INFO;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 
 
 public class CacheManagerTest {
@@ -157,4 +166,236 @@ public class CacheManagerTest {
         // THEN
         assertThat(actualValue).contains("result2 to be cached");
     }
+
+    @Test
+    public void getValueFromKey_whenStoreExists_andKeyAsWell_shouldNotCallSupplier(){
+        // GIVEN
+        cacheManagerInstance.getValueFromKey("store", "key", () -> "result");
+
+        // WHEN
+        String actualValue = cacheManagerInstance.getValueFromKey("store", "key", () -> fail("Supplier must not be called on cache hit"));
+
+        // THEN
+        assertThat(actualValue).isEqualTo("result");
+    }
+
+    @Test
+    public void getValueFromKey_whenConcurrentCallsWithSameKey_shouldComputeValueOnce() throws Exception {
+        // GIVEN
+        int threadCount = 8;
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        // WHEN
+        try {
+            Future<?>[] futures = new Future<?>[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                futures[i] = executorService.submit(() -> {
+                    startLatch.await();
+                    return cacheManagerInstance.getValueFromKey("store", "key", () -> {
+                        callCount.incrementAndGet();
+                        return "result";
+                    });
+                });
+            }
+            startLatch.countDown();
+
+            // THEN
+            for (Future<?> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+            }
+            assertThat(callCount).hasValue(1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getValueFromKey_whenSupplierFails_shouldNotCacheValue() {
+        // GIVEN
+        assertThrows(IllegalStateException.class,
+                () -> cacheManagerInstance.getValueFromKey("store", "key", () -> {
+                    throw new IllegalStateException();
+                }));
+
+        // WHEN
+        String actualValue = cacheManagerInstance.getValueFromKey("store", "key", () -> "result");
+
+        // THEN
+        assertThat(actualValue).isEqualTo("result");
+    }
+
+    @Test
+    public void getValueFromKey_whenSupplierFails_andRetried_shouldCountMisses() {
+        // GIVEN
+        assertThrows(IllegalStateException.class,
+                () -> cacheManagerInstance.getValueFromKey("store", "key", () -> {
+                    throw new IllegalStateException();
+                }));
+
+        // WHEN
+        cacheManagerInstance.getValueFromKey("store", "key", () -> "result");
+
+        // THEN
+        assertThat(cacheManagerInstance.getStoreStatistics("store")).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getHitCount()).isZero();
+            assertThat(statistics.getMissCount()).isEqualTo(2);
+            assertThat(statistics.getSize()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    public void clearAllStores_shouldResetStoreSettings() {
+        // GIVEN
+        cacheManagerInstance.configureStore("boundedStore", 1);
+        cacheManagerInstance.clearAllStores();
+
+        // WHEN
+        cacheManagerInstance.getValueFromKey("boundedStore", "key1", () -> "result1");
+        cacheManagerInstance.getValueFromKey("boundedStore", "key2", () -> "result2");
+
+        // THEN
+        assertThat(cacheManagerInstance.getStoreStatistics("boundedStore"))
+                .hasValueSatisfying(statistics -> {
+                    assertThat(statistics.getSize()).isEqualTo(2);
+                    assertThat(statistics.getEvictionCount()).isZero();
+                });
+    }
+
+    @Test
+    public void getValueFromKey_whenMaximumSizeExceeded_shouldEvictLeastRecentlyUsedValue() {
+        // GIVEN
+        cacheManagerInstance.configureStore("boundedStore", 2);
+        cacheManagerInstance.getValueFromKey("boundedStore", "key1", () -> "result1");
+        cacheManagerInstance.getValueFromKey("boundedStore", "key2", () -> "result2");
+        cacheManagerInstance.getValueFromKey("boundedStore", "key1", () -> "uncached result1");
+
+        // WHEN
+        cacheManagerInstance.getValueFromKey("boundedStore", "key3", () -> "result3");
+
+        // THEN
+        assertThat(cacheManagerInstance.getValueFromKey("boundedStore", "key1", () -> "uncached result1")).isEqualTo("result1");
+        assertThat(cacheManagerInstance.getValueFromKey("boundedStore", "key2", () -> "real result2")).isEqualTo("real result2");
+        assertThat(cacheManagerInstance.getStoreStatistics("boundedStore"))
+                .hasValueSatisfying(statistics -> {
+                    assertThat(statistics.getSize()).isEqualTo(2);
+                    assertThat(statistics.getEvictionCount()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    public void getValueFromKey_whenTimeToLiveElapsed_shouldCallRealMethod() {
+        // GIVEN
+        AtomicLong clock = new AtomicLong();
+        CacheManager.CacheManagerInstance instance = new CacheManager.CacheManagerInstance(true, clock::get);
+        instance.configureStore("expiringStore", 10, Duration.ofSeconds(10));
+        instance.getValueFromKey("expiringStore", "key", () -> "result");
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        String valueBeforeExpiry = instance.getValueFromKey("expiringStore", "key", () -> "real result");
+
+        // WHEN
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        String valueAfterExpiry = instance.getValueFromKey("expiringStore", "key", () -> "real result");
+
+        // THEN
+        assertThat(valueBeforeExpiry).isEqualTo("result");
+        assertThat(valueAfterExpiry).isEqualTo("real result");
+        assertThat(instance.getStoreStatistics("expiringStore"))
+                .hasValueSatisfying(statistics -> assertThat(statistics.getEvictionCount()).isEqualTo(1));
+    }
+
+    @Test
+    public void getStoreStatistics_shouldCountHitsAndMisses() {
+        // GIVEN
+        cacheManagerInstance.getValueFromKey("store", "key1", () -> "result1");
+        cacheManagerInstance.getValueFromKey("store", "key1", () -> "result1");
+        cacheManagerInstance.getValueFromKey("store", "key1", () -> "result1");
+        cacheManagerInstance.getValueFromKey("store", "key2", () -> "result2");
+
+        // WHEN
+        Optional<CacheStatistics> actualStatistics = cacheManagerInstance.getStoreStatistics("store");
+
+        // THEN
+        assertThat(actualStatistics).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getHitCount()).isEqualTo(2);
+            assertThat(statistics.getMissCount()).isEqualTo(2);
+            assertThat(statistics.getEvictionCount()).isZero();
+            assertThat(statistics.getSize()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    public void getStoreStatistics_whenStoreDoesNotExist_shouldReturnEmpty() {
+        // GIVEN-WHEN-THEN
+        assertThat(cacheManagerInstance.getStoreStatistics("storeNotFound")).isEmpty();
+    }
+
+    @Test
+    public void getValueFromKey_withOwner_shouldNotShareValuesBetweenOwners() {
+        // GIVEN
+        Object owner1 = new Object();
+        Object owner2 = new Object();
+        cacheManagerInstance.getValueFromKey(owner1, "store", "key", () -> "result1");
+
+        // WHEN
+        String actualValue = cacheManagerInstance.getValueFromKey(owner2, "store", "key", () -> "result2");
+
+        // THEN
+        assertThat(actualValue).isEqualTo("result2");
+        assertThat(cacheManagerInstance.getValueFromKey(owner1, "store", "key", () -> "uncached result1")).isEqualTo("result1");
+        assertThat(cacheManagerInstance.getStoreStatistics("store")).isEmpty();
+    }
+
+    @Test
+    public void getValueFromKey_withNullOwner_shouldCallRealMethod() {
+        // GIVEN-WHEN
+        String actualValue = cacheManagerInstance.getValueFromKey(null, "store", "key", () -> "result");
+
+        // THEN
+        assertThat(actualValue).isEqualTo("result");
+        assertThat(cacheManagerInstance.getStoreStatistics(null, "store")).isEmpty();
+    }
+
+    @Test
+    public void releaseStores_shouldForceCallRealMethod_andNotAffectOtherOwners() {
+        // GIVEN
+        Object owner1 = new Object();
+        Object owner2 = new Object();
+        cacheManagerInstance.getValueFromKey(owner1, "store", "key", () -> "result1 to be cached");
+        cacheManagerInstance.getValueFromKey(owner2, "store", "key", () -> "result2 to be cached");
+
+        // WHEN
+        cacheManagerInstance.releaseStores(owner1);
+
+        // THEN
+        assertThat(cacheManagerInstance.getStoreStatistics(owner1, "store")).isEmpty();
+        assertThat(cacheManagerInstance.getValueFromKey(owner1, "store", "key", () -> "real result1")).isEqualTo("real result1");
+        assertThat(cacheManagerInstance.getValueFromKey(owner2, "store", "key", () -> "real result2")).isEqualTo("result2 to be cached");
+    }
+
+    @Test
+    public void configureStore_shouldApplyToOwnedStores() {
+        // GIVEN
+        Object owner = new Object();
+        cacheManagerInstance.configureStore("boundedOwnedStore", 1);
+        cacheManagerInstance.getValueFromKey(owner, "boundedOwnedStore", "key1", () -> "result1");
+
+        // WHEN
+        cacheManagerInstance.getValueFromKey(owner, "boundedOwnedStore", "key2", () -> "result2");
+
+        // THEN
+        assertThat(cacheManagerInstance.getStoreStatistics(owner, "boundedOwnedStore"))
+                .hasValueSatisfying(statistics -> {
+                    assertThat(statistics.getSize()).isEqualTo(1);
+                    assertThat(statistics.getEvictionCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    public void configureStore_whenInvalidSize_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheManagerInstance.configureStore("store", 0));
+    }
 }
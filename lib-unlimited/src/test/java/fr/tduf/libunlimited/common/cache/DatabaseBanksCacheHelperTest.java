@@ -3,20 +3,30 @@ package fr.tduf.libunlimited.common.cache;
 import com.esotericsoftware.minlog.Log;
 import fr.tduf.libtesting.common.helper.TestingFilesHelper;
 import fr.tduf.libunlimited.high.files.banks.BankSupport;
+import fr.tduf.libunlimited.low.files.banks.dto.BankInfoDto;
+import fr.tduf.libunlimited.low.files.banks.dto.PackedFileInfoDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import static fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper.EXTENSION_JSON;
 import static java.lang.Long.valueOf;
 import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.endsWith;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -25,6 +35,8 @@ class DatabaseBanksCacheHelperTest {
 
     private static final Class<DatabaseBanksCacheHelperTest> thisClass = DatabaseBanksCacheHelperTest.class;
 
+    private static final String PACKED_PATH_ACHIEVEMENTS_FR = "D:\\Eden-Prog\\Games\\TestDrive\\Resources\\4Build\\PC\\Euro\\BDD\\Lang\\.fr\\TDU_Achievements";
+
     @Mock
     private BankSupport bankSupportMock;
 
@@ -152,6 +164,178 @@ class DatabaseBanksCacheHelperTest {
         assertThat(lastFilePath.toFile().lastModified()).isGreaterThan(initialTimestamp);
     }
 
+    @Test
+    void repackDatabaseFromJsonWithCacheSupport_whenContentHashesExist_andJsonUnchanged_shouldNotCallBankSupportComponent() throws IOException {
+        // GIVEN
+        createCacheDirectory();
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        createFakeDatabase(jsonDatabaseDirectory, "original-");
+        final Path tduDatabasePath = getTduDatabasePath(tempDirectory);
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+        reset(bankSupportMock);
+
+        // WHEN
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+
+        // THEN
+        verifyNoInteractions(bankSupportMock);
+        assertThat(tduDatabasePath.resolve("json-cache").resolve("hashes")).exists();
+    }
+
+    @Test
+    void repackDatabaseFromJsonWithCacheSupport_whenContentHashesExist_andResourceChanged_shouldOnlyReplaceChangedPackedFile() throws IOException {
+        // GIVEN
+        createCacheDirectory();
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        createFakeDatabase(jsonDatabaseDirectory, "original-");
+        final Path tduDatabasePath = getTduDatabasePath(tempDirectory);
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+        reset(bankSupportMock);
+
+        replaceInJsonFile(Paths.get(jsonDatabaseDirectory, "TDU_Achievements.resources.json"), "Bravo ! Vous recevez", "Bravo ! Vous gagnez");
+        final String bankFileName = tduDatabasePath.resolve("DB_FR.bnk").toString();
+        when(bankSupportMock.getBankInfo(bankFileName)).thenReturn(createBankInfo("TDU_Achievements.fr", PACKED_PATH_ACHIEVEMENTS_FR));
+
+        // WHEN
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+
+        // THEN
+        verify(bankSupportMock).getBankInfo(bankFileName);
+        verify(bankSupportMock).replacePackedFile(eq(bankFileName), eq(PACKED_PATH_ACHIEVEMENTS_FR), endsWith("TDU_Achievements.fr"));
+        verifyNoMoreInteractions(bankSupportMock);
+    }
+
+    @Test
+    void repackDatabaseFromJsonWithCacheSupport_whenContentHashesExist_andChangedFileNotInBank_shouldRepackAllBanks() throws IOException {
+        // GIVEN
+        createCacheDirectory();
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        createFakeDatabase(jsonDatabaseDirectory, "original-");
+        final Path tduDatabasePath = getTduDatabasePath(tempDirectory);
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+        reset(bankSupportMock);
+
+        replaceInJsonFile(Paths.get(jsonDatabaseDirectory, "TDU_Achievements.resources.json"), "Bravo ! Vous recevez", "Bravo ! Vous gagnez");
+        when(bankSupportMock.getBankInfo(anyString())).thenReturn(createBankInfo("TDU_Brands.fr", PACKED_PATH_ACHIEVEMENTS_FR));
+
+        // WHEN
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+
+        // THEN
+        verify(bankSupportMock, never()).replacePackedFile(anyString(), anyString(), anyString());
+        verify(bankSupportMock).packAll(anyString(), eq(tduDatabasePath.resolve("DB.bnk").toString()));
+        verify(bankSupportMock).packAll(anyString(), eq(tduDatabasePath.resolve("DB_FR.bnk").toString()));
+        verify(bankSupportMock, times(9)).packAll(anyString(), anyString());
+    }
+
+    @Test
+    void repackDatabaseFromJsonWithCacheSupport_withWrittenJsonFiles_shouldReplaceChangedPackedFiles() throws IOException {
+        // GIVEN
+        createCacheDirectory();
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        createFakeDatabase(jsonDatabaseDirectory, "original-");
+        final Path tduDatabasePath = getTduDatabasePath(tempDirectory);
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+        reset(bankSupportMock);
+
+        Path writtenJsonFilePath = Paths.get(jsonDatabaseDirectory, "TDU_Achievements.resources.json");
+        replaceInJsonFile(writtenJsonFilePath, "Bravo ! Vous recevez", "Bravo ! Vous gagnez");
+        final String bankFileName = tduDatabasePath.resolve("DB_FR.bnk").toString();
+        when(bankSupportMock.getBankInfo(bankFileName)).thenReturn(createBankInfo("TDU_Achievements.fr", PACKED_PATH_ACHIEVEMENTS_FR));
+
+        // WHEN
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, singletonList(writtenJsonFilePath.toString()), bankSupportMock);
+
+        // THEN
+        verify(bankSupportMock).getBankInfo(bankFileName);
+        verify(bankSupportMock).replacePackedFile(eq(bankFileName), eq(PACKED_PATH_ACHIEVEMENTS_FR), endsWith("TDU_Achievements.fr"));
+        verifyNoMoreInteractions(bankSupportMock);
+    }
+
+    @Test
+    void repackDatabaseFromJsonWithCacheSupport_withoutWrittenJsonFiles_shouldNotCheckJsonFilesModifiedBeforeHashes() throws IOException {
+        // GIVEN
+        createCacheDirectory();
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        createFakeDatabase(jsonDatabaseDirectory, "original-");
+        final Path tduDatabasePath = getTduDatabasePath(tempDirectory);
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, bankSupportMock);
+        reset(bankSupportMock);
+
+        Path jsonFilePath = Paths.get(jsonDatabaseDirectory, "TDU_Achievements.resources.json");
+        replaceInJsonFile(jsonFilePath, "Bravo ! Vous recevez", "Bravo ! Vous gagnez");
+        Files.setLastModifiedTime(jsonFilePath, FileTime.fromMillis(0));
+
+        // WHEN
+        DatabaseBanksCacheHelper.repackDatabaseFromJsonWithCacheSupport(tduDatabasePath, new ArrayList<>(), bankSupportMock);
+
+        // THEN
+        verifyNoInteractions(bankSupportMock);
+    }
+
+    @Test
+    void readDatabaseSnapshotWithCacheSupport_whenNoSnapshot_shouldReturnEmpty() throws IOException {
+        // GIVEN
+        initCacheTimestamp(100);
+        createJsonDatabase(databaseDirectory, "/db/json/ref");
+
+        // WHEN
+        Optional<List<DbDto>> actualTopicObjects = DatabaseBanksCacheHelper.readDatabaseSnapshotWithCacheSupport(Paths.get(databaseDirectory));
+
+        // THEN
+        assertThat(actualTopicObjects).isEmpty();
+    }
+
+    @Test
+    void readDatabaseSnapshotWithCacheSupport_whenSnapshotWritten_shouldReturnSameTopicObjects() throws IOException {
+        // GIVEN
+        initCacheTimestamp(100);
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        List<DbDto> jsonTopicObjects = DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDatabaseDirectory);
+        final Path realDatabasePath = Paths.get(databaseDirectory);
+        DatabaseBanksCacheHelper.writeDatabaseSnapshotWithCacheSupport(realDatabasePath, jsonTopicObjects);
+
+        // WHEN
+        Optional<List<DbDto>> actualTopicObjects = DatabaseBanksCacheHelper.readDatabaseSnapshotWithCacheSupport(realDatabasePath);
+
+        // THEN
+        assertThat(realDatabasePath.resolve("json-cache").resolve("database.snapshot")).exists();
+        assertThat(actualTopicObjects).contains(jsonTopicObjects);
+    }
+
+    @Test
+    void readDatabaseSnapshotWithCacheSupport_whenCacheTimestampChanged_shouldReturnEmpty() throws IOException {
+        // GIVEN
+        Path cachePath = initCacheTimestamp(100);
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        final Path realDatabasePath = Paths.get(databaseDirectory);
+        DatabaseBanksCacheHelper.writeDatabaseSnapshotWithCacheSupport(realDatabasePath, DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDatabaseDirectory));
+        Files.write(cachePath.resolve("last"), singletonList("200"));
+
+        // WHEN
+        Optional<List<DbDto>> actualTopicObjects = DatabaseBanksCacheHelper.readDatabaseSnapshotWithCacheSupport(realDatabasePath);
+
+        // THEN
+        assertThat(actualTopicObjects).isEmpty();
+    }
+
+    @Test
+    void readDatabaseSnapshotWithCacheSupport_whenJsonFileNewer_shouldReturnEmpty() throws IOException {
+        // GIVEN
+        Path cachePath = initCacheTimestamp(100);
+        String jsonDatabaseDirectory = createJsonDatabase(databaseDirectory, "/db/json/ref");
+        final Path realDatabasePath = Paths.get(databaseDirectory);
+        DatabaseBanksCacheHelper.writeDatabaseSnapshotWithCacheSupport(realDatabasePath, DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDatabaseDirectory));
+        long snapshotTime = Files.getLastModifiedTime(cachePath.resolve("database.snapshot")).toMillis();
+        Files.setLastModifiedTime(Paths.get(jsonDatabaseDirectory, "TDU_Achievements.data.json"), FileTime.fromMillis(snapshotTime + 10000));
+
+        // WHEN
+        Optional<List<DbDto>> actualTopicObjects = DatabaseBanksCacheHelper.readDatabaseSnapshotWithCacheSupport(realDatabasePath);
+
+        // THEN
+        assertThat(actualTopicObjects).isEmpty();
+    }
+
     @Test
     void updateCacheDirectory_whenNoCache_shouldCreateCacheDirectory() throws IOException {
         // GIVEN-WHEN
@@ -277,9 +461,13 @@ class DatabaseBanksCacheHelperTest {
     }
 
     private static String createJsonDatabase(String realDatabaseDirectory) throws IOException {
+        return createJsonDatabase(realDatabaseDirectory, "/db/json");
+    }
+
+    private static String createJsonDatabase(String realDatabaseDirectory, String jsonResourceDirectory) throws IOException {
         Path jsonDatabasePath = Paths.get(realDatabaseDirectory, "json-cache");
 
-        Path originalJsonDatabasePath = Paths.get(thisClass.getResource("/db/json").getFile());
+        Path originalJsonDatabasePath = Paths.get(thisClass.getResource(jsonResourceDirectory).getFile());
         Files.walk(originalJsonDatabasePath, 1)
 
                 .filter((path) -> Files.isRegularFile(path))
@@ -296,4 +484,21 @@ class DatabaseBanksCacheHelperTest {
 
         return jsonDatabasePath.toString();
     }
+
+    private static void replaceInJsonFile(Path jsonFilePath, String oldValue, String newValue) throws IOException {
+        String contents = new String(Files.readAllBytes(jsonFilePath), StandardCharsets.UTF_8);
+        Files.write(jsonFilePath, contents.replace(oldValue, newValue).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BankInfoDto createBankInfo(String shortName, String fullName) {
+        return BankInfoDto.builder()
+                .addPackedFiles(singletonList(PackedFileInfoDto.builder()
+                        .forReference("1")
+                        .withFullName(fullName)
+                        .withShortName(shortName)
+                        .withSize(0)
+                        .withTypeDescription("")
+                        .build()))
+                .build();
+    }
 }
@@ -119,6 +119,21 @@ class ApplicationConfigurationTest {
         assertThat(applicationConfiguration.isEditorDebuggingEnabled()).isTrue();
     }
 
+    @Test
+    void isEditorSnapshotEnabled_whenNoSetting_shouldReturnFalse() {
+        // given-when-then
+        assertThat(applicationConfiguration.isEditorSnapshotEnabled()).isFalse();
+    }
+
+    @Test
+    void isEditorSnapshotEnabled_whenSettingToTrue_shouldReturnTrue() {
+        // given
+        applicationConfiguration.setProperty("tduf.editor.snapshot.enabled", "true");
+
+        // when-then
+        assertThat(applicationConfiguration.isEditorSnapshotEnabled()).isTrue();
+    }
+
     @Test
     void getGamePath_whenNoSetting_shouldReturnEmpty() {
         // given-when-then
@@ -24,6 +24,15 @@ class XByteArrayInputStreamTest {
         assertThat(xByteArrayInputStream.position()).isEqualTo(1);
     }
 
+    @Test
+    void getBuffer_shouldReturnUnderlyingBuffer() {
+        // given
+        byte[] buffer = { 1, 2, 3 };
+
+        // when-then
+        assertThat(new XByteArrayInputStream(buffer, 1, 2).getBuffer()).isSameAs(buffer);
+    }
+
     @Test
     void seek_whenOutOfBounds_shouldThrowException() {
         // given-when-then
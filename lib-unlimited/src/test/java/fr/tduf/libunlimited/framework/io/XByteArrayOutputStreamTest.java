@@ -0,0 +1,37 @@
+package fr.tduf.libunlimited.framework.io;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XByteArrayOutputStreamTest {
+
+    private final XByteArrayOutputStream xByteArrayOutputStream = new XByteArrayOutputStream();
+
+    @Test
+    void truncate_shouldDiscardBytesAfterPosition() {
+        // given
+        xByteArrayOutputStream.write(new byte[] { 1, 2, 3 }, 0, 3);
+
+        // when
+        xByteArrayOutputStream.truncate(1);
+        xByteArrayOutputStream.write(4);
+
+        // then
+        assertThat(xByteArrayOutputStream.toByteArray()).containsExactly(1, 4);
+    }
+
+    @Test
+    void truncate_whenOutOfBounds_shouldThrowException() {
+        // given
+        xByteArrayOutputStream.write(1);
+
+        // when-then
+        assertThatThrownBy(() -> xByteArrayOutputStream.truncate(2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Truncating at invalid position (2). Valid positions are 0..1");
+        assertThatThrownBy(() -> xByteArrayOutputStream.truncate(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
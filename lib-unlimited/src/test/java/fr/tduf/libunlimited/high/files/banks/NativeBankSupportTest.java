@@ -0,0 +1,183 @@
+package fr.tduf.libunlimited.high.files.banks;
+
+import fr.tduf.libtesting.common.helper.TestingFilesHelper;
+import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.high.files.banks.interop.dto.GenuineBankInfoOutputDto;
+import fr.tduf.libunlimited.high.files.banks.interop.dto.GenuinePackedFileInfoOutputDto;
+import fr.tduf.libunlimited.low.files.banks.dto.BankInfoDto;
+import fr.tduf.libunlimited.low.files.banks.dto.PackedFileInfoDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static fr.tduf.libunlimited.high.files.banks.interop.GenuineBnkGateway.PREFIX_ORIGINAL_BANK_FILE;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NativeBankSupportTest {
+
+    private static final String PACKED_FILE_FULL_NAME = "D:\\Eden-Prog\\Games\\TestDrive\\Resources\\4Build\\PC\\EURO\\Vehicules\\Cars\\Mercedes\\CLK_55\\.3DD\\CLK_55";
+
+    private final NativeBankSupport nativeBankSupport = new NativeBankSupport();
+
+    private String bankFileName;
+
+    private Path tempDirectory;
+
+    @BeforeEach
+    void setUp() throws URISyntaxException, IOException {
+        bankFileName = FilesHelper.getFileNameFromResourcePath("/banks/Vehicules/A3_V6.bnk");
+        tempDirectory = Paths.get(TestingFilesHelper.createTempDirectoryForLibrary());
+    }
+
+    @Test
+    void getBankInfo_shouldReturnSameInformationAsGenuineTool() throws IOException {
+        // GIVEN
+        GenuineBankInfoOutputDto expectedInfo = FilesHelper.readObjectFromJsonResourceFile(GenuineBankInfoOutputDto.class, "/files/interop/tdumt-cli/BANK-I.output.json");
+
+        // WHEN
+        BankInfoDto actualBankInfoObject = nativeBankSupport.getBankInfo(bankFileName);
+
+        // THEN
+        assertThat(actualBankInfoObject.getFileSize()).isEqualTo(2947448);
+        assertThat(actualBankInfoObject.getYear()).isEqualTo(2015);
+        assertThat(actualBankInfoObject.getPackedFiles()).extracting("type").containsExactlyElementsOf(
+                expectedInfo.getPackedFiles().stream().map(GenuinePackedFileInfoOutputDto::getType).collect(toList()));
+        PackedFileInfoDto actualPackedFileInfo = actualBankInfoObject.getPackedFiles().get(0);
+        assertThat(actualPackedFileInfo.getShortName()).isEqualTo("CLK_55.3DD");
+        assertThat(actualPackedFileInfo.getReference()).isNotEmpty();
+    }
+
+    @Test
+    void extractAll_shouldCopyOriginalBank_andCreateFileHierarchy() throws IOException {
+        // GIVEN-WHEN
+        nativeBankSupport.extractAll(bankFileName, tempDirectory.toString());
+
+        // THEN
+        assertThat(tempDirectory.resolve(PREFIX_ORIGINAL_BANK_FILE + "A3_V6.bnk")).exists();
+        Path extractedFilePath = tempDirectory.resolve(Paths.get("4Build", "PC", "EURO", "Vehicules", "Cars", "Mercedes", "CLK_55", "CLK_55.3DD"));
+        assertThat(extractedFilePath).exists();
+        assertThat(Files.size(extractedFilePath)).isEqualTo(25424);
+        assertThat(tempDirectory.resolve(Paths.get("4Build", "PC", "EURO", "Vehicules", "Cars", "Mercedes", "CLK_55", "maps", "mirror.2db"))).exists();
+    }
+
+    @Test
+    void extractAll_thenPackAll_shouldCreateSameBank() throws IOException {
+        // GIVEN
+        Path outputBankPath = Files.createTempDirectory("libUnlimited-tests").resolve("A3_V6.bnk");
+        nativeBankSupport.extractAll(bankFileName, tempDirectory.toString());
+
+        // WHEN
+        nativeBankSupport.packAll(tempDirectory.toString(), outputBankPath.toString());
+
+        // THEN
+        assertThat(Files.readAllBytes(outputBankPath)).isEqualTo(Files.readAllBytes(Paths.get(bankFileName)));
+    }
+
+    @Test
+    void packAll_shouldUseModifiedPackedFile() throws IOException {
+        // GIVEN
+        Path outputBankPath = Files.createTempDirectory("libUnlimited-tests").resolve("A3_V6.bnk");
+        nativeBankSupport.extractAll(bankFileName, tempDirectory.toString());
+        Path modifiedFilePath = tempDirectory.resolve(Paths.get("4Build", "PC", "EURO", "Vehicules", "Cars", "Mercedes", "CLK_55", "CLK_55.3DD"));
+        Files.write(modifiedFilePath, new byte[]{0x1, 0x2, 0x3});
+
+        // WHEN
+        nativeBankSupport.packAll(tempDirectory.toString(), outputBankPath.toString());
+
+        // THEN
+        BankInfoDto actualBankInfoObject = nativeBankSupport.getBankInfo(outputBankPath.toString());
+        assertThat(actualBankInfoObject.getPackedFiles().get(0).getSize()).isEqualTo(3);
+        assertThat(actualBankInfoObject.getFileSize()).isEqualTo((int) Files.size(outputBankPath));
+    }
+
+    @Test
+    void extractPackedFile_shouldCreateFileWithPackedContents() throws IOException {
+        // GIVEN
+        Path outputFilePath = tempDirectory.resolve("CLK_55.3DD");
+
+        // WHEN
+        nativeBankSupport.extractPackedFile(bankFileName, PACKED_FILE_FULL_NAME, outputFilePath.toString());
+
+        // THEN
+        assertThat(outputFilePath).exists();
+        assertThat(Files.size(outputFilePath)).isEqualTo(25424);
+    }
+
+    @Test
+    void extractPackedFile_whenNotInBank_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IOException.class,
+                () -> nativeBankSupport.extractPackedFile(bankFileName, PACKED_FILE_FULL_NAME + "_", tempDirectory.resolve("CLK_55.3DD").toString()));
+    }
+
+    @Test
+    void replacePackedFile_whenSmallerContents_shouldUpdateBankInPlace() throws IOException {
+        // GIVEN
+        Path bankPath = tempDirectory.resolve("A3_V6.bnk");
+        Files.copy(Paths.get(bankFileName), bankPath);
+        Path inputFilePath = Files.write(tempDirectory.resolve("CLK_55.3DD"), new byte[]{0x1, 0x2, 0x3});
+
+        // WHEN
+        nativeBankSupport.replacePackedFile(bankPath.toString(), PACKED_FILE_FULL_NAME, inputFilePath.toString());
+
+        // THEN
+        assertThat(Files.size(bankPath)).isEqualTo(2947448);
+        assertPackedFileContents(bankPath, new byte[]{0x1, 0x2, 0x3});
+    }
+
+    @Test
+    void replacePackedFile_whenLargerContents_shouldRebuildBank() throws IOException {
+        // GIVEN
+        Path bankPath = tempDirectory.resolve("A3_V6.bnk");
+        Files.copy(Paths.get(bankFileName), bankPath);
+        byte[] newContents = new byte[30000];
+        newContents[29999] = 0x1;
+        Path inputFilePath = Files.write(tempDirectory.resolve("CLK_55.3DD"), newContents);
+
+        // WHEN
+        nativeBankSupport.replacePackedFile(bankPath.toString(), PACKED_FILE_FULL_NAME, inputFilePath.toString());
+
+        // THEN
+        assertThat(Files.size(bankPath)).isGreaterThan(2947448);
+        assertPackedFileContents(bankPath, newContents);
+        assertThat(nativeBankSupport.getBankInfo(bankPath.toString()).getPackedFiles()).hasSize(28);
+    }
+
+    @Test
+    void replacePackedFile_whenLargerContents_andBankInfoReadBefore_shouldRebuildBank() throws IOException {
+        // GIVEN
+        Path bankPath = tempDirectory.resolve("A3_V6.bnk");
+        Files.copy(Paths.get(bankFileName), bankPath);
+        BankInfoDto originalBankInfo = nativeBankSupport.getBankInfo(bankPath.toString());
+        byte[] newContents = new byte[30000];
+        newContents[0] = 0x1;
+        Path inputFilePath = Files.write(tempDirectory.resolve("CLK_55.3DD"), newContents);
+
+        // WHEN
+        nativeBankSupport.replacePackedFile(bankPath.toString(), PACKED_FILE_FULL_NAME, inputFilePath.toString());
+
+        // THEN
+        assertThat(Files.size(bankPath)).isGreaterThan(originalBankInfo.getFileSize());
+        assertPackedFileContents(bankPath, newContents);
+    }
+
+    @Test
+    void packAll_whenNoOriginalBank_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IOException.class,
+                () -> nativeBankSupport.packAll(tempDirectory.toString(), tempDirectory.resolve("A3_V6.bnk").toString()));
+    }
+
+    private void assertPackedFileContents(Path bankPath, byte[] expectedContents) throws IOException {
+        Path extractedFilePath = Files.createTempDirectory("libUnlimited-tests").resolve("CLK_55.3DD");
+        nativeBankSupport.extractPackedFile(bankPath.toString(), PACKED_FILE_FULL_NAME, extractedFilePath.toString());
+        assertThat(Files.readAllBytes(extractedFilePath)).isEqualTo(expectedContents);
+    }
+}
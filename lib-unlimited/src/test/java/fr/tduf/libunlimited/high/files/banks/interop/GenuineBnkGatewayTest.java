@@ -176,6 +176,33 @@ class GenuineBnkGatewayTest {
         assertBatchInputFileExists();
     }
 
+    @Test
+    void extractPackedFile_whenSuccess_shouldInvokeCommandLineCorrectly() throws IOException {
+        // GIVEN
+        String outputFileName = Paths.get(tempDirectory, "CLK_55.2DM").toString();
+        when(commandLineHelperMock.runCliCommand(eq("mono"), anyString(), eq("BANK-U"), eq(bankFileName), eq(PACKED_FILE_FULL_NAME), eq(outputFileName)))
+                .thenReturn(new ProcessResult("BANK-U", 0, "{}", ""));
+
+        // WHEN
+        genuineBnkGateway.extractPackedFile(bankFileName, PACKED_FILE_FULL_NAME, outputFileName);
+
+        // THEN
+        verify(commandLineHelperMock).runCliCommand(eq("mono"), anyString(), eq("BANK-U"), eq(bankFileName), eq(PACKED_FILE_FULL_NAME), eq(outputFileName));
+    }
+
+    @Test
+    void replacePackedFile_whenCLIFailure_shouldThrowException() throws IOException {
+        // GIVEN
+        String inputFileName = Paths.get(tempDirectory, "CLK_55.2DM").toString();
+        when(commandLineHelperMock.runCliCommand(eq("mono"), anyString(), eq("BANK-R"), eq(bankFileName), eq(PACKED_FILE_FULL_NAME), eq(inputFileName)))
+                .thenReturn(new ProcessResult("BANK-R", 1, "", "Packed file not found"));
+
+        // WHEN-THEN
+        IOException actualException = assertThrows(IOException.class,
+                () -> genuineBnkGateway.replacePackedFile(bankFileName, PACKED_FILE_FULL_NAME, inputFileName));
+        assertThat(actualException).hasCauseInstanceOf(IOException.class);
+    }
+
     @Test
     void getInternalPathFromRealPath() {
         // GIVEN
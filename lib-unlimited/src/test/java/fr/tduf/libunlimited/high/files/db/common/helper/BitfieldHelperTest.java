@@ -66,6 +66,15 @@ class BitfieldHelperTest {
         assertThat(resolved).containsExactly(true, false, true, false, false, true, true);
     }
 
+    @Test
+    void resolve_whenRawValueExceedsReference_shouldReturnAllSwitches() throws IOException, URISyntaxException {
+        // GIVEN - WHEN
+        List<Boolean> resolved = bitfieldHelper.resolve(DbDto.Topic.CAR_PHYSICS_DATA, "257").get();
+
+        // THEN
+        assertThat(resolved).containsExactly(true, false, false, false, false, false, false, false, true);
+    }
+
     @Test
     void resolve_whenRawValueHasIllegalFormat_shouldThrowException() throws IOException, URISyntaxException {
         // GIVEN - WHEN - THEN
@@ -91,6 +100,15 @@ class BitfieldHelperTest {
         assertThat(actualValue).isEqualTo("110");
     }
 
+    @Test
+    void updateRawValue_whenReference_andSwitchOn_shouldReturnValueWithChangedBitState() {
+        // GIVEN-WHEN
+        String actualValue = bitfieldHelper.updateRawValue(DbDto.Topic.CAR_PHYSICS_DATA, "101", 2, true).get();
+
+        // THEN
+        assertThat(actualValue).isEqualTo("103");
+    }
+
     @Test
     void updateRawValue_whenReference_andBitIndexOutOfBounds_shouldReturnInitialValue() {
         // GIVEN-WHEN
@@ -7,7 +7,6 @@ import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
-import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -105,6 +104,7 @@ class DatabaseChangeHelperTest {
         DbDto topicObject = createDatabaseObject(dataObject, createDefaultStructureObject());
 
         when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(topicObject));
+        int dataRevision = dataObject.getRevision();
 
 
         // WHEN
@@ -114,6 +114,8 @@ class DatabaseChangeHelperTest {
         // THEN
         assertThat(dataObject.getEntries()).hasSize(2);
         assertThat(dataObject.getEntries()).extracting("id").containsExactly(0, 1);
+        assertThat(topicObject.isModified()).isTrue();
+        verify(minerMock).updateItemValueIndexes(TOPIC, singletonList(entry3), dataRevision);
     }
 
     @Test
@@ -261,7 +263,7 @@ class DatabaseChangeHelperTest {
     }
 
     @Test
-    void duplicateEntryWithIdentifier_whenUidField_shouldGenerateNewRefValueWithinBounds() {
+    void duplicateEntryWithIdentifier_whenUidField_shouldAllocateNewRefValueFromMiner() {
         // GIVEN
         DbDataDto dataObject = createDefaultDataObject();
 
@@ -276,6 +278,7 @@ class DatabaseChangeHelperTest {
         DbDto topicObject = createDatabaseObject(dataObject, stuctureObject);
 
         when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(topicObject));
+        when(minerMock.allocateContentsEntryIdentifier(TOPIC)).thenReturn(ENTRY_REFERENCE_BIS);
 
 
         // WHEN
@@ -289,12 +292,7 @@ class DatabaseChangeHelperTest {
         String cloneEntryReference = actualCloneEntry.getItemAtRank(1)
                 .orElseThrow(() -> new IllegalStateException("Item at rank should be present"))
                 .getRawValue();
-        Condition<String> betweenMinAndMaxRefValues = new Condition<>(o -> {
-            int i = Integer.parseInt(o);
-            return i >= 10000000 && i <= 99999999;
-        }, "between 10000000 and 99999999 (inclusive)");
-
-        assertThat(cloneEntryReference).is(betweenMinAndMaxRefValues);
+        assertThat(cloneEntryReference).isEqualTo(ENTRY_REFERENCE_BIS);
 
         assertThat(dataObject.getEntryWithReference(ENTRY_REFERENCE)).contains(defaultContentEntry);
         assertThat(dataObject.getEntryWithReference(cloneEntryReference)).contains(actualCloneEntry);
@@ -467,6 +465,50 @@ class DatabaseChangeHelperTest {
         assertThat(updatedItem.get().getRawValue()).isEqualTo("80");
     }
 
+    @Test
+    void updateItemRawValueAtIndexAndFieldRank_whenRawValueChanged_shouldMarkTopicAsModified() {
+        // GIVEN
+        ContentItemDto item = createEntryItemForBitField();
+        ContentEntryDto entry = createDefaultContentEntry();
+        entry.appendItem(item);
+        DbDataDto dataObject = createDefaultDataObject();
+        dataObject.addEntry(entry);
+        DbDto topicObject = createDatabaseObject(dataObject, createDefaultStructureObject());
+
+        when(minerMock.getContentEntryFromTopicWithInternalIdentifier(1, TOPIC)).thenReturn(of(entry));
+        when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(topicObject));
+
+
+        // WHEN
+        changeHelper.updateItemRawValueAtIndexAndFieldRank(TOPIC, 1, 1, "80");
+
+
+        // THEN
+        assertThat(topicObject.isModified()).isTrue();
+    }
+
+    @Test
+    void updateItemRawValueAtIndexAndFieldRank_whenRawValueUnchanged_shouldNotMarkTopicAsModified() {
+        // GIVEN
+        ContentItemDto item = createEntryItemForBitField();
+        ContentEntryDto entry = createDefaultContentEntry();
+        entry.appendItem(item);
+        DbDataDto dataObject = createDefaultDataObject();
+        dataObject.addEntry(entry);
+        DbDto topicObject = createDatabaseObject(dataObject, createDefaultStructureObject());
+
+        when(minerMock.getContentEntryFromTopicWithInternalIdentifier(1, TOPIC)).thenReturn(of(entry));
+        when(minerMock.getDatabaseTopic(TOPIC)).thenReturn(of(topicObject));
+
+
+        // WHEN
+        changeHelper.updateItemRawValueAtIndexAndFieldRank(TOPIC, 1, 1, ENTRY_BITFIELD);
+
+
+        // THEN
+        assertThat(topicObject.isModified()).isFalse();
+    }
+
     @Test
     void updateItemRawValueAtIndexAndFieldRank_whenItemDoesNotExist_shouldThrowException() {
         // GIVEN
@@ -8,7 +8,6 @@ import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.ResourceEntryDto;
-import org.apache.commons.lang3.Range;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,6 +15,7 @@ import org.mockito.Mock;
 
 import java.util.*;
 
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.ACHIEVEMENTS;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.BRANDS;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,64 +42,6 @@ class DatabaseGenHelperTest {
         initMocks(this);
     }
 
-    @Test
-    void generateUniqueResourceEntryIdentifier_whenNullTopicObject_shouldReturnNull() {
-        // GIVEN-WHEN-THEN
-        assertThat(DatabaseGenHelper.generateUniqueResourceEntryIdentifier(null)).isNull();
-    }
-
-    @Test
-    void generateUniqueResourceEntryIdentifier_shouldReturnCorrectIdentifier() {
-        // GIVEN
-        DbDto topicObject = DbDto.builder()
-                .withResource(DbResourceDto.builder()
-                        .withCategoryCount(1)
-                        .atVersion("1,0")
-                        .build())
-                .build();
-        topicObject.getResource().addEntryByReference(RESOURCE_REFERENCE).setDefaultValue("VAL");
-
-        // WHEN
-        String actualResourceIdentifier = DatabaseGenHelper.generateUniqueResourceEntryIdentifier(topicObject);
-
-        // THEN
-        assertThat(actualResourceIdentifier).hasSize(8);
-        assertThat(Integer.valueOf(actualResourceIdentifier))
-                .isBetween(10000000, 99999999)
-                .isNotEqualTo(11111111);
-    }
-
-    @Test
-    void generateUniqueContentsEntryIdentifier_whenNullTopicObject_shouldReturnNull() {
-        // GIVEN-WHEN-THEN
-        assertThat(DatabaseGenHelper.generateUniqueContentsEntryIdentifier(null)).isNull();
-    }
-
-    @Test
-    void generateUniqueContentsEntryIdentifier_whenTopicObjectWithoutIdentifierField_shouldThrowIllegalArgumentException() {
-        // GIVEN
-        DbDto topicObject = createTopicObjectOneField(DbStructureDto.FieldType.INTEGER);
-
-        // WHEN-THEN
-        assertThrows(IllegalArgumentException.class,
-                () -> DatabaseGenHelper.generateUniqueContentsEntryIdentifier(topicObject));
-    }
-
-    @Test
-    void generateUniqueContentsEntryIdentifier_whenTopicObjectWithIdentifierField_shouldReturnCorrectIdentifier() {
-        // GIVEN
-        DbDto topicObject = createTopicObjectOneUIDField();
-
-        // WHEN
-        String actualEntryIdentifier = DatabaseGenHelper.generateUniqueContentsEntryIdentifier(topicObject);
-
-        // THEN
-        assertThat(actualEntryIdentifier).hasSize(8);
-        assertThat(Integer.valueOf(actualEntryIdentifier))
-                .isBetween(10000000, 99999999)
-                .isNotEqualTo(11111111);
-    }
-
     @Test
     void buildDefaultContentItems_whenOneField_andReference_shouldCreateOneItem() {
         // GIVEN
@@ -118,12 +60,14 @@ class DatabaseGenHelperTest {
         // GIVEN
         DbDto topicObject = createTopicObjectOneUIDField();
 
+        when(minerMock.allocateContentsEntryIdentifier(CAR_PHYSICS_DATA)).thenReturn("22222222");
+
         // WHEN
         List<ContentItemDto> actualItems = genHelper.buildDefaultContentItems(null, topicObject);
 
         // THEN
         assertThat(actualItems).hasSize(1);
-        assertThat(actualItems.get(0).getRawValue()).isNotEmpty();
+        assertThat(actualItems.get(0).getRawValue()).isEqualTo("22222222");
     }
 
     @Test
@@ -201,6 +145,7 @@ class DatabaseGenHelperTest {
         DbDto remoteTopicObject = createRemoteTopicObjectOneField(DbStructureDto.FieldType.UID);
 
         when(minerMock.getDatabaseTopicFromReference("TARGET_REF")).thenReturn(remoteTopicObject);
+        when(minerMock.allocateContentsEntryIdentifier(BRANDS)).thenReturn("22222222");
 
 
         // WHEN
@@ -220,6 +165,8 @@ class DatabaseGenHelperTest {
         DbStructureDto.Field field = createSingleStructureField(DbStructureDto.FieldType.RESOURCE_CURRENT_GLOBALIZED);
         DbDto topicObject = createTopicObjectOneField(DbStructureDto.FieldType.RESOURCE_CURRENT_GLOBALIZED);
 
+        when(minerMock.allocateResourceEntryIdentifier(ACHIEVEMENTS)).thenReturn("22222222");
+
 
         // WHEN
         ContentItemDto actualItem = genHelper.buildDefaultContentItem(null, field, topicObject);
@@ -242,6 +189,7 @@ class DatabaseGenHelperTest {
         DbDto remoteTopicObject = createRemoteTopicObjectOneField(DbStructureDto.FieldType.RESOURCE_REMOTE);
 
         when(minerMock.getDatabaseTopicFromReference("TARGET_REF")).thenReturn(remoteTopicObject);
+        when(minerMock.allocateResourceEntryIdentifier(BRANDS)).thenReturn("22222222");
 
 
         // WHEN
@@ -265,6 +213,7 @@ class DatabaseGenHelperTest {
         DbDto remoteTopicObject = createRemoteTopicObjectOneField(DbStructureDto.FieldType.RESOURCE_REMOTE);
 
         when(minerMock.getDatabaseTopicFromReference("TARGET_REF")).thenReturn(remoteTopicObject);
+        when(minerMock.allocateResourceEntryIdentifier(BRANDS)).thenReturn("22222222");
 
 
         // WHEN
@@ -299,6 +248,8 @@ class DatabaseGenHelperTest {
         // GIVEN
         DbDto topicObject = createTopicObjectOneField(DbStructureDto.FieldType.RESOURCE_CURRENT_LOCALIZED);
 
+        when(minerMock.allocateResourceEntryIdentifier(ACHIEVEMENTS)).thenReturn("22222222");
+
         // WHEN
         String actualResourceReference = genHelper.generateDefaultResourceReference(topicObject);
 
@@ -307,29 +258,6 @@ class DatabaseGenHelperTest {
         assertResourceExistsWithDefaultItem(topicObject);
     }
 
-    @Test
-    void generateUniqueIdentifier() {
-        // GIVEN
-        Set<String> existingValues = new HashSet<>(Arrays.asList("1", "2", "3"));
-
-        // WHEN
-        final String actual = DatabaseGenHelper.generateUniqueIdentifier(existingValues, Range.between(1, 10));
-
-        // THEN
-        assertThat(actual).isNotNull();
-        assertThat(existingValues).doesNotContain(actual);
-    }
-
-    @Test
-    void generateUniqueIdentifier_whenNoSpaceLeftInRange_shouldThrowException() {
-        // GIVEN
-        Set<String> existingValues = new HashSet<>(Arrays.asList("1", "2", "3"));
-
-        // WHEN-THEN
-        assertThrows(IllegalArgumentException.class,
-                () -> DatabaseGenHelper.generateUniqueIdentifier(existingValues, Range.between(1, 3)));
-    }
-
     private static DbStructureDto.Field createSingleStructureField(DbStructureDto.FieldType fieldType) {
         return DbStructureDto.Field.builder()
                     .fromType(fieldType)
@@ -1,7 +1,10 @@
 package fr.tduf.libunlimited.high.files.db.miner;
 
+import fr.tduf.libunlimited.common.cache.CacheManager;
+import fr.tduf.libunlimited.common.cache.CacheStatistics;
 import fr.tduf.libunlimited.common.helper.FilesHelper;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +14,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.ACHIEVEMENTS;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.BOTS;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.TUTORIALS;
 import static java.util.Arrays.asList;
@@ -92,6 +96,47 @@ class BulkDatabaseMinerTest {
         assertThat(actualTopicObject).isNotNull();
     }
 
+    @Test
+    void getDatabaseTopicFromReference_whenCalledTwice_shouldResolveFromCache() {
+        // GIVEN
+        BulkDatabaseMiner bulkDatabaseMiner = BulkDatabaseMiner.load(topicObjectsFromResources);
+        DbDto firstTopicObject = bulkDatabaseMiner.getDatabaseTopicFromReference("111");
+
+        // WHEN
+        DbDto secondTopicObject = bulkDatabaseMiner.getDatabaseTopicFromReference("111");
+
+        // THEN
+        assertThat(secondTopicObject).isSameAs(firstTopicObject);
+        Optional<CacheStatistics> storeStatistics = CacheManager.it.self().getStoreStatistics(bulkDatabaseMiner, BulkDatabaseMiner.STORE_NAME_STRUCTURE);
+        assertThat(storeStatistics).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getMissCount()).isEqualTo(1);
+            assertThat(statistics.getHitCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void getStructureFieldWithTopicAndRank_whenExists_shouldReturnIt() {
+        // GIVEN-WHEN
+        DbStructureDto.Field actualField = BulkDatabaseMiner.load(topicObjectsFromResources).getStructureFieldWithTopicAndRank(ACHIEVEMENTS, 2);
+
+        // THEN
+        assertThat(actualField.getRank()).isEqualTo(2);
+    }
+
+    @Test
+    void getStructureFieldWithTopicAndRank_whenRankNotFound_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalStateException.class,
+                () -> BulkDatabaseMiner.load(topicObjectsFromResources).getStructureFieldWithTopicAndRank(ACHIEVEMENTS, 100));
+    }
+
+    @Test
+    void getStructureFieldWithTopicAndRank_whenTopicNotFound_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalStateException.class,
+                () -> BulkDatabaseMiner.load(topicObjectsFromResources).getStructureFieldWithTopicAndRank(TUTORIALS, 1));
+    }
+
     static List<DbDto> createTopicObjectsFromResources() throws IOException, URISyntaxException {
         return asList(
                 FilesHelper.readObjectFromJsonResourceFile(DbDto.class, "/db/json/miner/TDU_Achievements_FAKE.json"),
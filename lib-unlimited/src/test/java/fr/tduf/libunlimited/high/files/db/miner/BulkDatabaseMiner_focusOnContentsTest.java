@@ -3,18 +3,23 @@ package fr.tduf.libunlimited.high.files.db.miner;
 import fr.tduf.libunlimited.common.helper.FilesHelper;
 import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMinerTest.createTopicObjectsFromResources;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.*;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -87,6 +92,174 @@ class BulkDatabaseMiner_focusOnContentsTest {
         assertThat(actualEntries).isEmpty();
     }
 
+    @Test
+    void getContentEntriesMatchingCriteria_whenMultipleCriteria_shouldReturnEntriesSatisfyingAll_inTopicOrder() {
+        // GIVEN
+        List<DbDto> topicObjects = singletonList(createAchievementsTopicObjectWithEntries(
+                asList("1", "A", "X"),
+                asList("2", "B", "X"),
+                asList("3", "A", "Y"),
+                asList("4", "A", "X")));
+        List<DbFieldValueDto> criteria = asList(
+                DbFieldValueDto.fromCouple(2, "A"),
+                DbFieldValueDto.fromCouple(3, "X"));
+
+        // WHEN
+        List<ContentEntryDto> actualEntries = BulkDatabaseMiner.load(topicObjects).getContentEntriesMatchingCriteria(criteria, ACHIEVEMENTS);
+
+        // THEN
+        assertThat(actualEntries).extracting("id").containsExactly(0, 3);
+    }
+
+    @Test
+    void getContentEntriesMatchingCriteria_whenNoCriteria_shouldReturnEmptyList() {
+        // GIVEN
+        List<DbDto> topicObjects = singletonList(createAchievementsTopicObjectWithEntries(asList("1", "A", "X")));
+
+        // WHEN
+        List<ContentEntryDto> actualEntries = BulkDatabaseMiner.load(topicObjects).getContentEntriesMatchingCriteria(new ArrayList<>(0), ACHIEVEMENTS);
+
+        // THEN
+        assertThat(actualEntries).isEmpty();
+    }
+
+    @Test
+    void getContentEntriesMatchingCriteria_whenContentsChanged_shouldRebuildIndex() {
+        // GIVEN
+        DbDto topicObject = createAchievementsTopicObjectWithEntries(
+                asList("1", "A", "X"),
+                asList("2", "B", "X"));
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        DbFieldValueDto criteria = DbFieldValueDto.fromCouple(2, "A");
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS)).extracting("id").containsExactly(0);
+        DbDataDto dataObject = topicObject.getData();
+
+        // WHEN
+        dataObject.getEntries().get(1).updateItemValueAtRank("A", 2);
+        dataObject.addEntryWithItems(createItemsWithValues(asList("3", "A", "Z")));
+        dataObject.removeEntry(dataObject.getEntries().get(0));
+
+        // THEN
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS))
+                .extracting("id").containsExactly(0, 1);
+        assertThat(miner.getItemValueIndexes().get(ACHIEVEMENTS)).containsOnlyKeys(2);
+    }
+
+    @Test
+    void getContentEntriesMatchingCriteria_whenContentsUnchanged_shouldReuseIndex() {
+        // GIVEN
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(createAchievementsTopicObjectWithEntries(asList("1", "A", "X"))));
+        DbFieldValueDto criteria = DbFieldValueDto.fromCouple(2, "A");
+        miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS);
+        BulkDatabaseMiner.ItemValueIndex index = miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2);
+
+        // WHEN
+        miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS);
+
+        // THEN
+        assertThat(miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2)).isSameAs(index);
+    }
+
+    @Test
+    void updateItemValueIndexes_whenIndexUpToDate_shouldUpdateIndexInPlace_andKeepTopicOrder() {
+        // GIVEN
+        DbDto topicObject = createAchievementsTopicObjectWithEntries(
+                asList("1", "A", "X"),
+                asList("2", "B", "X"),
+                asList("3", "A", "Y"));
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        DbFieldValueDto criteria = DbFieldValueDto.fromCouple(2, "A");
+        miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS);
+        BulkDatabaseMiner.ItemValueIndex index = miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2);
+        DbDataDto dataObject = topicObject.getData();
+        ContentEntryDto updatedEntry = dataObject.getEntries().get(1);
+        ContentEntryDto movedEntry = dataObject.getEntries().get(2);
+        int dataRevision = dataObject.getRevision();
+
+        // WHEN
+        updatedEntry.updateItemValueAtRank("A", 2);
+        dataObject.moveEntryUp(movedEntry);
+        miner.updateItemValueIndexes(ACHIEVEMENTS, asList(updatedEntry, movedEntry), dataRevision);
+
+        // THEN
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS))
+                .extracting("id").containsExactly(0, 1, 2);
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS).get(1)).isSameAs(movedEntry);
+        assertThat(miner.getDistinctItemValuesAtFieldRank(2, ACHIEVEMENTS)).containsOnly("A");
+        assertThat(miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2)).isSameAs(index);
+    }
+
+    @Test
+    void updateItemValueIndexes_whenEntryRemoved_shouldRemoveItFromIndex() {
+        // GIVEN
+        DbDto topicObject = createAchievementsTopicObjectWithEntries(
+                asList("1", "A", "X"),
+                asList("2", "B", "X"));
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        miner.getDistinctItemValuesAtFieldRank(2, ACHIEVEMENTS);
+        DbDataDto dataObject = topicObject.getData();
+        ContentEntryDto removedEntry = dataObject.getEntries().get(0);
+        int dataRevision = dataObject.getRevision();
+
+        // WHEN
+        dataObject.removeEntry(removedEntry);
+        miner.updateItemValueIndexes(ACHIEVEMENTS, singletonList(removedEntry), dataRevision);
+
+        // THEN
+        assertThat(miner.getDistinctItemValuesAtFieldRank(2, ACHIEVEMENTS)).containsOnly("B");
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(DbFieldValueDto.fromCouple(2, "B"), ACHIEVEMENTS))
+                .extracting("id").containsExactly(0);
+    }
+
+    @Test
+    void getContentEntryStreamMatchingCriteria_whenIndexUpdatedDuringIteration_shouldKeepPreviousMatches() {
+        // GIVEN
+        DbDto topicObject = createAchievementsTopicObjectWithEntries(
+                asList("1", "A", "X"),
+                asList("2", "B", "X"));
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        DbFieldValueDto criteria = DbFieldValueDto.fromCouple(2, "A");
+        Iterator<ContentEntryDto> matchIterator = miner.getContentEntryStreamMatchingSimpleCondition(criteria, ACHIEVEMENTS).iterator();
+        DbDataDto dataObject = topicObject.getData();
+        ContentEntryDto updatedEntry = dataObject.getEntries().get(1);
+        int dataRevision = dataObject.getRevision();
+
+        // WHEN
+        updatedEntry.updateItemValueAtRank("A", 2);
+        miner.updateItemValueIndexes(ACHIEVEMENTS, singletonList(updatedEntry), dataRevision);
+        List<ContentEntryDto> actualMatches = new ArrayList<>();
+        matchIterator.forEachRemaining(actualMatches::add);
+
+        // THEN
+        assertThat(actualMatches).extracting("id").containsExactly(0);
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS)).extracting("id").containsExactly(0, 1);
+    }
+
+    @Test
+    void updateItemValueIndexes_whenIndexOutdated_shouldRebuildIndexOnNextUse() {
+        // GIVEN
+        DbDto topicObject = createAchievementsTopicObjectWithEntries(asList("1", "A", "X"));
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        DbFieldValueDto criteria = DbFieldValueDto.fromCouple(2, "A");
+        miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS);
+        BulkDatabaseMiner.ItemValueIndex index = miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2);
+        DbDataDto dataObject = topicObject.getData();
+        dataObject.addEntryWithItems(createItemsWithValues(asList("2", "A", "Y")));
+        int dataRevision = dataObject.getRevision();
+        ContentEntryDto newEntry = ContentEntryDto.builder()
+                .addItems(createItemsWithValues(asList("3", "A", "Z")))
+                .build();
+
+        // WHEN
+        dataObject.addEntry(newEntry);
+        miner.updateItemValueIndexes(ACHIEVEMENTS, singletonList(newEntry), dataRevision);
+
+        // THEN
+        assertThat(miner.getContentEntriesMatchingSimpleCondition(criteria, ACHIEVEMENTS))
+                .extracting("id").containsExactly(0, 1, 2);
+        assertThat(miner.getItemValueIndexes().get(ACHIEVEMENTS).get(2)).isNotSameAs(index);
+    }
+
     @Test
     void getContentEntryFromTopicWithRef_whenTopicNotFound_shouldThrowException() throws IOException, URISyntaxException {
         // GIVEN-WHEN-THEN
@@ -315,6 +488,145 @@ class BulkDatabaseMiner_focusOnContentsTest {
         assertThat(potentialInternalId).hasValue(0);
     }
 
+    @Test
+    void allocateContentsEntryIdentifier_shouldReturnDistinctUnusedIdentifiers() {
+        // GIVEN
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(topicObjectsFromResources);
+
+        // WHEN
+        Set<String> actualIdentifiers = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            actualIdentifiers.add(miner.allocateContentsEntryIdentifier(BOTS));
+        }
+
+        // THEN
+        assertThat(actualIdentifiers).hasSize(1000);
+        assertThat(actualIdentifiers).allSatisfy(identifier -> {
+            assertThat(Integer.valueOf(identifier)).isBetween(BulkDatabaseMiner.IDENTIFIER_MIN, BulkDatabaseMiner.IDENTIFIER_MAX);
+            assertThat(miner.getContentEntryInternalIdentifierWithReference(identifier, BOTS)).isEmpty();
+        });
+    }
+
+    @Test
+    void allocateContentsEntryIdentifier_whenSameSeed_shouldReturnSameIdentifiers() {
+        // GIVEN
+        BulkDatabaseMiner miner1 = BulkDatabaseMiner.load(topicObjectsFromResources);
+        BulkDatabaseMiner miner2 = BulkDatabaseMiner.load(topicObjectsFromResources);
+        miner1.seedIdentifierAllocation(1L);
+        miner2.seedIdentifierAllocation(1L);
+
+        // WHEN
+        List<String> actualIdentifiers1 = Stream.generate(() -> miner1.allocateContentsEntryIdentifier(BOTS)).limit(10).collect(toList());
+        List<String> actualIdentifiers2 = Stream.generate(() -> miner2.allocateContentsEntryIdentifier(BOTS)).limit(10).collect(toList());
+
+        // THEN
+        assertThat(actualIdentifiers1).isEqualTo(actualIdentifiers2);
+    }
+
+    @Test
+    void allocateContentsEntryIdentifier_whenNoUidField_shouldThrowException() throws IOException, URISyntaxException {
+        // GIVEN
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(createTopicObjectsWithoutUidFieldFromResources());
+
+        // WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> miner.allocateContentsEntryIdentifier(ACHIEVEMENTS));
+    }
+
+    @Test
+    void allocateCarIdentifier_shouldReturnDistinctUnusedIdentifiers() {
+        // GIVEN
+        DbDto carPhysicsTopicObject = DbDto.builder()
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .build())
+                .withData(DbDataDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .addEntry(createContentEntryWithItems(asList(
+                                createContentItemWithRank(1),
+                                ContentItemDto.builder()
+                                        .ofFieldRank(102)
+                                        .withRawValue("8500")
+                                        .build())))
+                        .build())
+                .build();
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(carPhysicsTopicObject));
+
+        // WHEN
+        Set<String> actualIdentifiers = new HashSet<>();
+        for (int i = 0; i < 999; i++) {
+            actualIdentifiers.add(miner.allocateCarIdentifier());
+        }
+
+        // THEN
+        assertThat(actualIdentifiers)
+                .hasSize(999)
+                .doesNotContain("8500")
+                .allSatisfy(identifier -> assertThat(Integer.valueOf(identifier)).isBetween(8000, 8999));
+    }
+
+    @Test
+    void allocateCarIdentifier_whenIdentifiersReserved_shouldNotReturnThem() {
+        // GIVEN
+        DbDto carPhysicsTopicObject = DbDto.builder()
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .build())
+                .withData(DbDataDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .addEntry(createContentEntryWithItems(asList(
+                                createContentItemWithRank(1),
+                                ContentItemDto.builder()
+                                        .ofFieldRank(102)
+                                        .withRawValue("8500")
+                                        .build())))
+                        .build())
+                .build();
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(carPhysicsTopicObject));
+        miner.reserveCarIdentifier("8600");
+        miner.reserveCarIdentifier("100");
+
+        // WHEN
+        Set<String> actualIdentifiers = new HashSet<>();
+        for (int i = 0; i < 998; i++) {
+            actualIdentifiers.add(miner.allocateCarIdentifier());
+        }
+
+        // THEN
+        assertThat(actualIdentifiers)
+                .hasSize(998)
+                .doesNotContain("8500", "8600");
+    }
+
+    @Test
+    void allocateCarIdentifier_whenRangeFilledByUsedAndAllocatedIdentifiers_shouldThrowException() {
+        // GIVEN
+        DbDto carPhysicsTopicObject = DbDto.builder()
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .build())
+                .withData(DbDataDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .addEntry(createContentEntryWithItems(asList(
+                                createContentItemWithRank(1),
+                                ContentItemDto.builder()
+                                        .ofFieldRank(102)
+                                        .withRawValue("8500")
+                                        .build())))
+                        .build())
+                .build();
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(carPhysicsTopicObject));
+        miner.seedIdentifierAllocation(0L);
+        miner.reserveCarIdentifier("8600");
+        for (int i = 0; i < 998; i++) {
+            miner.allocateCarIdentifier();
+        }
+
+        // WHEN-THEN
+        IllegalStateException actualException = assertThrows(IllegalStateException.class, miner::allocateCarIdentifier);
+        assertThat(actualException).hasMessageStartingWith("No space left to allocate identifier in range");
+    }
+
     private static ArrayList<DbDto> createTopicObjectsWithoutUidFieldFromResources() throws IOException, URISyntaxException {
         ArrayList<DbDto> dbDtos = new ArrayList<>();
 
@@ -332,6 +644,37 @@ class BulkDatabaseMiner_focusOnContentsTest {
         return dbDtos;
     }
 
+    @SafeVarargs
+    private static DbDto createAchievementsTopicObjectWithEntries(List<String>... valuesPerEntry) {
+        List<ContentEntryDto> entries = new ArrayList<>(valuesPerEntry.length);
+        for (List<String> values : valuesPerEntry) {
+            entries.add(ContentEntryDto.builder()
+                    .addItems(createItemsWithValues(values))
+                    .build());
+        }
+
+        return DbDto.builder()
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(ACHIEVEMENTS)
+                        .build())
+                .withData(DbDataDto.builder()
+                        .forTopic(ACHIEVEMENTS)
+                        .addEntries(entries)
+                        .build())
+                .build();
+    }
+
+    private static List<ContentItemDto> createItemsWithValues(List<String> values) {
+        List<ContentItemDto> items = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            items.add(ContentItemDto.builder()
+                    .ofFieldRank(i + 1)
+                    .withRawValue(values.get(i))
+                    .build());
+        }
+        return items;
+    }
+
     private ContentEntryDto createContentEntryWithItems(List<ContentItemDto> items) {
         return ContentEntryDto.builder()
                 .addItems(items)
@@ -1,6 +1,7 @@
 package fr.tduf.libunlimited.high.files.db.miner;
 
 import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.dto.DbResourceMatchDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
@@ -226,6 +227,25 @@ class BulkDatabaseMiner_focusOnResourcesTest {
                 .contains(RESOURCE_VALUE);
     }
 
+    @Test
+    void getLocalizedResourceValueFromContentEntry_whenResourceValueChangedAfterCall_shouldReturnNewValue() {
+        // GIVEN
+        final DbDto topicObject = createDefaultTopicObject(TOPIC);
+        ResourceEntryDto resourceEntry = topicObject.getResource()
+                .addEntryByReference(RESOURCE_REF)
+                .setDefaultValue("")
+                .setValueForLocale(RESOURCE_VALUE, LOCALE);
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        assertThat(miner.getLocalizedResourceValueFromContentEntry(0, 3, TOPIC, LOCALE)).contains(RESOURCE_VALUE);
+
+        // WHEN
+        resourceEntry.setValueForLocale("new value", LOCALE);
+        final Optional<String> potentialValue = miner.getLocalizedResourceValueFromContentEntry(0, 3, TOPIC, LOCALE);
+
+        // THEN
+        assertThat(potentialValue).contains("new value");
+    }
+
     @Test
     void getLocalizedResourceValueFromContentEntry_whenContentEntryExists_fieldRankExistsAsRemoteResourceField_butRemoteTopicDoesNotExist_shouldThrowException() {
         // GIVEN
@@ -341,6 +361,112 @@ class BulkDatabaseMiner_focusOnResourcesTest {
                 .containsOnly(RESOURCE_VALUE, "VALUE2", "VALUE3");
     }
 
+    @Test
+    void findResourcesContaining_whenValueContainsText_shouldReturnMatchIgnoringCase() {
+        //GIVEN
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        topicObject.getResource().addEntryByReference(RESOURCE_REF)
+                .setValueForLocale("Alfa Romeo Brera", LOCALE)
+                .setValueForLocale("Alfa Romeo Brera FR", FRANCE);
+        topicObject.getResource().addDefaultEntryByReference(ENTRY_REF, "Ferrari Enzo");
+
+        //WHEN
+        List<DbResourceMatchDto> actualMatches = BulkDatabaseMiner.load(singletonList(topicObject)).findResourcesContaining("ROMEO BR", LOCALE);
+
+        //THEN
+        assertThat(actualMatches).containsExactly(DbResourceMatchDto.fromResourceValue(TOPIC, RESOURCE_REF, LOCALE, "Alfa Romeo Brera"));
+    }
+
+    @Test
+    void findResourcesContaining_whenAnyLocale_shouldReturnFirstMatchingValueOfEachEntry() {
+        //GIVEN
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        setAllResourceValues(topicObject.getResource().addEntryByReference(RESOURCE_REF), RESOURCE_VALUE);
+        topicObject.getResource().addDefaultEntryByReference(ENTRY_REF, "OTHER " + RESOURCE_VALUE);
+        topicObject.getResource().addDefaultEntryByReference(TOPIC_REF, "NOTHING");
+
+        //WHEN
+        List<DbResourceMatchDto> actualMatches = BulkDatabaseMiner.load(singletonList(topicObject)).findResourcesContaining("value", null);
+
+        //THEN
+        assertThat(actualMatches).containsExactly(
+                DbResourceMatchDto.fromResourceValue(TOPIC, RESOURCE_REF, FRANCE, RESOURCE_VALUE),
+                DbResourceMatchDto.fromResourceValue(TOPIC, ENTRY_REF, Locale.DEFAULT, "OTHER " + RESOURCE_VALUE));
+    }
+
+    @Test
+    void findResourcesStartingWith_shouldOnlyReturnValuesWithPrefix() {
+        //GIVEN
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        topicObject.getResource().addDefaultEntryByReference(RESOURCE_REF, "Brera");
+        topicObject.getResource().addDefaultEntryByReference(ENTRY_REF, "Alfa Romeo Brera");
+
+        //WHEN
+        List<DbResourceMatchDto> actualMatches = BulkDatabaseMiner.load(singletonList(topicObject)).findResourcesStartingWith("br", LOCALE);
+
+        //THEN
+        assertThat(actualMatches).containsExactly(DbResourceMatchDto.fromResourceValue(TOPIC, RESOURCE_REF, LOCALE, "Brera"));
+    }
+
+    @Test
+    void findResourcesContaining_whenResourcesChangedWithoutIndexUpdate_shouldRebuildIndex() {
+        //GIVEN
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        ResourceEntryDto resourceEntry = topicObject.getResource().addDefaultEntryByReference(RESOURCE_REF, "Brera");
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        miner.findResourcesContaining("brera", LOCALE);
+        resourceEntry.setDefaultValue("Enzo");
+
+        //WHEN
+        List<DbResourceMatchDto> actualMatches = miner.findResourcesContaining("enzo", LOCALE);
+
+        //THEN
+        assertThat(actualMatches).containsExactly(DbResourceMatchDto.fromResourceValue(TOPIC, RESOURCE_REF, LOCALE, "Enzo"));
+        assertThat(miner.findResourcesContaining("brera", LOCALE)).isEmpty();
+    }
+
+    @Test
+    void updateResourceSearchIndex_whenIndexUpToDate_shouldKeepIndexAndApplyChanges() {
+        //GIVEN
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        DbResourceDto resourceObject = topicObject.getResource();
+        resourceObject.addDefaultEntryByReference(RESOURCE_REF, "Brera");
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        miner.findResourcesContaining("brera", LOCALE);
+        BulkDatabaseMiner.ResourceValueIndex initialIndex = miner.getResourceValueIndexes().get(TOPIC);
+        int resourceRevision = resourceObject.getRevision();
+        resourceObject.removeEntryByReference(RESOURCE_REF);
+        resourceObject.addDefaultEntryByReference(ENTRY_REF, "Enzo");
+
+        //WHEN
+        miner.updateResourceSearchIndex(TOPIC, asList(RESOURCE_REF, ENTRY_REF), resourceRevision);
+
+        //THEN
+        assertThat(miner.findResourcesContaining("enzo", LOCALE)).containsExactly(DbResourceMatchDto.fromResourceValue(TOPIC, ENTRY_REF, LOCALE, "Enzo"));
+        assertThat(miner.findResourcesContaining("brera", LOCALE)).isEmpty();
+        assertThat(miner.getResourceValueIndexes().get(TOPIC)).isSameAs(initialIndex);
+    }
+
+    @Test
+    void allocateResourceEntryIdentifier_whenSameSeed_shouldSkipExistingReference() {
+        //GIVEN
+        BulkDatabaseMiner seededMiner = BulkDatabaseMiner.load(singletonList(createDefaultTopicObject(TOPIC)));
+        seededMiner.seedIdentifierAllocation(1L);
+        String firstIdentifier = seededMiner.allocateResourceEntryIdentifier(TOPIC);
+        DbDto topicObject = createDefaultTopicObject(TOPIC);
+        topicObject.getResource().addDefaultEntryByReference(firstIdentifier, "Enzo");
+        BulkDatabaseMiner miner = BulkDatabaseMiner.load(singletonList(topicObject));
+        miner.seedIdentifierAllocation(1L);
+
+        //WHEN
+        String actualIdentifier = miner.allocateResourceEntryIdentifier(TOPIC);
+
+        //THEN
+        assertThat(actualIdentifier)
+                .isNotEqualTo(firstIdentifier)
+                .isEqualTo(seededMiner.allocateResourceEntryIdentifier(TOPIC));
+    }
+
     private static DbDto createDefaultTopicObject(DbDto.Topic topic) {
         DbResourceDto resourceObject = createDefaultResourceObject();
         DbStructureDto structureObject = DbStructureDto.builder()
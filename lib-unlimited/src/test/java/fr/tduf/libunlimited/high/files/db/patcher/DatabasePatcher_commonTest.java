@@ -1,6 +1,10 @@
 package fr.tduf.libunlimited.high.files.db.patcher;
 
+import fr.tduf.libtesting.common.helper.game.DatabaseHelper;
 import fr.tduf.libunlimited.high.files.db.common.AbstractDatabaseHolder;
+import fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto;
+import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
+import fr.tduf.libunlimited.high.files.db.patcher.domain.DatabasePatchProperties;
 import fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import org.junit.jupiter.api.BeforeAll;
@@ -8,9 +12,18 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static fr.tduf.libunlimited.common.helper.FilesHelper.readObjectFromJsonResourceFile;
+import static fr.tduf.libunlimited.high.files.db.common.DatabaseConstants.FIELD_RANK_ID_CAR;
+import static fr.tduf.libunlimited.high.files.db.patcher.dto.DbPatchDto.DbChangeDto.ChangeTypeEnum.UPDATE;
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DatabasePatcher_commonTest {
@@ -50,10 +63,83 @@ class DatabasePatcher_commonTest {
                 () -> patcher.applyWithProperties(DbPatchDto.builder().build(), null));
     }
 
+    @Test
+    void batchApplyWithProperties_shouldResultInSameDatabaseAsApplyingPatchesOneByOne() throws ReflectiveOperationException, IOException, URISyntaxException {
+        // GIVEN
+        List<DbDto> expectedDatabaseObjects = DatabaseHelper.createDatabase();
+        List<DbDto> actualDatabaseObjects = DatabaseHelper.createDatabase();
+        DatabasePatcher sequentialPatcher = createPatcher(expectedDatabaseObjects);
+        for (DbPatchDto patchObject : readPatchObjects()) {
+            sequentialPatcher.applyWithProperties(patchObject, new DatabasePatchProperties());
+        }
+
+        Map<DbPatchDto, DatabasePatchProperties> patchObjectsAndProperties = new LinkedHashMap<>();
+        for (DbPatchDto patchObject : readPatchObjects()) {
+            patchObjectsAndProperties.put(patchObject, new DatabasePatchProperties());
+        }
+
+        // WHEN
+        createPatcher(actualDatabaseObjects).batchApplyWithProperties(patchObjectsAndProperties);
+
+        // THEN
+        assertThat(actualDatabaseObjects)
+                .isNotEqualTo(DatabaseHelper.createDatabase())
+                .isEqualTo(expectedDatabaseObjects);
+    }
+
+    @Test
+    void batchApplyWithProperties_whenEarlierPatchAddsLiteralCarIdentifier_shouldNotAllocateItForPlaceholder() throws ReflectiveOperationException {
+        // GIVEN
+        long seed = 1L;
+        BulkDatabaseMiner seededMiner = BulkDatabaseMiner.load(DatabaseHelper.createDatabase());
+        seededMiner.seedIdentifierAllocation(seed);
+        String literalCarIdentifier = seededMiner.allocateCarIdentifier();
+
+        DbPatchDto literalPatchObject = createCarIdentifierPatchObject("606298799", literalCarIdentifier);
+        DbPatchDto placeholderPatchObject = createCarIdentifierPatchObject("632098801", "{CARID}");
+        Map<DbPatchDto, DatabasePatchProperties> patchObjectsAndProperties = new LinkedHashMap<>();
+        patchObjectsAndProperties.put(literalPatchObject, new DatabasePatchProperties());
+        patchObjectsAndProperties.put(placeholderPatchObject, new DatabasePatchProperties());
+        List<DbDto> actualDatabaseObjects = DatabaseHelper.createDatabase();
+
+        // WHEN
+        createPatcher(actualDatabaseObjects)
+                .withIdentifierSeed(seed)
+                .batchApplyWithProperties(patchObjectsAndProperties);
+
+        // THEN
+        String generatedCarIdentifier = placeholderPatchObject.getChanges().get(0).getPartialValues().get(0).getValue();
+        assertThat(generatedCarIdentifier).isNotEqualTo(literalCarIdentifier);
+        BulkDatabaseMiner actualMiner = BulkDatabaseMiner.load(actualDatabaseObjects);
+        assertThat(actualMiner.getContentEntryStreamMatchingSimpleCondition(DbFieldValueDto.fromCouple(FIELD_RANK_ID_CAR, literalCarIdentifier), CAR_PHYSICS_DATA)).hasSize(1);
+        assertThat(actualMiner.getContentEntryStreamMatchingSimpleCondition(DbFieldValueDto.fromCouple(FIELD_RANK_ID_CAR, generatedCarIdentifier), CAR_PHYSICS_DATA)).hasSize(1);
+    }
+
     static DatabasePatcher createPatcher(List<DbDto> databaseObjects) throws ReflectiveOperationException {
         return AbstractDatabaseHolder.prepare(DatabasePatcher.class, databaseObjects);
     }
 
+    private static List<DbPatchDto> readPatchObjects() throws IOException, URISyntaxException {
+        List<DbPatchDto> patchObjects = new ArrayList<>();
+        for (String patchFileName : asList(
+                "updateContentsAndResources-all", "updatePartialContents-filter", "updateResources-all",
+                "moveContents-down-1step", "deleteContents-filter", "deleteResources", "updateContents-addAll-ref")) {
+            patchObjects.add(readObjectFromJsonResourceFile(DbPatchDto.class, "/db/patch/" + patchFileName + ".mini.json"));
+        }
+        return patchObjects;
+    }
+
+    private static DbPatchDto createCarIdentifierPatchObject(String entryReference, String carIdentifier) {
+        return DbPatchDto.builder()
+                .addChanges(singletonList(DbPatchDto.DbChangeDto.builder()
+                        .withType(UPDATE)
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .asReference(entryReference)
+                        .withPartialEntryValues(singletonList(DbFieldValueDto.fromCouple(FIELD_RANK_ID_CAR, carIdentifier)))
+                        .build()))
+                .build();
+    }
+
     private static List<DbDto> createEmptyDatabaseObjects() {
         return singletonList(DbDto.builder().build());
     }
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static fr.tduf.libunlimited.common.game.domain.Locale.FRANCE;
 import static fr.tduf.libunlimited.high.files.db.dto.DbFieldValueDto.fromCouple;
@@ -31,23 +32,7 @@ class DatabasePatcher_focusOnPlaceholdersTest {
 
     @BeforeEach
     void setUp() throws ReflectiveOperationException {
-        databaseObject = DbDto.builder()
-                .withData(DbDataDto.builder().forTopic(CAR_PHYSICS_DATA).build())
-                .withStructure(DbStructureDto.builder()
-                        .forTopic(CAR_PHYSICS_DATA)
-                        .addItem(DbStructureDto.Field.builder()
-                                .ofRank(1)
-                                .fromType(UID)
-                                .build())
-                        .addItem(DbStructureDto.Field.builder()
-                                .ofRank(2)
-                                .fromType(RESOURCE_CURRENT_LOCALIZED)
-                                .build())
-                        .build())
-                .withResource(DbResourceDto.builder()
-                        .atVersion("1,0")
-                        .withCategoryCount(1).build())
-                .build();
+        databaseObject = createDatabaseObject();
 
         databasePatcher = createPatcher(singletonList(databaseObject));
     }
@@ -200,6 +185,34 @@ class DatabasePatcher_focusOnPlaceholdersTest {
         assertThat(potentialEntry.get().getItemForLocale(FRANCE).get().getValue()).isEqualTo("Text");
     }
 
+    @Test
+    void apply_whenUpdateContents_forRef_withoutProperty_andIdentifierSeed_shouldGenerateSameValueEachTime() throws ReflectiveOperationException {
+        // GIVEN
+        // Placeholders are resolved in place, so each patcher needs its own change
+        Supplier<DbPatchDto> patchSupplier = () -> createPatchObjectWithSingleChange(DbPatchDto.DbChangeDto.builder()
+                .withType(UPDATE)
+                .forTopic(CAR_PHYSICS_DATA)
+                .asReferencePlaceholder("MYREF")
+                .withEntryValues(asList("{MYREF}", "103"))
+                .build());
+        DatabasePatcher otherPatcher = createPatcher(singletonList(createDatabaseObject()));
+
+
+        // WHEN
+        final DatabasePatchProperties actualProperties = databasePatcher
+                .withIdentifierSeed(1L)
+                .applyWithProperties(patchSupplier.get(), new DatabasePatchProperties());
+        final DatabasePatchProperties otherProperties = otherPatcher
+                .withIdentifierSeed(1L)
+                .applyWithProperties(patchSupplier.get(), new DatabasePatchProperties());
+
+
+        // THEN
+        assertThat(actualProperties.getProperty("MYREF"))
+                .isNotNull()
+                .isEqualTo(otherProperties.getProperty("MYREF"));
+    }
+
     @Test
      void apply_whenUpdateResources_forRef_withoutProperty_shouldUseGeneratedValue() throws ReflectiveOperationException {
         // GIVEN
@@ -256,6 +269,26 @@ class DatabasePatcher_focusOnPlaceholdersTest {
         assertThat(databaseObject.getResource().getEntryByReference("000000")).isEmpty();
     }
 
+    private static DbDto createDatabaseObject() {
+        return DbDto.builder()
+                .withData(DbDataDto.builder().forTopic(CAR_PHYSICS_DATA).build())
+                .withStructure(DbStructureDto.builder()
+                        .forTopic(CAR_PHYSICS_DATA)
+                        .addItem(DbStructureDto.Field.builder()
+                                .ofRank(1)
+                                .fromType(UID)
+                                .build())
+                        .addItem(DbStructureDto.Field.builder()
+                                .ofRank(2)
+                                .fromType(RESOURCE_CURRENT_LOCALIZED)
+                                .build())
+                        .build())
+                .withResource(DbResourceDto.builder()
+                        .atVersion("1,0")
+                        .withCategoryCount(1).build())
+                .build();
+    }
+
     private static DbPatchDto createPatchObjectWithSingleChange(DbPatchDto.DbChangeDto changeObject) {
         return DbPatchDto.builder()
                 .addChanges(singletonList(changeObject))
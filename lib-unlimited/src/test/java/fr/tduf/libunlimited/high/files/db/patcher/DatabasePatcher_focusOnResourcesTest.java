@@ -36,6 +36,7 @@ class DatabasePatcher_focusOnResourcesTest {
         BulkDatabaseMiner databaseMiner = BulkDatabaseMiner.load(singletonList(databaseObject));
         assertThat(databaseMiner.getLocalizedResourceValueFromTopicAndReference("54367256", BOTS, FRANCE)).contains("Brian Molko");
         assertThat(databaseMiner.getLocalizedResourceValueFromTopicAndReference("33333333", BOTS, FRANCE)).contains("Cindy");
+        assertThat(databaseObject.isModified()).isTrue();
     }
 
     @Test
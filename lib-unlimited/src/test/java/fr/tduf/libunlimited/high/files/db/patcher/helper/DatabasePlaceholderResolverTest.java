@@ -8,29 +8,19 @@ import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-
-import java.util.HashSet;
-import java.util.Optional;
 
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static fr.tduf.libunlimited.low.files.db.dto.DbStructureDto.FieldType.*;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.when;
-import static org.mockito.MockitoAnnotations.initMocks;
 
 class DatabasePlaceholderResolverTest {
 
-    @Mock
-    private BulkDatabaseMiner minerMock;
-
     private DbDto databaseObject;
 
     @BeforeEach
     void setUp() throws ReflectiveOperationException {
-        initMocks(this);
-        
         databaseObject = DbDto.builder()
                 .withData(DbDataDto.builder().build())
                 .withStructure(DbStructureDto.builder()
@@ -84,11 +74,8 @@ class DatabasePlaceholderResolverTest {
 
     @Test
     void resolveValuePlaceholder_whenCARID_withoutProperty_shouldGenerateUniqueIdentifier() {
-        // GIVEN
-        when(minerMock.getDatabaseTopic(CAR_PHYSICS_DATA)).thenReturn(Optional.of(databaseObject));
-
-        // WHEN
-        final String actual = DatabasePlaceholderResolver.resolveValuePlaceholder("{CARID}", new DatabasePatchProperties(), minerMock);
+        // GIVEN-WHEN
+        final String actual = DatabasePlaceholderResolver.resolveValuePlaceholder("{CARID}", new DatabasePatchProperties(), BulkDatabaseMiner.load(singletonList(databaseObject)));
 
         // THEN
         int intValue = Integer.valueOf(actual);
@@ -99,7 +86,7 @@ class DatabasePlaceholderResolverTest {
     void resolveContentsReferencePlaceholder_whenNoPlaceholder_shouldReturnInitialValue() {
         // GIVEN-WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "FOO", new DatabasePatchProperties(), databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "FOO", new DatabasePatchProperties(), CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isEqualTo("FOO");
     }
 
@@ -111,7 +98,7 @@ class DatabasePlaceholderResolverTest {
 
         // WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO}", patchProperties, databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO}", patchProperties, CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isEqualTo("1");
     }
 
@@ -124,7 +111,7 @@ class DatabasePlaceholderResolverTest {
 
         // WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO1}|{FOO2}", patchProperties, databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO1}|{FOO2}", patchProperties, CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isEqualTo("1|2");
     }
 
@@ -136,7 +123,7 @@ class DatabasePlaceholderResolverTest {
 
         // WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO1}|{FOO2}", patchProperties, databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO1}|{FOO2}", patchProperties, CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).startsWith("1|");
     }
 
@@ -144,7 +131,7 @@ class DatabasePlaceholderResolverTest {
     void resolveContentsReferencePlaceholder_whenPlaceholder_withMissingProperty_shouldReturnProvidedAndGeneratedValues() {
         // GIVEN-WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO}", new DatabasePatchProperties(), databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(true, "{FOO}", new DatabasePatchProperties(), CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isNotNull();
     }
 
@@ -152,7 +139,7 @@ class DatabasePlaceholderResolverTest {
     void resolveResourceReferencePlaceholder_whenNoPlaceholder_shouldReturnInitialValue() {
         // GIVEN-WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "FOO", new DatabasePatchProperties(), databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "FOO", new DatabasePatchProperties(), CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isEqualTo("FOO");
     }
 
@@ -164,7 +151,7 @@ class DatabasePlaceholderResolverTest {
 
         // WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "{FOO}", patchProperties, databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "{FOO}", patchProperties, CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isEqualTo("1");
     }
 
@@ -172,7 +159,7 @@ class DatabasePlaceholderResolverTest {
     void resolveResourceReferencePlaceholder_whenPlaceholder_withoutProperty_shouldReturnGeneratedValue() {
         // GIVEN-WHEN-THEN
         assertThat(
-                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "{FOO}", new DatabasePatchProperties(), databaseObject, new HashSet<>())
+                DatabasePlaceholderResolver.resolveReferencePlaceholder(false, "{FOO}", new DatabasePatchProperties(), CAR_PHYSICS_DATA, BulkDatabaseMiner.load(singletonList(databaseObject)))
         ).isNotNull();
     }
 }
@@ -40,7 +40,7 @@ class MapParserTest {
 
         // WHEN
         MapParser mapParser = MapParser.load(mapContents);
-        BankMap actualBankMap = mapParser.parse();
+        BankMap actualBankMap = mapParser.parse(true);
         Log.debug(thisClass.getSimpleName(), "Dumped contents:\n" + mapParser.dump());
 
 
@@ -0,0 +1,114 @@
+package fr.tduf.libunlimited.low.files.banks.rw;
+
+import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.high.files.banks.interop.dto.GenuineBankInfoOutputDto;
+import fr.tduf.libunlimited.high.files.banks.interop.dto.GenuinePackedFileInfoOutputDto;
+import fr.tduf.libunlimited.low.files.banks.domain.PackedFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BankReaderTest {
+
+    @Test
+    void load_shouldReadHeader_andPackedFiles_likeGenuineTool() throws URISyntaxException, IOException {
+        // GIVEN
+        Path bankPath = getResourcePath("/banks/Vehicules/A3_V6.bnk");
+        GenuineBankInfoOutputDto expectedInfo = FilesHelper.readObjectFromJsonResourceFile(GenuineBankInfoOutputDto.class, "/files/interop/tdumt-cli/BANK-I.output.json");
+
+        // WHEN
+        BankReader bankReader = BankReader.load(bankPath);
+
+        // THEN
+        assertThat(bankReader.getYear()).isEqualTo(expectedInfo.getYear());
+        assertThat(bankReader.getFileSize()).isEqualTo(expectedInfo.getFileSize());
+        assertThat(bankReader.getPackedFiles()).extracting("fullName").containsExactlyElementsOf(
+                expectedInfo.getPackedFiles().stream().map(GenuinePackedFileInfoOutputDto::getName).collect(toList()));
+        assertThat(bankReader.getPackedFiles()).extracting("shortName").containsExactlyElementsOf(
+                expectedInfo.getPackedFiles().stream().map(GenuinePackedFileInfoOutputDto::getShortName).collect(toList()));
+        assertThat(bankReader.getPackedFiles()).extracting("size").containsExactlyElementsOf(
+                expectedInfo.getPackedFiles().stream().map(GenuinePackedFileInfoOutputDto::getFileSize).collect(toList()));
+    }
+
+    @Test
+    void load_whenDatabaseBank_shouldReadPackedFiles() throws URISyntaxException, IOException {
+        // GIVEN
+        Path bankPath = getResourcePath("/db/full/DB.bnk");
+
+        // WHEN
+        List<PackedFile> actualPackedFiles = BankReader.load(bankPath).getPackedFiles();
+
+        // THEN
+        assertThat(actualPackedFiles).hasSize(18);
+        assertThat(actualPackedFiles).extracting("shortName").contains("TDU_Achievements.db", "TDU_Tutorials.db");
+        assertThat(actualPackedFiles).extracting("extension").containsOnly("db");
+        assertThat(actualPackedFiles.get(0).getFullName()).startsWith("D:\\Eden-Prog\\Games\\TestDrive\\Resources\\4Build\\PC\\Euro\\BDD\\Db_encrypted\\.db\\");
+    }
+
+    @Test
+    void load_whenNotABank_shouldThrowException() throws URISyntaxException {
+        // GIVEN
+        Path filePath = getResourcePath("/banks/FrontEnd/Hires/Gauges/hud01.bnk");
+
+        // WHEN-THEN
+        assertThrows(IOException.class,
+                () -> BankReader.load(filePath));
+    }
+
+    @Test
+    void getPackedFile_shouldIgnoreCase() throws URISyntaxException, IOException {
+        // GIVEN
+        BankReader bankReader = BankReader.load(getResourcePath("/banks/Vehicules/A3_V6.bnk"));
+
+        // WHEN
+        Optional<PackedFile> actualPackedFile = bankReader.getPackedFile("D:\\Eden-Prog\\Games\\TestDrive\\Resources\\4Build\\PC\\Euro\\Vehicules\\Cars\\Mercedes\\CLK_55\\.3dd\\CLK_55");
+
+        // THEN
+        assertThat(actualPackedFile).isPresent();
+        assertThat(actualPackedFile.get().getShortName()).isEqualTo("CLK_55.3DD");
+        assertThat(actualPackedFile.get().getSize()).isEqualTo(25424);
+    }
+
+    @Test
+    void getPackedFile_whenNotInBank_shouldReturnEmpty() throws URISyntaxException, IOException {
+        // GIVEN
+        BankReader bankReader = BankReader.load(getResourcePath("/banks/Vehicules/A3_V6.bnk"));
+
+        // WHEN-THEN
+        assertThat(bankReader.getPackedFile("D:\\Eden-Prog\\Games\\TestDrive\\Resources\\4Build\\.3DD\\CLK_55")).isEmpty();
+    }
+
+    @Test
+    void getPackedFileData_shouldReturnReadOnlyContents() throws URISyntaxException, IOException {
+        // GIVEN
+        Path bankPath = getResourcePath("/banks/Vehicules/A3_V6.bnk");
+        BankReader bankReader = BankReader.load(bankPath);
+        PackedFile packedFile = bankReader.getPackedFiles().get(0);
+        byte[] bankContents = Files.readAllBytes(bankPath);
+
+        // WHEN
+        ByteBuffer actualData = bankReader.getPackedFileData(packedFile);
+
+        // THEN
+        assertThat(actualData.isReadOnly()).isTrue();
+        byte[] actualBytes = new byte[actualData.remaining()];
+        actualData.get(actualBytes);
+        assertThat(actualBytes).isEqualTo(Arrays.copyOfRange(bankContents, (int) packedFile.getOffset(), (int) packedFile.getOffset() + packedFile.getSize()));
+    }
+
+    private static Path getResourcePath(String resourcePath) throws URISyntaxException {
+        return Paths.get(FilesHelper.getFileNameFromResourcePath(resourcePath));
+    }
+}
@@ -0,0 +1,175 @@
+package fr.tduf.libunlimited.low.files.banks.rw;
+
+import fr.tduf.libtesting.common.helper.TestingFilesHelper;
+import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.low.files.banks.domain.PackedFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+import static fr.tduf.libunlimited.low.files.banks.rw.BankFormat.*;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankWriterTest {
+
+    private Path tempDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDirectory = Paths.get(TestingFilesHelper.createTempDirectoryForLibrary());
+    }
+
+    @Test
+    void write_withoutReplacement_shouldCreateSameBank() throws URISyntaxException, IOException {
+        // GIVEN
+        Path originalBankPath = Paths.get(FilesHelper.getFileNameFromResourcePath("/banks/Vehicules/A3_V6.bnk"));
+        Path outputBankPath = tempDirectory.resolve("output.bnk");
+
+        // WHEN
+        BankWriter.load(BankReader.load(originalBankPath))
+                .write(outputBankPath, packedFile -> Optional.empty());
+
+        // THEN
+        assertThat(Files.readAllBytes(outputBankPath)).isEqualTo(Files.readAllBytes(originalBankPath));
+    }
+
+    @Test
+    void write_whenDatabaseBanks_withoutReplacement_shouldCreateSameBanks() throws URISyntaxException, IOException {
+        for (String bankFileName : TestingFilesHelper.DATABASE_BANK_FILES) {
+            // GIVEN
+            Path originalBankPath = Paths.get(FilesHelper.getFileNameFromResourcePath("/db/full/" + bankFileName));
+            Path outputBankPath = tempDirectory.resolve(bankFileName);
+
+            // WHEN
+            BankWriter.load(BankReader.load(originalBankPath))
+                    .write(outputBankPath, packedFile -> Optional.empty());
+
+            // THEN
+            assertThat(Files.readAllBytes(outputBankPath)).as(bankFileName).isEqualTo(Files.readAllBytes(originalBankPath));
+        }
+    }
+
+    @Test
+    void write_withSameContentsAsReplacement_shouldCreateSameBank() throws URISyntaxException, IOException {
+        // GIVEN
+        Path originalBankPath = Paths.get(FilesHelper.getFileNameFromResourcePath("/banks/Vehicules/A3_V6.bnk"));
+        BankReader originalBank = BankReader.load(originalBankPath);
+        Path replacementPath = writeFile(toBytes(originalBank.getPackedFileData(originalBank.getPackedFiles().get(2))));
+        Path outputBankPath = tempDirectory.resolve("output.bnk");
+
+        // WHEN
+        BankWriter.load(originalBank)
+                .write(outputBankPath, packedFile -> packedFile.getIndex() == 2 ? Optional.of(replacementPath) : Optional.empty());
+
+        // THEN
+        assertThat(Files.readAllBytes(outputBankPath)).isEqualTo(Files.readAllBytes(originalBankPath));
+    }
+
+    @Test
+    void write_withResizedReplacement_shouldUpdateLocations_andChecksums() throws URISyntaxException, IOException {
+        // GIVEN
+        Path originalBankPath = Paths.get(FilesHelper.getFileNameFromResourcePath("/banks/Vehicules/A3_V6.bnk"));
+        BankReader originalBank = BankReader.load(originalBankPath);
+        byte[] newContents = new byte[1001];
+        newContents[1000] = 0x1;
+        Path replacementPath = writeFile(newContents);
+        Path outputBankPath = tempDirectory.resolve("output.bnk");
+
+        // WHEN
+        BankWriter.load(originalBank)
+                .write(outputBankPath, packedFile -> packedFile.getIndex() == 0 ? Optional.of(replacementPath) : Optional.empty());
+
+        // THEN
+        BankReader actualBank = BankReader.load(outputBankPath);
+        assertThat(actualBank.getFileSize()).isEqualTo((int) Files.size(outputBankPath));
+        List<PackedFile> actualPackedFiles = actualBank.getPackedFiles();
+        assertThat(actualPackedFiles).extracting("fullName").isEqualTo(originalBank.getPackedFiles().stream().map(PackedFile::getFullName).collect(toList()));
+        assertThat(toBytes(actualBank.getPackedFileData(actualPackedFiles.get(0)))).isEqualTo(newContents);
+        for (int index = 1; index < actualPackedFiles.size(); index++) {
+            assertThat(toBytes(actualBank.getPackedFileData(actualPackedFiles.get(index))))
+                    .isEqualTo(toBytes(originalBank.getPackedFileData(originalBank.getPackedFiles().get(index))));
+        }
+
+        ByteBuffer actualData = actualBank.getStructureData();
+        assertThat(actualData.getInt(HEADER_FILE_SIZE_OFFSET)).isEqualTo(actualBank.getFileSize());
+        assertThat(actualData.getInt(HEADER_SECTION_OFFSET + 4)).isEqualTo(computeChecksum(actualData, HEADER_SECTION_OFFSET));
+        int fileTableOffset = actualData.getInt(HEADER_FILE_TABLE_OFFSET);
+        assertThat(actualData.getInt(fileTableOffset + 4)).isEqualTo(computeChecksum(actualData, fileTableOffset));
+        assertThat(actualPackedFiles.get(1).getOffset() % actualData.getInt(HEADER_PACKED_ALIGNMENT_OFFSET)).isZero();
+    }
+
+    @Test
+    void replaceInPlace_whenContentsFit_shouldUpdatePackedFile_andKeepOtherLocations() throws URISyntaxException, IOException {
+        // GIVEN
+        Path bankPath = copyBank("/banks/Vehicules/A3_V6.bnk");
+        BankReader originalBank = BankReader.load(bankPath);
+        PackedFile packedFile = originalBank.getPackedFiles().get(1);
+        byte[] newContents = new byte[packedFile.getSize() - 10];
+        newContents[0] = 0x1;
+        Path replacementPath = writeFile(newContents);
+        long originalSize = Files.size(bankPath);
+
+        // WHEN
+        boolean actualReplaced = BankWriter.load(originalBank).replaceInPlace(packedFile, replacementPath);
+
+        // THEN
+        assertThat(actualReplaced).isTrue();
+        assertThat(Files.size(bankPath)).isEqualTo(originalSize);
+
+        BankReader actualBank = BankReader.load(bankPath);
+        List<PackedFile> actualPackedFiles = actualBank.getPackedFiles();
+        assertThat(toBytes(actualBank.getPackedFileData(actualPackedFiles.get(1)))).isEqualTo(newContents);
+        assertThat(actualPackedFiles.get(1).getOffset()).isEqualTo(packedFile.getOffset());
+        assertThat(actualPackedFiles.get(2).getOffset()).isEqualTo(originalBank.getPackedFiles().get(2).getOffset());
+
+        ByteBuffer actualData = actualBank.getStructureData();
+        assertThat(actualData.getInt(HEADER_SECTION_OFFSET + 4)).isEqualTo(computeChecksum(actualData, HEADER_SECTION_OFFSET));
+        int fileTableOffset = actualData.getInt(HEADER_FILE_TABLE_OFFSET);
+        assertThat(actualData.getInt(fileTableOffset + 4)).isEqualTo(computeChecksum(actualData, fileTableOffset));
+    }
+
+    @Test
+    void replaceInPlace_whenContentsTooLarge_shouldReturnFalse_andLeaveBankUnchanged() throws URISyntaxException, IOException {
+        // GIVEN
+        Path bankPath = copyBank("/banks/Vehicules/A3_V6.bnk");
+        byte[] originalContents = Files.readAllBytes(bankPath);
+        BankReader originalBank = BankReader.load(bankPath);
+        PackedFile packedFile = originalBank.getPackedFiles().get(0);
+        Path replacementPath = writeFile(new byte[packedFile.getSize() + 4096]);
+
+        // WHEN
+        boolean actualReplaced = BankWriter.load(originalBank).replaceInPlace(packedFile, replacementPath);
+
+        // THEN
+        assertThat(actualReplaced).isFalse();
+        assertThat(Files.readAllBytes(bankPath)).isEqualTo(originalContents);
+    }
+
+    private Path copyBank(String bankResource) throws URISyntaxException, IOException {
+        Path bankPath = tempDirectory.resolve(Paths.get(bankResource).getFileName());
+        Files.copy(Paths.get(FilesHelper.getFileNameFromResourcePath(bankResource)), bankPath);
+        return bankPath;
+    }
+
+    private Path writeFile(byte[] contents) throws IOException {
+        Path filePath = Files.createTempFile(tempDirectory, "packed", ".bin");
+        Files.write(filePath, contents);
+        return filePath;
+    }
+
+    private static byte[] toBytes(ByteBuffer data) {
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().order(ByteOrder.LITTLE_ENDIAN).get(bytes);
+        return bytes;
+    }
+}
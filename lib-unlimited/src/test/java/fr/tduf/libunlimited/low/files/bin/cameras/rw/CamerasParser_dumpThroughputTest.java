@@ -0,0 +1,59 @@
+package fr.tduf.libunlimited.low.files.bin.cameras.rw;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.framework.io.XByteArrayInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks parse throughput of a real cameras file, with and without building the human-readable dump.
+ * Throughput is logged only; run with benchmark task.
+ */
+@Tag("benchmark")
+class CamerasParser_dumpThroughputTest {
+    private static final String THIS_CLASS_NAME = CamerasParser_dumpThroughputTest.class.getSimpleName();
+
+    private static final int RUN_COUNT = 10;
+
+    private static byte[] camContents;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        camContents = FilesHelper.readBytesFromResourceFile("/bin/Cameras.bin");
+    }
+
+    @Test
+    void parse_withAndWithoutDump_throughput() throws IOException {
+        // GIVEN
+        CamerasParser camerasParser = CamerasParser.load(new XByteArrayInputStream(camContents));
+        // Warm-up
+        measureBestParseTime(camerasParser, true);
+        measureBestParseTime(camerasParser, false);
+
+        // WHEN
+        long parseTimeWithDump = measureBestParseTime(camerasParser, true);
+        long parseTimeWithoutDump = measureBestParseTime(camerasParser, false);
+
+        // THEN
+        Log.info(THIS_CLASS_NAME, String.format("Cameras parse throughput with dump: %.1f MB/s, without dump: %.1f MB/s",
+                toMegaBytesPerSecond(parseTimeWithDump), toMegaBytesPerSecond(parseTimeWithoutDump)));
+    }
+
+    private static long measureBestParseTime(CamerasParser camerasParser, boolean withDump) {
+        long bestTime = Long.MAX_VALUE;
+        for (int i = 0; i < RUN_COUNT; i++) {
+            long startTime = System.nanoTime();
+            camerasParser.parse(withDump);
+            bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+        }
+        return bestTime;
+    }
+
+    private static double toMegaBytesPerSecond(long nanos) {
+        return camContents.length / (1024.0 * 1024.0) / (nanos / 1_000_000_000.0);
+    }
+}
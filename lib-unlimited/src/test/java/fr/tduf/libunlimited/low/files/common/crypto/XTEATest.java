@@ -0,0 +1,110 @@
+package fr.tduf.libunlimited.low.files.common.crypto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XTEATest {
+    private static final int[] KEY = { 0x64EA432C, 0xF8A35B24, 0x018ECD81, 0x8326BEAC };
+
+    private byte[] clearBytes;
+
+    @BeforeEach
+    void setUp() {
+        clearBytes = new byte[64];
+        new Random(0).nextBytes(clearBytes);
+    }
+
+    @Test
+    void new_whenNullKey_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(InvalidKeyException.class, () -> new XTEA(null, true));
+    }
+
+    @Test
+    void new_whenInvalidKeyLength_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(InvalidKeyException.class, () -> new XTEA(new int[3], true));
+    }
+
+    @Test
+    void crypt_shouldGiveSameResultsAsBlockByBlockProcessing() throws InvalidKeyException {
+        // GIVEN
+        XTEA xtea = new XTEA(KEY, false);
+        byte[] expectedBytes = new byte[clearBytes.length];
+        for (int position = 0; position < clearBytes.length; position += 8) {
+            System.arraycopy(xtea.engineCrypt(clearBytes, position), 0, expectedBytes, position, 8);
+        }
+        byte[] actualBytes = new byte[clearBytes.length + 4];
+
+        // WHEN
+        xtea.crypt(clearBytes, 0, actualBytes, 4, clearBytes.length);
+
+        // THEN
+        assertThat(actualBytes).endsWith(expectedBytes);
+    }
+
+    @Test
+    void crypt_inPlace_thenDecrypt_shouldGiveClearContentsBack() throws InvalidKeyException {
+        // GIVEN
+        byte[] bytes = clearBytes.clone();
+
+        // WHEN
+        new XTEA(KEY, false).crypt(bytes, 8, bytes, 8, 48);
+        byte[] encryptedBytes = bytes.clone();
+        new XTEA(KEY, true).crypt(bytes, 8, bytes, 8, 48);
+
+        // THEN
+        assertThat(encryptedBytes).isNotEqualTo(clearBytes);
+        assertThat(bytes).isEqualTo(clearBytes);
+    }
+
+    @Test
+    void crypt_whenLengthNotMultipleOf8_shouldThrowException() throws InvalidKeyException {
+        // GIVEN
+        XTEA xtea = new XTEA(KEY, false);
+
+        // WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> xtea.crypt(clearBytes, 0, new byte[clearBytes.length], 0, 10));
+    }
+
+    @Test
+    void crypt_withHeapAndDirectBuffers_shouldGiveSameResultsAsArrayProcessing() throws InvalidKeyException {
+        // GIVEN
+        XTEA xtea = new XTEA(KEY, false);
+        byte[] expectedBytes = new byte[clearBytes.length];
+        xtea.crypt(clearBytes, 0, expectedBytes, 0, clearBytes.length);
+        ByteBuffer heapBuffer = ByteBuffer.allocate(clearBytes.length);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(clearBytes.length);
+
+        // WHEN
+        xtea.crypt(ByteBuffer.wrap(clearBytes), heapBuffer);
+        xtea.crypt(ByteBuffer.wrap(clearBytes).asReadOnlyBuffer(), directBuffer);
+
+        // THEN
+        assertThat(heapBuffer.hasRemaining()).isFalse();
+        assertThat(directBuffer.hasRemaining()).isFalse();
+        assertThat(heapBuffer.array()).isEqualTo(expectedBytes);
+        byte[] actualDirectBytes = new byte[clearBytes.length];
+        directBuffer.flip();
+        directBuffer.get(actualDirectBytes);
+        assertThat(actualDirectBytes).isEqualTo(expectedBytes);
+    }
+
+    @Test
+    void crypt_withBuffers_whenDestinationTooSmall_shouldThrowException() throws InvalidKeyException {
+        // GIVEN
+        XTEA xtea = new XTEA(KEY, false);
+
+        // WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> xtea.crypt(ByteBuffer.wrap(clearBytes), ByteBuffer.allocate(8)));
+    }
+}
@@ -8,6 +8,14 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -122,6 +130,74 @@ class CryptoHelperTest {
         assertThat(decryptedBytes).isEqualTo(contentBytes);
     }
 
+    @Test
+    void decryptXTEA_withLargeContents_andOtherMode_shouldGiveClearContentsBack() throws IOException {
+        // GIVEN
+        byte[] contentBytes = createRandomContents(1024 * 1024);
+        byte[] encryptedBytes = CryptoHelper.encryptXTEA(new ByteArrayInputStream(contentBytes), CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL).toByteArray();
+
+        // WHEN
+        byte[] actualBytes = CryptoHelper.decryptXTEA(encryptedBytes, CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL);
+
+        // THEN
+        assertThat(actualBytes).isEqualTo(contentBytes);
+    }
+
+    @Test
+    void decryptXTEA_withLargeContents_andSavegameMode_shouldGiveClearContentsBack() throws IOException {
+        // GIVEN
+        byte[] contentBytes = createRandomContents(1024 * 1024 + 8);
+        byte[] encryptedBytes = CryptoHelper.encryptXTEA(new ByteArrayInputStream(contentBytes), CryptoHelper.EncryptionModeEnum.SAVEGAME).toByteArray();
+
+        // WHEN
+        byte[] actualBytes = CryptoHelper.decryptXTEA(encryptedBytes, CryptoHelper.EncryptionModeEnum.SAVEGAME);
+
+        // THEN
+        assertThat(actualBytes).isEqualTo(contentBytes);
+    }
+
+    @Test
+    void decryptXTEA_withByteArray_andLengthNotMultipleOf8_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> CryptoHelper.decryptXTEA(new byte[10], CryptoHelper.EncryptionModeEnum.SAVEGAME));
+    }
+
+    @Test
+    void decryptXTEA_andEncryptXTEA_whenCalledConcurrently_withDifferentModes_shouldGiveExpectedContents() throws Exception {
+        // GIVEN
+        byte[] clearBytes = FilesHelper.readBytesFromResourceFile("/common/crypto/clear.txt");
+        byte[] savegameBytes = FilesHelper.readBytesFromResourceFile("/common/crypto/savegame/encrypted.bin");
+        byte[] otherBytes = FilesHelper.readBytesFromResourceFile("/common/crypto/other/encrypted.bin");
+        List<Callable<byte[]>> savegameTasks = new ArrayList<>();
+        List<Callable<byte[]>> otherTasks = new ArrayList<>();
+        List<Callable<byte[]>> encryptionTasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            savegameTasks.add(() -> CryptoHelper.decryptXTEA(savegameBytes, CryptoHelper.EncryptionModeEnum.SAVEGAME));
+            otherTasks.add(() -> CryptoHelper.decryptXTEA(otherBytes, CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL));
+            encryptionTasks.add(() -> CryptoHelper.encryptXTEA(new ByteArrayInputStream(clearBytes), CryptoHelper.EncryptionModeEnum.SAVEGAME).toByteArray());
+        }
+        List<Callable<byte[]>> allTasks = new ArrayList<>(savegameTasks);
+        allTasks.addAll(otherTasks);
+        allTasks.addAll(encryptionTasks);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        // WHEN
+        List<Future<byte[]>> results;
+        try {
+            results = executorService.invokeAll(allTasks);
+        } finally {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        // THEN
+        for (int i = 0; i < results.size(); i++) {
+            byte[] expectedBytes = i < savegameTasks.size() + otherTasks.size() ? clearBytes : savegameBytes;
+            assertThat(results.get(i).get()).isEqualTo(expectedBytes);
+        }
+    }
+
     @Test
     void introduceTimestamp_shouldPrependContentsWith8Bytes() {
         // GIVEN
@@ -134,4 +210,10 @@ class CryptoHelperTest {
         // THEN
         assertThat(actualBytes).isEqualTo(expectedBytes);
     }
-}
\ No newline at end of file
+
+    private static byte[] createRandomContents(int size) {
+        byte[] contents = new byte[size];
+        new Random(0).nextBytes(contents);
+        return contents;
+    }
+}
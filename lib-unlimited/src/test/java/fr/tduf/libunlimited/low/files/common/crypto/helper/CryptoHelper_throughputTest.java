@@ -0,0 +1,72 @@
+package fr.tduf.libunlimited.low.files.common.crypto.helper;
+
+import com.esotericsoftware.minlog.Log;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static fr.tduf.libunlimited.low.files.common.crypto.helper.CryptoHelper.EncryptionModeEnum.OTHER_AND_SPECIAL;
+import static fr.tduf.libunlimited.low.files.common.crypto.helper.CryptoHelper.EncryptionModeEnum.SAVEGAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmarks encryption and decryption throughput, for both encryption modes.
+ * Throughput is logged only; run with benchmark task.
+ */
+@Tag("benchmark")
+class CryptoHelper_throughputTest {
+    private static final String THIS_CLASS_NAME = CryptoHelper_throughputTest.class.getSimpleName();
+
+    private static final int CONTENTS_SIZE = 4 * 1024 * 1024;
+    private static final int RUN_COUNT = 5;
+
+    private static byte[] clearBytes;
+
+    @BeforeAll
+    static void setUp() {
+        clearBytes = new byte[CONTENTS_SIZE];
+        new Random(0).nextBytes(clearBytes);
+    }
+
+    @Test
+    void encryptXTEA_andDecryptXTEA_withSavegameMode_throughput() throws IOException {
+        measureThroughput(SAVEGAME);
+    }
+
+    @Test
+    void encryptXTEA_andDecryptXTEA_withOtherMode_throughput() throws IOException {
+        measureThroughput(OTHER_AND_SPECIAL);
+    }
+
+    private static void measureThroughput(CryptoHelper.EncryptionModeEnum encryptionMode) throws IOException {
+        // GIVEN
+        // Warm-up
+        byte[] encryptedBytes = CryptoHelper.encryptXTEA(clearBytes, encryptionMode);
+        byte[] decryptedBytes = CryptoHelper.decryptXTEA(encryptedBytes, encryptionMode);
+
+        // WHEN
+        long bestEncryptionTime = Long.MAX_VALUE;
+        long bestDecryptionTime = Long.MAX_VALUE;
+        for (int i = 0; i < RUN_COUNT; i++) {
+            long startTime = System.nanoTime();
+            encryptedBytes = CryptoHelper.encryptXTEA(clearBytes, encryptionMode);
+            bestEncryptionTime = Math.min(bestEncryptionTime, System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            decryptedBytes = CryptoHelper.decryptXTEA(encryptedBytes, encryptionMode);
+            bestDecryptionTime = Math.min(bestDecryptionTime, System.nanoTime() - startTime);
+        }
+
+        // THEN
+        Log.info(THIS_CLASS_NAME, String.format("XTEA %s - encryption: %.1f MB/s, decryption: %.1f MB/s",
+                encryptionMode, toMegaBytesPerSecond(bestEncryptionTime), toMegaBytesPerSecond(bestDecryptionTime)));
+        assertThat(decryptedBytes).isEqualTo(clearBytes);
+    }
+
+    private static double toMegaBytesPerSecond(long nanos) {
+        return CONTENTS_SIZE / (1024.0 * 1024.0) / (nanos / 1_000_000_000.0);
+    }
+}
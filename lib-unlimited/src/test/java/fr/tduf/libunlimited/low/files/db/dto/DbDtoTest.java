@@ -1,8 +1,11 @@
 package fr.tduf.libunlimited.low.files.db.dto;
 
-
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
+import fr.tduf.libunlimited.low.files.db.dto.resource.DbResourceDto;
 import org.junit.jupiter.api.Test;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -23,4 +26,26 @@ class DbDtoTest {
         assertThrows(IllegalArgumentException.class,
                 () -> DbDto.Topic.fromLabel("TDU_Babes"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void isModified_whenContentsOrResourcesChanged_untilClearModified() {
+        // GIVEN
+        DbDto topicObject = DbDto.builder()
+                .withData(DbDataDto.builder().forTopic(DbDto.Topic.ACHIEVEMENTS).build())
+                .withResource(DbResourceDto.builder().atVersion("1,0").build())
+                .build();
+
+        // WHEN-THEN
+        assertThat(topicObject.isModified()).isFalse();
+        topicObject.getData().addEntryWithItems(asList(
+                ContentItemDto.builder().ofFieldRank(1).withRawValue("1").build(),
+                ContentItemDto.builder().ofFieldRank(2).withRawValue("2").build()));
+        assertThat(topicObject.isModified()).isTrue();
+        topicObject.clearModified();
+        assertThat(topicObject.isModified()).isFalse();
+        topicObject.getResource().addEntryByReference("REF");
+        assertThat(topicObject.isModified()).isTrue();
+        topicObject.clearModified();
+        assertThat(topicObject.isModified()).isFalse();
+    }
+}
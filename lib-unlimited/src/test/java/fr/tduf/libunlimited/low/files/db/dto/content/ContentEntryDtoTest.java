@@ -10,6 +10,7 @@ import java.util.Optional;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_PHYSICS_DATA;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_RIMS;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -133,6 +134,86 @@ class ContentEntryDtoTest {
         assertThat(actualItem).contains(item2);
     }
 
+    @Test
+    void getItemAtRank_afterItemInsertion_shouldReturnShiftedItems() {
+        // GIVEN
+        ContentItemDto newItem = ContentItemDto.builder().ofFieldRank(1).withRawValue("V0").build();
+
+        // WHEN
+        contentEntry.addItemAtRank(1, newItem);
+
+        // THEN
+        assertThat(contentEntry.getItemAtRank(1)).containsSame(newItem);
+        assertThat(contentEntry.getItemAtRank(2).map(ContentItemDto::getRawValue)).contains("V1");
+    }
+
+    @Test
+    void getItemAtRank_afterItemsReplaced_shouldReturnNewItems() {
+        // GIVEN
+        ContentItemDto newItem = ContentItemDto.builder().ofFieldRank(5).withRawValue("V5").build();
+
+        // WHEN
+        contentEntry.replaceItems(singletonList(newItem));
+
+        // THEN
+        assertThat(contentEntry.getItemAtRank(1)).isEmpty();
+        assertThat(contentEntry.getItemAtRank(5)).containsSame(newItem);
+        assertThat(contentEntry.getItemAtRank(6)).isEmpty();
+    }
+
+    @Test
+    void getItemAtRank_whenNegativeRank_shouldReturnEmpty() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.getItemAtRank(-1)).isEmpty();
+    }
+
+    @Test
+    void getItemAtRankOrNull_whenItemExists_shouldReturnIt() {
+        // GIVEN
+        ContentItemDto item2 = ContentItemDto.builder().ofFieldRank(2).withRawValue("V2").build();
+        contentEntry.appendItem(item2);
+
+        // WHEN-THEN
+        assertThat(contentEntry.getItemAtRankOrNull(2)).isSameAs(item2);
+    }
+
+    @Test
+    void getItemAtRankOrNull_whenNoItemAtThisRank_shouldReturnNull() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.getItemAtRankOrNull(2)).isNull();
+        assertThat(contentEntry.getItemAtRankOrNull(-1)).isNull();
+    }
+
+    @Test
+    void getRawValueAtRank_whenItemExists_shouldReturnValue() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.getRawValueAtRank(1)).isEqualTo("V1");
+    }
+
+    @Test
+    void getRawValueAtRank_whenNoItemAtThisRank_shouldReturnNull() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.getRawValueAtRank(2)).isNull();
+    }
+
+    @Test
+    void hasItemValueAtRank_whenSameValue_shouldReturnTrue() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.hasItemValueAtRank("V1", 1)).isTrue();
+    }
+
+    @Test
+    void hasItemValueAtRank_whenOtherValue_shouldReturnFalse() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.hasItemValueAtRank("V2", 1)).isFalse();
+    }
+
+    @Test
+    void hasItemValueAtRank_whenNoItemAtThisRank_shouldReturnFalse() {
+        // GIVEN-WHEN-THEN
+        assertThat(contentEntry.hasItemValueAtRank("V1", 2)).isFalse();
+    }
+
     @Test
     void updateItemValueAtRank_whenNoItemAtThisRank_shouldThrowException() {
         // GIVEN-WHEN-THEN
@@ -1,8 +1,10 @@
 package fr.tduf.libunlimited.low.files.db.dto.content;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -90,6 +92,25 @@ class DbDataDtoTest {
         assertThat(actualValues).isEmpty();
     }
 
+    @Test
+    void getSwitchValues_whenBitfieldRawValueUpdated_shouldReturnUpdatedSwitchValues() {
+        // GIVEN
+        ContentItemDto item = ContentItemDto.builder()
+                .ofFieldRank(1)
+                .withRawValue("111")
+                .bitFieldForTopic(true, CAR_PHYSICS_DATA)
+                .build();
+        ContentEntryDto entry = ContentEntryDto.builder()
+                .addItem(item)
+                .build();
+
+        // WHEN
+        entry.updateItemValueAtRank("110", 1);
+
+        // THEN
+        assertThat(item.getSwitchValues()).extracting("enabled").containsExactly(false, true, true, true, false, true, true);
+    }
+
     @Test
     void getEntries_shouldReturnNewReadOnlyList() {
         // GIVEN
@@ -127,6 +148,28 @@ class DbDataDtoTest {
         assertThat(dataObjectWithREFSupport.getEntryId(contentEntry2)).isEqualTo(1);
     }
 
+    @Test
+    void getEntryId_whenEntryAttachedToOtherDataObject_shouldReturnMinusOne() {
+        // GIVEN
+        ContentEntryDto contentEntry = createContentEntryWithReference("1");
+        dataObjectWithREFSupport.addEntry(contentEntry);
+
+        // WHEN-THEN
+        assertThat(dataObjectWithoutREFSupport.getEntryId(contentEntry)).isEqualTo(-1);
+    }
+
+    @Test
+    void getEntryId_whenEntryRemoved_shouldReturnMinusOne() {
+        // GIVEN
+        ContentEntryDto contentEntry = createContentEntryWithReference("1");
+        dataObjectWithREFSupport.addEntry(contentEntry);
+        dataObjectWithREFSupport.removeEntry(contentEntry);
+
+        // WHEN-THEN
+        assertThat(dataObjectWithREFSupport.getEntryId(contentEntry)).isEqualTo(-1);
+        assertThat(contentEntry.getId()).isEqualTo(-1);
+    }
+
     @Test
     void getEntryWithInternalIdentifier_whenUnknownId_shouldReturnEmpty() {
         // GIVEN-WHEN-THEN
@@ -223,6 +266,19 @@ class DbDataDtoTest {
         assertThat(dataObjectWithoutREFSupport.getEntriesByReference().keySet()).contains("1|1", "1|2", "2|1", "2|2");
     }
 
+    @Test
+    void setEntries_shouldAssignIds() {
+        // GIVEN
+        final ContentEntryDto contentEntry1 = createContentEntryWithReference("REF1");
+        final ContentEntryDto contentEntry2 = createContentEntryWithReference("REF2");
+
+        // WHEN
+        dataObjectWithREFSupport.setEntries(asList(contentEntry1, contentEntry2));
+
+        // THEN
+        assertThat(dataObjectWithREFSupport.getEntries()).extracting("id").containsExactly(0, 1);
+    }
+
     @Test
     void setEntries_withRefSupport_shouldCreateIndex() {
         // GIVEN
@@ -241,6 +297,21 @@ class DbDataDtoTest {
         assertThat(actualIndex.keySet()).contains("REF1", "REF2", "REF3", "REF4");
     }
 
+    @Test
+    void deserialize_whenEntriesBeforeTopic_shouldAttachEntriesToTopic() throws IOException {
+        // GIVEN
+        String json = "{\"entries\":[{\"items\":[{\"value\":\"REF\",\"rank\":1},{\"value\":\"111\",\"switches\":[],\"rank\":2}]}],\"topic\":\"CAR_PHYSICS_DATA\"}";
+
+        // WHEN
+        DbDataDto actualObject = new ObjectMapper().readValue(json, DbDataDto.class);
+
+        // THEN
+        assertThat(actualObject.getTopic()).isEqualTo(CAR_PHYSICS_DATA);
+        ContentEntryDto actualEntry = actualObject.getEntryWithReference("REF").orElseThrow(IllegalStateException::new);
+        assertThat(actualEntry.getItemAtRank(2).map(ContentItemDto::getSwitchValues)).hasValueSatisfying(
+                switchValues -> assertThat(switchValues).extracting("enabled").containsExactly(true, true, true, true, false, true, true));
+    }
+
     @Test
     void addEntry_shouldUpdateContext() {
         // GIVEN
@@ -287,6 +358,24 @@ class DbDataDtoTest {
         assertThat(dataObjectWithREFSupport.getEntries()).isEmpty();
     }
 
+    @Test
+    void removeEntry_shouldUpdateIdsOfFollowingEntries() {
+        // GIVEN
+        ContentEntryDto contentEntry1 = createContentEntryWithReference("1");
+        ContentEntryDto contentEntry2 = createContentEntryWithReference("2");
+        ContentEntryDto contentEntry3 = createContentEntryWithReference("3");
+        dataObjectWithREFSupport.addEntry(contentEntry1);
+        dataObjectWithREFSupport.addEntry(contentEntry2);
+        dataObjectWithREFSupport.addEntry(contentEntry3);
+
+        // WHEN
+        dataObjectWithREFSupport.removeEntry(contentEntry1);
+
+        // THEN
+        assertThat(dataObjectWithREFSupport.getEntries()).extracting("id").containsExactly(0, 1);
+        assertThat(contentEntry3.getId()).isEqualTo(1);
+    }
+
     @Test
     void removeEntry_withRefSupport_shouldRemoveFromIndex() {
         // GIVEN
@@ -337,6 +426,29 @@ class DbDataDtoTest {
         assertThat(actualEntries.get(0).getItems()).extracting("rawValue").containsExactly("REF1");
     }
 
+    @Test
+    void removeEntries_shouldUpdateIdsOfRemainingEntries_andIndex() {
+        // GIVEN
+        ContentEntryDto contentEntry1 = createContentEntryWithReference("REF1");
+        ContentEntryDto contentEntry2 = createContentEntryWithReference("REF2");
+        ContentEntryDto contentEntry3 = createContentEntryWithReference("REF3");
+        ContentEntryDto contentEntry4 = createContentEntryWithReference("REF4");
+        dataObjectWithREFSupport.addEntry(contentEntry1);
+        dataObjectWithREFSupport.addEntry(contentEntry2);
+        dataObjectWithREFSupport.addEntry(contentEntry3);
+        dataObjectWithREFSupport.addEntry(contentEntry4);
+
+        // WHEN
+        dataObjectWithREFSupport.removeEntries(asList(contentEntry3, contentEntry1));
+
+        // THEN
+        assertThat(dataObjectWithREFSupport.getEntries()).containsExactly(contentEntry2, contentEntry4);
+        assertThat(dataObjectWithREFSupport.getEntries()).extracting("id").containsExactly(0, 1);
+        assertThat(contentEntry1.getId()).isEqualTo(-1);
+        assertThat(contentEntry3.getId()).isEqualTo(-1);
+        assertThat(dataObjectWithREFSupport.getEntriesByReference()).containsOnlyKeys("REF2", "REF4");
+    }
+
     @Test
     void moveEntryUp_whenUnattachedEntry_shouldDoNothing() {
         // GIVEN
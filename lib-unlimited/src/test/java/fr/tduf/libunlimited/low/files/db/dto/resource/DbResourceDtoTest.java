@@ -20,4 +20,37 @@ class DbResourceDtoTest {
         assertThrows(IllegalArgumentException.class,
                 () -> Locale.fromCode("xx"));
     }
+
+    @Test
+    void getRevision_whenEntryValueChanged_shouldIncreaseIt() {
+        //GIVEN
+        DbResourceDto resourceObject = DbResourceDto.builder()
+                .atVersion("1,0")
+                .build();
+        ResourceEntryDto resourceEntry = resourceObject.addEntryByReference("00000000");
+        int initialRevision = resourceObject.getRevision();
+
+        //WHEN
+        resourceEntry.setValueForLocale("VALUE", Locale.FRANCE);
+
+        //THEN
+        assertThat(resourceObject.getRevision()).isGreaterThan(initialRevision);
+    }
+
+    @Test
+    void equals_whenRevisionsDiffer_shouldReturnTrue() {
+        //GIVEN
+        DbResourceDto resourceObject1 = DbResourceDto.builder()
+                .atVersion("1,0")
+                .build();
+        resourceObject1.addDefaultEntryByReference("00000000", "VALUE");
+        DbResourceDto resourceObject2 = DbResourceDto.builder()
+                .atVersion("1,0")
+                .build();
+        resourceObject2.addEntryByReference("00000000").setDefaultValue("VALUE");
+
+        //WHEN-THEN
+        assertThat(resourceObject1.getRevision()).isNotEqualTo(resourceObject2.getRevision());
+        assertThat(resourceObject1).isEqualTo(resourceObject2);
+    }
 }
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import static fr.tduf.libunlimited.common.game.domain.Locale.DEFAULT;
 import static fr.tduf.libunlimited.common.game.domain.Locale.FRANCE;
+import static fr.tduf.libunlimited.common.game.domain.Locale.ITALY;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -271,4 +273,53 @@ class ResourceEntryDtoTest {
         // WHEN-THEN
         assertThat(resourceEntryDto.isGlobalized()).isFalse();
     }
+
+    @Test
+    void getItems_shouldReturnItemsInLocaleOrder() {
+        // GIVEN
+        ResourceItemDto italianItem = ResourceItemDto.builder().withLocale(ITALY).withValue("IT").build();
+        ResourceItemDto frenchItem = ResourceItemDto.builder().withLocale(FRANCE).withValue("FR").build();
+        ResourceEntryDto resourceEntryDto = ResourceEntryDto.builder()
+                .forReference("REF")
+                .withItems(asList(italianItem, frenchItem))
+                .build();
+
+        // WHEN-THEN
+        assertThat(resourceEntryDto.getItems()).containsExactly(frenchItem, italianItem);
+    }
+
+    @Test
+    void setValueForLocale_withoutResource_shouldKeepValue() {
+        // GIVEN
+        ResourceEntryDto resourceEntryDto = ResourceEntryDto.builder().forReference("REF").build();
+        String value = new String("VALUE");
+
+        // WHEN
+        resourceEntryDto.setValueForLocale(value, FRANCE);
+
+        // THEN
+        assertThat(resourceEntryDto.getValueForLocale(FRANCE).get()).isSameAs(value);
+    }
+
+    @Test
+    void build_shouldShareEqualValuesBetweenEntriesOfSameResource() {
+        // GIVEN
+        ResourceEntryDto resourceEntryDto1 = ResourceEntryDto.builder()
+                .forReference("REF1")
+                .build()
+                .setValueForLocale(new String("VALUE"), FRANCE);
+        ResourceEntryDto resourceEntryDto2 = ResourceEntryDto.builder()
+                .forReference("REF2")
+                .build()
+                .setValueForLocale(new String("VALUE"), ITALY);
+
+        // WHEN
+        DbResourceDto.builder()
+                .atVersion("1,0")
+                .containingEntries(asList(resourceEntryDto1, resourceEntryDto2))
+                .build();
+
+        // THEN
+        assertThat(resourceEntryDto1.getValueForLocale(FRANCE).get()).isSameAs(resourceEntryDto2.getValueForLocale(ITALY).get());
+    }
 }
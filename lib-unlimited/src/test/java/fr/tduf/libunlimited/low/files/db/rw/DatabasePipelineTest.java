@@ -0,0 +1,164 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import fr.tduf.libtesting.common.helper.TestingFilesHelper;
+import fr.tduf.libtesting.common.helper.game.DatabaseHelper;
+import fr.tduf.libunlimited.high.files.banks.BankSupport;
+import fr.tduf.libunlimited.low.files.db.domain.IntegrityError;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static fr.tduf.libunlimited.low.files.db.rw.DatabasePipeline.*;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+class DatabasePipelineTest {
+
+    private static final Class<DatabasePipelineTest> thisClass = DatabasePipelineTest.class;
+
+    @Mock
+    private BankSupport bankSupportMock;
+
+    @TempDir
+    Path tempDirectory;
+
+    private DatabasePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        initMocks(this);
+
+        pipeline = new DatabasePipeline(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void new_whenInvalidJobCount_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatabasePipeline(0));
+    }
+
+    @Test
+    void dump_whenNullTopicList_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(NullPointerException.class,
+                () -> pipeline.dump("", "", null, new HashSet<>(), new ArrayList<>()));
+    }
+
+    @Test
+    void dump_whenNullIntegrityErrorSet_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(NullPointerException.class,
+                () -> pipeline.dump("", "", new ArrayList<>(), null, new ArrayList<>()));
+    }
+
+    @Test
+    void gen_thenDump_shouldWriteAllTopics_andRecordStageTimings() throws IOException {
+        // GIVEN
+        String jsonDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        List<DbDto> referenceTopicObjects = DatabaseHelper.createDatabaseFromResources(jsonDirectory);
+        String databaseDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        String targetJsonDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        List<DbDto.Topic> missingTopicsWhenGen = new ArrayList<>();
+        List<DbDto.Topic> missingTopicsWhenDump = new ArrayList<>();
+        Set<IntegrityError> integrityErrors = new HashSet<>();
+        List<DbDto> topicObjects = new ArrayList<>();
+
+        // WHEN
+        List<String> writtenDatabaseFiles = pipeline.gen(jsonDirectory, databaseDirectory, missingTopicsWhenGen);
+        List<String> writtenJsonFiles = pipeline.dump(databaseDirectory, targetJsonDirectory, missingTopicsWhenDump, integrityErrors, topicObjects);
+
+        // THEN
+        int topicCount = referenceTopicObjects.size();
+        assertThat(writtenDatabaseFiles).hasSize(topicCount * 9);
+        assertThat(writtenJsonFiles).hasSize(topicCount * 3);
+        assertThat(missingTopicsWhenDump)
+                .isEqualTo(missingTopicsWhenGen)
+                .hasSize(DbDto.Topic.values().length - topicCount);
+        assertThat(integrityErrors)
+                .hasSameSizeAs(missingTopicsWhenDump)
+                .extracting("errorTypeEnum").containsOnly(IntegrityError.ErrorTypeEnum.CONTENTS_NOT_FOUND);
+        assertThat(topicObjects.stream().map(DbDto::getTopic).collect(toList()))
+                .isSorted()
+                .hasSameElementsAs(referenceTopicObjects.stream().map(DbDto::getTopic).collect(toList()));
+
+        assertThat(pipeline.getStageTimings())
+                .extracting("stageName", "taskCount")
+                .containsExactly(
+                        tuple(STAGE_READ_JSON, DbDto.Topic.values().length),
+                        tuple(STAGE_WRITE_DATABASE, topicCount),
+                        tuple(STAGE_READ_DATABASE, DbDto.Topic.values().length),
+                        tuple(STAGE_WRITE_JSON, topicCount));
+    }
+
+    @Test
+    void repackBanks_shouldCallBankSupportForEachBank_andRecordStageTimings() throws IOException {
+        // GIVEN
+        String databaseDirectory = copyUnpackedDatabaseToTempDirectory();
+        String originalBanksDirectory = thisClass.getResource("/db/full/original-banks").getFile();
+        String targetDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+
+        // WHEN
+        pipeline.repackBanks(databaseDirectory, targetDirectory, originalBanksDirectory, bankSupportMock);
+
+        // THEN
+        verify(bankSupportMock, times(9)).packAll(anyString(), anyString());
+        assertThat(pipeline.getStageTimings()).hasSize(1);
+        assertThat(pipeline.getStageTimings().get(0).getStageName()).isEqualTo(STAGE_REPACK_BANKS);
+        assertThat(pipeline.getStageTimings().get(0).getTaskCount()).isEqualTo(9);
+    }
+
+    @Test
+    void repackBanks_whenBankSupportFailure_shouldThrowException() throws IOException {
+        // GIVEN
+        String databaseDirectory = copyUnpackedDatabaseToTempDirectory();
+        String originalBanksDirectory = thisClass.getResource("/db/full/original-banks").getFile();
+        String targetDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        doThrow(new IOException("Repack failure")).when(bankSupportMock).packAll(anyString(), anyString());
+
+        // WHEN-THEN
+        assertThrows(RuntimeException.class,
+                () -> pipeline.repackBanks(databaseDirectory, targetDirectory, originalBanksDirectory, bankSupportMock));
+    }
+
+    @Test
+    void runStage_shouldReturnTaskResult_andRecordStageTimings() throws Exception {
+        // GIVEN-WHEN
+        String actualResult = pipeline.runStage("stage", () -> "result");
+
+        // THEN
+        assertThat(actualResult).isEqualTo("result");
+        assertThat(pipeline.getStageTimings()).extracting("stageName").containsExactly("stage");
+        assertThat(pipeline.getStageTimings().get(0).getTaskCount()).isEqualTo(1);
+    }
+
+    private String copyUnpackedDatabaseToTempDirectory() throws IOException {
+        File databaseDirectory = tempDirectory.resolve("unpacked").toFile();
+        FileUtils.copyDirectory(new File(thisClass.getResource("/db/full/unpacked").getFile()), databaseDirectory);
+        return databaseDirectory.getPath();
+    }
+}
@@ -0,0 +1,125 @@
+package fr.tduf.libunlimited.low.files.db.rw;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libtesting.common.helper.TestingFilesHelper;
+import fr.tduf.libtesting.common.helper.game.DatabaseHelper;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.rw.helper.DatabaseReadWriteHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatabaseSnapshotReaderTest {
+    private static final String THIS_CLASS_NAME = DatabaseSnapshotReaderTest.class.getSimpleName();
+
+    private static final long CACHE_TIMESTAMP = 1500000000000L;
+
+    private static final int WARMUP_COUNT = 3;
+    private static final int RUN_COUNT = 5;
+
+    private String jsonDirectory;
+
+    private Path snapshotPath;
+
+    private List<DbDto> jsonTopicObjects;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jsonDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        jsonTopicObjects = DatabaseHelper.createDatabaseFromResources(jsonDirectory);
+        snapshotPath = Paths.get(jsonDirectory, "database.snapshot");
+    }
+
+    @Test
+    void readAll_whenSnapshotWrittenFromJsonDatabase_shouldReturnSameTopics() throws IOException {
+        // GIVEN
+        DatabaseSnapshotWriter.load(jsonTopicObjects).write(snapshotPath, CACHE_TIMESTAMP);
+
+        // WHEN
+        DatabaseSnapshotReader snapshotReader = DatabaseSnapshotReader.load(snapshotPath);
+        List<DbDto> actualTopicObjects = snapshotReader.readAll();
+
+        // THEN
+        assertThat(snapshotReader.getCacheTimestamp()).isEqualTo(CACHE_TIMESTAMP);
+        assertThat(actualTopicObjects).hasSize(14);
+        assertThat(actualTopicObjects).isEqualTo(jsonTopicObjects);
+    }
+
+    @Test
+    void load_whenCorruptedPayload_shouldThrowIOException() throws IOException {
+        // GIVEN
+        DatabaseSnapshotWriter.load(jsonTopicObjects).write(snapshotPath, CACHE_TIMESTAMP);
+        byte[] snapshotBytes = Files.readAllBytes(snapshotPath);
+        snapshotBytes[snapshotBytes.length - 1] ^= 0x1;
+        Files.write(snapshotPath, snapshotBytes);
+
+        // WHEN-THEN
+        IOException actualException = assertThrows(IOException.class, () -> DatabaseSnapshotReader.load(snapshotPath));
+        assertThat(actualException).hasMessageStartingWith("Invalid database snapshot checksum");
+    }
+
+    @Test
+    void load_whenNotSnapshotFile_shouldThrowIOException() {
+        // GIVEN
+        Path jsonFilePath = Paths.get(jsonDirectory, "TDU_Achievements.data.json");
+
+        // WHEN-THEN
+        IOException actualException = assertThrows(IOException.class, () -> DatabaseSnapshotReader.load(jsonFilePath));
+        assertThat(actualException).hasMessageStartingWith("Not a database snapshot");
+    }
+
+    @Test
+    void load_thenSnapshotRewritten_shouldKeepReadingLoadedContents() throws IOException {
+        // GIVEN
+        DatabaseSnapshotWriter.load(jsonTopicObjects).write(snapshotPath, CACHE_TIMESTAMP);
+        DatabaseSnapshotReader snapshotReader = DatabaseSnapshotReader.load(snapshotPath);
+
+        // WHEN
+        DatabaseSnapshotWriter.load(jsonTopicObjects).write(snapshotPath, CACHE_TIMESTAMP + 1);
+
+        // THEN
+        assertThat(snapshotReader.readAll()).isEqualTo(jsonTopicObjects);
+        assertThat(DatabaseSnapshotReader.load(snapshotPath).getCacheTimestamp()).isEqualTo(CACHE_TIMESTAMP + 1);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void readAll_warmLoadBenchmark_shouldLoadSameTopicsFromSnapshotAndJson() throws IOException {
+        // GIVEN
+        DatabaseSnapshotWriter.load(jsonTopicObjects).write(snapshotPath, CACHE_TIMESTAMP);
+        // Warm-up, equally for both paths
+        for (int i = 0; i < WARMUP_COUNT; i++) {
+            DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDirectory);
+            DatabaseSnapshotReader.load(snapshotPath).readAll();
+        }
+
+        // WHEN
+        List<DbDto> actualJsonTopicObjects = null;
+        List<DbDto> actualSnapshotTopicObjects = null;
+        long bestJsonLoadTime = Long.MAX_VALUE;
+        long bestSnapshotLoadTime = Long.MAX_VALUE;
+        for (int i = 0; i < RUN_COUNT; i++) {
+            long jsonStartTime = System.nanoTime();
+            actualJsonTopicObjects = DatabaseReadWriteHelper.readFullDatabaseFromJson(jsonDirectory);
+            bestJsonLoadTime = Math.min(bestJsonLoadTime, System.nanoTime() - jsonStartTime);
+
+            long snapshotStartTime = System.nanoTime();
+            actualSnapshotTopicObjects = DatabaseSnapshotReader.load(snapshotPath).readAll();
+            bestSnapshotLoadTime = Math.min(bestSnapshotLoadTime, System.nanoTime() - snapshotStartTime);
+        }
+
+        // THEN
+        Log.info(THIS_CLASS_NAME, String.format("Warm load of %d topics: JSON=%d ms, snapshot=%d ms (%d bytes)",
+                actualJsonTopicObjects.size(), bestJsonLoadTime / 1000000, bestSnapshotLoadTime / 1000000, Files.size(snapshotPath)));
+        assertThat(actualSnapshotTopicObjects).isEqualTo(actualJsonTopicObjects);
+    }
+}
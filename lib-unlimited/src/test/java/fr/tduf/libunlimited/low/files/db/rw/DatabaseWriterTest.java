@@ -15,6 +15,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
@@ -141,6 +142,21 @@ class DatabaseWriterTest {
         assertThat(actualContentsFile.length() % 8).isEqualTo(0);
     }
 
+    @Test
+    public void writeStructureAndContentsAsBytes_whenRealContents_shouldReturnSameContentsAsWrittenFile() throws IOException {
+        //GIVEN
+        DbDto initialDbDto = readObjectFromJsonResourceFile(DbDto.class, "/db/json/parsing/TDU_Achievements.json");
+        DatabaseWriter databaseWriter = DatabaseWriter.load(initialDbDto);
+        databaseWriter.writeAll(tempDirectory);
+
+        //WHEN
+        byte[] actualContents = databaseWriter.writeStructureAndContentsAsBytes();
+
+        //THEN
+        assertThat(actualContents.length % 8).isEqualTo(0);
+        assertThat(actualContents).isEqualTo(Files.readAllBytes(Paths.get(tempDirectory, "TDU_Achievements.db")));
+    }
+
     @Test
     public void writeAllAsJson_whenRealContents_shouldCreateFiles_andFillThem() throws IOException, URISyntaxException, JSONException {
         //GIVEN
@@ -4,9 +4,12 @@ package fr.tduf.libunlimited.low.files.db.rw.helper;
 import fr.tduf.libtesting.common.helper.TestingFilesHelper;
 import fr.tduf.libtesting.common.helper.game.DatabaseHelper;
 import fr.tduf.libunlimited.common.game.domain.Locale;
+import fr.tduf.libunlimited.high.files.db.common.helper.DatabaseChangeHelper;
+import fr.tduf.libunlimited.high.files.db.miner.BulkDatabaseMiner;
 import fr.tduf.libunlimited.low.files.db.domain.IntegrityError;
 import fr.tduf.libunlimited.low.files.db.dto.DbDto;
 import fr.tduf.libunlimited.low.files.db.dto.DbStructureDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
 import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +24,11 @@ import java.nio.file.Paths;
 import java.util.*;
 
 import static fr.tduf.libtesting.common.helper.AssertionsHelper.assertFileDoesNotMatchReference;
+import static fr.tduf.libunlimited.high.files.db.common.helper.DatabaseGenHelper.RESOURCE_VALUE_DEFAULT;
 import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.ACHIEVEMENTS;
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CLOTHES;
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.HAIR;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -138,29 +145,29 @@ class DatabaseReadWriteHelperTest {
     }
 
     @Test
-    void parseTopicContentsFromDirectory_whenFileNotFound_shouldReturnEmptyList() throws FileNotFoundException {
+    void parseTopicContentsFromBytes_whenRealContents_shouldReturnContentsAsLines() throws URISyntaxException, IOException {
         // GIVEN
-        File dbFile = new File("TDU_Achievements.db.nope");
+        File dbFile = new File(thisClass.getResource("/db/TDU_Achievements.db").toURI());
+        byte[] clearContents = Files.readAllBytes(dbFile.toPath());
 
         // WHEN
-        List<String> actualContentLines = DatabaseReadWriteHelper.parseTopicContentsFromFile(dbFile.getPath());
+        List<String> actualContentLines = DatabaseReadWriteHelper.parseTopicContentsFromBytes(clearContents);
 
         // THEN
         assertThat(actualContentLines).isNotNull();
-        assertThat(actualContentLines).isEmpty();
+        assertThat(actualContentLines).hasSize(90);
     }
 
     @Test
-    void parseTopicContentsFromDirectory_whenRealFile_shouldReturnContentsAsLines() throws URISyntaxException, FileNotFoundException {
-        // GIVEN
-        File dbFile = new File(thisClass.getResource("/db/TDU_Achievements.db").toURI());
-
-        // WHEN
-        List<String> actualContentLines = DatabaseReadWriteHelper.parseTopicContentsFromFile(dbFile.getPath());
-
-        // THEN
-        assertThat(actualContentLines).isNotNull();
-        assertThat(actualContentLines).hasSize(90);
+    void parseLines_shouldSplitAtCRLF_likeScanner() {
+        // GIVEN-WHEN-THEN
+        assertThat(DatabaseReadWriteHelper.parseLines("")).isEmpty();
+        assertThat(DatabaseReadWriteHelper.parseLines("\r\n")).isEmpty();
+        assertThat(DatabaseReadWriteHelper.parseLines("\r\na")).containsExactly("a");
+        assertThat(DatabaseReadWriteHelper.parseLines("a\r\n")).containsExactly("a");
+        assertThat(DatabaseReadWriteHelper.parseLines("a\r\n\r\nb")).containsExactly("a", "", "b");
+        assertThat(DatabaseReadWriteHelper.parseLines("\r\n\r\na\r\n\r\n")).containsExactly("", "a", "");
+        assertThat(DatabaseReadWriteHelper.parseLines("a\rb\n\r\n\0\0")).containsExactly("a\rb\n", "\0\0");
     }
 
     @Test
@@ -236,6 +243,71 @@ class DatabaseReadWriteHelperTest {
         assertThat(writtenFileNames).isEmpty();
     }
 
+    @Test
+    void writeModifiedDatabaseTopicsToJson_whenTopicModified_shouldCreateFiles_andClearModifiedState() {
+        // GIVEN
+        DbDto topicObject = createDatabaseTopicObject();
+        DatabaseReadWriteHelper.writeDatabaseTopicToJson(topicObject, tempDirectory);
+        topicObject.getData().addEntryWithItems(asList(
+                ContentItemDto.builder().ofFieldRank(1).withRawValue("1").build(),
+                ContentItemDto.builder().ofFieldRank(2).withRawValue("2").build()));
+
+        // WHEN
+        List<String> writtenFileNames = DatabaseReadWriteHelper.writeModifiedDatabaseTopicsToJson(singletonList(topicObject), tempDirectory);
+
+        // THEN
+        assertFileNamesMatcheAndFilesExist(writtenFileNames);
+        assertThat(topicObject.isModified()).isFalse();
+    }
+
+    @Test
+    void writeModifiedDatabaseTopicsToJson_afterAddingEntryWithRemoteResourceField_shouldWriteRemoteTopicToo() throws IOException {
+        // GIVEN: HAIR topic has a remote resource field to CLOTHES, which does not have default resource yet
+        List<DbDto> topicObjects = DatabaseHelper.createDatabaseFromResources(tempDirectory);
+        DatabaseChangeHelper changeHelper = new DatabaseChangeHelper(BulkDatabaseMiner.load(topicObjects));
+        changeHelper.addContentsEntryWithDefaultItems(HAIR);
+
+        // WHEN
+        List<String> writtenFileNames = DatabaseReadWriteHelper.writeModifiedDatabaseTopicsToJson(topicObjects, tempDirectory);
+
+        // THEN
+        assertThat(writtenFileNames)
+                .hasSize(6)
+                .contains(
+                        Paths.get(tempDirectory, "TDU_Hair.data.json").toString(),
+                        Paths.get(tempDirectory, "TDU_Clothes.resources.json").toString());
+        DbDto actualRemoteTopicObject = DatabaseReadWriteHelper.readDatabaseTopicFromJson(CLOTHES, tempDirectory)
+                .orElseThrow(IllegalStateException::new);
+        assertThat(actualRemoteTopicObject.getResource().getEntries())
+                .extracting(entry -> entry.pickValue().orElse(null))
+                .contains(RESOURCE_VALUE_DEFAULT);
+    }
+
+    @Test
+    void writeModifiedDatabaseTopicsToJson_whenTopicUnmodified_andFilesExist_shouldNotWriteFiles() {
+        // GIVEN
+        DbDto topicObject = createDatabaseTopicObject();
+        DatabaseReadWriteHelper.writeDatabaseTopicToJson(topicObject, tempDirectory);
+
+        // WHEN
+        List<String> writtenFileNames = DatabaseReadWriteHelper.writeModifiedDatabaseTopicsToJson(singletonList(topicObject), tempDirectory);
+
+        // THEN
+        assertThat(writtenFileNames).isEmpty();
+    }
+
+    @Test
+    void writeModifiedDatabaseTopicsToJson_whenTopicUnmodified_andFilesMissing_shouldCreateFiles() {
+        // GIVEN
+        List<DbDto> topicObjects = singletonList(createDatabaseTopicObject());
+
+        // WHEN
+        List<String> writtenFileNames = DatabaseReadWriteHelper.writeModifiedDatabaseTopicsToJson(topicObjects, tempDirectory);
+
+        // THEN
+        assertFileNamesMatcheAndFilesExist(writtenFileNames);
+    }
+
     @Test
     void writeDatabaseTopic_whenProvidedContents_shouldCreateEncryptedFiles() throws URISyntaxException, IOException {
         // GIVEN
@@ -255,11 +327,30 @@ class DatabaseReadWriteHelperTest {
         assertFileDoesNotMatchReference(writtenFiles.get(0), "/db/encrypted/");
     }
 
+    @Test
+    void writeDatabaseTopic_thenReadDatabaseTopic_shouldReturnSameContents() throws IOException {
+        // GIVEN
+        DbDto dbDto = DatabaseHelper.createDatabaseTopicForReadOnly(ACHIEVEMENTS);
+        DatabaseReadWriteHelper.writeDatabaseTopic(dbDto, tempDirectory);
+        Set<IntegrityError> integrityErrors = new HashSet<>();
+
+        // WHEN
+        Optional<DbDto> potentialDbDto = DatabaseReadWriteHelper.readDatabaseTopic(ACHIEVEMENTS, tempDirectory, integrityErrors);
+
+        // THEN
+        assertThat(integrityErrors).isEmpty();
+        assertThat(potentialDbDto).isPresent();
+        assertThat(potentialDbDto.get().getData().getEntries()).hasSameSizeAs(dbDto.getData().getEntries());
+        assertThat(potentialDbDto.get().getStructure().getFields()).hasSameSizeAs(dbDto.getStructure().getFields());
+        assertThat(new File(tempDirectory).list()).hasSize(10); // 9 topic files + 1 pre-existing
+    }
+
     private DbDto createDatabaseTopicObject() {
         DbStructureDto dbStructureDto = DbStructureDto.builder()
                 .forTopic(ACHIEVEMENTS)
                 .build();
         DbDataDto dbDataDto = DbDataDto.builder()
+                .forTopic(ACHIEVEMENTS)
                 .build();
         return DbDto.builder()
                 .withStructure(dbStructureDto)
@@ -0,0 +1,95 @@
+package fr.tduf.libunlimited.low.files.db.rw.helper;
+
+import com.esotericsoftware.minlog.Log;
+import fr.tduf.libtesting.common.helper.TestingFilesHelper;
+import fr.tduf.libtesting.common.helper.game.DatabaseHelper;
+import fr.tduf.libunlimited.low.files.db.dto.DbDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentEntryDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.ContentItemDto;
+import fr.tduf.libunlimited.low.files.db.dto.content.DbDataDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static fr.tduf.libunlimited.low.files.db.dto.DbDto.Topic.CAR_COLORS;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmarks JSON writing of a big topic, for growing entry counts: write time should grow linearly.
+ * Timings are logged only; run with benchmark task.
+ */
+@Tag("benchmark")
+class DatabaseReadWriteHelper_jsonWriteScalingTest {
+    private static final String THIS_CLASS_NAME = DatabaseReadWriteHelper_jsonWriteScalingTest.class.getSimpleName();
+
+    private static final int[] SIZE_FACTORS = { 1, 2, 4, 8, 16 };
+    private static final int RUN_COUNT = 3;
+
+    private String tempDirectory;
+
+    private DbDto referenceTopicObject;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempDirectory = TestingFilesHelper.createTempDirectoryForLibrary();
+        referenceTopicObject = DatabaseHelper.createDatabaseTopicForReadOnly(CAR_COLORS);
+    }
+
+    @Test
+    void writeDatabaseTopicsToJson_withGrowingEntryCount_benchmark() {
+        // GIVEN
+        // Warm-up
+        measureBestWriteTime(singletonList(createTopicObjectWithEntriesMultipliedBy(SIZE_FACTORS[0])));
+
+        for (int sizeFactor : SIZE_FACTORS) {
+            List<DbDto> topicObjects = singletonList(createTopicObjectWithEntriesMultipliedBy(sizeFactor));
+
+            // WHEN
+            long writeTime = measureBestWriteTime(topicObjects);
+
+            // THEN
+            int entryCount = topicObjects.get(0).getData().getEntries().size();
+            Log.info(THIS_CLASS_NAME, String.format("JSON write of %d entries: %d ms (%.1f µs per entry)",
+                    entryCount, writeTime / 1000000, writeTime / 1000.0 / entryCount));
+        }
+    }
+
+    private long measureBestWriteTime(List<DbDto> topicObjects) {
+        long bestTime = Long.MAX_VALUE;
+        for (int i = 0; i < RUN_COUNT; i++) {
+            long startTime = System.nanoTime();
+            List<String> writtenFiles = DatabaseReadWriteHelper.writeDatabaseTopicsToJson(topicObjects, tempDirectory);
+            bestTime = Math.min(bestTime, System.nanoTime() - startTime);
+
+            assertThat(writtenFiles).hasSize(3);
+        }
+        return bestTime;
+    }
+
+    private DbDto createTopicObjectWithEntriesMultipliedBy(int factor) {
+        List<ContentEntryDto> entries = IntStream.range(0, factor)
+                .boxed()
+                .flatMap(i -> referenceTopicObject.getData().getEntries().stream())
+                .map(entry -> ContentEntryDto.builder()
+                        .addItems(entry.getItems().stream()
+                                .map(item -> ContentItemDto.builder().fromExisting(item, CAR_COLORS).build())
+                                .collect(toList()))
+                        .build())
+                .collect(toList());
+
+        return DbDto.builder()
+                .withStructure(referenceTopicObject.getStructure())
+                .withResource(referenceTopicObject.getResource())
+                .withData(DbDataDto.builder()
+                        .forTopic(CAR_COLORS)
+                        .addEntries(entries)
+                        .build())
+                .build();
+    }
+}
@@ -148,6 +148,44 @@ class FormulaHelperTest {
         assertThat(FormulaHelper.resolveCondition("?itemsCount?<?otherItemsCount?", null, dataStore)).isTrue();
     }
 
+    @Test
+    void resolveToInteger_whenSameFormulaWithPointer_andDifferentRepeaterKeys_shouldReturnValuesFromStore() {
+        // GIVEN
+        DataStore dataStore = createDefaultDataStore();
+        dataStore.addInteger32("fileList[0].sizeIndicator", 100);
+        dataStore.addInteger32("fileList[1].sizeIndicator", 200);
+
+        // WHEN-THEN
+        assertThat(FormulaHelper.resolveToInteger("=?sizeIndicator?+1", "fileList[0].", dataStore)).isEqualTo(101);
+        assertThat(FormulaHelper.resolveToInteger("=?sizeIndicator?+1", "fileList[1].", dataStore)).isEqualTo(201);
+    }
+
+    @Test
+    void resolveToInteger_whenFormulaWithSamePointerTwice_andNegativeValue_shouldReturnValue() {
+        // GIVEN
+        DataStore dataStore = createDefaultDataStore();
+        dataStore.addInteger32("offset", -10);
+
+        // WHEN-THEN
+        assertThat(FormulaHelper.resolveToInteger("=100-?offset?*?offset?", null, dataStore)).isEqualTo(0);
+    }
+
+    @Test
+    void resolveCondition_whenSameConditionWithPointer_andValueChanged_shouldReturnNewResult() {
+        // GIVEN
+        DataStore dataStore = createDefaultDataStore();
+        dataStore.addInteger32("itemsCount", 0);
+        boolean resultBeforeChange = FormulaHelper.resolveCondition("?itemsCount?=0", null, dataStore);
+
+        // WHEN
+        dataStore.addInteger32("itemsCount", 1);
+        boolean resultAfterChange = FormulaHelper.resolveCondition("?itemsCount?=0", null, dataStore);
+
+        // THEN
+        assertThat(resultBeforeChange).isTrue();
+        assertThat(resultAfterChange).isFalse();
+    }
+
     private DataStore createDefaultDataStore() {
         return new DataStore(FileStructureDto.builder().build());
     }
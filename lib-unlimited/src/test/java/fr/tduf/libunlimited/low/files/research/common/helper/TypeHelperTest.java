@@ -213,6 +213,45 @@ class TypeHelperTest {
         assertThat(TypeHelper.changeEndianType(valueBytes)).isEqualTo(expectedBytes);
     }
 
+    @Test
+    void readRawInteger_whenBigEndian_shouldReturnNumeric() {
+        // GIVEN
+        byte[] source = {0x0, 0x0, 0x1, (byte)0xF4, 0x0};
+
+        // WHEN-THEN
+        assertThat(TypeHelper.readRawInteger(source, 1, 3, false)).isEqualTo(500L);
+    }
+
+    @Test
+    void readRawInteger_whenLittleEndian_shouldReturnNumeric() {
+        // GIVEN
+        byte[] source = {0x0, (byte)0xF4, 0x01, 0x00, 0x00};
+
+        // WHEN-THEN
+        assertThat(TypeHelper.readRawInteger(source, 1, 4, true)).isEqualTo(500L);
+    }
+
+    @Test
+    void readRawInteger_whenSizeTooBig_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> TypeHelper.readRawInteger(new byte[9], 0, 9, false));
+    }
+
+    @Test
+    void toSignedInteger_whenNegativeShortValue_shouldReturnNumeric() {
+        // GIVEN-WHEN-THEN
+        assertThat(TypeHelper.toSignedInteger(0xFFFEL, 2)).isEqualTo(-2L);
+        assertThat(TypeHelper.toSignedInteger(0x7FFEL, 2)).isEqualTo(32766L);
+    }
+
+    @Test
+    void toSignedInteger_whenIrregularSize_shouldThrowException() {
+        // GIVEN-WHEN-THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> TypeHelper.toSignedInteger(0L, 3));
+    }
+
     @Test
     void fitToSize_whenNullArray_shouldReturnNull() {
         // GIVEN-WHEN-THEN
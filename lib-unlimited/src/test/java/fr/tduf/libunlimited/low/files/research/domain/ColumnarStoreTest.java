@@ -0,0 +1,222 @@
+package fr.tduf.libunlimited.low.files.research.domain;
+
+import fr.tduf.libunlimited.low.files.research.common.helper.TypeHelper;
+import fr.tduf.libunlimited.low.files.research.domain.fixture.DataStoreFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import static fr.tduf.libunlimited.low.files.research.domain.Type.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarStoreTest {
+
+    private ColumnarStore columnarStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        columnarStore = createStore("/files/structures/TEST-datastore-map.json");
+    }
+
+    @Test
+    void put_thenGet_shouldReturnEqualEntries_inColumns() {
+        // GIVEN
+        Entry integerEntry = new Entry(INTEGER, true, 4, longBytes(-10L));
+        Entry floatEntry = new Entry(FPOINT, false, 4, ByteBuffer.allocate(4).putFloat(235.666667f).array());
+        Entry halfFloatEntry = new Entry(FPOINT, false, 2, TypeHelper.floatingPoint16ToRaw(1.5f));
+        Entry textEntry = new Entry(TEXT, "az".getBytes());
+        Entry rawEntry = new Entry(UNKNOWN, new byte[]{0x1, 0x2, 0x3, 0x4});
+
+        // WHEN
+        columnarStore.put("entry_list[0].my_field", integerEntry);
+        columnarStore.put("entry_list[0].my_fp_field", floatEntry);
+        columnarStore.put("entry_list[1].my_fp_field", halfFloatEntry);
+        columnarStore.put("entry_list[0].a_field", textEntry);
+        columnarStore.put("entry_list[0].another_field", rawEntry);
+
+        // THEN
+        assertThat(columnarStore.get("entry_list[0].my_field")).isEqualTo(integerEntry);
+        assertThat(columnarStore.get("entry_list[0].my_fp_field")).isEqualTo(floatEntry);
+        assertThat(columnarStore.get("entry_list[1].my_fp_field")).isEqualTo(halfFloatEntry);
+        assertThat(columnarStore.get("entry_list[0].a_field")).isEqualTo(textEntry);
+        assertThat(columnarStore.get("entry_list[0].another_field")).isEqualTo(rawEntry);
+        assertThat(columnarStore.get("entry_list[2].my_field")).isNull();
+        assertThat(columnarStore).hasSize(5);
+        assertThat(columnarStore.getColumnEntryCount()).isEqualTo(5);
+    }
+
+    @Test
+    void put_whenKeyOutsideSchema_shouldKeepRegularEntry() {
+        // GIVEN
+        Entry entry = new Entry(INTEGER, false, 8, longBytes(1L));
+
+        // WHEN
+        columnarStore.put("remaining", entry);
+        columnarStore.put("entry_list[0].unknown_field", entry);
+        columnarStore.put("entry_list[0][1].my_field", entry);
+        columnarStore.put("entry_list[a].my_field", entry);
+
+        // THEN
+        assertThat(columnarStore.get("remaining")).isEqualTo(entry);
+        assertThat(columnarStore.get("entry_list[0].unknown_field")).isEqualTo(entry);
+        assertThat(columnarStore.get("entry_list[0][1].my_field")).isEqualTo(entry);
+        assertThat(columnarStore.get("entry_list[a].my_field")).isEqualTo(entry);
+        assertThat(columnarStore).hasSize(4);
+        assertThat(columnarStore.getColumnEntryCount()).isZero();
+    }
+
+    @Test
+    void put_whenTypeDiffersFromSchema_shouldReplaceColumnValue_withRegularEntry() {
+        // GIVEN
+        Entry integerEntry = new Entry(INTEGER, false, 8, longBytes(10L));
+        Entry textEntry = new Entry(TEXT, "10".getBytes());
+        columnarStore.put("entry_list[0].my_field", integerEntry);
+
+        // WHEN
+        Entry actualPreviousEntry = columnarStore.put("entry_list[0].my_field", textEntry);
+
+        // THEN
+        assertThat(actualPreviousEntry).isEqualTo(integerEntry);
+        assertThat(columnarStore.get("entry_list[0].my_field")).isEqualTo(textEntry);
+        assertThat(columnarStore).hasSize(1);
+        assertThat(columnarStore.getColumnEntryCount()).isZero();
+    }
+
+    @Test
+    void put_whenLevel2Repeater_shouldStoreValuesInColumn() throws IOException {
+        // GIVEN
+        ColumnarStore level2Store = createStore("/files/structures/TEST-datastoreAndLevel2Repeater-map.json");
+        Entry entry1 = new Entry(INTEGER, false, 8, longBytes(500L));
+        Entry entry2 = new Entry(INTEGER, false, 8, longBytes(503L));
+
+        // WHEN
+        level2Store.put("repeaterLvl1[0].repeaterLvl2[0].number", entry1);
+        level2Store.put("repeaterLvl1[1].repeaterLvl2[1].number", entry2);
+
+        // THEN
+        assertThat(level2Store.get("repeaterLvl1[0].repeaterLvl2[0].number")).isEqualTo(entry1);
+        assertThat(level2Store.get("repeaterLvl1[1].repeaterLvl2[1].number")).isEqualTo(entry2);
+        assertThat(level2Store.get("repeaterLvl1[0].repeaterLvl2[1].number")).isNull();
+        assertThat(level2Store.keySet()).containsOnly(
+                "repeaterLvl1[0].repeaterLvl2[0].number",
+                "repeaterLvl1[1].repeaterLvl2[1].number");
+        assertThat(level2Store.getColumnEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void putFromSource_shouldDecodeNumericValues_andKeepSliceOfSource() {
+        // GIVEN
+        byte[] source = {0x0, (byte) 0xF4, 0x01, 0x00, 0x00, 0x41, 0x42};
+
+        // WHEN
+        boolean integerStored = columnarStore.putFromSource("entry_list[0].my_field", INTEGER, false, 4, source, 1, 4, true);
+        boolean textStored = columnarStore.putFromSource("entry_list[0].a_field", TEXT, false, 2, source, 5, 2, true);
+
+        // THEN
+        assertThat(integerStored).isTrue();
+        assertThat(textStored).isTrue();
+        assertThat(columnarStore.get("entry_list[0].my_field")).isEqualTo(new Entry(INTEGER, false, 4, longBytes(500L)));
+        assertThat(columnarStore.get("entry_list[0].a_field")).isEqualTo(new Entry(TEXT, "AB".getBytes()));
+
+        ByteBuffer actualBuffer = columnarStore.getRawValueAsBuffer("entry_list[0].a_field");
+        assertThat(actualBuffer.isReadOnly()).isTrue();
+        assertThat(actualBuffer.remaining()).isEqualTo(2);
+        source[6] = 0x43;
+        assertThat(actualBuffer.get(1)).isEqualTo((byte) 0x43);
+    }
+
+    @Test
+    void putFromSource_whenKeyOutsideSchema_shouldNotStoreValue() {
+        // GIVEN-WHEN
+        boolean actualStored = columnarStore.putFromSource("remaining", UNKNOWN, false, 1, new byte[]{0x0}, 0, 1, false);
+
+        // THEN
+        assertThat(actualStored).isFalse();
+        assertThat(columnarStore).isEmpty();
+    }
+
+    @Test
+    void putAll_whenEmpty_andSameSchema_shouldCopyColumns() throws IOException {
+        // GIVEN
+        byte[] source = {0x41, 0x42};
+        columnarStore.putFromSource("entry_list[0].a_field", TEXT, false, 2, source, 0, 2, false);
+        columnarStore.put("remaining", new Entry(UNKNOWN, new byte[]{0x0}));
+        ColumnarStore targetStore = createStore("/files/structures/TEST-datastore-map.json");
+
+        // WHEN
+        targetStore.putAll(columnarStore);
+        targetStore.put("entry_list[1].a_field", new Entry(TEXT, "CD".getBytes()));
+
+        // THEN
+        assertThat(targetStore.getColumnEntryCount()).isEqualTo(2);
+        assertThat(targetStore.get("entry_list[0].a_field")).isEqualTo(new Entry(TEXT, "AB".getBytes()));
+        assertThat(targetStore.get("remaining")).isEqualTo(new Entry(UNKNOWN, new byte[]{0x0}));
+        assertThat(columnarStore.containsKey("entry_list[1].a_field")).isFalse();
+        assertThat(columnarStore).hasSize(2);
+    }
+
+    @Test
+    void remove_shouldReturnEntry_andUpdateSize() {
+        // GIVEN
+        Entry entry = new Entry(TEXT, "az".getBytes());
+        columnarStore.put("entry_list[0].a_field", entry);
+        columnarStore.put("remaining", entry);
+
+        // WHEN
+        Entry actualColumnEntry = columnarStore.remove("entry_list[0].a_field");
+        Entry actualRegularEntry = columnarStore.remove("remaining");
+
+        // THEN
+        assertThat(actualColumnEntry).isEqualTo(entry);
+        assertThat(actualRegularEntry).isEqualTo(entry);
+        assertThat(columnarStore.containsKey("entry_list[0].a_field")).isFalse();
+        assertThat(columnarStore).isEmpty();
+    }
+
+    @Test
+    void clear_shouldRemoveAllEntries() {
+        // GIVEN
+        columnarStore.put("entry_list[0].a_field", new Entry(TEXT, "az".getBytes()));
+        columnarStore.put("remaining", new Entry(UNKNOWN, new byte[]{0x0}));
+
+        // WHEN
+        columnarStore.clear();
+
+        // THEN
+        assertThat(columnarStore).isEmpty();
+        assertThat(columnarStore.get("entry_list[0].a_field")).isNull();
+        assertThat(columnarStore.entrySet()).isEmpty();
+    }
+
+    @Test
+    void entrySet_shouldMatchKeyedStorage() throws IOException {
+        // GIVEN
+        DataStore keyedDataStore = DataStoreFixture.createEmptyStore();
+        DataStore columnarDataStore = new DataStore(keyedDataStore.getFileStructure(), DataStore.StorageMode.COLUMNAR);
+        DataStoreFixture.createStoreEntries(keyedDataStore);
+        DataStoreFixture.createStoreEntries(columnarDataStore);
+        Map<String, Entry> expectedEntries = new HashMap<>();
+        keyedDataStore.getStore().forEach(expectedEntries::put);
+
+        // WHEN
+        Map<String, Entry> actualEntries = new HashMap<>();
+        columnarDataStore.getStore().forEach(actualEntries::put);
+
+        // THEN
+        assertThat(columnarDataStore.getStore()).isInstanceOf(ColumnarStore.class);
+        assertThat(actualEntries).isEqualTo(expectedEntries);
+        assertThat(columnarDataStore.getStore()).isEqualTo(keyedDataStore.getStore());
+    }
+
+    private static ColumnarStore createStore(String structureResource) throws IOException {
+        return new ColumnarStore(new StoreSchema(DataStoreFixture.getFileStructure(structureResource)));
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+}
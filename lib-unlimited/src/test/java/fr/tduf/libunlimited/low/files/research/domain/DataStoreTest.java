@@ -102,6 +102,53 @@ class DataStoreTest {
                 .isNotSameAs(pickedOneSourceEntry);
     }
 
+    @Test
+    void copy_whenColumnarStorage_shouldKeepStorageMode() {
+        // GIVEN
+        DataStore columnarStore = new DataStore(dataStore.getFileStructure(), DataStore.StorageMode.COLUMNAR);
+        createStoreEntries(columnarStore);
+
+        // WHEN
+        DataStore actualCopy = columnarStore.copy();
+
+        // THEN
+        assertThat(actualCopy.getStorageMode()).isEqualTo(DataStore.StorageMode.COLUMNAR);
+        assertThat(actualCopy.getStore()).isEqualTo(columnarStore.getStore());
+        assertThat(actualCopy.getInteger("entry_list[1].my_field")).contains(20L);
+    }
+
+    @Test
+    void copy_whenSubStore_shouldMakeIndependentStore() {
+        // GIVEN
+        createStoreEntries(dataStore);
+        DataStore subStore = dataStore.getRepeatedValues("entry_list").get(2);
+
+        // WHEN
+        DataStore actualCopy = subStore.copy();
+        dataStore.clearAll();
+
+        // THEN
+        assertThat(actualCopy.size()).isEqualTo(4);
+        assertThat(actualCopy.getInteger("my_field")).contains(30L);
+        assertThat(subStore.getInteger("my_field")).isEmpty();
+    }
+
+    @Test
+    void clearAll_whenSubStore_shouldKeepParentEntriesAndLinks() throws IOException {
+        // GIVEN
+        createStoreEntriesForLinkSources(dataStore);
+        DataStore subStore = dataStore.getRepeatedValues("linkedEntries").get(0);
+
+        // WHEN
+        subStore.clearAll();
+
+        // THEN
+        assertThat(subStore.isEmpty()).isTrue();
+        assertThat(subStore.getInteger("linkTarget")).isEmpty();
+        assertThat(dataStore.size()).isEqualTo(4);
+        assertThat(dataStore.getLinksContainer().getSources()).hasSize(2);
+    }
+
     @Test
     void copyFields_toSameStore_withoutRepeater_shouldNotChangeValue() {
         // GIVEN
@@ -232,6 +232,92 @@ class DataStore_focusOnGettingValuesTest {
         assertThat(subStore0.getLinksContainer().getTargets()).isEqualTo(dataStore.getLinksContainer().getTargets());
     }
 
+    @Test
+    void getRepeatedValues_shouldNotCopyEntries() {
+        // GIVEN
+        DataStoreFixture.createStoreEntries(dataStore);
+
+        // WHEN
+        List<DataStore> actualValues = dataStore.getRepeatedValues("entry_list");
+
+        // THEN
+        assertThat(actualValues).extracting("repeatIndex").containsExactly(0, 1, 2);
+        assertThat(actualValues.get(1).getStore().get("my_field")).isSameAs(dataStore.getStore().get("entry_list[1].my_field"));
+    }
+
+    @Test
+    void getRepeatedValues_whenValueAddedToSubStore_shouldNotChangeParentStore() {
+        // GIVEN
+        DataStoreFixture.createStoreEntries(dataStore);
+        DataStore subStore = dataStore.getRepeatedValues("entry_list").get(0);
+
+        // WHEN
+        subStore.addInteger32("my_field", 100L);
+        subStore.addRepeatedInteger32("sub_list", "my_field", 0, 200L);
+
+        // THEN
+        assertThat(subStore.getInteger("my_field")).contains(100L);
+        assertThat(subStore.getRepeatedValues("sub_list")).hasSize(1);
+        assertThat(subStore.getStore()).hasSize(5);
+        assertThat(dataStore.getInteger("entry_list[0].my_field")).contains(10L);
+        assertThat(dataStore.getRepeatedValues("sub_list", "entry_list[0].")).isEmpty();
+        assertThat(dataStore.size()).isEqualTo(12);
+    }
+
+    @Test
+    void getRepeatedValues_whenNoItem_shouldReturnEmptyList() {
+        // GIVEN
+        DataStoreFixture.createStoreEntries(dataStore);
+
+        // WHEN-THEN
+        assertThat(dataStore.getRepeatedValues("entry")).isEmpty();
+        assertThat(dataStore.getRepeatedValues("entry_list", "other_list[0].")).isEmpty();
+    }
+
+    @Test
+    void getRepeatedValues_whenColumnarStorage_shouldExtractValuesCorrectly() throws IOException {
+        // GIVEN
+        DataStore columnarStore = new DataStore(DataStoreFixture.getFileStructure("/files/structures/TEST-datastoreAndLevel2Repeater-map.json"), DataStore.StorageMode.COLUMNAR);
+        DataStoreFixture.createStoreEntriesForLevel2Repeater(columnarStore);
+
+        // WHEN
+        List<DataStore> actualStoresLvl2 = columnarStore.getRepeatedValues("repeaterLvl1").get(1).getRepeatedValues("repeaterLvl2");
+
+        // THEN
+        assertThat(actualStoresLvl2).hasSize(2);
+        assertThat(actualStoresLvl2.get(0).getInteger("number")).contains(502L);
+        assertThat(actualStoresLvl2.get(1).getInteger("number")).contains(503L);
+        assertThat(actualStoresLvl2.get(1).getStore()).containsOnlyKeys("number");
+    }
+
+    @Test
+    void getIntegerListOf_whenSubStore_shouldReturnValuesOfItemOnly() throws IOException {
+        // GIVEN
+        DataStore level2Store = new DataStore(DataStoreFixture.getFileStructure("/files/structures/TEST-datastoreAndLevel2Repeater-map.json"));
+        DataStoreFixture.createStoreEntriesForLevel2Repeater(level2Store);
+        DataStore subStore = level2Store.getRepeatedValues("repeaterLvl1").get(1);
+
+        // WHEN
+        List<Long> actualValues = subStore.getIntegerListOf("number");
+
+        // THEN
+        assertThat(actualValues).containsExactly(502L, 503L);
+        assertThat(level2Store.getIntegerListOf("number")).containsExactly(500L, 501L, 502L, 503L);
+    }
+
+    @Test
+    void repeaterHasSubItems_shouldUseRepeaterItems() throws IOException {
+        // GIVEN
+        DataStore level2Store = new DataStore(DataStoreFixture.getFileStructure("/files/structures/TEST-datastoreAndLevel2Repeater-map.json"));
+        DataStoreFixture.createStoreEntriesForLevel2Repeater(level2Store);
+
+        // WHEN-THEN
+        assertThat(level2Store.repeaterHasSubItems("repeaterLvl1", "")).isTrue();
+        assertThat(level2Store.repeaterHasSubItems("repeaterLvl2", "repeaterLvl1[1].")).isTrue();
+        assertThat(level2Store.repeaterHasSubItems("repeaterLvl2", "repeaterLvl1[2].")).isFalse();
+        assertThat(level2Store.repeaterHasSubItems("repeater", "repeaterLvl1[1].")).isFalse();
+    }
+
     @Test
     void getTargetKeyAtAddress_whenExistingSourceAndTarget_shouldRetrieveKey() {
         // given
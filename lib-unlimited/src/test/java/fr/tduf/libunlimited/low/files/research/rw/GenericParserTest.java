@@ -117,7 +117,7 @@ class GenericParserTest {
     void dump_whenProvidedContents_andRepeaterContentsSizeGiven_shouldReturnAllParsedData_andRemainingBytes() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserWithRepeaterContentsSizeGiven();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -131,7 +131,7 @@ class GenericParserTest {
     void dump_whenProvidedContents_andSizeGivenByAnotherField_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserForFormulas();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -145,7 +145,7 @@ class GenericParserTest {
     void dump_whenProvidedContents_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParser();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -159,7 +159,7 @@ class GenericParserTest {
     void dump_whenProvidedContents_andHalfFloatValues_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserHalfFloat();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -173,7 +173,7 @@ class GenericParserTest {
     void dump_whenProvidedContents_andVeryShortValues_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserVeryShortInt();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -183,11 +183,25 @@ class GenericParserTest {
         assertThat(actualDump).isEqualTo(getExpectedDumpVeryShortInt());
     }
 
+    @Test
+    void parse_whenProvidedContentsInLittleEndian_andColumnarStorage_shouldReturnDomainObject() throws IOException {
+        // GIVEN
+        GenericParser<String> actualParser = createGenericParserLittleEndian(DataStore.StorageMode.COLUMNAR);
+
+        // WHEN
+        String actualObject = actualParser.parse(true);
+
+        // THEN
+        assertThat(actualObject).isEqualTo(DATA);
+        assertThat(actualParser.getDataStore().getStorageMode()).isEqualTo(DataStore.StorageMode.COLUMNAR);
+        assertThat(actualParser.dump()).isEqualTo(getExpectedDump());
+    }
+
     @Test
     void dump_whenProvidedContentsInLittleEndian_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserLittleEndian();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -201,7 +215,7 @@ class GenericParserTest {
     void dump_whenProvidedContentsSigned_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserSigned();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -215,7 +229,7 @@ class GenericParserTest {
     void dump_whenProvidedContentsAsConstants_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserWithConstants();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -229,7 +243,7 @@ class GenericParserTest {
     void dump_whenProvidedContentsAsLinkSourcesAndTargets_shouldReturnAllParsedData() throws IOException {
         // GIVEN
         GenericParser<String> actualParser = createGenericParserWithLinks();
-        actualParser.parse();
+        actualParser.parse(true);
 
         // WHEN
         String actualDump = actualParser.dump();
@@ -239,6 +253,44 @@ class GenericParserTest {
         assertThat(actualDump).isEqualTo(getExpectedDumpForLinks());
     }
 
+    @Test
+    void dump_whenParsedWithDump_shouldReturnAllParsedData() throws IOException {
+        // GIVEN
+        GenericParser<String> actualParser = createGenericParser();
+        actualParser.parse(true);
+
+        // WHEN
+        String actualDump = actualParser.dump();
+
+        // THEN
+        assertThat(actualDump).isEqualTo(getExpectedDump());
+    }
+
+    @Test
+    void dump_whenParsedWithoutDump_shouldThrowException_andKeepParsedData() throws IOException {
+        // GIVEN
+        GenericParser<String> actualParser = createGenericParserWithLinks();
+        actualParser.parse();
+        int storeSizeAfterParse = actualParser.getDataStore().size();
+
+        // WHEN-THEN
+        assertThrows(IllegalStateException.class, actualParser::dump);
+        assertThat(actualParser.getDataStore().size()).isEqualTo(storeSizeAfterParse);
+        assertThat(actualParser.getDataStore().getLinksContainer().getSourcesSortedByAddress()).isNotEmpty();
+    }
+
+    @Test
+    void parse_withDump_whenProvidedFiles_shouldReturnDomainObject() throws IOException {
+        // GIVEN
+        GenericParser<String> actualParser = createGenericParser();
+
+        // WHEN
+        String actualObject = actualParser.parse(true);
+
+        // THEN
+        assertThat(actualObject).isEqualTo(DATA);
+    }
+
     @Test
     void parse_whenProvidedContentsAsConstants_andNonMatchingValues_shouldThrowException() throws IOException {
         // GIVEN
@@ -610,9 +662,18 @@ class GenericParserTest {
     }
 
     private GenericParser<String> createGenericParserLittleEndian() throws IOException {
+        return createGenericParserLittleEndian(DataStore.StorageMode.KEYED);
+    }
+
+    private GenericParser<String> createGenericParserLittleEndian(DataStore.StorageMode storageMode) throws IOException {
         XByteArrayInputStream inputStream = createInputStreamFromReferenceFile("/files/samples/TEST-littleEndian.bin");
 
         return new GenericParser<String>(inputStream) {
+            @Override
+            protected DataStore.StorageMode getStorageMode() {
+                return storageMode;
+            }
+
             @Override
             protected String generate() {
 
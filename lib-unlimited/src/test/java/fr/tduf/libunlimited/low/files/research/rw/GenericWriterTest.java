@@ -1,6 +1,7 @@
 package fr.tduf.libunlimited.low.files.research.rw;
 
 import fr.tduf.libunlimited.common.helper.FilesHelper;
+import fr.tduf.libunlimited.framework.io.XByteArrayInputStream;
 import fr.tduf.libunlimited.low.files.research.domain.DataStore;
 import fr.tduf.libunlimited.low.files.research.dto.FileStructureDto;
 import org.junit.jupiter.api.Test;
@@ -215,6 +216,23 @@ class GenericWriterTest {
         assertThat(actualBytes).isEqualTo(expectedBytes);
     }
 
+    @Test
+    void write_whenStoreMergedFromColumnarParser_andFormatAsLittleEndian_shouldReturnSourceBytes() throws IOException {
+        // GIVEN
+        byte[] expectedBytes = FilesHelper.readBytesFromResourceFile("/files/samples/TEST-littleEndian.bin");
+        DataStore parsedStore = createColumnarParserLittleEndian(expectedBytes).parse();
+        GenericWriter<DataStore> actualWriter = createColumnarWriterLittleEndian(parsedStore);
+
+
+        // WHEN
+        ByteArrayOutputStream actualOutputStream = actualWriter.write();
+
+
+        // THEN
+        assertThat(actualWriter.getDataStore().getStorageMode()).isEqualTo(DataStore.StorageMode.COLUMNAR);
+        assertThat(actualOutputStream.toByteArray()).isEqualTo(expectedBytes);
+    }
+
     @Test
     void write_whenProvidedFiles_andSizeGivenByFormula_shouldReturnBytes() throws IOException {
         // GIVEN
@@ -646,6 +664,54 @@ class GenericWriterTest {
         };
     }
 
+    private GenericParser<DataStore> createColumnarParserLittleEndian(byte[] contents) throws IOException {
+        return new GenericParser<DataStore>(new XByteArrayInputStream(contents)) {
+            @Override
+            protected DataStore generate() {
+                return getDataStore();
+            }
+
+            @Override
+            protected DataStore.StorageMode getStorageMode() {
+                return DataStore.StorageMode.COLUMNAR;
+            }
+
+            @Override
+            public String getStructureResource() {
+                return "/files/structures/TEST-littleEndian-map.json";
+            }
+
+            @Override
+            public FileStructureDto getStructure() {
+                return null;
+            }
+        };
+    }
+
+    private GenericWriter<DataStore> createColumnarWriterLittleEndian(DataStore parsedStore) throws IOException {
+        return new GenericWriter<DataStore>(parsedStore) {
+            @Override
+            protected void fillStore() {
+                getDataStore().merge(getData());
+            }
+
+            @Override
+            protected DataStore.StorageMode getStorageMode() {
+                return DataStore.StorageMode.COLUMNAR;
+            }
+
+            @Override
+            public String getStructureResource() {
+                return "/files/structures/TEST-littleEndian-map.json";
+            }
+
+            @Override
+            public FileStructureDto getStructure() {
+                return null;
+            }
+        };
+    }
+
     private GenericWriter<String> createGenericWriterLittleEndian() throws IOException {
         return new GenericWriter<String>(DATA) {
             @Override
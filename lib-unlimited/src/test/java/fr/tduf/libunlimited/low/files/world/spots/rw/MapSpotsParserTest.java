@@ -27,7 +27,7 @@ class MapSpotsParserTest {
         MapSpotsParser parser = MapSpotsParser.load(byteArrayInputStream);
 
         // when
-        MapSpotsInfo actualInfo = parser.parse();
+        MapSpotsInfo actualInfo = parser.parse(true);
 
         // then
         Log.debug(THIS_CLASS_NAME, parser.dump());
@@ -28,8 +28,8 @@ class SectorSpotsParserTest {
         SectorSpotsParser parser2 = SectorSpotsParser.load(new XByteArrayInputStream(file2Bytes));
 
         // when
-        SectorSpotsInfo actualInfo1 = parser1.parse();
-        SectorSpotsInfo actualInfo2 = parser2.parse();
+        SectorSpotsInfo actualInfo1 = parser1.parse(true);
+        SectorSpotsInfo actualInfo2 = parser2.parse(true);
 
         // then
         Log.debug(THIS_CLASS_NAME, parser1.dump());